@@ -0,0 +1,39 @@
+package com.camunda.consulting.simplerestclient.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This runs the benchmarks given on the command line, all if none are given,
+ * with allocation profiling enabled, so each result comes with the bytes
+ * allocated per operation ({@code gc.alloc.rate.norm}). All JMH options are
+ * accepted, e.g.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar DecodingBenchmark -p size=10000
+ * </pre>
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public final class Benchmarks {
+
+  private Benchmarks() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams() || commandLine.shouldListProfilers()
+        || commandLine.shouldListResultFormats()) {
+      Main.main(args);
+      return;
+    }
+
+    Options options = new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class).build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,76 @@
+package com.camunda.consulting.simplerestclient.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.camunda.consulting.simplerestclient.response.JsonEntity;
+import com.camunda.consulting.simplerestclient.response.ResponseWithBody;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+import com.camunda.consulting.simplerestclient.util.JsonCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+
+/**
+ * This measures decoding response bodies held in memory, so the numbers do not
+ * include any I/O.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodingBenchmark {
+
+  /**
+   * number of items in the body
+   */
+  @Param({ "1", "100", "10000" })
+  public int size;
+
+  private final JavaType itemType = JsonCodec.DEFAULT.typeOf(Item.class);
+
+  private final MultivaluedMap<String, String> headers = new MultivaluedHashMap<String, String>();
+
+  private byte[] body;
+  private String bodyString;
+
+  @Setup
+  public void setUp() throws JsonProcessingException {
+    headers.putSingle("Content-Type", "application/json");
+    body = JsonCodec.DEFAULT.getMapper().writeValueAsBytes(Item.list(size));
+    bodyString = new String(body, StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public JsonEntity jsonEntity() {
+    return new JsonEntity(bodyString);
+  }
+
+  @Benchmark
+  public List<Item> getResults() {
+    TransportResponse transportResponse = new TransportResponse(200, "OK", headers, new ByteArrayInputStream(body), () -> {
+    });
+    return new ResponseWithBody<Item>(transportResponse, itemType).getResults();
+  }
+}
@@ -0,0 +1,97 @@
+package com.camunda.consulting.simplerestclient.benchmarks;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * This is the payload the benchmarks send and receive, shaped like a process
+ * instance of the Camunda REST API.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class Item implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  @JsonProperty("id")
+  private String id;
+
+  @JsonProperty("definitionId")
+  private String definitionId;
+
+  @JsonProperty("businessKey")
+  private String businessKey;
+
+  @JsonProperty("priority")
+  private int priority;
+
+  @JsonProperty("suspended")
+  private boolean suspended;
+
+  public Item() {
+  }
+
+  public Item(int number) {
+    this.id = "a1b2c3d4-" + number;
+    this.definitionId = "invoice:3:1f5e2a7c-4b8d-11e7-9598-0800200c9a66";
+    this.businessKey = "INV-" + number;
+    this.priority = number % 10;
+    this.suspended = number % 7 == 0;
+  }
+
+  /**
+   * @param size
+   *          number of items
+   * @return a list of {@code size} distinct items
+   */
+  public static ArrayList<Item> list(int size) {
+    ArrayList<Item> items = new ArrayList<Item>(size);
+    for (int number = 0; number < size; number++) {
+      items.add(new Item(number));
+    }
+    return items;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getDefinitionId() {
+    return definitionId;
+  }
+
+  public void setDefinitionId(String definitionId) {
+    this.definitionId = definitionId;
+  }
+
+  public String getBusinessKey() {
+    return businessKey;
+  }
+
+  public void setBusinessKey(String businessKey) {
+    this.businessKey = businessKey;
+  }
+
+  public int getPriority() {
+    return priority;
+  }
+
+  public void setPriority(int priority) {
+    this.priority = priority;
+  }
+
+  public boolean getSuspended() {
+    return suspended;
+  }
+
+  public void setSuspended(boolean suspended) {
+    this.suspended = suspended;
+  }
+}
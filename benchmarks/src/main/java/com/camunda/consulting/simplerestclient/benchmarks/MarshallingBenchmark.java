@@ -0,0 +1,62 @@
+package com.camunda.consulting.simplerestclient.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.camunda.consulting.simplerestclient.request.RequestWithBody;
+import com.camunda.consulting.simplerestclient.util.FormFields;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+/**
+ * This measures marshalling request bodies to JSON and to url-encoded form
+ * fields, the latter being what {@code RestClient.convertObjectFieldsToMap}
+ * delegates to.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarshallingBenchmark {
+
+  /**
+   * number of items in the body
+   */
+  @Param({ "1", "100" })
+  public int size;
+
+  private RequestWithBody request;
+
+  private final Item item = new Item(4711);
+
+  @Setup
+  public void setUp() {
+    request = new RequestWithBody("process-instance", size == 1 ? item : Item.list(size));
+  }
+
+  @Benchmark
+  public String bodyAsString() throws JsonProcessingException {
+    return request.bodyAsString();
+  }
+
+  @Benchmark
+  public Map<String, String> convertObjectFieldsToMap() {
+    return FormFields.toMap(item);
+  }
+}
@@ -0,0 +1,56 @@
+package com.camunda.consulting.simplerestclient.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.camunda.consulting.simplerestclient.request.Request;
+import com.camunda.consulting.simplerestclient.request.RequestTemplate;
+
+/**
+ * This measures building requests and assembling their paths, which happens
+ * for every call before anything is sent.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBenchmark {
+
+  private final RequestTemplate template = new RequestTemplate("process-instance/{id}/variables/{name}");
+
+  private final Request request = new Request("process-instance/a1b2c3d4/variables?deserializeValues=false").path("amount", "data");
+
+  @Benchmark
+  public Request construct() {
+    return new Request("process-instance?processDefinitionKey=invoice&active=true&maxResults=100");
+  }
+
+  @Benchmark
+  public Request constructFromTemplate() {
+    return new Request(template, "a1b2c3d4", "amount");
+  }
+
+  @Benchmark
+  public String getPath() {
+    return request.getPath();
+  }
+
+  @Benchmark
+  public String getEncodedPath() {
+    return request.getEncodedPath();
+  }
+}
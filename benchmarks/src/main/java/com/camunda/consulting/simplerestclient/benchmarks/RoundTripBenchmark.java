@@ -0,0 +1,95 @@
+package com.camunda.consulting.simplerestclient.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.camunda.consulting.simplerestclient.RestClient;
+import com.camunda.consulting.simplerestclient.RestClientBuilder;
+import com.camunda.consulting.simplerestclient.transport.NioTransport;
+import com.camunda.consulting.simplerestclient.testsupport.StubResponse;
+import com.camunda.consulting.simplerestclient.testsupport.StubServer;
+import com.camunda.consulting.simplerestclient.util.JsonCodec;
+
+/**
+ * This measures full calls through a {@link RestClient} against an HTTP server
+ * in the same JVM, i.e. request building, transport, connection pool and
+ * decoding, with the network reduced to loopback.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RoundTripBenchmark {
+
+  /**
+   * the transport of the client, {@code jaxrs} or {@code nio}
+   */
+  @Param({ "jaxrs", "nio" })
+  public String transport;
+
+  /**
+   * number of items in the response body of {@code GET}s
+   */
+  @Param({ "1", "100" })
+  public int size;
+
+  private StubServer server;
+  private RestClient restClient;
+
+  private final Item item = new Item(4711);
+
+  @Setup
+  public void setUp() throws IOException {
+    byte[] items = JsonCodec.DEFAULT.getMapper().writeValueAsBytes(Item.list(size));
+
+    server = StubServer.http().stub("/items", new StubResponse().body(items)).stub("/echo", new StubResponse().echo());
+
+    RestClientBuilder builder = RestClient.builder(server.getUri());
+    if (transport.equals("nio")) {
+      builder.transport(NioTransport::new);
+    }
+    restClient = builder.build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    restClient.close();
+    server.close();
+  }
+
+  @Benchmark
+  public List<Item> get() {
+    return restClient.get(restClient.newRequest("items"), Item.class).getResults();
+  }
+
+  @Benchmark
+  public List<Item> getAsync() {
+    return restClient.getAsync(restClient.newRequest("items"), Item.class).join().getResults();
+  }
+
+  @Benchmark
+  public Item post() {
+    return restClient.post(restClient.newRequestWithBody("echo", item), Item.class).getSingleResult();
+  }
+}
@@ -0,0 +1,78 @@
+package com.camunda.consulting.simplerestclient;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This denotes which kind of threads a {@link RestClient} runs asynchronous
+ * requests on when no executor is set via
+ * {@link RestClientBuilder#asyncExecutor(java.util.concurrent.Executor)}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public enum ExecutionMode {
+
+  /**
+   * a cached pool of platform threads
+   */
+  PLATFORM_THREADS,
+
+  /**
+   * one virtual thread per request if the runtime supports them (Java 21+),
+   * {@link #PLATFORM_THREADS} otherwise. Blocking I/O parks the virtual thread
+   * only, so a few carrier threads serve any number of blocking requests.
+   * Synchronous calls like {@link RestClient#get} still run on the calling
+   * thread; to have them park a virtual thread, call them from one.
+   */
+  VIRTUAL_THREADS;
+
+  private static final Logger log = LoggerFactory.getLogger(ExecutionMode.class);
+
+  /**
+   * @return a new executor according to this mode
+   */
+  ExecutorService newExecutor() {
+    if (this == VIRTUAL_THREADS) {
+      ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+      if (virtualThreadExecutor != null) {
+        return virtualThreadExecutor;
+      }
+      log.info("virtual threads are not supported by this runtime, falling back to platform threads");
+    }
+
+    AtomicInteger threadCount = new AtomicInteger();
+    return Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "simplerestclient-async-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * @return {@code true} if the runtime supports virtual threads
+   */
+  public static boolean isVirtualThreadSupported() {
+    ExecutorService executor = newVirtualThreadPerTaskExecutor();
+    if (executor == null) {
+      return false;
+    }
+    executor.shutdown();
+    return true;
+  }
+
+  /**
+   * The executor is looked up reflectively as the client is built for Java 8.
+   */
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+}
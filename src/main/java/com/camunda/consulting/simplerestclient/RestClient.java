@@ -1,22 +1,28 @@
 package com.camunda.consulting.simplerestclient;
 
-import java.io.InputStream;
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.Serializable;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.security.KeyStore;
+import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-
-import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
-import javax.ws.rs.client.Entity;
-import javax.ws.rs.client.Invocation.Builder;
-import javax.ws.rs.client.WebTarget;
-import javax.ws.rs.core.Cookie;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
@@ -24,55 +30,150 @@ import javax.ws.rs.core.MultivaluedMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.camunda.consulting.simplerestclient.breaker.CircuitBreakingTransport;
+import com.camunda.consulting.simplerestclient.bulk.BulkCall;
+import com.camunda.consulting.simplerestclient.bulk.BulkResult;
+import com.camunda.consulting.simplerestclient.cache.ResponseCache;
+import com.camunda.consulting.simplerestclient.cache.SingleFlight;
+import com.camunda.consulting.simplerestclient.compression.CompressionConfig;
+import com.camunda.consulting.simplerestclient.compression.DecompressingTransport;
+import com.camunda.consulting.simplerestclient.cookie.CookieHandlingTransport;
+import com.camunda.consulting.simplerestclient.cookie.CookieStore;
 import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.hedge.HedgeStats;
+import com.camunda.consulting.simplerestclient.hedge.HedgingTransport;
+import com.camunda.consulting.simplerestclient.limit.AdaptiveLimitingTransport;
+import com.camunda.consulting.simplerestclient.limit.InFlightLimitingTransport;
+import com.camunda.consulting.simplerestclient.limit.RateLimitingTransport;
+import com.camunda.consulting.simplerestclient.logging.WireLog;
+import com.camunda.consulting.simplerestclient.logging.WireLoggingTransport;
+import com.camunda.consulting.simplerestclient.metrics.EndpointStats;
+import com.camunda.consulting.simplerestclient.metrics.MetricsListener;
+import com.camunda.consulting.simplerestclient.metrics.MetricsRegistry;
+import com.camunda.consulting.simplerestclient.metrics.MetricsTransport;
+import com.camunda.consulting.simplerestclient.paging.PagedResults;
+import com.camunda.consulting.simplerestclient.paging.PagingConfig;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolStats;
 import com.camunda.consulting.simplerestclient.request.Request;
+import com.camunda.consulting.simplerestclient.request.RequestTemplate;
 import com.camunda.consulting.simplerestclient.request.RequestWithBody;
 import com.camunda.consulting.simplerestclient.request.RequestWithUrlEncodedData;
 import com.camunda.consulting.simplerestclient.response.Response;
 import com.camunda.consulting.simplerestclient.response.ResponseWithBody;
-import com.camunda.consulting.simplerestclient.util.CookieClientRequestFilter;
+import com.camunda.consulting.simplerestclient.response.StreamingResponse;
+import com.camunda.consulting.simplerestclient.retry.RetryingTransport;
+import com.camunda.consulting.simplerestclient.transport.HttpTransport;
+import com.camunda.consulting.simplerestclient.transport.RequestEntity;
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+import com.camunda.consulting.simplerestclient.util.FormFields;
+import com.camunda.consulting.simplerestclient.util.JsonCodec;
+import com.camunda.consulting.simplerestclient.util.UriEncoder;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.TypeFactory;
 
 /**
  * This is the Rest Client representation for requests to a certain REST API.
+ * An instance is thread-safe and meant to be shared: all requests go through
+ * one pool of connections which is released by {@link #close()}.
  * 
  * @author Sebastian Warnke (sebastian.warnke@camunda.com)
  */
-public class RestClient {
+public class RestClient implements Closeable {
 
   private static final Logger log = LoggerFactory.getLogger(RestClient.class);
 
-  private final Client client;
-  private final WebTarget target;
+  /**
+   * Transport all HTTP exchanges are sent through.
+   */
+  private final HttpTransport transport;
+
+  /**
+   * Executor asynchronous requests run blocking I/O and response decoding on.
+   */
+  private final Executor asyncExecutor;
+
+  /**
+   * {@code asyncExecutor} if it was created by this client and has to be shut
+   * down on {@link #close()}, {@code null} otherwise.
+   */
+  private final ExecutorService ownedAsyncExecutor;
 
   /**
    * URI to the location of the REST API
    */
   private final String restUri;
 
+  /**
+   * {@code restUri} without a trailing '/', as request paths start with one
+   */
+  private final String baseUri;
+
+  /**
+   * request templates compiled so far, by template
+   */
+  private final ConcurrentMap<String, RequestTemplate> templates = new ConcurrentHashMap<String, RequestTemplate>();
+
+  /**
+   * compression settings
+   */
+  private final CompressionConfig compressionConfig;
+
+  /**
+   * cache of {@code GET} responses, {@code null} if none are cached
+   */
+  private final ResponseCache responseCache;
+
+  /**
+   * coalesces equal {@code GET} requests in flight, {@code null} if disabled
+   */
+  private final SingleFlight<Object, Response> singleFlight;
+
   /**
    * Mapper to marhall requests. If not set a default mapper is being used.
    */
   private ObjectMapper requestMapper = null;
 
+  /**
+   * Codec of {@code requestMapper} caching its writers.
+   */
+  private volatile JsonCodec requestCodec = JsonCodec.DEFAULT;
+
   /**
    * Mapper to unmarshall responses. If not set a default mapper is being used.
    */
   private ObjectMapper responseMapper = null;
 
+  /**
+   * Codec of {@code responseMapper} caching its types and readers.
+   */
+  private volatile JsonCodec responseCodec = JsonCodec.DEFAULT;
+
   /**
    * Default headers sent during a request.
    */
   private MultivaluedMap<String, Object> headers = new MultivaluedHashMap<String, Object>();
 
   /**
-   * Cookies sent during a request.
+   * Cookies sent during a request, {@code null} if cookies are not handled.
    */
-  private List<Cookie> cookies = new ArrayList<Cookie>();
+  private final CookieStore cookieStore;
+
+  /**
+   * log of sampled exchanges, {@code null} if none are logged
+   */
+  private final WireLog wireLog;
+
+  /**
+   * metrics of the requests sent, {@code null} if none are kept
+   */
+  private final MetricsRegistry metricsRegistry;
+
+  /**
+   * hedges {@code GET} requests, {@code null} if they are not hedged
+   */
+  private final HedgingTransport hedgingTransport;
 
   /**
    * Constructor
@@ -81,10 +182,7 @@ public class RestClient {
    *          URI to the location of the REST API
    */
   public RestClient(String restUri) {
-
-    this.client = ClientBuilder.newBuilder().build();
-    this.restUri = restUri;
-    this.target = client.target(this.restUri);
+    this(new RestClientBuilder(restUri));
   }
   
   /**
@@ -92,18 +190,104 @@ public class RestClient {
    * 
    * @param restUri
    *          URI to the location of the REST API
+   * @param keystoreLocation
+   *          classpath location of the PKCS12 KeyStore holding the client
+   *          certificate
+   * @param keystorePassword
+   *          password of the KeyStore
    */
   public RestClient(String restUri, String keystoreLocation, String keystorePassword) throws RestClientException {
+    this(new RestClientBuilder(restUri).keystore(keystoreLocation, keystorePassword));
+  }
+
+  /**
+   * Constructor
+   * 
+   * @param builder
+   *          the builder holding the client's settings
+   */
+  RestClient(RestClientBuilder builder) {
+    this.restUri = builder.getRestUri();
+    this.baseUri = restUri.endsWith("/") ? restUri.substring(0, restUri.length() - 1) : restUri;
 
-    Optional<KeyStore> keystore = readKeystore(keystoreLocation, keystorePassword);
-    
-    if (keystore.isPresent()) {
-      this.client = ClientBuilder.newBuilder().keyStore(keystore.get(), keystorePassword).build();
-      this.restUri = restUri;
-      this.target = client.target(this.restUri);
+    if (builder.getAsyncExecutor() != null) {
+      this.asyncExecutor = builder.getAsyncExecutor();
+      this.ownedAsyncExecutor = null;
     } else {
-      throw new RestClientException("KeyStore from ["+keystoreLocation+"] was null.");
+      this.ownedAsyncExecutor = builder.getExecutionMode().newExecutor();
+      this.asyncExecutor = ownedAsyncExecutor;
+    }
+
+    HttpTransport transport = builder.getTransportFactory().create(builder.getConnectionPoolConfig(), builder.createSslContext());
+    this.compressionConfig = builder.getCompressionConfig();
+    this.responseCache = builder.getResponseCache();
+    this.singleFlight = builder.isCoalesceGets() ? new SingleFlight<Object, Response>() : null;
+    this.cookieStore = builder.getCookieStore();
+    if (cookieStore != null) {
+      transport = new CookieHandlingTransport(transport, cookieStore);
+    }
+    // inside of the decompression, so bytes are counted as transferred
+    this.metricsRegistry = builder.getMetricsRegistry();
+    List<MetricsListener> metricsListeners = new ArrayList<MetricsListener>();
+    if (metricsRegistry != null) {
+      metricsListeners.add(metricsRegistry);
+    }
+    metricsListeners.addAll(builder.getMetricsListeners());
+    if (metricsListeners.isEmpty() == false) {
+      transport = new MetricsTransport(transport, metricsListeners);
+    }
+    if (compressionConfig.isDecompressResponses()) {
+      transport = new DecompressingTransport(transport, compressionConfig);
+    }
+    // outside of the decompression, so bodies are logged decoded
+    this.wireLog = builder.getWireLogConfig() != null ? new WireLog(builder.getWireLogConfig()) : null;
+    if (wireLog != null) {
+      transport = new WireLoggingTransport(transport, wireLog);
+    }
+    if (builder.getInFlightLimiter() != null) {
+      transport = new InFlightLimitingTransport(transport, builder.getInFlightLimiter());
+    }
+    // outside of the limiter, so requests above the adapted limit are rejected
+    // rather than waiting for permits
+    if (builder.getAdaptiveLimiter() != null) {
+      transport = new AdaptiveLimitingTransport(transport, builder.getAdaptiveLimiter());
+    }
+    // outside of the adaptive limiter, so rejected requests take no slot
+    if (builder.getCircuitBreaker() != null) {
+      transport = new CircuitBreakingTransport(transport, builder.getCircuitBreaker());
+    }
+    // outside of the breaker and the adaptive limiter, so the time waited for
+    // tokens is not taken for latency
+    if (builder.getRateLimiter() != null) {
+      transport = new RateLimitingTransport(transport, builder.getRateLimiter());
+    }
+    // outside of the limiters, so hedges take permits of their own
+    this.hedgingTransport = builder.getHedgePolicy() != null ? new HedgingTransport(transport, builder.getHedgePolicy(), asyncExecutor)
+        : null;
+    if (hedgingTransport != null) {
+      transport = hedgingTransport;
+    }
+    // outside of the limiter, so requests waiting to be retried hold no
+    // permit, and each attempt is measured and logged on its own
+    transport = new RetryingTransport(transport, builder.getRetryPolicy(), builder.getRetryBudget());
+    this.transport = transport;
+
+    if (builder.getObjectMapper() != null) {
+      this.requestMapper = builder.getObjectMapper();
+      this.responseMapper = builder.getObjectMapper();
+      this.requestCodec = new JsonCodec(builder.getObjectMapper());
+      this.responseCodec = requestCodec;
     }
+
+  }
+
+  /**
+   * @param restUri
+   *          URI to the location of the REST API
+   * @return a builder to set up a new {@link RestClient}
+   */
+  public static RestClientBuilder builder(String restUri) {
+    return new RestClientBuilder(restUri);
   }
 
   /**
@@ -128,40 +312,33 @@ public class RestClient {
    * @param value
    *          the value of the cookie.
    * @param path
-   *          the URI path for which the cookie is valid.
+   *          the URI path for which the cookie is valid, {@code null} for all
+   *          paths.
    * @param domain
-   *          the host domain for which the cookie is valid
+   *          the host domain for which the cookie is valid including its
+   *          subdomains, {@code null} for any host
    * @return this
+   * @throws IllegalStateException
+   *           if the client was built without a cookie store
    */
   public RestClient cookie(String name, String value, String path, String domain) {
-    Cookie cookie = new Cookie(name, value, path, domain);
-    cookies.add(cookie);
+    if (cookieStore == null) {
+      throw new IllegalStateException("cookies are disabled for this client");
+    }
+    cookieStore.add(name, value, path, domain);
     return this;
   }
 
-  public void setHeaders(Map<String, Object> headers) {
-    this.headers = new MultivaluedHashMap<>(headers);
+  /**
+   * @return the cookies sent with requests and set by responses, {@code null}
+   *         if cookies are disabled
+   */
+  public CookieStore getCookieStore() {
+    return cookieStore;
   }
 
-  private Optional<KeyStore> readKeystore(String keystoreLocation, String keystorePassword) throws RestClientException {
-
-    KeyStore keystore = null;
-
-    InputStream keyStoreStream = this.getClass().getResourceAsStream(keystoreLocation);
-
-    if (keyStoreStream == null) {
-      log.error("keyStoreStream was null.");
-    } else {
-
-      try {
-        keystore = KeyStore.getInstance("PKCS12"); // or "PKCS12"
-        keystore.load(keyStoreStream, keystorePassword.toCharArray());
-      } catch (Exception e) {
-        throw new RestClientException("Cannot create KeyStore from [" + keystoreLocation + "].", e);
-      }
-    }
-    
-    return Optional.of(keystore);
+  public void setHeaders(Map<String, Object> headers) {
+    this.headers = new MultivaluedHashMap<>(headers);
   }
 
   /**
@@ -194,9 +371,7 @@ public class RestClient {
     RequestWithBody request = new RequestWithBody(endpoint, body);
     request.setHeaders(headers);
 
-    if (requestMapper != null) {
-      request.setBodyMapper(requestMapper);
-    }
+    request.setBodyCodec(requestCodec);
 
     return request;
   }
@@ -213,7 +388,84 @@ public class RestClient {
    * @return request
    */
   public RequestWithUrlEncodedData newRequestWithUrlEncodedData(String endpoint, Serializable dataTemplate) {
-    RequestWithUrlEncodedData request = new RequestWithUrlEncodedData(endpoint);
+    return withUrlEncodedData(new RequestWithUrlEncodedData(endpoint), dataTemplate);
+  }
+
+  /**
+   * This compiles a request path with variables, e.g.
+   * {@code process-instance/{id}/variables}, for requests created by
+   * {@link #newRequest(RequestTemplate, Object...)} and its siblings. Each
+   * template is compiled once per client, so this may be called per request.
+   * 
+   * @param pathTemplate
+   *          the URI path, relative to {@code restUri}, with variables enclosed
+   *          in braces
+   * @return the compiled template
+   * @throws IllegalArgumentException
+   *           if the template is malformed
+   */
+  public RequestTemplate template(String pathTemplate) {
+    RequestTemplate template = templates.get(pathTemplate);
+    return template != null ? template : templates.computeIfAbsent(pathTemplate, RequestTemplate::new);
+  }
+
+  /**
+   * This creates an instance of {@link Request} from a template and sets the
+   * default headers of the rest client.
+   * 
+   * @param template
+   *          the compiled URI path, relative to {@code restUri}
+   * @param values
+   *          values of the template's variables in order of their first
+   *          appearance
+   * @return request
+   */
+  public Request newRequest(RequestTemplate template, Object... values) {
+    Request request = new Request(template, values);
+    request.setHeaders(headers);
+    return request;
+  }
+
+  /**
+   * This creates an instance of {@link RequestWithBody} from a template and
+   * sets the default headers of the rest client.
+   * 
+   * @param template
+   *          the compiled URI path, relative to {@code restUri}
+   * @param body
+   *          the body which is to be sent in the request
+   * @param values
+   *          values of the template's variables in order of their first
+   *          appearance
+   * @return request
+   */
+  public RequestWithBody newRequestWithBody(RequestTemplate template, Serializable body, Object... values) {
+    RequestWithBody request = new RequestWithBody(template, body, values);
+    request.setHeaders(headers);
+
+    request.setBodyCodec(requestCodec);
+
+    return request;
+  }
+
+  /**
+   * This creates an instance of {@link RequestWithUrlEncodedData} from a
+   * template and sets the default headers of the rest client.
+   * 
+   * @param template
+   *          the compiled URI path, relative to {@code restUri}
+   * @param dataTemplate
+   *          the object which is used to be create URL-encoded data from.
+   * @param values
+   *          values of the template's variables in order of their first
+   *          appearance
+   * @return request
+   */
+  public RequestWithUrlEncodedData newRequestWithUrlEncodedData(RequestTemplate template, Serializable dataTemplate, Object... values) {
+    return withUrlEncodedData(new RequestWithUrlEncodedData(template, values), dataTemplate);
+  }
+
+  private RequestWithUrlEncodedData withUrlEncodedData(RequestWithUrlEncodedData request, Serializable dataTemplate) {
     request.setHeaders(headers);
 
     Map<String, String> dataMap = convertObjectFieldsToMap(dataTemplate);
@@ -224,12 +476,22 @@ public class RestClient {
     return request;
   }
 
-  private <T extends Serializable> ResponseWithBody<T> newResponseWithBody(javax.ws.rs.core.Response httpResponse, JavaType returnType) {
-    ResponseWithBody<T> response = new ResponseWithBody<T>(httpResponse, returnType);
+  private static Response newResponse(TransportResponse transportResponse, Request request) {
+    return request.isDiscardResponseBody() ? Response.discardingBody(transportResponse) : new Response(transportResponse);
+  }
 
-    if (responseMapper != null) {
-      response.setCustomMapper(responseMapper);
-    }
+  /**
+   * @return how a response to {@code request} without entity type is decoded,
+   *         so responses with and without body are not shared
+   */
+  private static Object viewOf(Request request) {
+    return request.isDiscardResponseBody() ? Arrays.asList(Response.class, "discardResponseBody") : Response.class;
+  }
+
+  private <T extends Serializable> ResponseWithBody<T> newResponseWithBody(TransportResponse transportResponse, JavaType returnType) {
+    ResponseWithBody<T> response = new ResponseWithBody<T>(transportResponse, returnType);
+
+    response.setCodec(responseCodec);
 
     return response;
   }
@@ -247,7 +509,7 @@ public class RestClient {
    */
   public <T extends Serializable> ResponseWithBody<T> get(Request request, Class<T> entityType) {
 
-    JavaType javatype = TypeFactory.defaultInstance().constructSimpleType(entityType, null);
+    JavaType javatype = responseCodec.typeOf(entityType);
     ResponseWithBody<T> response = this.get(request, javatype);
 
     return response;
@@ -260,18 +522,7 @@ public class RestClient {
    *          The request to be sent.
    */
   public Response get(Request request) {
-
-    Response response = null;
-
-    log.debug("GET Request: {}{}{}", restUri, request.getPath(), request.getParameterPreview());
-    log.debug("... with header information: {}", request.getHeaders());
-
-    Builder builder = createInvocationBuilder(request);
-
-    javax.ws.rs.core.Response httpResponse = builder.get();
-    response = new Response(httpResponse);
-
-    return response;
+    return get(createTransportRequest(HttpMethod.GET, request, null), viewOf(request), transportResponse -> newResponse(transportResponse, request));
   }
 
   /**
@@ -286,22 +537,51 @@ public class RestClient {
    * @return a response object containing unmarshalled data
    */
   public <T extends Serializable> ResponseWithBody<T> get(Request request, JavaType entityType) {
+    // responses decoded by another codec are not shared
+    return get(createTransportRequest(HttpMethod.GET, request, null), Arrays.asList(entityType, responseCodec),
+        transportResponse -> newResponseWithBody(transportResponse, entityType));
+  }
 
-    ResponseWithBody<T> response = null;
-
-    log.debug("GET Request: {}{}{}", restUri, request.getPath(), request.getParameterPreview());
-    log.debug("... with header information: {}", request.getHeaders());
-
-    Builder builder = createInvocationBuilder(request);
+  /**
+   * This sends a GET request through the response cache and coalesces it with
+   * equal requests in flight, if enabled.
+   * 
+   * @param view
+   *          identifies how the response is decoded
+   */
+  @SuppressWarnings("unchecked")
+  private <R extends Response> R get(TransportRequest transportRequest, Object view, Function<TransportResponse, R> decoder) {
+    Supplier<Response> call = () -> {
+      if (responseCache != null) {
+        return responseCache.execute(transport, transportRequest, view, decoder);
+      }
+      return decoder.apply(transport.execute(transportRequest));
+    };
 
-    javax.ws.rs.core.Response httpResponse = builder.get();
-    response = new ResponseWithBody<T>(httpResponse, entityType);
+    if (singleFlight == null) {
+      return (R) call.get();
+    }
+    return (R) singleFlight.execute(flightKey(transportRequest, view), call);
+  }
 
-    if (responseMapper != null) {
-      response.setCustomMapper(responseMapper);
+  @SuppressWarnings("unchecked")
+  private <R extends Response> CompletableFuture<R> getAsync(TransportRequest transportRequest, Object view,
+      Function<TransportResponse, R> decoder) {
+    if (singleFlight == null) {
+      return decodeAsync(transport.executeAsync(transportRequest, asyncExecutor), decoder);
     }
 
-    return response;
+    Supplier<CompletableFuture<Response>> call = () -> decodeAsync(transport.executeAsync(transportRequest, asyncExecutor),
+        transportResponse -> decoder.apply(transportResponse));
+    return singleFlight.executeAsync(flightKey(transportRequest, view), call).thenApply(response -> (R) response);
+  }
+
+  /**
+   * Requests are equal if they have equal URIs and headers and are decoded the
+   * same way.
+   */
+  private static Object flightKey(TransportRequest transportRequest, Object view) {
+    return Arrays.asList(transportRequest.getUri(), new TreeMap<String, List<Object>>(transportRequest.getHeaders()), view);
   }
 
   /**
@@ -312,8 +592,8 @@ public class RestClient {
    * @return a response object
    */
   public Response post(RequestWithBody request) {
-    javax.ws.rs.core.Response httpResponse = invokePost(request);
-    Response response = new Response(httpResponse);
+    TransportResponse transportResponse = exchange(HttpMethod.POST, request, jsonEntity(request));
+    Response response = newResponse(transportResponse, request);
 
     return response;
   }
@@ -330,7 +610,7 @@ public class RestClient {
    * @return a response object containing unmarshalled data
    */
   public <T extends Serializable> ResponseWithBody<T> post(RequestWithBody request, Class<T> entityType) {
-    JavaType javatype = TypeFactory.defaultInstance().constructSimpleType(entityType, null);
+    JavaType javatype = responseCodec.typeOf(entityType);
     ResponseWithBody<T> response = post(request, javatype);
 
     return response;
@@ -348,8 +628,8 @@ public class RestClient {
    * @return a response object containing unmarshalled data
    */
   public <T extends Serializable> ResponseWithBody<T> post(RequestWithBody request, JavaType entityType) {
-    javax.ws.rs.core.Response httpResponse = invokePost(request);
-    ResponseWithBody<T> response = newResponseWithBody(httpResponse, entityType);
+    TransportResponse transportResponse = exchange(HttpMethod.POST, request, jsonEntity(request));
+    ResponseWithBody<T> response = newResponseWithBody(transportResponse, entityType);
 
     return response;
   }
@@ -362,9 +642,8 @@ public class RestClient {
    * @return a response object
    */
   public Response post(RequestWithUrlEncodedData request) {
-    Builder builder = createInvocationBuilder(request);
-    javax.ws.rs.core.Response httpResponse = builder.post(Entity.entity(request.getUrlEncodedData(), MediaType.APPLICATION_FORM_URLENCODED_TYPE));
-    Response response = new Response(httpResponse);
+    TransportResponse transportResponse = exchange(HttpMethod.POST, request, RequestEntity.form(request.getUrlEncodedData()));
+    Response response = newResponse(transportResponse, request);
 
     return response;
   }
@@ -381,7 +660,7 @@ public class RestClient {
    * @return a response object containing unmarshalled data
    */
   public <T extends Serializable> ResponseWithBody<T> post(RequestWithUrlEncodedData request, Class<T> entityType) {
-    JavaType javatype = TypeFactory.defaultInstance().constructSimpleType(entityType, null);
+    JavaType javatype = responseCodec.typeOf(entityType);
     ResponseWithBody<T> response = post(request, javatype);
 
     return response;
@@ -399,127 +678,606 @@ public class RestClient {
    * @return a response object containing unmarshalled data
    */
   public <T extends Serializable> ResponseWithBody<T> post(RequestWithUrlEncodedData request, JavaType entityType) {
-    Builder builder = createInvocationBuilder(request);
-    javax.ws.rs.core.Response httpResponse = builder.post(Entity.entity(request.getUrlEncodedData(), MediaType.APPLICATION_FORM_URLENCODED_TYPE));
-    ResponseWithBody<T> response = new ResponseWithBody<T>(httpResponse, entityType);
+    TransportResponse transportResponse = exchange(HttpMethod.POST, request, RequestEntity.form(request.getUrlEncodedData()));
+    ResponseWithBody<T> response = newResponseWithBody(transportResponse, entityType);
 
     return response;
   }
 
-  private javax.ws.rs.core.Response invokePost(RequestWithBody request) {
+  /**
+   * This sends a PUT request to the REST API located at {@code restUri}.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @return a response object
+   */
+  public Response put(Request request) {
+    TransportResponse transportResponse = exchange(HttpMethod.PUT, request, null);
+    Response response = newResponse(transportResponse, request);
+
+    return response;
+  }
 
-    log.debug("POST Request: {}{}{}", restUri, request.getPath(), request.getParameterPreview());
-    log.debug("... with header information: {}", request.getHeaders());
+  /**
+   * This sends a PUT request to the REST API located at {@code restUri}.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @return a response object
+   */
+  public Response put(RequestWithBody request) {
+    TransportResponse transportResponse = exchange(HttpMethod.PUT, request, jsonEntity(request));
+    Response response = newResponse(transportResponse, request);
 
-    Builder builder = createInvocationBuilder(request);
+    return response;
+  }
 
-    String jsonBody = null;
-    try {
-      jsonBody = request.bodyAsString();
-    } catch (JsonProcessingException e) {
-      throw new RestClientException("cannot marshall request body", e);
+  /**
+   * This sends a PUT request to the REST API located at {@code restUri}.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @return a response object
+   */
+  public Response put(RequestWithUrlEncodedData request) {
+    TransportResponse transportResponse = exchange(HttpMethod.PUT, request, RequestEntity.form(request.getUrlEncodedData()));
+    Response response = newResponse(transportResponse, request);
+
+    return response;
+  }
+
+  /**
+   * This sends a DELETE request to the REST API located at {@code restUri}.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @return a response object
+   */
+  public Response delete(Request request) {
+    TransportResponse transportResponse = exchange(HttpMethod.DELETE, request, null);
+    Response response = newResponse(transportResponse, request);
+
+    return response;
+  }
+
+  /**
+   * This runs a batch of independent calls, at most {@code parallelism} at a
+   * time, on the client's async executor. A call that fails does not affect
+   * the others; its exception is captured in its result.
+   * 
+   * @param calls
+   *          the calls
+   * @param parallelism
+   *          maximum number of calls in flight
+   * @param <R>
+   *          type of the responses
+   * @return the results, in the order of {@code calls}
+   */
+  public <R extends Response> List<BulkResult<R>> executeAll(List<? extends BulkCall<? extends R>> calls, int parallelism) {
+    return executeAllAsync(calls, parallelism).join();
+  }
+
+  /**
+   * This runs a batch of independent calls without blocking the calling
+   * thread.
+   * 
+   * @param calls
+   *          the calls
+   * @param parallelism
+   *          maximum number of calls in flight
+   * @param <R>
+   *          type of the responses
+   * @return a future completed with the results, in the order of {@code calls}
+   * @see #executeAll(List, int)
+   */
+  public <R extends Response> CompletableFuture<List<BulkResult<R>>> executeAllAsync(List<? extends BulkCall<? extends R>> calls, int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be at least 1");
+    }
+
+    AtomicReferenceArray<BulkResult<R>> results = new AtomicReferenceArray<BulkResult<R>>(calls.size());
+    AtomicInteger next = new AtomicInteger();
+
+    // each worker takes the next call as soon as its previous call is done
+    Runnable worker = () -> {
+      for (int index = next.getAndIncrement(); index < results.length(); index = next.getAndIncrement()) {
+        BulkCall<? extends R> call = calls.get(index);
+        try {
+          results.set(index, new BulkResult<R>(call, call.execute(this), null));
+        } catch (Throwable e) {
+          // an error fails this call only, not the batch
+          log.debug("call {} of batch failed", index, e);
+          results.set(index, new BulkResult<R>(call, null, e));
+        }
+      }
+    };
+
+    int workerCount = Math.min(parallelism, calls.size());
+    CompletableFuture<?>[] workers = new CompletableFuture<?>[workerCount];
+    for (int i = 0; i < workerCount; i++) {
+      workers[i] = CompletableFuture.runAsync(worker, asyncExecutor);
     }
 
-    Entity<String> entity = Entity.json(jsonBody);
+    return CompletableFuture.allOf(workers).thenApply(done -> {
+      List<BulkResult<R>> resultList = new ArrayList<BulkResult<R>>(results.length());
+      for (int index = 0; index < results.length(); index++) {
+        resultList.add(results.get(index));
+      }
+      return resultList;
+    });
+  }
 
-    javax.ws.rs.core.Response httpResponse = builder.post(entity);
+  /**
+   * This pages through the results of a GET query by its first-result and
+   * max-results parameters. While the caller consumes a page, the following
+   * pages are already being requested.
+   * 
+   * @param request
+   *          The query to be sent, without paging parameters.
+   * @param entityType
+   *          The data type of the results.
+   * @param paging
+   *          page size, paging parameters and number of pages requested ahead
+   * @param <T>
+   *          entity class
+   * @return the results of all pages, to be iterated once
+   */
+  public <T extends Serializable> PagedResults<T> getPaged(Request request, Class<T> entityType, PagingConfig paging) {
+    return getPaged(request, responseCodec.typeOf(entityType), paging);
+  }
 
-    return httpResponse;
+  /**
+   * This pages through the results of a GET query.
+   * 
+   * @param request
+   *          The query to be sent, without paging parameters.
+   * @param entityType
+   *          The data type of the results.
+   * @param paging
+   *          page size, paging parameters and number of pages requested ahead
+   * @param <T>
+   *          entity class
+   * @return the results of all pages, to be iterated once
+   * @see #getPaged(Request, Class, PagingConfig)
+   */
+  public <T extends Serializable> PagedResults<T> getPaged(Request request, JavaType entityType, PagingConfig paging) {
+    return new PagedResults<T>(paging, (firstResult, maxResults) -> fetchPage(HttpMethod.GET, request, null, entityType, paging, firstResult, maxResults));
   }
 
   /**
-   * This sends a PUT request to the REST API located at {@code restUri}.
+   * This pages through the results of a POST query, as e.g. the history
+   * queries of the Camunda REST API take their paging parameters in the URI
+   * and their filters in the body.
+   * 
+   * @param request
+   *          The query to be sent, without paging parameters.
+   * @param entityType
+   *          The data type of the results.
+   * @param paging
+   *          page size, paging parameters and number of pages requested ahead
+   * @param <T>
+   *          entity class
+   * @return the results of all pages, to be iterated once
+   * @see #getPaged(Request, Class, PagingConfig)
+   */
+  public <T extends Serializable> PagedResults<T> postPaged(RequestWithBody request, Class<T> entityType, PagingConfig paging) {
+    return postPaged(request, responseCodec.typeOf(entityType), paging);
+  }
+
+  /**
+   * This pages through the results of a POST query.
+   * 
+   * @param request
+   *          The query to be sent, without paging parameters.
+   * @param entityType
+   *          The data type of the results.
+   * @param paging
+   *          page size, paging parameters and number of pages requested ahead
+   * @param <T>
+   *          entity class
+   * @return the results of all pages, to be iterated once
+   * @see #postPaged(RequestWithBody, Class, PagingConfig)
+   */
+  public <T extends Serializable> PagedResults<T> postPaged(RequestWithBody request, JavaType entityType, PagingConfig paging) {
+    return new PagedResults<T>(paging,
+        (firstResult, maxResults) -> fetchPage(HttpMethod.POST, request, jsonEntity(request), entityType, paging, firstResult, maxResults));
+  }
+
+  private <T extends Serializable> CompletableFuture<List<T>> fetchPage(String method, Request request, RequestEntity entity, JavaType entityType,
+      PagingConfig paging, int firstResult, int maxResults) {
+
+    Map<String, String> pageParameters = new HashMap<String, String>();
+    pageParameters.put(paging.getFirstResultParameter(), String.valueOf(firstResult));
+    pageParameters.put(paging.getMaxResultsParameter(), String.valueOf(maxResults));
+
+    CompletableFuture<TransportResponse> exchange = transport.executeAsync(createTransportRequest(method, request, entity, pageParameters),
+        asyncExecutor);
+
+    // pages requested ahead are cancelled if the caller stops early
+    return decodeAsync(exchange, transportResponse -> {
+      ResponseWithBody<T> response = newResponseWithBody(transportResponse, entityType);
+      if (response.getStatus() >= 300) {
+        throw new RestClientException("page at " + firstResult + " returned status " + response.getStatus() + ": " + response.getRawResponseEntityString());
+      }
+      return response.getResults();
+    });
+  }
+
+  /**
+   * This sends a GET request to the REST API located at {@code restUri}. The
+   * response's entity is unmarshalled element by element while it is iterated,
+   * so large JSON arrays are never held in memory as a whole. The response must
+   * be closed.
    * 
    * @param request
    *          The request to be sent.
-   * @return a response object
+   * @param entityType
+   *          The data type of the elements of the response's entity.
+   * @param <T>
+   *          entity class
+   * @return a response object to be iterated
    */
-  public Response put(Request request) {
+  public <T extends Serializable> StreamingResponse<T> getStreaming(Request request, Class<T> entityType) {
+    return getStreaming(request, responseCodec.typeOf(entityType));
+  }
 
-    Response response = null;
+  /**
+   * This sends a GET request to the REST API located at {@code restUri}.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @param entityType
+   *          The data type of the elements of the response's entity.
+   * @param <T>
+   *          entity class
+   * @return a response object to be iterated
+   * @see #getStreaming(Request, Class)
+   */
+  public <T extends Serializable> StreamingResponse<T> getStreaming(Request request, JavaType entityType) {
+    TransportResponse transportResponse = exchange(HttpMethod.GET, request, null);
+    return newStreamingResponse(transportResponse, entityType);
+  }
+
+  /**
+   * This sends a POST request to the REST API located at {@code restUri}.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @param entityType
+   *          The data type of the elements of the response's entity.
+   * @param <T>
+   *          entity class
+   * @return a response object to be iterated
+   * @see #getStreaming(Request, Class)
+   */
+  public <T extends Serializable> StreamingResponse<T> postStreaming(RequestWithBody request, Class<T> entityType) {
+    return postStreaming(request, responseCodec.typeOf(entityType));
+  }
 
-    log.debug("PUT Request: {}{}{}", restUri, request.getPath(), request.getParameterPreview());
-    log.debug("... with header information: {}", request.getHeaders());
+  /**
+   * This sends a POST request to the REST API located at {@code restUri}.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @param entityType
+   *          The data type of the elements of the response's entity.
+   * @param <T>
+   *          entity class
+   * @return a response object to be iterated
+   * @see #getStreaming(Request, Class)
+   */
+  public <T extends Serializable> StreamingResponse<T> postStreaming(RequestWithBody request, JavaType entityType) {
+    TransportResponse transportResponse = exchange(HttpMethod.POST, request, jsonEntity(request));
+    return newStreamingResponse(transportResponse, entityType);
+  }
 
-    Builder builder = createInvocationBuilder(request);
+  private <T extends Serializable> StreamingResponse<T> newStreamingResponse(TransportResponse transportResponse, JavaType entityType) {
+    StreamingResponse<T> response = new StreamingResponse<T>(transportResponse, entityType);
 
-    javax.ws.rs.core.Response httpResponse = builder.put(Entity.json(null));
-    response = new Response(httpResponse);
+    response.setCodec(responseCodec);
 
     return response;
   }
 
   /**
-   * This sends a PUT request to the REST API located at {@code restUri}.
+   * This sends a GET request to the REST API located at {@code restUri}
+   * without blocking the calling thread.
    * 
    * @param request
    *          The request to be sent.
-   * @return a response object
+   * @return a future completed with the response object
    */
-  public Response put(RequestWithBody request) {
+  public CompletableFuture<Response> getAsync(Request request) {
+    return getAsync(createTransportRequest(HttpMethod.GET, request, null), viewOf(request),
+        transportResponse -> newResponse(transportResponse, request));
+  }
 
-    Response response = null;
+  /**
+   * This sends a GET request to the REST API located at {@code restUri}
+   * without blocking the calling thread.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @param entityType
+   *          The data type of the response's entity.
+   * @param <T>
+   *          entity class
+   * @return a future completed with a response object containing
+   *         unmarshalled data
+   */
+  public <T extends Serializable> CompletableFuture<ResponseWithBody<T>> getAsync(Request request, Class<T> entityType) {
+    JavaType javatype = responseCodec.typeOf(entityType);
+    return getAsync(request, javatype);
+  }
 
-    log.debug("PUT Request: {}{}{}", restUri, request.getPath(), request.getParameterPreview());
-    log.debug("... with header information: {}", request.getHeaders());
+  /**
+   * This sends a GET request to the REST API located at {@code restUri}
+   * without blocking the calling thread.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @param entityType
+   *          The data type of the response's entity.
+   * @param <T>
+   *          entity class
+   * @return a future completed with a response object containing
+   *         unmarshalled data
+   */
+  public <T extends Serializable> CompletableFuture<ResponseWithBody<T>> getAsync(Request request, JavaType entityType) {
+    return getAsync(createTransportRequest(HttpMethod.GET, request, null), Arrays.asList(entityType, responseCodec),
+        transportResponse -> newResponseWithBody(transportResponse, entityType));
+  }
 
-    Builder builder = createInvocationBuilder(request);
+  /**
+   * This sends a POST request to the REST API located at {@code restUri}
+   * without blocking the calling thread.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @return a future completed with the response object
+   */
+  public CompletableFuture<Response> postAsync(RequestWithBody request) {
+    return exchangeAsync(HttpMethod.POST, request, jsonEntity(request), transportResponse -> newResponse(transportResponse, request));
+  }
 
-    String jsonBody = null;
-    try {
-      jsonBody = request.bodyAsString();
-    } catch (JsonProcessingException e) {
-      throw new RestClientException("cannot marshall request body", e);
-    }
+  /**
+   * This sends a POST request to the REST API located at {@code restUri}
+   * without blocking the calling thread.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @param entityType
+   *          The data type of the response's entity.
+   * @param <T>
+   *          entity class
+   * @return a future completed with a response object containing
+   *         unmarshalled data
+   */
+  public <T extends Serializable> CompletableFuture<ResponseWithBody<T>> postAsync(RequestWithBody request, Class<T> entityType) {
+    JavaType javatype = responseCodec.typeOf(entityType);
+    return postAsync(request, javatype);
+  }
 
-    javax.ws.rs.core.Response httpResponse = builder.put(Entity.json(jsonBody));
-    response = new Response(httpResponse);
+  /**
+   * This sends a POST request to the REST API located at {@code restUri}
+   * without blocking the calling thread.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @param entityType
+   *          The data type of the response's entity.
+   * @param <T>
+   *          entity class
+   * @return a future completed with a response object containing
+   *         unmarshalled data
+   */
+  public <T extends Serializable> CompletableFuture<ResponseWithBody<T>> postAsync(RequestWithBody request, JavaType entityType) {
+    return exchangeAsync(HttpMethod.POST, request, jsonEntity(request), transportResponse -> newResponseWithBody(transportResponse, entityType));
+  }
 
-    return response;
+  /**
+   * This sends a POST request to the REST API located at {@code restUri}
+   * without blocking the calling thread.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @return a future completed with the response object
+   */
+  public CompletableFuture<Response> postAsync(RequestWithUrlEncodedData request) {
+    return exchangeAsync(HttpMethod.POST, request, RequestEntity.form(request.getUrlEncodedData()), transportResponse -> newResponse(transportResponse, request));
   }
 
-  public Response put(RequestWithUrlEncodedData request) {
-    Builder builder = createInvocationBuilder(request);
-    javax.ws.rs.core.Response httpResponse = builder.put(Entity.entity(request.getUrlEncodedData(), MediaType.APPLICATION_FORM_URLENCODED_TYPE));
-    Response response = new Response(httpResponse);
+  /**
+   * This sends a POST request to the REST API located at {@code restUri}
+   * without blocking the calling thread.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @param entityType
+   *          The data type of the response's entity.
+   * @param <T>
+   *          entity class
+   * @return a future completed with a response object containing
+   *         unmarshalled data
+   */
+  public <T extends Serializable> CompletableFuture<ResponseWithBody<T>> postAsync(RequestWithUrlEncodedData request, Class<T> entityType) {
+    JavaType javatype = responseCodec.typeOf(entityType);
+    return postAsync(request, javatype);
+  }
 
-    return response;
+  /**
+   * This sends a POST request to the REST API located at {@code restUri}
+   * without blocking the calling thread.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @param entityType
+   *          The data type of the response's entity.
+   * @param <T>
+   *          entity class
+   * @return a future completed with a response object containing
+   *         unmarshalled data
+   */
+  public <T extends Serializable> CompletableFuture<ResponseWithBody<T>> postAsync(RequestWithUrlEncodedData request, JavaType entityType) {
+    return exchangeAsync(HttpMethod.POST, request, RequestEntity.form(request.getUrlEncodedData()), transportResponse -> newResponseWithBody(transportResponse, entityType));
   }
 
-  public Response delete(Request request) {
+  /**
+   * This sends a PUT request to the REST API located at {@code restUri}
+   * without blocking the calling thread.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @return a future completed with the response object
+   */
+  public CompletableFuture<Response> putAsync(Request request) {
+    return exchangeAsync(HttpMethod.PUT, request, null, transportResponse -> newResponse(transportResponse, request));
+  }
 
-    Response response = null;
+  /**
+   * This sends a PUT request to the REST API located at {@code restUri}
+   * without blocking the calling thread.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @return a future completed with the response object
+   */
+  public CompletableFuture<Response> putAsync(RequestWithBody request) {
+    return exchangeAsync(HttpMethod.PUT, request, jsonEntity(request), transportResponse -> newResponse(transportResponse, request));
+  }
+
+  /**
+   * This sends a PUT request to the REST API located at {@code restUri}
+   * without blocking the calling thread.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @return a future completed with the response object
+   */
+  public CompletableFuture<Response> putAsync(RequestWithUrlEncodedData request) {
+    return exchangeAsync(HttpMethod.PUT, request, RequestEntity.form(request.getUrlEncodedData()), transportResponse -> newResponse(transportResponse, request));
+  }
+
+  /**
+   * This sends a DELETE request to the REST API located at {@code restUri}
+   * without blocking the calling thread.
+   * 
+   * @param request
+   *          The request to be sent.
+   * @return a future completed with the response object
+   */
+  public CompletableFuture<Response> deleteAsync(Request request) {
+    return exchangeAsync(HttpMethod.DELETE, request, null, transportResponse -> newResponse(transportResponse, request));
+  }
 
-    log.debug("DELETE Request: {}{}{}", restUri, request.getPath(), request.getParameterPreview());
-    log.debug("... with header information: {}", request.getHeaders());
+  private RequestEntity jsonEntity(RequestWithBody request) {
+    RequestEntity entity = RequestEntity.streaming(request::writeBodyTo, MediaType.APPLICATION_JSON);
 
-    Builder builder = createInvocationBuilder(request);
+    boolean compress = request.getCompressBody() != null ? request.getCompressBody() : compressionConfig.isCompressRequests();
+    if (compress == false) {
+      return entity;
+    }
 
-    javax.ws.rs.core.Response httpResponse = builder.delete();
-    response = new Response(httpResponse);
+    try {
+      return compressionConfig.compress(entity);
+    } catch (IOException e) {
+      throw new RestClientException("cannot marshall request body", e);
+    }
+  }
 
-    return response;
+  private TransportResponse exchange(String method, Request request, RequestEntity entity) {
+    return transport.execute(createTransportRequest(method, request, entity));
   }
 
-  private Builder createInvocationBuilder(Request request) {
+  private <R> CompletableFuture<R> exchangeAsync(String method, Request request, RequestEntity entity, Function<TransportResponse, R> decoder) {
+    return decodeAsync(transport.executeAsync(createTransportRequest(method, request, entity), asyncExecutor), decoder);
+  }
 
-    if (this.cookies.isEmpty() == false) {
-      this.client.register(new CookieClientRequestFilter(this.cookies));
+  /**
+   * This decodes a response on the async executor. Unlike
+   * {@code thenApplyAsync} it releases a response arriving after the caller
+   * has cancelled, and it passes the cancellation on to the transport.
+   */
+  private <R> CompletableFuture<R> decodeAsync(CompletableFuture<TransportResponse> exchange, Function<TransportResponse, R> decoder) {
+    CompletableFuture<R> result = new CompletableFuture<R>();
+
+    exchange.whenComplete((transportResponse, throwable) -> {
+      if (throwable != null) {
+        result.completeExceptionally(throwable);
+        return;
+      }
+      try {
+        asyncExecutor.execute(() -> {
+          if (result.isDone()) {
+            transportResponse.close();
+            return;
+          }
+          try {
+            result.complete(decoder.apply(transportResponse));
+          } catch (Throwable e) {
+            transportResponse.close();
+            result.completeExceptionally(e);
+          }
+        });
+      } catch (RuntimeException e) {
+        transportResponse.close();
+        result.completeExceptionally(e);
+      }
+    });
+    result.whenComplete((response, throwable) -> {
+      if (result.isCancelled()) {
+        exchange.cancel(true);
+      }
+    });
+
+    return result;
+  }
+
+  private TransportRequest createTransportRequest(String method, Request request, RequestEntity entity) {
+    return createTransportRequest(method, request, entity, Collections.<String, String> emptyMap());
+  }
+
+  /**
+   * @param parameterOverrides
+   *          URI parameters replacing those of {@code request}
+   */
+  private TransportRequest createTransportRequest(String method, Request request, RequestEntity entity, Map<String, String> parameterOverrides) {
+
+    if (log.isDebugEnabled()) {
+      log.debug("{} Request: {}{}{}", method, restUri, request.getPath(), request.getParameterPreview());
+      log.debug("... with header information: {}", request.getHeaders());
     }
 
-    WebTarget fullTarget = target.path(request.getPath());
+    // assembled directly, as a UriBuilder parses and copies the URI on every
+    // step
+    StringBuilder uri = new StringBuilder(128).append(baseUri).append(request.getEncodedPath());
+    char separator = '?';
 
     for (Map.Entry<String, String> parameterEntry : request.getParameters().entrySet()) {
-      fullTarget = fullTarget.queryParam(parameterEntry.getKey(), parameterEntry.getValue());
+      if (parameterOverrides.containsKey(parameterEntry.getKey()) == false) {
+        appendParameter(uri, separator, parameterEntry);
+        separator = '&';
+      }
+    }
+    for (Map.Entry<String, String> parameterEntry : parameterOverrides.entrySet()) {
+      appendParameter(uri, separator, parameterEntry);
+      separator = '&';
     }
-
-    Builder builder = fullTarget.request();
 
     // we don't use this.headers because header information could have been
     // changed in request.getHeaders()
-    builder.headers(request.getHeaders());
-    builder.accept(MediaType.APPLICATION_JSON);
-    return builder;
+    MultivaluedMap<String, Object> requestHeaders = new MultivaluedHashMap<String, Object>(request.getHeaders());
+    requestHeaders.add(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+
+    return new TransportRequest(method, URI.create(uri.toString()), request.getEndpoint(), requestHeaders, entity, request.getRetryPolicy());
+  }
+
+  private static void appendParameter(StringBuilder uri, char separator, Map.Entry<String, String> parameter) {
+    uri.append(separator);
+    UriEncoder.appendQueryParameter(uri, parameter.getKey());
+    if (parameter.getValue() != null) {
+      UriEncoder.appendQueryParameter(uri.append('='), parameter.getValue());
+    }
   }
 
   /**
@@ -545,34 +1303,69 @@ public class RestClient {
    *         </pre>
    */
   private Map<String, String> convertObjectFieldsToMap(Object object) {
-    Map<String, String> result = new HashMap<String, String>();
-    // These are all declared fields/attributes of the class
-    Field[] declaredFields = object.getClass().getDeclaredFields();
-    // These are all declared methods of the class
-    Method[] methods = object.getClass().getMethods();
-    for (Field field : declaredFields) {
-      String fieldName = field.getName();
-      for (Method method : methods) {
-        // This tries to find and invoke the getter method for a field
-        String methodName = method.getName();
-        if (methodName.equalsIgnoreCase("get" + fieldName)) {
-          try {
-            Object fieldFilterValue = method.invoke(object);
-            if (fieldFilterValue == null) {
-              // ignore this field
-            } else {
-              String fieldFilterValueString = fieldFilterValue.toString();
-              JsonProperty jsonPropertyAnnotation = field.getAnnotation(JsonProperty.class);
-              String jsonName = jsonPropertyAnnotation.value();
-              result.put(jsonName, fieldFilterValueString);
-            }
-          } catch (Exception e) {
-            log.warn("exception during invocation of '{}' from object '{}'", fieldName, object, e);
-          }
-        }
-      }
+    // the fields and getters of each class are looked up once
+    return FormFields.toMap(object);
+  }
+
+  /**
+   * @return a snapshot of the occupancy of the client's connection pool
+   */
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return transport.getConnectionPoolStats();
+  }
+
+  /**
+   * @return a snapshot of the metrics by endpoint
+   * @throws IllegalStateException
+   *           if the client keeps no metrics
+   */
+  public Map<String, EndpointStats> getEndpointStats() {
+    if (metricsRegistry == null) {
+      throw new IllegalStateException("metrics are not kept by this client");
     }
-    return result;
+    return metricsRegistry.getStats();
+  }
+
+  /**
+   * @return a snapshot of the counters of hedged requests
+   * @throws IllegalStateException
+   *           if the client does not hedge requests
+   */
+  public HedgeStats getHedgeStats() {
+    if (hedgingTransport == null) {
+      throw new IllegalStateException("requests are not hedged by this client");
+    }
+    return hedgingTransport.getStats();
+  }
+
+  /**
+   * This releases the client's connections. The client must not be used
+   * afterwards.
+   */
+  @Override
+  public void close() {
+    transport.close();
+
+    if (wireLog != null) {
+      wireLog.close();
+    }
+
+    if (ownedAsyncExecutor != null) {
+      ownedAsyncExecutor.shutdown();
+    }
+  }
+
+  /**
+   * @return the executor asynchronous requests run on. Callers may submit their
+   *         own blocking work to it, e.g. to run synchronous calls on virtual
+   *         threads.
+   */
+  public Executor getAsyncExecutor() {
+    return asyncExecutor;
+  }
+
+  public HttpTransport getTransport() {
+    return transport;
   }
 
   public String getRestUri() {
@@ -585,6 +1378,7 @@ public class RestClient {
 
   public void setRequestMapper(ObjectMapper requestMapper) {
     this.requestMapper = requestMapper;
+    this.requestCodec = requestMapper != null ? new JsonCodec(requestMapper) : JsonCodec.DEFAULT;
   }
 
   public ObjectMapper getResponseMapper() {
@@ -593,5 +1387,6 @@ public class RestClient {
 
   public void setResponseMapper(ObjectMapper responseMapper) {
     this.responseMapper = responseMapper;
+    this.responseCodec = responseMapper != null ? new JsonCodec(responseMapper) : JsonCodec.DEFAULT;
   }
 }
@@ -0,0 +1,610 @@
+package com.camunda.consulting.simplerestclient;
+
+import java.io.InputStream;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.http.ssl.SSLContextBuilder;
+import org.apache.http.ssl.SSLContexts;
+
+import com.camunda.consulting.simplerestclient.breaker.CircuitBreaker;
+import com.camunda.consulting.simplerestclient.cache.ResponseCache;
+import com.camunda.consulting.simplerestclient.compression.CompressionConfig;
+import com.camunda.consulting.simplerestclient.cookie.CookieStore;
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.hedge.HedgePolicy;
+import com.camunda.consulting.simplerestclient.limit.AdaptiveLimiter;
+import com.camunda.consulting.simplerestclient.limit.InFlightLimiter;
+import com.camunda.consulting.simplerestclient.limit.RateLimiter;
+import com.camunda.consulting.simplerestclient.logging.WireLogConfig;
+import com.camunda.consulting.simplerestclient.metrics.MetricsListener;
+import com.camunda.consulting.simplerestclient.metrics.MetricsRegistry;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolConfig;
+import com.camunda.consulting.simplerestclient.retry.RetryBudget;
+import com.camunda.consulting.simplerestclient.retry.RetryPolicy;
+import com.camunda.consulting.simplerestclient.transport.HttpTransportFactory;
+import com.camunda.consulting.simplerestclient.transport.JaxRsTransport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * This is the builder for {@link RestClient} instances. It sets up the
+ * transport related parts of the client which cannot be changed once the
+ * client is built.
+ *
+ * <pre>
+ * RestClient restClient = RestClient.builder("https://myresturi.tld/api")
+ *     .connectionPool(new ConnectionPoolConfig().maxTotal(400).maxPerRoute(100))
+ *     .build();
+ * </pre>
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class RestClientBuilder {
+
+  /**
+   * URI to the location of the REST API
+   */
+  private final String restUri;
+
+  /**
+   * Settings of the connection pool. If not set a default pool is being used.
+   */
+  private ConnectionPoolConfig connectionPoolConfig = new ConnectionPoolConfig();
+
+  /**
+   * Creates the transport HTTP exchanges are sent through. If not set the
+   * blocking {@link JaxRsTransport} is being used.
+   */
+  private HttpTransportFactory transportFactory = JaxRsTransport::new;
+
+  /**
+   * Executor asynchronous requests run blocking I/O and response decoding on.
+   * If not set the client creates and owns one according to
+   * {@code executionMode}.
+   */
+  private Executor asyncExecutor = null;
+
+  /**
+   * Kind of threads of the executor the client creates if no
+   * {@code asyncExecutor} is set.
+   */
+  private ExecutionMode executionMode = ExecutionMode.PLATFORM_THREADS;
+
+  /**
+   * Compression settings. If not set responses are decoded and requests are
+   * sent uncompressed.
+   */
+  private CompressionConfig compressionConfig = new CompressionConfig();
+
+  /**
+   * Caches responses of {@code GET} requests, {@code null} if none are cached.
+   */
+  private ResponseCache responseCache = null;
+
+  /**
+   * {@code true} if equal {@code GET} requests in flight are coalesced.
+   */
+  private boolean coalesceGets = false;
+
+  /**
+   * Cookies sent with requests and set by responses, {@code null} if cookies
+   * are not handled.
+   */
+  private CookieStore cookieStore = new CookieStore();
+
+  /**
+   * Wire log settings, {@code null} if exchanges are not logged.
+   */
+  private WireLogConfig wireLogConfig = null;
+
+  /**
+   * Keeps metrics of the requests sent, {@code null} if none are kept.
+   */
+  private MetricsRegistry metricsRegistry = null;
+
+  /**
+   * Further listeners notified about each exchange.
+   */
+  private final List<MetricsListener> metricsListeners = new ArrayList<MetricsListener>();
+
+  /**
+   * Caps the number of requests in flight, {@code null} if uncapped.
+   */
+  private InFlightLimiter inFlightLimiter = null;
+
+  /**
+   * Adapts the number of requests in flight per endpoint to their latency,
+   * {@code null} if it is not adapted.
+   */
+  private AdaptiveLimiter adaptiveLimiter = null;
+
+  /**
+   * Stops requests to failing endpoints, {@code null} if they are not
+   * stopped.
+   */
+  private CircuitBreaker circuitBreaker = null;
+
+  /**
+   * Paces the requests per host and endpoint, {@code null} if they are not
+   * paced.
+   */
+  private RateLimiter rateLimiter = null;
+
+  /**
+   * Retry settings of requests without their own, {@code null} to retry only
+   * requests with a policy of their own.
+   */
+  private RetryPolicy retryPolicy = null;
+
+  /**
+   * Caps the retries of all requests.
+   */
+  private RetryBudget retryBudget = new RetryBudget(0.2, 10);
+
+  /**
+   * Hedging settings of {@code GET} requests, {@code null} if they are not
+   * hedged.
+   */
+  private HedgePolicy hedgePolicy = null;
+
+  /**
+   * Mapper to marshall requests and unmarshall responses. If not set a default
+   * mapper is being used.
+   */
+  private ObjectMapper objectMapper = null;
+
+  /**
+   * KeyStore holding the client certificate, {@code null} if none is used.
+   */
+  private KeyStore keystore = null;
+
+  private String keystorePassword = null;
+
+  /**
+   * KeyStore holding the certificates servers are trusted by, {@code null} to
+   * trust the JVM's default authorities.
+   */
+  private KeyStore truststore = null;
+
+  /**
+   * Constructor
+   *
+   * @param restUri
+   *          URI to the location of the REST API
+   */
+  public RestClientBuilder(String restUri) {
+    this.restUri = restUri;
+  }
+
+  /**
+   * This sets the connection pool settings. Unless set otherwise, a request
+   * fails if no data is received for 60 seconds, see
+   * {@link ConnectionPoolConfig#socketTimeout(long, java.util.concurrent.TimeUnit)};
+   * set it to {@code 0} to wait infinitely as the client did before it pooled
+   * connections.
+   *
+   * @param connectionPoolConfig
+   *          the pool settings
+   * @return this
+   */
+  public RestClientBuilder connectionPool(ConnectionPoolConfig connectionPoolConfig) {
+    this.connectionPoolConfig = connectionPoolConfig;
+    return this;
+  }
+
+  /**
+   * This sets the transport HTTP exchanges are sent through, e.g.
+   * {@code NioTransport::new}.
+   *
+   * @param transportFactory
+   *          creates the transport
+   * @return this
+   */
+  public RestClientBuilder transport(HttpTransportFactory transportFactory) {
+    this.transportFactory = transportFactory;
+    return this;
+  }
+
+  /**
+   * This sets the executor asynchronous requests run on. Blocking transports
+   * send requests on it, and responses are decoded on it so I/O threads of
+   * non-blocking transports are never busy with unmarshalling.
+   *
+   * @param asyncExecutor
+   *          the executor, not shut down by the client
+   * @return this
+   */
+  public RestClientBuilder asyncExecutor(Executor asyncExecutor) {
+    this.asyncExecutor = asyncExecutor;
+    return this;
+  }
+
+  /**
+   * This sets the kind of threads asynchronous requests run on, unless an
+   * executor is set via {@link #asyncExecutor(Executor)}.
+   *
+   * @param executionMode
+   *          the execution mode
+   * @return this
+   */
+  public RestClientBuilder executionMode(ExecutionMode executionMode) {
+    this.executionMode = executionMode;
+    return this;
+  }
+
+  /**
+   * This caps the number of requests in flight, in total and per endpoint.
+   * Especially with {@link ExecutionMode#VIRTUAL_THREADS} this keeps a
+   * fan-out of many threads from opening as many sockets.
+   *
+   * @param inFlightLimiter
+   *          the limiter
+   * @return this
+   */
+  public RestClientBuilder inFlightLimiter(InFlightLimiter inFlightLimiter) {
+    this.inFlightLimiter = inFlightLimiter;
+    return this;
+  }
+
+  /**
+   * This caps the number of requests in flight per endpoint at a limit
+   * adapted to their latency. Requests above the limit are rejected right
+   * away, so threads do not pile up in front of a server that has slowed
+   * down.
+   *
+   * @param adaptiveLimiter
+   *          the limiter, {@code null} to not adapt the requests in flight
+   * @return this
+   */
+  public RestClientBuilder adaptiveLimiter(AdaptiveLimiter adaptiveLimiter) {
+    this.adaptiveLimiter = adaptiveLimiter;
+    return this;
+  }
+
+  /**
+   * This rejects requests to an endpoint for a while once too many of them
+   * failed or were slow.
+   *
+   * @param circuitBreaker
+   *          the breaker, {@code null} to send requests regardless
+   * @return this
+   */
+  public RestClientBuilder circuitBreaker(CircuitBreaker circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+    return this;
+  }
+
+  /**
+   * This paces the requests by token buckets per host and per endpoint, e.g.
+   * to keep the quotas of a server.
+   *
+   * @param rateLimiter
+   *          the limiter, {@code null} to not pace requests
+   * @return this
+   */
+  public RestClientBuilder rateLimiter(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+    return this;
+  }
+
+  /**
+   * This sets the cache responses of {@code GET} requests are kept in. A cache
+   * may be shared by clients of the same REST API.
+   *
+   * @param responseCache
+   *          the cache
+   * @return this
+   */
+  public RestClientBuilder responseCache(ResponseCache responseCache) {
+    this.responseCache = responseCache;
+    return this;
+  }
+
+  /**
+   * This makes concurrent {@code GET} requests with equal path, parameters,
+   * headers and entity type share a single HTTP call and its unmarshalled
+   * result, which must then not be modified by the callers.
+   *
+   * @param coalesceGets
+   *          {@code true} to coalesce equal requests in flight
+   * @return this
+   */
+  public RestClientBuilder coalesceGets(boolean coalesceGets) {
+    this.coalesceGets = coalesceGets;
+    return this;
+  }
+
+  /**
+   * This sets the store of the cookies sent with requests and set by
+   * responses, e.g. to share cookies between clients.
+   *
+   * @param cookieStore
+   *          the store, {@code null} to neither send nor store cookies
+   * @return this
+   */
+  public RestClientBuilder cookieStore(CookieStore cookieStore) {
+    this.cookieStore = cookieStore;
+    return this;
+  }
+
+  /**
+   * This logs sampled requests and responses on a background thread. Without
+   * a wire log, requests carry no logging overhead at all.
+   *
+   * @param wireLogConfig
+   *          sampling, redaction and buffer settings, {@code null} to log
+   *          nothing
+   * @return this
+   */
+  public RestClientBuilder wireLog(WireLogConfig wireLogConfig) {
+    this.wireLogConfig = wireLogConfig;
+    return this;
+  }
+
+  /**
+   * This retries requests that failed with an I/O error or were answered with
+   * a transient error status. Requests may override the policy via
+   * {@link com.camunda.consulting.simplerestclient.request.Request#retryPolicy(RetryPolicy)}.
+   *
+   * @param retryPolicy
+   *          the retry settings, {@code null} to retry only requests with a
+   *          policy of their own
+   * @return this
+   */
+  public RestClientBuilder retryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+    return this;
+  }
+
+  /**
+   * This sets the budget capping the retries of all requests. By default
+   * retries may add 20% to the requests sent, plus 10 retries per second.
+   *
+   * @param retryBudget
+   *          the budget, which may be shared by clients of the same REST API
+   * @return this
+   */
+  public RestClientBuilder retryBudget(RetryBudget retryBudget) {
+    this.retryBudget = retryBudget;
+    return this;
+  }
+
+  /**
+   * This hedges {@code GET} requests: a request not answered after a delay is
+   * sent once more, and the first response is used.
+   *
+   * @param hedgePolicy
+   *          the hedging settings, {@code null} to not hedge requests
+   * @return this
+   */
+  public RestClientBuilder hedging(HedgePolicy hedgePolicy) {
+    this.hedgePolicy = hedgePolicy;
+    return this;
+  }
+
+  /**
+   * This keeps counters and latency histograms per endpoint in
+   * {@code metricsRegistry}. A registry may be shared by clients.
+   *
+   * @param metricsRegistry
+   *          the registry, {@code null} to keep no metrics
+   * @return this
+   */
+  public RestClientBuilder metrics(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+    return this;
+  }
+
+  /**
+   * This adds a listener notified about each exchange, e.g. to feed a
+   * monitoring system.
+   *
+   * @param metricsListener
+   *          the listener
+   * @return this
+   */
+  public RestClientBuilder metricsListener(MetricsListener metricsListener) {
+    this.metricsListeners.add(metricsListener);
+    return this;
+  }
+
+  /**
+   * This sets the compression settings, e.g. to compress request bodies above
+   * a threshold or to register further codecs.
+   *
+   * @param compressionConfig
+   *          the compression settings
+   * @return this
+   */
+  public RestClientBuilder compression(CompressionConfig compressionConfig) {
+    this.compressionConfig = compressionConfig;
+    return this;
+  }
+
+  /**
+   * This sets the mapper used to marshall requests and unmarshall responses.
+   * The client caches readers and writers built from it, so it must be fully
+   * configured before.
+   *
+   * @param objectMapper
+   *          the mapper
+   * @return this
+   */
+  public RestClientBuilder objectMapper(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    return this;
+  }
+
+  /**
+   * This sets the KeyStore holding the client certificate.
+   *
+   * @param keystore
+   *          the KeyStore
+   * @param keystorePassword
+   *          password of the KeyStore
+   * @return this
+   */
+  public RestClientBuilder keystore(KeyStore keystore, String keystorePassword) {
+    this.keystore = keystore;
+    this.keystorePassword = keystorePassword;
+    return this;
+  }
+
+  /**
+   * This reads a PKCS12 KeyStore holding the client certificate from the
+   * classpath.
+   *
+   * @param keystoreLocation
+   *          classpath location of the KeyStore
+   * @param keystorePassword
+   *          password of the KeyStore
+   * @return this
+   * @throws RestClientException
+   *           if the KeyStore cannot be read
+   */
+  public RestClientBuilder keystore(String keystoreLocation, String keystorePassword) throws RestClientException {
+    return keystore(readKeystore(keystoreLocation, keystorePassword), keystorePassword);
+  }
+
+  /**
+   * This sets the certificates servers are trusted by instead of the JVM's
+   * default authorities, e.g. to talk to a server with a self-signed
+   * certificate.
+   *
+   * @param truststore
+   *          the KeyStore holding the trusted certificates
+   * @return this
+   */
+  public RestClientBuilder truststore(KeyStore truststore) {
+    this.truststore = truststore;
+    return this;
+  }
+
+  /**
+   * @return a new {@link RestClient}
+   */
+  public RestClient build() {
+    return new RestClient(this);
+  }
+
+  String getRestUri() {
+    return restUri;
+  }
+
+  ConnectionPoolConfig getConnectionPoolConfig() {
+    return connectionPoolConfig;
+  }
+
+  HttpTransportFactory getTransportFactory() {
+    return transportFactory;
+  }
+
+  Executor getAsyncExecutor() {
+    return asyncExecutor;
+  }
+
+  ExecutionMode getExecutionMode() {
+    return executionMode;
+  }
+
+  ObjectMapper getObjectMapper() {
+    return objectMapper;
+  }
+
+  InFlightLimiter getInFlightLimiter() {
+    return inFlightLimiter;
+  }
+
+  RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  RetryBudget getRetryBudget() {
+    return retryBudget;
+  }
+
+  AdaptiveLimiter getAdaptiveLimiter() {
+    return adaptiveLimiter;
+  }
+
+  CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  RateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
+  HedgePolicy getHedgePolicy() {
+    return hedgePolicy;
+  }
+
+  boolean isCoalesceGets() {
+    return coalesceGets;
+  }
+
+  CookieStore getCookieStore() {
+    return cookieStore;
+  }
+
+  WireLogConfig getWireLogConfig() {
+    return wireLogConfig;
+  }
+
+  MetricsRegistry getMetricsRegistry() {
+    return metricsRegistry;
+  }
+
+  List<MetricsListener> getMetricsListeners() {
+    return metricsListeners;
+  }
+
+  ResponseCache getResponseCache() {
+    return responseCache;
+  }
+
+  CompressionConfig getCompressionConfig() {
+    return compressionConfig;
+  }
+
+  SSLContext createSslContext() throws RestClientException {
+    try {
+      if (keystore == null && truststore == null) {
+        return SSLContexts.createDefault();
+      }
+      SSLContextBuilder sslContext = SSLContexts.custom();
+      if (keystore != null) {
+        sslContext.loadKeyMaterial(keystore, keystorePassword.toCharArray());
+      }
+      if (truststore != null) {
+        sslContext.loadTrustMaterial(truststore, null);
+      }
+      return sslContext.build();
+    } catch (Exception e) {
+      throw new RestClientException("Cannot create SSLContext.", e);
+    }
+  }
+
+  private KeyStore readKeystore(String keystoreLocation, String keystorePassword) throws RestClientException {
+
+    try (InputStream keyStoreStream = this.getClass().getResourceAsStream(keystoreLocation)) {
+
+      if (keyStoreStream == null) {
+        throw new RestClientException("KeyStore from [" + keystoreLocation + "] was null.");
+      }
+
+      KeyStore keystore = KeyStore.getInstance("PKCS12");
+      keystore.load(keyStoreStream, keystorePassword.toCharArray());
+      return keystore;
+    } catch (RestClientException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new RestClientException("Cannot create KeyStore from [" + keystoreLocation + "].", e);
+    }
+  }
+}
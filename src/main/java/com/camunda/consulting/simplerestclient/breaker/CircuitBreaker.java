@@ -0,0 +1,367 @@
+package com.camunda.consulting.simplerestclient.breaker;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.camunda.consulting.simplerestclient.util.Ticker;
+
+/**
+ * This stops requests to an endpoint for a while once too many of them fail
+ * or are slow, so callers fail fast instead of waiting for a server that
+ * cannot answer, and the server gets time to recover. The share of failed and
+ * of slow requests is taken over a sliding window; once either passes its
+ * threshold, the circuit of the endpoint opens. After {@code openDuration} a
+ * few probe requests are let through; if all of them succeed the circuit
+ * closes again, otherwise it opens for another {@code openDuration}.
+ * <p>
+ * Requests failing with an I/O error and responses with a {@code 5xx} status
+ * count as failed.
+ *
+ * <pre>
+ * CircuitBreaker circuitBreaker = new CircuitBreaker()
+ *     .failureRateThreshold(0.5)
+ *     .slowCallThreshold(2, TimeUnit.SECONDS, 0.8);
+ * </pre>
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class CircuitBreaker {
+
+  private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+  /**
+   * This denotes whether requests to an endpoint are let through.
+   */
+  public enum State {
+
+    /**
+     * requests are let through
+     */
+    CLOSED,
+
+    /**
+     * requests are rejected
+     */
+    OPEN,
+
+    /**
+     * a few probe requests are let through
+     */
+    HALF_OPEN
+  }
+
+  /**
+   * number of buckets the window slides by
+   */
+  private static final int BUCKETS = 10;
+
+  private double failureRateThreshold = 0.5;
+  private long slowCallNanos = TimeUnit.SECONDS.toNanos(5);
+  private double slowCallRateThreshold = 1.0;
+
+  /**
+   * number of requests in the window before the circuit may open
+   */
+  private int minimumCalls = 20;
+
+  private long windowNanos = TimeUnit.SECONDS.toNanos(10);
+  private long openNanos = TimeUnit.SECONDS.toNanos(10);
+  private int probes = 3;
+
+  private Ticker ticker = Ticker.SYSTEM;
+
+  private final ConcurrentMap<String, Circuit> circuits = new ConcurrentHashMap<String, Circuit>();
+
+  /**
+   * @param failureRateThreshold
+   *          share of failed requests the circuit opens at, e.g. {@code 0.5}
+   * @return this
+   */
+  public CircuitBreaker failureRateThreshold(double failureRateThreshold) {
+    this.failureRateThreshold = failureRateThreshold;
+    return this;
+  }
+
+  /**
+   * @param slowCall
+   *          time after which a request counts as slow
+   * @param unit
+   *          unit of {@code slowCall}
+   * @param slowCallRateThreshold
+   *          share of slow requests the circuit opens at, e.g. {@code 0.8};
+   *          {@code 1.0} by default, so only an endpoint where all requests
+   *          are slow is stopped
+   * @return this
+   */
+  public CircuitBreaker slowCallThreshold(long slowCall, TimeUnit unit, double slowCallRateThreshold) {
+    this.slowCallNanos = unit.toNanos(slowCall);
+    this.slowCallRateThreshold = slowCallRateThreshold;
+    return this;
+  }
+
+  /**
+   * @param minimumCalls
+   *          number of requests in the window before the circuit may open
+   * @return this
+   */
+  public CircuitBreaker minimumCalls(int minimumCalls) {
+    this.minimumCalls = minimumCalls;
+    return this;
+  }
+
+  /**
+   * @param window
+   *          time the shares of failed and slow requests are taken over
+   * @param unit
+   *          unit of {@code window}
+   * @return this
+   */
+  public CircuitBreaker window(long window, TimeUnit unit) {
+    this.windowNanos = unit.toNanos(window);
+    return this;
+  }
+
+  /**
+   * @param openDuration
+   *          time requests are rejected before probe requests are let through
+   * @param unit
+   *          unit of {@code openDuration}
+   * @return this
+   */
+  public CircuitBreaker openDuration(long openDuration, TimeUnit unit) {
+    this.openNanos = unit.toNanos(openDuration);
+    return this;
+  }
+
+  /**
+   * @param probes
+   *          number of probe requests let through to decide whether the
+   *          circuit closes
+   * @return this
+   */
+  public CircuitBreaker probes(int probes) {
+    this.probes = probes;
+    return this;
+  }
+
+  /**
+   * @param ticker
+   *          source of time, to be set before the first request
+   * @return this
+   */
+  CircuitBreaker ticker(Ticker ticker) {
+    this.ticker = ticker;
+    return this;
+  }
+
+  /**
+   * @param endpoint
+   *          the endpoint of the request
+   * @return {@code true} if a request to {@code endpoint} may be sent, whose
+   *         outcome then has to be {@link #record(String, long, boolean)
+   *         recorded} or which has to be {@link #release(String) released}
+   */
+  public boolean tryAcquire(String endpoint) {
+    return circuitOf(endpoint).tryAcquire();
+  }
+
+  /**
+   * This records the outcome of a request to {@code endpoint}.
+   *
+   * @param endpoint
+   *          the endpoint of the request
+   * @param latencyNanos
+   *          time until the response was received
+   * @param failed
+   *          {@code true} if the request failed
+   */
+  public void record(String endpoint, long latencyNanos, boolean failed) {
+    circuitOf(endpoint).record(latencyNanos >= slowCallNanos, failed);
+  }
+
+  /**
+   * This releases a request to {@code endpoint} whose outcome tells nothing
+   * about the server, e.g. because it was rejected or cancelled before it was
+   * sent.
+   *
+   * @param endpoint
+   *          the endpoint of the request
+   */
+  public void release(String endpoint) {
+    circuitOf(endpoint).release();
+  }
+
+  private Circuit circuitOf(String endpoint) {
+    return circuits.computeIfAbsent(endpoint != null ? endpoint : "", key -> new Circuit(key));
+  }
+
+  /**
+   * @param endpoint
+   *          the endpoint
+   * @return state of the circuit of {@code endpoint}
+   */
+  public State getState(String endpoint) {
+    return circuitOf(endpoint).getState();
+  }
+
+  /**
+   * @return states of the circuits by endpoint
+   */
+  public Map<String, State> getStates() {
+    Map<String, State> snapshot = new TreeMap<String, State>();
+    circuits.forEach((endpoint, circuit) -> snapshot.put(endpoint, circuit.getState()));
+    return snapshot;
+  }
+
+  /**
+   * This holds the state of one endpoint. Outcomes are counted in buckets of
+   * {@code window / BUCKETS}; buckets older than the window are cleared as
+   * the window slides.
+   */
+  private class Circuit {
+
+    private final String endpoint;
+
+    private State state = State.CLOSED;
+    private long openedNanos;
+
+    /**
+     * probes let through and not recorded yet, and probes succeeded
+     */
+    private int probesInFlight;
+    private int probesSucceeded;
+
+    private final int[] calls = new int[BUCKETS];
+    private final int[] failures = new int[BUCKETS];
+    private final int[] slowCalls = new int[BUCKETS];
+
+    /**
+     * number of the bucket counted into last, counted from an arbitrary
+     * origin
+     */
+    private long currentBucket;
+
+    Circuit(String endpoint) {
+      this.endpoint = endpoint;
+      this.currentBucket = Math.floorDiv(ticker.nanoTime(), bucketNanos());
+    }
+
+    synchronized boolean tryAcquire() {
+      if (state == State.OPEN) {
+        if (ticker.nanoTime() - openedNanos < openNanos) {
+          return false;
+        }
+        log.info("circuit of endpoint [{}] is half-open, sending {} probe requests", endpoint, probes);
+        state = State.HALF_OPEN;
+        probesInFlight = 0;
+        probesSucceeded = 0;
+      }
+      if (state == State.HALF_OPEN) {
+        if (probesInFlight + probesSucceeded >= probes) {
+          return false;
+        }
+        probesInFlight++;
+      }
+      return true;
+    }
+
+    synchronized void record(boolean slow, boolean failed) {
+      if (state == State.HALF_OPEN) {
+        // requests sent before the circuit opened are taken as probes, too
+        probesInFlight = Math.max(0, probesInFlight - 1);
+        if (failed || slow) {
+          open();
+        } else if (++probesSucceeded >= probes) {
+          log.info("circuit of endpoint [{}] is closed", endpoint);
+          state = State.CLOSED;
+          clear();
+        }
+        return;
+      }
+      if (state == State.OPEN) {
+        // sent before the circuit opened
+        return;
+      }
+
+      int bucket = slide();
+      calls[bucket]++;
+      if (failed) {
+        failures[bucket]++;
+      }
+      if (slow) {
+        slowCalls[bucket]++;
+      }
+
+      int totalCalls = sum(calls);
+      if (totalCalls < minimumCalls) {
+        return;
+      }
+      if (sum(failures) >= failureRateThreshold * totalCalls || sum(slowCalls) >= slowCallRateThreshold * totalCalls) {
+        open();
+      }
+    }
+
+    synchronized void release() {
+      if (state == State.HALF_OPEN) {
+        probesInFlight = Math.max(0, probesInFlight - 1);
+      }
+    }
+
+    private void open() {
+      log.warn("circuit of endpoint [{}] is open, rejecting requests for {} ms", endpoint, TimeUnit.NANOSECONDS.toMillis(openNanos));
+      state = State.OPEN;
+      openedNanos = ticker.nanoTime();
+      clear();
+    }
+
+    /**
+     * @return index of the bucket of the current time, after clearing the
+     *         buckets that have left the window
+     */
+    private int slide() {
+      long bucket = Math.floorDiv(ticker.nanoTime(), bucketNanos());
+      long passed = Math.min(bucket - currentBucket, BUCKETS);
+      for (long i = 1; i <= passed; i++) {
+        int index = (int) Math.floorMod(currentBucket + i, (long) BUCKETS);
+        calls[index] = 0;
+        failures[index] = 0;
+        slowCalls[index] = 0;
+      }
+      if (bucket > currentBucket) {
+        currentBucket = bucket;
+      }
+      return (int) Math.floorMod(currentBucket, (long) BUCKETS);
+    }
+
+    private void clear() {
+      for (int i = 0; i < BUCKETS; i++) {
+        calls[i] = 0;
+        failures[i] = 0;
+        slowCalls[i] = 0;
+      }
+    }
+
+    synchronized State getState() {
+      return state;
+    }
+
+    private long bucketNanos() {
+      return Math.max(1, windowNanos / BUCKETS);
+    }
+
+    private int sum(int[] counts) {
+      int sum = 0;
+      for (int count : counts) {
+        sum += count;
+      }
+      return sum;
+    }
+  }
+}
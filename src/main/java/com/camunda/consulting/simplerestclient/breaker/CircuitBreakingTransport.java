@@ -0,0 +1,113 @@
+package com.camunda.consulting.simplerestclient.breaker;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolStats;
+import com.camunda.consulting.simplerestclient.transport.HttpTransport;
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+import com.camunda.consulting.simplerestclient.util.Failures;
+
+/**
+ * This {@link HttpTransport} rejects requests of its delegate while the
+ * circuit of their endpoint is open, and records the outcome of the requests
+ * sent in the {@link CircuitBreaker}. The outcome is taken as soon as the
+ * response head has been received.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class CircuitBreakingTransport implements HttpTransport {
+
+  private final HttpTransport delegate;
+  private final CircuitBreaker circuitBreaker;
+
+  /**
+   * Constructor.
+   *
+   * @param delegate
+   *          the transport requests are sent through
+   * @param circuitBreaker
+   *          the breaker deciding whether requests are sent
+   */
+  public CircuitBreakingTransport(HttpTransport delegate, CircuitBreaker circuitBreaker) {
+    this.delegate = delegate;
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  @Override
+  public TransportResponse execute(TransportRequest request) throws RestClientException {
+    acquire(request);
+    long startNanos = System.nanoTime();
+    TransportResponse response;
+    try {
+      response = delegate.execute(request);
+    } catch (RuntimeException e) {
+      failed(request, e, startNanos);
+      throw e;
+    }
+    received(request, response, startNanos);
+    return response;
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor blockingExecutor) {
+    try {
+      acquire(request);
+    } catch (RestClientException e) {
+      CompletableFuture<TransportResponse> rejected = new CompletableFuture<TransportResponse>();
+      rejected.completeExceptionally(e);
+      return rejected;
+    }
+    long startNanos = System.nanoTime();
+    CompletableFuture<TransportResponse> exchange = delegate.executeAsync(request, blockingExecutor);
+    CompletableFuture<TransportResponse> result = new CompletableFuture<TransportResponse>();
+
+    exchange.whenComplete((response, throwable) -> {
+      if (throwable != null) {
+        failed(request, throwable, startNanos);
+        result.completeExceptionally(throwable);
+      } else {
+        received(request, response, startNanos);
+        response.deliverTo(result);
+      }
+    });
+    result.whenComplete((response, throwable) -> {
+      if (result.isCancelled()) {
+        exchange.cancel(true);
+      }
+    });
+
+    return result;
+  }
+
+  private void acquire(TransportRequest request) throws RestClientException {
+    if (circuitBreaker.tryAcquire(request.getEndpoint()) == false) {
+      throw new RestClientException("circuit of endpoint [" + request.getEndpoint() + "] is open, request [" + request + "] is not sent");
+    }
+  }
+
+  private void received(TransportRequest request, TransportResponse response, long startNanos) {
+    circuitBreaker.record(request.getEndpoint(), System.nanoTime() - startNanos, response.getStatus() >= 500);
+  }
+
+  private void failed(TransportRequest request, Throwable failure, long startNanos) {
+    if (Failures.isIoFailure(failure)) {
+      circuitBreaker.record(request.getEndpoint(), System.nanoTime() - startNanos, true);
+    } else {
+      circuitBreaker.release(request.getEndpoint());
+    }
+  }
+
+  @Override
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return delegate.getConnectionPoolStats();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
@@ -0,0 +1,101 @@
+package com.camunda.consulting.simplerestclient.bulk;
+
+import java.io.Serializable;
+import java.util.function.Function;
+
+import com.camunda.consulting.simplerestclient.RestClient;
+import com.camunda.consulting.simplerestclient.request.Request;
+import com.camunda.consulting.simplerestclient.request.RequestWithBody;
+import com.camunda.consulting.simplerestclient.response.Response;
+import com.camunda.consulting.simplerestclient.response.ResponseWithBody;
+
+/**
+ * This is one call of a batch run by
+ * {@link RestClient#executeAll(java.util.List, int)}: a request together with
+ * its verb and the type its response is unmarshalled to.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ * @param <R>
+ *          type of the response
+ */
+public class BulkCall<R extends Response> {
+
+  private final Request request;
+  private final Function<RestClient, R> invocation;
+
+  /**
+   * Constructor.
+   *
+   * @param request
+   *          the request, for reference in results
+   * @param invocation
+   *          sends the request through the given client
+   */
+  public BulkCall(Request request, Function<RestClient, R> invocation) {
+    this.request = request;
+    this.invocation = invocation;
+  }
+
+  /**
+   * @return a GET request
+   */
+  public static BulkCall<Response> get(Request request) {
+    return new BulkCall<Response>(request, client -> client.get(request));
+  }
+
+  /**
+   * @return a GET request whose response is unmarshalled to {@code entityType}
+   */
+  public static <T extends Serializable> BulkCall<ResponseWithBody<T>> get(Request request, Class<T> entityType) {
+    return new BulkCall<ResponseWithBody<T>>(request, client -> client.get(request, entityType));
+  }
+
+  /**
+   * @return a POST request
+   */
+  public static BulkCall<Response> post(RequestWithBody request) {
+    return new BulkCall<Response>(request, client -> client.post(request));
+  }
+
+  /**
+   * @return a POST request whose response is unmarshalled to {@code entityType}
+   */
+  public static <T extends Serializable> BulkCall<ResponseWithBody<T>> post(RequestWithBody request, Class<T> entityType) {
+    return new BulkCall<ResponseWithBody<T>>(request, client -> client.post(request, entityType));
+  }
+
+  /**
+   * @return a PUT request without body
+   */
+  public static BulkCall<Response> put(Request request) {
+    return new BulkCall<Response>(request, client -> client.put(request));
+  }
+
+  /**
+   * @return a PUT request
+   */
+  public static BulkCall<Response> put(RequestWithBody request) {
+    return new BulkCall<Response>(request, client -> client.put(request));
+  }
+
+  /**
+   * @return a DELETE request
+   */
+  public static BulkCall<Response> delete(Request request) {
+    return new BulkCall<Response>(request, client -> client.delete(request));
+  }
+
+  public Request getRequest() {
+    return request;
+  }
+
+  /**
+   * @param client
+   *          the client to send the request through
+   * @return the response
+   */
+  public R execute(RestClient client) {
+    return invocation.apply(client);
+  }
+}
@@ -0,0 +1,67 @@
+package com.camunda.consulting.simplerestclient.bulk;
+
+import com.camunda.consulting.simplerestclient.response.Response;
+
+/**
+ * This is the outcome of one {@link BulkCall}: either its response or the
+ * exception it failed with.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ * @param <R>
+ *          type of the response
+ */
+public class BulkResult<R extends Response> {
+
+  private final BulkCall<? extends R> call;
+  private final R response;
+  private final Throwable exception;
+
+  /**
+   * Constructor.
+   *
+   * @param call
+   *          the call
+   * @param response
+   *          its response, {@code null} if it failed
+   * @param exception
+   *          the exception or error it failed with, {@code null} if it
+   *          succeeded
+   */
+  public BulkResult(BulkCall<? extends R> call, R response, Throwable exception) {
+    this.call = call;
+    this.response = response;
+    this.exception = exception;
+  }
+
+  public BulkCall<? extends R> getCall() {
+    return call;
+  }
+
+  /**
+   * @return {@code true} if a response was received, whatever its status
+   */
+  public boolean isSuccess() {
+    return exception == null;
+  }
+
+  /**
+   * @return the response, {@code null} if the call failed
+   */
+  public R getResponse() {
+    return response;
+  }
+
+  /**
+   * @return the exception or error the call failed with, {@code null} if it
+   *         succeeded
+   */
+  public Throwable getException() {
+    return exception;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkResult [request=" + call.getRequest().getPath() + ", " + (isSuccess() ? response : exception) + "]";
+  }
+}
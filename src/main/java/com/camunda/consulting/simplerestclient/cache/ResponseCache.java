@@ -0,0 +1,409 @@
+package com.camunda.consulting.simplerestclient.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.apache.http.client.utils.DateUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.response.Response;
+import com.camunda.consulting.simplerestclient.transport.HttpTransport;
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+
+/**
+ * This is an in-memory cache of {@code GET} responses. It honors the
+ * {@code Cache-Control} and {@code Expires} headers of responses and
+ * revalidates stale entries by conditional requests ({@code If-None-Match},
+ * {@code If-Modified-Since}); a {@code 304 Not Modified} is answered from the
+ * cached entry without unmarshalling the body again. Responses without
+ * freshness information but with an {@code ETag} or {@code Last-Modified}
+ * header are cached and revalidated on every use.
+ * <p>
+ * The cache is bounded by the number of entries and by the size of the cached
+ * bodies, where each decoded view of an entry counts with the size of the body
+ * once more, as it holds a copy of it; the least recently used entries are
+ * evicted first. Cached responses are shared between callers and must not be
+ * modified.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class ResponseCache {
+
+  private static final Logger log = LoggerFactory.getLogger(ResponseCache.class);
+
+  private final int maxEntries;
+  private final long maxBytes;
+
+  /**
+   * entries by request key in access order, guarded by {@code this}
+   */
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+
+  /**
+   * size of all cached entries, guarded by {@code this}
+   */
+  private long bytes = 0;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong revalidations = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Constructor.
+   *
+   * @param maxEntries
+   *          maximum number of cached responses
+   * @param maxBytes
+   *          maximum size of all cached bodies and their decoded views in
+   *          bytes
+   */
+  public ResponseCache(int maxEntries, long maxBytes) {
+    this.maxEntries = maxEntries;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * This answers a {@code GET} request from the cache if possible and sends
+   * it through {@code transport} otherwise.
+   *
+   * @param transport
+   *          the transport to send requests through
+   * @param request
+   *          the request
+   * @param view
+   *          identifies how the body is decoded, e.g. the entity type; each
+   *          view of an entry is decoded once
+   * @param decoder
+   *          decodes a response
+   * @param <R>
+   *          type of the decoded response
+   * @return the decoded response
+   */
+  @SuppressWarnings("unchecked")
+  public <R extends Response> R execute(HttpTransport transport, TransportRequest request, Object view, Function<TransportResponse, R> decoder) {
+
+    CacheControl requestCacheControl = CacheControl.parse(getHeader(request.getHeaders(), "Cache-Control"));
+    if (requestCacheControl.noStore) {
+      return decoder.apply(transport.execute(request));
+    }
+
+    String key = keyOf(request);
+    long now = System.currentTimeMillis();
+
+    Entry entry;
+    synchronized (this) {
+      entry = entries.get(key);
+    }
+
+    if (entry != null && requestCacheControl.noCache == false && entry.isFresh(now)) {
+      hits.incrementAndGet();
+      return (R) viewOf(key, entry, view, decoder);
+    }
+
+    TransportRequest sentRequest = entry != null ? conditional(request, entry) : request;
+    TransportResponse response = transport.execute(sentRequest);
+
+    if (entry != null && response.getStatus() == 304) {
+      response.close();
+      entry.refresh(response.getHeaders(), System.currentTimeMillis());
+      revalidations.incrementAndGet();
+      return (R) viewOf(key, entry, view, decoder);
+    }
+
+    misses.incrementAndGet();
+
+    if (isStorable(response) == false) {
+      if (entry != null) {
+        // the cached response has been replaced
+        remove(key, entry);
+      }
+      return decoder.apply(response);
+    }
+
+    byte[] body;
+    try (TransportResponse storedResponse = response) {
+      body = readFully(storedResponse.getBody());
+    } catch (IOException e) {
+      throw new RestClientException("cannot read response body", e);
+    }
+
+    Entry newEntry = new Entry(response.getStatus(), response.getReasonPhrase(), response.getHeaders(), body, now);
+    store(key, newEntry);
+    return (R) viewOf(key, newEntry, view, decoder);
+  }
+
+  /**
+   * This decodes a view of {@code entry} unless it has been decoded before, and
+   * counts the new view toward the size of the cache.
+   */
+  private Response viewOf(String key, Entry entry, Object view, Function<TransportResponse, ? extends Response> decoder) {
+    Response response = entry.views.get(view);
+    if (response != null) {
+      return response;
+    }
+    response = decoder.apply(entry.newResponse());
+    Response concurrentlyDecoded = entry.views.putIfAbsent(view, response);
+    if (concurrentlyDecoded != null) {
+      return concurrentlyDecoded;
+    }
+    grow(key, entry, entry.body.length);
+    return response;
+  }
+
+  /**
+   * This removes all entries.
+   */
+  public synchronized void clear() {
+    entries.clear();
+    bytes = 0;
+  }
+
+  /**
+   * @return a snapshot of the counters
+   */
+  public ResponseCacheStats getStats() {
+    synchronized (this) {
+      return new ResponseCacheStats(hits.get(), revalidations.get(), misses.get(), entries.size(), bytes);
+    }
+  }
+
+  private synchronized void store(String key, Entry entry) {
+    if (entry.size > maxBytes) {
+      Entry removed = entries.remove(key);
+      if (removed != null) {
+        bytes -= removed.size;
+      }
+      return;
+    }
+
+    Entry previous = entries.put(key, entry);
+    if (previous != null) {
+      bytes -= previous.size;
+    }
+    bytes += entry.size;
+    evict();
+  }
+
+  /**
+   * This adds {@code delta} to the size of {@code entry} if it is still
+   * cached.
+   */
+  private synchronized void grow(String key, Entry entry, long delta) {
+    if (entries.get(key) != entry) {
+      return;
+    }
+    entry.size += delta;
+    bytes += delta;
+    evict();
+  }
+
+  private synchronized void remove(String key, Entry entry) {
+    if (entries.get(key) == entry) {
+      entries.remove(key);
+      bytes -= entry.size;
+    }
+  }
+
+  private synchronized void evict() {
+    Iterator<Entry> eldest = entries.values().iterator();
+    while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+      bytes -= eldest.next().size;
+      eldest.remove();
+    }
+  }
+
+  private static boolean isStorable(TransportResponse response) {
+    if (response.getStatus() != 200 || "*".equals(response.getHeader("Vary"))) {
+      return false;
+    }
+    CacheControl cacheControl = CacheControl.parse(response.getHeader("Cache-Control"));
+    if (cacheControl.noStore) {
+      return false;
+    }
+    return freshnessLifetime(response.getHeaders()) > 0 || response.getHeader("ETag") != null || response.getHeader("Last-Modified") != null;
+  }
+
+  /**
+   * @return the time in milliseconds a response is fresh, {@code 0} if it has
+   *         to be revalidated before it is used
+   */
+  private static long freshnessLifetime(MultivaluedMap<String, String> headers) {
+    CacheControl cacheControl = CacheControl.parse(getHeader(headers, "Cache-Control"));
+    if (cacheControl.noCache) {
+      return 0;
+    }
+    if (cacheControl.maxAge >= 0) {
+      long age = parseSeconds(getHeader(headers, "Age"));
+      return Math.max(0, cacheControl.maxAge - Math.max(0, age)) * 1000;
+    }
+
+    String expires = getHeader(headers, "Expires");
+    if (expires != null) {
+      Date expiresDate = DateUtils.parseDate(expires);
+      if (expiresDate == null) {
+        // invalid dates, e.g. "0", mean already expired
+        return 0;
+      }
+      String date = getHeader(headers, "Date");
+      Date responseDate = date != null ? DateUtils.parseDate(date) : null;
+      long reference = responseDate != null ? responseDate.getTime() : System.currentTimeMillis();
+      return Math.max(0, expiresDate.getTime() - reference);
+    }
+    return 0;
+  }
+
+  private static TransportRequest conditional(TransportRequest request, Entry entry) {
+    MultivaluedMap<String, Object> headers = new MultivaluedHashMap<String, Object>(request.getHeaders());
+    String etag = getHeader(entry.headers, "ETag");
+    if (etag != null) {
+      headers.putSingle("If-None-Match", etag);
+    }
+    String lastModified = getHeader(entry.headers, "Last-Modified");
+    if (lastModified != null) {
+      headers.putSingle("If-Modified-Since", lastModified);
+    }
+    return new TransportRequest(request.getMethod(), request.getUri(), request.getEndpoint(), headers, request.getEntity(), request.getRetryPolicy());
+  }
+
+  /**
+   * Requests are equal if they have equal URIs and equal headers.
+   */
+  private static String keyOf(TransportRequest request) {
+    return request.getUri() + " " + new TreeMap<String, List<Object>>(request.getHeaders());
+  }
+
+  private static String getHeader(Map<String, ? extends List<?>> headers, String name) {
+    for (Map.Entry<String, ? extends List<?>> header : headers.entrySet()) {
+      if (header.getKey().equalsIgnoreCase(name) && header.getValue().isEmpty() == false) {
+        return String.valueOf(header.getValue().get(0));
+      }
+    }
+    return null;
+  }
+
+  private static long parseSeconds(String value) {
+    if (value == null) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static byte[] readFully(InputStream body) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    byte[] chunk = new byte[8192];
+    int read;
+    while ((read = body.read(chunk)) != -1) {
+      buffer.write(chunk, 0, read);
+    }
+    return buffer.toByteArray();
+  }
+
+  /**
+   * This is a cached response together with its decoded views.
+   */
+  private static class Entry {
+
+    private final int status;
+    private final String reasonPhrase;
+    private final byte[] body;
+
+    private volatile MultivaluedMap<String, String> headers;
+    private volatile long freshUntil;
+
+    /**
+     * size of the body and its views, guarded by the cache
+     */
+    private long size;
+
+    private final ConcurrentMap<Object, Response> views = new ConcurrentHashMap<Object, Response>();
+
+    Entry(int status, String reasonPhrase, MultivaluedMap<String, String> headers, byte[] body, long now) {
+      this.status = status;
+      this.reasonPhrase = reasonPhrase;
+      this.headers = headers;
+      this.body = body;
+      this.freshUntil = now + freshnessLifetime(headers);
+      this.size = body.length;
+    }
+
+    boolean isFresh(long now) {
+      return now < freshUntil;
+    }
+
+    /**
+     * This merges the headers of a {@code 304 Not Modified} into the entry.
+     */
+    synchronized void refresh(MultivaluedMap<String, String> notModifiedHeaders, long now) {
+      MultivaluedMap<String, String> merged = new MultivaluedHashMap<String, String>(headers);
+      for (Map.Entry<String, List<String>> header : notModifiedHeaders.entrySet()) {
+        merged.keySet().removeIf(name -> name.equalsIgnoreCase(header.getKey()));
+        merged.put(header.getKey(), header.getValue());
+      }
+      headers = merged;
+      freshUntil = now + freshnessLifetime(merged);
+      log.debug("revalidated cached response, fresh for {} ms", freshUntil - now);
+    }
+
+    /**
+     * @return the cached response, to be decoded into a view
+     */
+    TransportResponse newResponse() {
+      return new TransportResponse(status, reasonPhrase, headers, new ByteArrayInputStream(body), () -> {
+      });
+    }
+  }
+
+  /**
+   * This holds the directives of a {@code Cache-Control} header that matter
+   * to a private cache.
+   */
+  private static class CacheControl {
+
+    private boolean noStore = false;
+    private boolean noCache = false;
+    private long maxAge = -1;
+
+    static CacheControl parse(String header) {
+      CacheControl cacheControl = new CacheControl();
+      if (header == null) {
+        return cacheControl;
+      }
+      for (String directive : header.split(",")) {
+        String[] nameValue = directive.trim().split("=", 2);
+        String name = nameValue[0].trim().toLowerCase();
+        if (name.equals("no-store")) {
+          cacheControl.noStore = true;
+        } else if (name.equals("no-cache")) {
+          cacheControl.noCache = true;
+        } else if (name.equals("max-age") && nameValue.length == 2) {
+          long maxAge = parseSeconds(nameValue[1].replace("\"", ""));
+          cacheControl.maxAge = maxAge >= 0 ? maxAge : 0;
+        }
+      }
+      return cacheControl;
+    }
+  }
+}
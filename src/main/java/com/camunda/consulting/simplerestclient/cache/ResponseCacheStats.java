@@ -0,0 +1,65 @@
+package com.camunda.consulting.simplerestclient.cache;
+
+/**
+ * This class is a snapshot of the counters of a {@link ResponseCache}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class ResponseCacheStats {
+
+  private final long hits;
+  private final long revalidations;
+  private final long misses;
+  private final int entries;
+  private final long bytes;
+
+  /**
+   * Constructor.
+   *
+   * @param hits
+   *          number of responses served from fresh entries without a request
+   * @param revalidations
+   *          number of responses served from stale entries after a
+   *          {@code 304 Not Modified}
+   * @param misses
+   *          number of responses received in full
+   * @param entries
+   *          number of entries currently cached
+   * @param bytes
+   *          size of the bodies and decoded views currently cached
+   */
+  public ResponseCacheStats(long hits, long revalidations, long misses, int entries, long bytes) {
+    this.hits = hits;
+    this.revalidations = revalidations;
+    this.misses = misses;
+    this.entries = entries;
+    this.bytes = bytes;
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  public long getRevalidations() {
+    return revalidations;
+  }
+
+  public long getMisses() {
+    return misses;
+  }
+
+  public int getEntries() {
+    return entries;
+  }
+
+  public long getBytes() {
+    return bytes;
+  }
+
+  @Override
+  public String toString() {
+    return "ResponseCacheStats [hits=" + hits + ", revalidations=" + revalidations + ", misses=" + misses + ", entries=" + entries + ", bytes="
+        + bytes + "]";
+  }
+}
@@ -0,0 +1,117 @@
+package com.camunda.consulting.simplerestclient.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * This coalesces concurrent calls with equal keys: while a call is in flight,
+ * callers with an equal key wait for it and share its result or exception
+ * instead of making the call again. Calls made after it has completed are made
+ * anew. Instances are thread-safe.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ * @param <K>
+ *          type of the keys
+ * @param <V>
+ *          type of the results
+ */
+public class SingleFlight<K, V> {
+
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<K, CompletableFuture<V>>();
+
+  private final AtomicLong calls = new AtomicLong();
+  private final AtomicLong coalesced = new AtomicLong();
+
+  /**
+   * This makes the call on the current thread, or waits for an equal call in
+   * flight.
+   *
+   * @param key
+   *          identifies equal calls
+   * @param call
+   *          the call
+   * @return the result of the call
+   */
+  public V execute(K key, Supplier<V> call) {
+
+    CompletableFuture<V> flight = new CompletableFuture<V>();
+    CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+
+    if (leader != null) {
+      coalesced.incrementAndGet();
+      try {
+        return leader.join();
+      } catch (CompletionException e) {
+        throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+      }
+    }
+
+    calls.incrementAndGet();
+    try {
+      V result = call.get();
+      flight.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  /**
+   * This starts the call, or joins an equal call in flight.
+   *
+   * @param key
+   *          identifies equal calls
+   * @param call
+   *          starts the call
+   * @return a future completed with the result of the call; cancelling it does
+   *         not cancel the call
+   */
+  public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+
+    CompletableFuture<V> flight = new CompletableFuture<V>();
+    CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+
+    if (leader != null) {
+      coalesced.incrementAndGet();
+      return leader.thenApply(result -> result);
+    }
+
+    calls.incrementAndGet();
+    try {
+      call.get().whenComplete((result, throwable) -> {
+        inFlight.remove(key, flight);
+        if (throwable != null) {
+          flight.completeExceptionally(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+        } else {
+          flight.complete(result);
+        }
+      });
+    } catch (RuntimeException e) {
+      inFlight.remove(key, flight);
+      flight.completeExceptionally(e);
+    }
+    return flight.thenApply(result -> result);
+  }
+
+  /**
+   * @return number of calls made
+   */
+  public long getCalls() {
+    return calls.get();
+  }
+
+  /**
+   * @return number of callers that shared the result of another call
+   */
+  public long getCoalesced() {
+    return coalesced.get();
+  }
+}
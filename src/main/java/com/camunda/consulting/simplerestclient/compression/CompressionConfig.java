@@ -0,0 +1,172 @@
+package com.camunda.consulting.simplerestclient.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.camunda.consulting.simplerestclient.transport.RequestEntity;
+import com.camunda.consulting.simplerestclient.util.BufferPool;
+
+/**
+ * This class holds the compression settings of a
+ * {@link com.camunda.consulting.simplerestclient.RestClient}. Responses
+ * encoded with any registered codec are decoded while they are read; request
+ * bodies are compressed only if enabled, either for all requests via
+ * {@link #compressRequests(boolean)} or per request via
+ * {@link com.camunda.consulting.simplerestclient.request.RequestWithBody#compressBody(Boolean)}.
+ * An instance is handed to
+ * {@link com.camunda.consulting.simplerestclient.RestClientBuilder#compression(CompressionConfig)}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class CompressionConfig {
+
+  /**
+   * registered codecs by name, in order of preference
+   */
+  private final Map<String, ContentCodec> codecs = new LinkedHashMap<String, ContentCodec>();
+
+  /**
+   * {@code true} if responses are to be requested compressed
+   */
+  private boolean decompressResponses = true;
+
+  /**
+   * {@code true} if request bodies are compressed by default
+   */
+  private boolean compressRequests = false;
+
+  /**
+   * name of the codec request bodies are compressed with
+   */
+  private String requestCodec = "gzip";
+
+  /**
+   * request bodies smaller than this are sent uncompressed
+   */
+  private int requestThresholdBytes = 1024;
+
+  /**
+   * Constructor. This registers the {@code gzip} and {@code deflate} codecs.
+   */
+  public CompressionConfig() {
+    codec(new GzipCodec());
+    codec(new DeflateCodec());
+  }
+
+  /**
+   * This registers a codec, replacing a codec of the same name.
+   *
+   * @param codec
+   *          the codec
+   * @return this
+   */
+  public CompressionConfig codec(ContentCodec codec) {
+    codecs.put(codec.getName().toLowerCase(), codec);
+    return this;
+  }
+
+  /**
+   * @param decompressResponses
+   *          {@code true} to send {@code Accept-Encoding} and decode responses
+   * @return this
+   */
+  public CompressionConfig decompressResponses(boolean decompressResponses) {
+    this.decompressResponses = decompressResponses;
+    return this;
+  }
+
+  /**
+   * @param compressRequests
+   *          {@code true} to compress request bodies by default
+   * @return this
+   */
+  public CompressionConfig compressRequests(boolean compressRequests) {
+    this.compressRequests = compressRequests;
+    return this;
+  }
+
+  /**
+   * @param requestCodec
+   *          name of a registered codec request bodies are compressed with
+   * @return this
+   */
+  public CompressionConfig requestCodec(String requestCodec) {
+    this.requestCodec = requestCodec.toLowerCase();
+    return this;
+  }
+
+  /**
+   * @param requestThresholdBytes
+   *          request bodies smaller than this are sent uncompressed
+   * @return this
+   */
+  public CompressionConfig requestThreshold(int requestThresholdBytes) {
+    this.requestThresholdBytes = requestThresholdBytes;
+    return this;
+  }
+
+  /**
+   * @param name
+   *          name of the coding, case-insensitive
+   * @return the codec or {@code null} if none is registered
+   */
+  public ContentCodec getCodec(String name) {
+    return codecs.get(name.trim().toLowerCase());
+  }
+
+  /**
+   * @return value of the {@code Accept-Encoding} header
+   */
+  public String getAcceptEncoding() {
+    return String.join(", ", codecs.keySet());
+  }
+
+  public boolean isDecompressResponses() {
+    return decompressResponses;
+  }
+
+  public boolean isCompressRequests() {
+    return compressRequests;
+  }
+
+  public int getRequestThreshold() {
+    return requestThresholdBytes;
+  }
+
+  /**
+   * This marshalls {@code entity} into a pooled buffer to learn its length and
+   * compresses it if it reaches the threshold.
+   *
+   * @param entity
+   *          the entity to be sent
+   * @return the entity to be sent instead
+   * @throws IOException
+   *           if the entity cannot be written or compressed
+   */
+  public RequestEntity compress(RequestEntity entity) throws IOException {
+    ContentCodec codec = getCodec(requestCodec);
+    if (codec == null) {
+      throw new IllegalStateException("no codec registered for request coding [" + requestCodec + "]");
+    }
+
+    BufferPool.Buffer buffer = BufferPool.DEFAULT.acquire();
+    try {
+      entity.writeTo(buffer);
+      if (buffer.size() < requestThresholdBytes) {
+        return RequestEntity.of(buffer.toByteArray(), entity.getContentType());
+      }
+
+      ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(buffer.size() / 4, 512));
+      try (OutputStream encoder = codec.encode(compressed)) {
+        encoder.write(buffer.array(), 0, buffer.size());
+      }
+      return RequestEntity.of(compressed.toByteArray(), entity.getContentType(), codec.getName());
+    } finally {
+      buffer.release();
+    }
+  }
+}
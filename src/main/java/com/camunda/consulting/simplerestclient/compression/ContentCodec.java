@@ -0,0 +1,40 @@
+package com.camunda.consulting.simplerestclient.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * This is an HTTP content coding, as named in the {@code Accept-Encoding} and
+ * {@code Content-Encoding} headers. Register further codings via
+ * {@link CompressionConfig#codec(ContentCodec)}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public interface ContentCodec {
+
+  /**
+   * @return the name of the coding, e.g. {@code gzip}
+   */
+  String getName();
+
+  /**
+   * @param encoded
+   *          the encoded stream
+   * @return a stream decoding {@code encoded} while it is read
+   * @throws IOException
+   *           if the stream cannot be decoded
+   */
+  InputStream decode(InputStream encoded) throws IOException;
+
+  /**
+   * @param target
+   *          the stream the encoded content is written to
+   * @return a stream encoding what is written to it; closing it finishes the
+   *         encoding and closes {@code target}
+   * @throws IOException
+   *           if writing fails
+   */
+  OutputStream encode(OutputStream target) throws IOException;
+}
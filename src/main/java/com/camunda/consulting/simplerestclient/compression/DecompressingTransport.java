@@ -0,0 +1,175 @@
+package com.camunda.consulting.simplerestclient.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolStats;
+import com.camunda.consulting.simplerestclient.transport.HttpTransport;
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+
+/**
+ * This {@link HttpTransport} asks for compressed responses via
+ * {@code Accept-Encoding} and decodes response bodies of its delegate while
+ * they are read, so a body is never held in memory compressed and decoded at
+ * the same time.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class DecompressingTransport implements HttpTransport {
+
+  private static final String ACCEPT_ENCODING = "Accept-Encoding";
+  private static final String CONTENT_ENCODING = "Content-Encoding";
+
+  private final HttpTransport delegate;
+  private final CompressionConfig config;
+
+  /**
+   * Constructor.
+   *
+   * @param delegate
+   *          the transport requests are sent through
+   * @param config
+   *          the registered codecs
+   */
+  public DecompressingTransport(HttpTransport delegate, CompressionConfig config) {
+    this.delegate = delegate;
+    this.config = config;
+  }
+
+  @Override
+  public TransportResponse execute(TransportRequest request) throws RestClientException {
+    return decode(delegate.execute(acceptEncoding(request)));
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor blockingExecutor) {
+    CompletableFuture<TransportResponse> exchange = delegate.executeAsync(acceptEncoding(request), blockingExecutor);
+    CompletableFuture<TransportResponse> result = new CompletableFuture<TransportResponse>();
+
+    exchange.whenComplete((response, throwable) -> {
+      if (throwable != null) {
+        result.completeExceptionally(throwable);
+      } else {
+        decode(response).deliverTo(result);
+      }
+    });
+    result.whenComplete((response, throwable) -> {
+      if (result.isCancelled()) {
+        exchange.cancel(true);
+      }
+    });
+
+    return result;
+  }
+
+  private TransportRequest acceptEncoding(TransportRequest request) {
+    if (request.getHeaders().containsKey(ACCEPT_ENCODING)) {
+      return request;
+    }
+    MultivaluedMap<String, Object> headers = new MultivaluedHashMap<String, Object>(request.getHeaders());
+    headers.putSingle(ACCEPT_ENCODING, config.getAcceptEncoding());
+    return new TransportRequest(request.getMethod(), request.getUri(), request.getEndpoint(), headers, request.getEntity(), request.getRetryPolicy());
+  }
+
+  private TransportResponse decode(TransportResponse response) {
+    String contentEncoding = response.getHeader(CONTENT_ENCODING);
+    if (contentEncoding == null || contentEncoding.trim().equalsIgnoreCase("identity")) {
+      return response;
+    }
+
+    ContentCodec codec = config.getCodec(contentEncoding);
+    if (codec == null) {
+      // left to the caller, who sees the Content-Encoding header
+      return response;
+    }
+
+    MultivaluedMap<String, String> headers = new MultivaluedHashMap<String, String>();
+    for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+      if (header.getKey().equalsIgnoreCase(CONTENT_ENCODING) == false && header.getKey().equalsIgnoreCase("Content-Length") == false) {
+        headers.put(header.getKey(), header.getValue());
+      }
+    }
+    return response.withBody(new LazyDecodingInputStream(response.getBody(), codec), headers);
+  }
+
+  @Override
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return delegate.getConnectionPoolStats();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  /**
+   * This creates the decoding stream on first read, as decoders read a header
+   * when they are created and a body may be empty or never be read.
+   */
+  private static class LazyDecodingInputStream extends InputStream {
+
+    private final InputStream encoded;
+    private final ContentCodec codec;
+    private InputStream decoded;
+
+    LazyDecodingInputStream(InputStream encoded, ContentCodec codec) {
+      this.encoded = encoded;
+      this.codec = codec;
+    }
+
+    private InputStream decoded() throws IOException {
+      if (decoded == null) {
+        PushbackInputStream pushback = new PushbackInputStream(encoded, 1);
+        int first = pushback.read();
+        if (first == -1) {
+          // an empty body is not encoded, whatever its headers say
+          decoded = pushback;
+        } else {
+          pushback.unread(first);
+          decoded = codec.decode(pushback);
+        }
+      }
+      return decoded;
+    }
+
+    @Override
+    public int read() throws IOException {
+      return decoded().read();
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      return decoded().read(buffer, offset, length);
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      return decoded().skip(n);
+    }
+
+    @Override
+    public int available() throws IOException {
+      return decoded != null ? decoded.available() : 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (decoded != null) {
+        decoded.close();
+      } else {
+        encoded.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.camunda.consulting.simplerestclient.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+
+import org.apache.http.client.entity.DeflateInputStream;
+
+/**
+ * This is the {@code deflate} content coding. Decoding accepts both zlib
+ * wrapped and raw deflate streams, as servers differ in what they send.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class DeflateCodec implements ContentCodec {
+
+  @Override
+  public String getName() {
+    return "deflate";
+  }
+
+  @Override
+  public InputStream decode(InputStream encoded) throws IOException {
+    return new DeflateInputStream(encoded);
+  }
+
+  @Override
+  public OutputStream encode(OutputStream target) throws IOException {
+    return new DeflaterOutputStream(target);
+  }
+}
@@ -0,0 +1,31 @@
+package com.camunda.consulting.simplerestclient.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This is the {@code gzip} content coding.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class GzipCodec implements ContentCodec {
+
+  @Override
+  public String getName() {
+    return "gzip";
+  }
+
+  @Override
+  public InputStream decode(InputStream encoded) throws IOException {
+    return new GZIPInputStream(encoded, 8192);
+  }
+
+  @Override
+  public OutputStream encode(OutputStream target) throws IOException {
+    return new GZIPOutputStream(target, 8192);
+  }
+}
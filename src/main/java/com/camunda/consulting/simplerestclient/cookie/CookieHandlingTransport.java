@@ -0,0 +1,104 @@
+package com.camunda.consulting.simplerestclient.cookie;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolStats;
+import com.camunda.consulting.simplerestclient.transport.HttpTransport;
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+
+/**
+ * This {@link HttpTransport} sends the matching cookies of a
+ * {@link CookieStore} with each request of its delegate and stores the
+ * cookies set by its responses. A {@code Cookie} header set on the request
+ * itself takes precedence.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class CookieHandlingTransport implements HttpTransport {
+
+  private final HttpTransport delegate;
+  private final CookieStore cookieStore;
+
+  /**
+   * Constructor.
+   *
+   * @param delegate
+   *          the transport requests are sent through
+   * @param cookieStore
+   *          the cookies
+   */
+  public CookieHandlingTransport(HttpTransport delegate, CookieStore cookieStore) {
+    this.delegate = delegate;
+    this.cookieStore = cookieStore;
+  }
+
+  @Override
+  public TransportResponse execute(TransportRequest request) throws RestClientException {
+    return capture(request, delegate.execute(withCookies(request)));
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor blockingExecutor) {
+    CompletableFuture<TransportResponse> exchange = delegate.executeAsync(withCookies(request), blockingExecutor);
+    CompletableFuture<TransportResponse> result = new CompletableFuture<TransportResponse>();
+
+    // cookies are stored before the response is handed over, so requests
+    // chained to it send them
+    exchange.whenComplete((response, throwable) -> {
+      if (throwable != null) {
+        result.completeExceptionally(throwable);
+      } else {
+        capture(request, response).deliverTo(result);
+      }
+    });
+    result.whenComplete((response, throwable) -> {
+      if (result.isCancelled()) {
+        exchange.cancel(true);
+      }
+    });
+
+    return result;
+  }
+
+  private TransportRequest withCookies(TransportRequest request) {
+    if (request.getHeaders().containsKey(HttpHeaders.COOKIE)) {
+      return request;
+    }
+    String cookieHeader = cookieStore.getCookieHeader(request.getUri());
+    if (cookieHeader == null) {
+      return request;
+    }
+    MultivaluedMap<String, Object> headers = new MultivaluedHashMap<String, Object>(request.getHeaders());
+    headers.putSingle(HttpHeaders.COOKIE, cookieHeader);
+    return new TransportRequest(request.getMethod(), request.getUri(), request.getEndpoint(), headers, request.getEntity(), request.getRetryPolicy());
+  }
+
+  private TransportResponse capture(TransportRequest request, TransportResponse response) {
+    for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+      if (header.getKey().equalsIgnoreCase(HttpHeaders.SET_COOKIE)) {
+        cookieStore.capture(request.getUri(), header.getValue());
+      }
+    }
+    return response;
+  }
+
+  @Override
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return delegate.getConnectionPoolStats();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
@@ -0,0 +1,407 @@
+package com.camunda.consulting.simplerestclient.cookie;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.http.client.utils.DateUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This holds the cookies of a
+ * {@link com.camunda.consulting.simplerestclient.RestClient}: cookies added
+ * by the application and cookies set by servers via {@code Set-Cookie}
+ * (RFC 6265). Cookies are indexed by domain; the {@code Cookie} header value
+ * of each domain is built when its cookies change, not per request. Expired
+ * cookies are dropped when they are encountered.
+ * <p>
+ * Instances are thread-safe. Reading the {@code Cookie} header for a request
+ * does not lock.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class CookieStore {
+
+  private static final Logger log = LoggerFactory.getLogger(CookieStore.class);
+
+  /**
+   * date formats seen in {@code Expires} attributes
+   */
+  private static final String[] EXPIRES_PATTERNS = { DateUtils.PATTERN_RFC1123, DateUtils.PATTERN_RFC1036, DateUtils.PATTERN_ASCTIME,
+      "EEE, dd-MMM-yyyy HH:mm:ss zzz", "EEE, dd-MMM-yy HH:mm:ss zzz" };
+
+  /**
+   * key of the bucket of cookies sent to any host
+   */
+  private static final String ANY_HOST = "";
+
+  private final int maxCookiesPerDomain;
+
+  private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<String, Bucket>();
+
+  /**
+   * the values of {@code buckets}, copied on write for iteration without
+   * allocation
+   */
+  private volatile Bucket[] bucketArray = new Bucket[0];
+
+  /**
+   * Constructor. This keeps up to 50 cookies per domain.
+   */
+  public CookieStore() {
+    this(50);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param maxCookiesPerDomain
+   *          the number of cookies kept per domain; the oldest cookie of a
+   *          domain is dropped when a new one exceeds it
+   */
+  public CookieStore(int maxCookiesPerDomain) {
+    this.maxCookiesPerDomain = maxCookiesPerDomain;
+  }
+
+  /**
+   * This adds a cookie, replacing a cookie with the same name, domain and
+   * path.
+   *
+   * @param name
+   *          the name of the cookie
+   * @param value
+   *          the value of the cookie
+   * @param path
+   *          the URI path for which the cookie is valid, {@code null} for all
+   *          paths
+   * @param domain
+   *          the host domain for which the cookie is valid including its
+   *          subdomains, {@code null} for any host
+   * @return this
+   */
+  public CookieStore add(String name, String value, String path, String domain) {
+    String normalizedDomain = null;
+    if (domain != null) {
+      normalizedDomain = domain.trim().toLowerCase();
+      int pathStart = normalizedDomain.indexOf('/');
+      if (pathStart >= 0) {
+        normalizedDomain = normalizedDomain.substring(0, pathStart);
+      }
+      while (normalizedDomain.startsWith(".")) {
+        normalizedDomain = normalizedDomain.substring(1);
+      }
+      if (normalizedDomain.isEmpty()) {
+        normalizedDomain = null;
+      }
+    }
+    String normalizedPath = path == null || path.isEmpty() ? "/" : path.startsWith("/") ? path : "/" + path;
+
+    store(new StoredCookie(name, value, normalizedDomain, false, normalizedPath, false, StoredCookie.SESSION));
+    return this;
+  }
+
+  /**
+   * This stores the cookies of {@code Set-Cookie} headers. Cookies for a
+   * domain the request was not sent to are ignored; cookies already expired
+   * remove a stored cookie of the same name.
+   *
+   * @param requestUri
+   *          the URI the response was received from
+   * @param setCookieHeaders
+   *          values of the {@code Set-Cookie} headers
+   */
+  public void capture(URI requestUri, List<String> setCookieHeaders) {
+    String host = requestUri.getHost() != null ? requestUri.getHost().toLowerCase() : null;
+    if (host == null) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    for (String setCookie : setCookieHeaders) {
+      StoredCookie cookie = parse(setCookie, host, requestUri.getRawPath(), now);
+      if (cookie != null) {
+        store(cookie);
+      }
+    }
+  }
+
+  /**
+   * @param requestUri
+   *          the URI a request is sent to
+   * @return the value of the {@code Cookie} header for the request or
+   *         {@code null} if no cookie matches
+   */
+  public String getCookieHeader(URI requestUri) {
+    Bucket[] buckets = bucketArray;
+    if (buckets.length == 0) {
+      return null;
+    }
+
+    String host = requestUri.getHost() != null ? requestUri.getHost().toLowerCase() : "";
+    String path = requestUri.getRawPath() == null || requestUri.getRawPath().isEmpty() ? "/" : requestUri.getRawPath();
+    boolean https = "https".equalsIgnoreCase(requestUri.getScheme());
+    long now = System.currentTimeMillis();
+
+    String header = null;
+    StringBuilder joined = null;
+    for (Bucket bucket : buckets) {
+      if (bucket.domain.isEmpty() == false && StoredCookie.domainMatches(host, bucket.domain) == false) {
+        continue;
+      }
+      String cookies = bucket.getCookieHeader(host, path, https, now);
+      if (cookies == null) {
+        continue;
+      }
+      if (header == null) {
+        header = cookies;
+      } else {
+        if (joined == null) {
+          joined = new StringBuilder(header);
+        }
+        joined.append("; ").append(cookies);
+      }
+    }
+    return joined != null ? joined.toString() : header;
+  }
+
+  /**
+   * @return a snapshot of the cookies not expired
+   */
+  public List<StoredCookie> getCookies() {
+    long now = System.currentTimeMillis();
+    List<StoredCookie> cookies = new ArrayList<StoredCookie>();
+    for (Bucket bucket : bucketArray) {
+      for (StoredCookie cookie : bucket.snapshot.cookies) {
+        if (cookie.isExpired(now) == false) {
+          cookies.add(cookie);
+        }
+      }
+    }
+    return cookies;
+  }
+
+  /**
+   * This removes all cookies.
+   */
+  public synchronized void clear() {
+    buckets.clear();
+    bucketArray = new Bucket[0];
+  }
+
+  private void store(StoredCookie cookie) {
+    String key = cookie.getDomain() != null ? cookie.getDomain() : ANY_HOST;
+    Bucket bucket = buckets.get(key);
+    if (bucket == null) {
+      synchronized (this) {
+        bucket = buckets.get(key);
+        if (bucket == null) {
+          bucket = new Bucket(key);
+          buckets.put(key, bucket);
+          bucketArray = buckets.values().toArray(new Bucket[0]);
+        }
+      }
+    }
+    bucket.store(cookie);
+  }
+
+  private static StoredCookie parse(String setCookie, String host, String requestPath, long now) {
+    String[] parts = setCookie.split(";");
+    int equals = parts[0].indexOf('=');
+    if (equals <= 0) {
+      log.debug("ignoring malformed Set-Cookie [{}]", setCookie);
+      return null;
+    }
+    String name = parts[0].substring(0, equals).trim();
+    String value = parts[0].substring(equals + 1).trim();
+
+    String domain = null;
+    String path = null;
+    boolean secure = false;
+    long expiresAt = StoredCookie.SESSION;
+    boolean maxAgeSet = false;
+
+    for (int i = 1; i < parts.length; i++) {
+      String attribute = parts[i].trim();
+      int attributeEquals = attribute.indexOf('=');
+      String attributeName = (attributeEquals < 0 ? attribute : attribute.substring(0, attributeEquals)).trim().toLowerCase();
+      String attributeValue = attributeEquals < 0 ? "" : attribute.substring(attributeEquals + 1).trim();
+
+      if (attributeName.equals("max-age")) {
+        try {
+          long maxAge = Long.parseLong(attributeValue);
+          expiresAt = maxAge <= 0 ? Long.MIN_VALUE : now + Math.min(maxAge, Long.MAX_VALUE / 2000) * 1000;
+          maxAgeSet = true;
+        } catch (NumberFormatException e) {
+          // ignored as RFC 6265 demands
+        }
+      } else if (attributeName.equals("expires") && maxAgeSet == false) {
+        Date expires = DateUtils.parseDate(attributeValue, EXPIRES_PATTERNS);
+        if (expires != null) {
+          expiresAt = expires.getTime();
+        }
+      } else if (attributeName.equals("domain") && attributeValue.isEmpty() == false) {
+        domain = attributeValue.toLowerCase();
+        while (domain.startsWith(".")) {
+          domain = domain.substring(1);
+        }
+      } else if (attributeName.equals("path") && attributeValue.startsWith("/")) {
+        path = attributeValue;
+      } else if (attributeName.equals("secure")) {
+        secure = true;
+      }
+    }
+
+    boolean hostOnly = domain == null || domain.isEmpty();
+    if (hostOnly) {
+      domain = host;
+    } else if (StoredCookie.domainMatches(host, domain) == false) {
+      log.debug("ignoring Set-Cookie [{}] for a domain other than {}", name, host);
+      return null;
+    }
+    if (path == null) {
+      path = defaultPath(requestPath);
+    }
+    return new StoredCookie(name, value, domain, hostOnly, path, secure, expiresAt);
+  }
+
+  /**
+   * @return the directory of the request path, see RFC 6265, 5.1.4
+   */
+  private static String defaultPath(String requestPath) {
+    if (requestPath == null || requestPath.startsWith("/") == false) {
+      return "/";
+    }
+    int lastSlash = requestPath.lastIndexOf('/');
+    return lastSlash <= 0 ? "/" : requestPath.substring(0, lastSlash);
+  }
+
+  /**
+   * This holds the cookies of one domain.
+   */
+  private class Bucket {
+
+    private final String domain;
+
+    private volatile Snapshot snapshot = new Snapshot(new StoredCookie[0]);
+
+    Bucket(String domain) {
+      this.domain = domain;
+    }
+
+    synchronized void store(StoredCookie cookie) {
+      long now = System.currentTimeMillis();
+      List<StoredCookie> cookies = new ArrayList<StoredCookie>(snapshot.cookies.length + 1);
+      for (StoredCookie stored : snapshot.cookies) {
+        if (stored.isSameCookie(cookie) == false && stored.isExpired(now) == false) {
+          cookies.add(stored);
+        }
+      }
+      if (cookie.isExpired(now) == false) {
+        cookies.add(cookie);
+      }
+      while (cookies.size() > maxCookiesPerDomain) {
+        log.debug("dropping cookie {}, more than {} cookies for domain [{}]", cookies.get(0), maxCookiesPerDomain, domain);
+        cookies.remove(0);
+      }
+      snapshot = new Snapshot(cookies.toArray(new StoredCookie[cookies.size()]));
+    }
+
+    synchronized void purgeExpired(long now) {
+      if (now >= snapshot.earliestExpiry) {
+        List<StoredCookie> cookies = new ArrayList<StoredCookie>(Arrays.asList(snapshot.cookies));
+        cookies.removeIf(cookie -> cookie.isExpired(now));
+        snapshot = new Snapshot(cookies.toArray(new StoredCookie[cookies.size()]));
+      }
+    }
+
+    String getCookieHeader(String host, String path, boolean https, long now) {
+      Snapshot current = snapshot;
+      if (now >= current.earliestExpiry) {
+        purgeExpired(now);
+        current = snapshot;
+      }
+      if (current.cookies.length == 0) {
+        return null;
+      }
+      // the common case, cookies valid for the whole domain
+      if (current.simple && (current.hostOnly == false || host.equals(domain))) {
+        return current.header;
+      }
+
+      StringBuilder header = null;
+      for (StoredCookie cookie : current.byPathLength) {
+        if (cookie.matches(host, path, https, now)) {
+          if (header == null) {
+            header = new StringBuilder(current.header.length());
+          } else {
+            header.append("; ");
+          }
+          header.append(cookie.getPair());
+        }
+      }
+      return header != null ? header.toString() : null;
+    }
+  }
+
+  /**
+   * This is the immutable state of a {@link Bucket}.
+   */
+  private static class Snapshot {
+
+    /**
+     * cookies in the order they were stored
+     */
+    private final StoredCookie[] cookies;
+
+    /**
+     * cookies with longer paths first, as RFC 6265 recommends to send them
+     */
+    private final StoredCookie[] byPathLength;
+
+    /**
+     * the {@code Cookie} header value of all cookies
+     */
+    private final String header;
+
+    /**
+     * {@code true} if all cookies have path "/" and none is secure-only
+     */
+    private final boolean simple;
+
+    /**
+     * {@code true} if any cookie is sent to its host only
+     */
+    private final boolean hostOnly;
+
+    private final long earliestExpiry;
+
+    Snapshot(StoredCookie[] cookies) {
+      this.cookies = cookies;
+      this.byPathLength = cookies.clone();
+      Arrays.sort(byPathLength, (a, b) -> b.getPath().length() - a.getPath().length());
+
+      StringBuilder header = new StringBuilder();
+      boolean simple = true;
+      boolean hostOnly = false;
+      long earliestExpiry = StoredCookie.SESSION;
+      for (StoredCookie cookie : byPathLength) {
+        if (header.length() > 0) {
+          header.append("; ");
+        }
+        header.append(cookie.getPair());
+        simple &= cookie.getPath().equals("/") && cookie.isSecure() == false;
+        hostOnly |= cookie.isHostOnly();
+        earliestExpiry = Math.min(earliestExpiry, cookie.getExpiresAt());
+      }
+      this.header = header.toString();
+      this.simple = simple;
+      this.hostOnly = hostOnly;
+      this.earliestExpiry = earliestExpiry;
+    }
+  }
+}
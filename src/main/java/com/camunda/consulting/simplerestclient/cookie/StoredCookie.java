@@ -0,0 +1,141 @@
+package com.camunda.consulting.simplerestclient.cookie;
+
+/**
+ * This is a cookie held by a {@link CookieStore}. Instances are immutable.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class StoredCookie {
+
+  /**
+   * expiry of cookies living as long as the store
+   */
+  public static final long SESSION = Long.MAX_VALUE;
+
+  private final String name;
+  private final String value;
+
+  /**
+   * lower-case domain without leading '.', {@code null} to match any host
+   */
+  private final String domain;
+
+  /**
+   * {@code true} if the cookie is sent to {@code domain} only, not to its
+   * subdomains
+   */
+  private final boolean hostOnly;
+
+  private final String path;
+  private final boolean secure;
+
+  /**
+   * expiry in epoch milliseconds or {@link #SESSION}
+   */
+  private final long expiresAt;
+
+  /**
+   * {@code name=value}, as sent in a {@code Cookie} header
+   */
+  private final String pair;
+
+  StoredCookie(String name, String value, String domain, boolean hostOnly, String path, boolean secure, long expiresAt) {
+    this.name = name;
+    this.value = value;
+    this.domain = domain;
+    this.hostOnly = hostOnly;
+    this.path = path;
+    this.secure = secure;
+    this.expiresAt = expiresAt;
+    this.pair = name + "=" + value;
+  }
+
+  /**
+   * @param host
+   *          lower-case host of the request
+   * @param requestPath
+   *          path of the request, starting with '/'
+   * @param https
+   *          {@code true} if the request is sent via https
+   * @param now
+   *          current time in epoch milliseconds
+   * @return {@code true} if the cookie is to be sent with the request
+   */
+  boolean matches(String host, String requestPath, boolean https, long now) {
+    if (isExpired(now) || secure && https == false) {
+      return false;
+    }
+    if (domain != null && (hostOnly ? host.equals(domain) : domainMatches(host, domain)) == false) {
+      return false;
+    }
+    return pathMatches(requestPath, path);
+  }
+
+  boolean isExpired(long now) {
+    return now >= expiresAt;
+  }
+
+  /**
+   * @return {@code true} if both denote the same cookie, which replace each
+   *         other
+   */
+  boolean isSameCookie(StoredCookie other) {
+    return name.equals(other.name) && path.equals(other.path) && (domain == null ? other.domain == null : domain.equals(other.domain));
+  }
+
+  static boolean domainMatches(String host, String domain) {
+    return host.equals(domain) || host.endsWith(domain) && host.charAt(host.length() - domain.length() - 1) == '.';
+  }
+
+  static boolean pathMatches(String requestPath, String cookiePath) {
+    if (requestPath.startsWith(cookiePath) == false) {
+      return false;
+    }
+    return requestPath.length() == cookiePath.length() || cookiePath.endsWith("/") || requestPath.charAt(cookiePath.length()) == '/';
+  }
+
+  String getPair() {
+    return pair;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  /**
+   * @return the domain or {@code null} if the cookie is sent to any host
+   */
+  public String getDomain() {
+    return domain;
+  }
+
+  public boolean isHostOnly() {
+    return hostOnly;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public boolean isSecure() {
+    return secure;
+  }
+
+  /**
+   * @return expiry in epoch milliseconds or {@link #SESSION}
+   */
+  public long getExpiresAt() {
+    return expiresAt;
+  }
+
+  @Override
+  public String toString() {
+    return "StoredCookie [" + pair + ", domain=" + domain + ", path=" + path + (secure ? ", secure" : "")
+        + (expiresAt != SESSION ? ", expiresAt=" + expiresAt : "") + "]";
+  }
+}
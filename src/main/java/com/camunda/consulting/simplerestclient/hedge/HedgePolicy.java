@@ -0,0 +1,159 @@
+package com.camunda.consulting.simplerestclient.hedge;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class holds the settings of hedging {@code GET} requests: if a request
+ * has not been answered after a delay, an identical request is sent, and
+ * whichever response arrives first is used. This cuts the tail latency caused
+ * by single slow server nodes or GC pauses at the cost of a few extra
+ * requests.
+ * <p>
+ * The delay is fixed, or follows a percentile of the latencies observed per
+ * endpoint once enough of them have been recorded. The number of hedges is
+ * capped at a share of the requests sent, 5% by default, so hedging cannot
+ * double the load on a server that is slow for everyone.
+ *
+ * <pre>
+ * // hedge requests slower than the p95 of their endpoint, but at most 5%
+ * new HedgePolicy().delay(50, TimeUnit.MILLISECONDS).delayPercentile(95.0)
+ * </pre>
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class HedgePolicy {
+
+  /**
+   * time waited before hedging, also until enough latencies have been
+   * observed if the delay follows a percentile
+   */
+  private long delayNanos = TimeUnit.MILLISECONDS.toNanos(50);
+
+  /**
+   * percentile of the observed latencies waited before hedging, {@code 0} for
+   * a fixed delay
+   */
+  private double delayPercentile = 0;
+
+  /**
+   * shortest time waited before hedging if the delay follows a percentile
+   */
+  private long minDelayNanos = TimeUnit.MILLISECONDS.toNanos(1);
+
+  /**
+   * number of latencies observed per endpoint before the percentile is used
+   */
+  private int minSamples = 100;
+
+  /**
+   * time the latencies a percentile is taken from are observed for
+   */
+  private long windowNanos = TimeUnit.SECONDS.toNanos(10);
+
+  private double maxHedgeRatio = 0.05;
+  private int burst = 10;
+
+  /**
+   * @param delay
+   *          time waited before hedging; with a
+   *          {@link #delayPercentile(double) percentile} only until enough
+   *          latencies have been observed
+   * @param unit
+   *          unit of {@code delay}
+   * @return this
+   */
+  public HedgePolicy delay(long delay, TimeUnit unit) {
+    this.delayNanos = unit.toNanos(delay);
+    return this;
+  }
+
+  /**
+   * @param delayPercentile
+   *          percentile of the latencies observed per endpoint waited before
+   *          hedging, e.g. {@code 95.0}; {@code 0} for a fixed delay
+   * @return this
+   */
+  public HedgePolicy delayPercentile(double delayPercentile) {
+    this.delayPercentile = delayPercentile;
+    return this;
+  }
+
+  /**
+   * @param minDelay
+   *          shortest time waited before hedging if the delay follows a
+   *          percentile
+   * @param unit
+   *          unit of {@code minDelay}
+   * @return this
+   */
+  public HedgePolicy minDelay(long minDelay, TimeUnit unit) {
+    this.minDelayNanos = unit.toNanos(minDelay);
+    return this;
+  }
+
+  /**
+   * @param minSamples
+   *          number of latencies observed per endpoint and window before the
+   *          percentile is used
+   * @return this
+   */
+  public HedgePolicy minSamples(int minSamples) {
+    this.minSamples = minSamples;
+    return this;
+  }
+
+  /**
+   * @param window
+   *          time the latencies a percentile is taken from are observed for;
+   *          the delay follows changes of the latencies after this time
+   * @param unit
+   *          unit of {@code window}
+   * @return this
+   */
+  public HedgePolicy window(long window, TimeUnit unit) {
+    this.windowNanos = unit.toNanos(window);
+    return this;
+  }
+
+  /**
+   * @param maxHedgeRatio
+   *          hedges allowed per request, e.g. {@code 0.05}
+   * @param burst
+   *          number of hedges the unused allowance is kept up to
+   * @return this
+   */
+  public HedgePolicy maxHedgeRatio(double maxHedgeRatio, int burst) {
+    this.maxHedgeRatio = maxHedgeRatio;
+    this.burst = burst;
+    return this;
+  }
+
+  public long getDelayNanos() {
+    return delayNanos;
+  }
+
+  public double getDelayPercentile() {
+    return delayPercentile;
+  }
+
+  public long getMinDelayNanos() {
+    return minDelayNanos;
+  }
+
+  public int getMinSamples() {
+    return minSamples;
+  }
+
+  public long getWindowNanos() {
+    return windowNanos;
+  }
+
+  public double getMaxHedgeRatio() {
+    return maxHedgeRatio;
+  }
+
+  public int getBurst() {
+    return burst;
+  }
+}
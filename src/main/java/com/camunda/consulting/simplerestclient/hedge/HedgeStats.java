@@ -0,0 +1,55 @@
+package com.camunda.consulting.simplerestclient.hedge;
+
+/**
+ * This class is a snapshot of the counters of a {@link HedgingTransport}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class HedgeStats {
+
+  private final long requests;
+  private final long hedges;
+  private final long wins;
+  private final long denied;
+
+  /**
+   * Constructor.
+   *
+   * @param requests
+   *          number of requests that may be hedged
+   * @param hedges
+   *          number of hedges sent
+   * @param wins
+   *          number of hedges answered before the request they were sent for
+   * @param denied
+   *          number of hedges not sent because the allowance was exhausted
+   */
+  HedgeStats(long requests, long hedges, long wins, long denied) {
+    this.requests = requests;
+    this.hedges = hedges;
+    this.wins = wins;
+    this.denied = denied;
+  }
+
+  public long getRequests() {
+    return requests;
+  }
+
+  public long getHedges() {
+    return hedges;
+  }
+
+  public long getWins() {
+    return wins;
+  }
+
+  public long getDenied() {
+    return denied;
+  }
+
+  @Override
+  public String toString() {
+    return "requests=" + requests + ", hedges=" + hedges + ", wins=" + wins + ", denied=" + denied;
+  }
+}
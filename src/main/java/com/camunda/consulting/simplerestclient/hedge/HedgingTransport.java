@@ -0,0 +1,259 @@
+package com.camunda.consulting.simplerestclient.hedge;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.ws.rs.HttpMethod;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.metrics.LatencyHistogram;
+import com.camunda.consulting.simplerestclient.metrics.LatencyStats;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolStats;
+import com.camunda.consulting.simplerestclient.transport.HttpTransport;
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+import com.camunda.consulting.simplerestclient.util.Ticker;
+
+/**
+ * This {@link HttpTransport} hedges {@code GET} requests of its delegate as
+ * set by a {@link HedgePolicy}: a request not answered after the delay is sent
+ * once more, the first response is used and the other exchange is cancelled.
+ * If one of them fails, the other is still waited for.
+ * <p>
+ * Synchronous requests are hedged by sending both on the blocking executor
+ * while the calling thread waits. Blocking transports cannot abort an
+ * exchange in flight, so the response of the slower one is released as soon
+ * as it arrives.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class HedgingTransport implements HttpTransport {
+
+  private static final Logger log = LoggerFactory.getLogger(HedgingTransport.class);
+
+  /**
+   * the allowance is kept in thousandths of a hedge
+   */
+  private static final long SCALE = 1000;
+
+  private final HttpTransport delegate;
+  private final HedgePolicy policy;
+  private final Executor blockingExecutor;
+
+  /**
+   * sends the hedges when their delay has passed
+   */
+  private final ScheduledExecutorService timer;
+
+  /**
+   * observed latencies by endpoint, if the delay follows a percentile
+   */
+  private final ConcurrentMap<String, LatencyWindow> windows = new ConcurrentHashMap<String, LatencyWindow>();
+
+  private final long depositPerRequest;
+  private final long maxAllowance;
+  private final AtomicLong allowance = new AtomicLong();
+
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder hedges = new LongAdder();
+  private final LongAdder wins = new LongAdder();
+  private final LongAdder denied = new LongAdder();
+
+  private Ticker ticker = Ticker.SYSTEM;
+
+  /**
+   * Constructor.
+   *
+   * @param delegate
+   *          the transport requests are sent through
+   * @param policy
+   *          the hedging settings
+   * @param blockingExecutor
+   *          executor synchronous requests are sent on when hedged
+   */
+  public HedgingTransport(HttpTransport delegate, HedgePolicy policy, Executor blockingExecutor) {
+    this.delegate = delegate;
+    this.policy = policy;
+    this.blockingExecutor = blockingExecutor;
+    this.depositPerRequest = (long) (policy.getMaxHedgeRatio() * SCALE);
+    this.maxAllowance = policy.getBurst() * SCALE;
+    this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "simplerestclient-hedge");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * @param ticker
+   *          source of time latencies are measured by, to be set before the
+   *          first request
+   * @return this
+   */
+  HedgingTransport ticker(Ticker ticker) {
+    this.ticker = ticker;
+    return this;
+  }
+
+  @Override
+  public TransportResponse execute(TransportRequest request) throws RestClientException {
+    if (isHedged(request) == false) {
+      return delegate.execute(request);
+    }
+
+    CompletableFuture<TransportResponse> result = executeAsync(request, blockingExecutor);
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      result.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new RestClientException("interrupted while waiting for response to request [" + request + "]", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RestClientException("cannot execute request [" + request + "]", e.getCause());
+    }
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor blockingExecutor) {
+    if (isHedged(request) == false) {
+      return delegate.executeAsync(request, blockingExecutor);
+    }
+
+    requests.increment();
+    allowance.accumulateAndGet(depositPerRequest, (current, added) -> Math.min(maxAllowance, current + added));
+    LatencyWindow window = policy.getDelayPercentile() > 0 ? windows.computeIfAbsent(request.getEndpoint(), endpoint -> new LatencyWindow())
+        : null;
+
+    CompletableFuture<TransportResponse> result = new CompletableFuture<TransportResponse>();
+    AtomicInteger pending = new AtomicInteger();
+    send(request, blockingExecutor, window, pending, result, false);
+
+    long delayNanos = window != null ? window.delayNanos : policy.getDelayNanos();
+    try {
+      ScheduledFuture<?> hedge = timer.schedule(() -> {
+        if (result.isDone()) {
+          return;
+        }
+        if (tryWithdraw() == false) {
+          denied.increment();
+          return;
+        }
+        hedges.increment();
+        log.debug("hedging {} after {} ms", request, TimeUnit.NANOSECONDS.toMillis(delayNanos));
+        send(request, blockingExecutor, window, pending, result, true);
+      }, delayNanos, TimeUnit.NANOSECONDS);
+      result.whenComplete((response, throwable) -> hedge.cancel(false));
+    } catch (RejectedExecutionException e) {
+      // the transport is being closed, the request is not hedged
+    }
+
+    return result;
+  }
+
+  private void send(TransportRequest request, Executor blockingExecutor, LatencyWindow window, AtomicInteger pending,
+      CompletableFuture<TransportResponse> result, boolean hedge) {
+    pending.incrementAndGet();
+    long startNanos = ticker.nanoTime();
+    CompletableFuture<TransportResponse> exchange = delegate.executeAsync(request, blockingExecutor);
+    // cancels the slower exchange as well as both if the result is cancelled
+    result.whenComplete((response, throwable) -> exchange.cancel(true));
+
+    exchange.whenComplete((response, throwable) -> {
+      if (throwable != null) {
+        if (pending.decrementAndGet() == 0) {
+          result.completeExceptionally(throwable);
+        }
+        return;
+      }
+      if (window != null) {
+        window.record(ticker.nanoTime() - startNanos);
+      }
+      if (result.complete(response)) {
+        if (hedge) {
+          wins.increment();
+        }
+      } else {
+        response.close();
+      }
+    });
+  }
+
+  private boolean isHedged(TransportRequest request) {
+    return HttpMethod.GET.equalsIgnoreCase(request.getMethod()) && request.getEntity() == null;
+  }
+
+  private boolean tryWithdraw() {
+    long current;
+    do {
+      current = allowance.get();
+      if (current < SCALE) {
+        return false;
+      }
+    } while (allowance.compareAndSet(current, current - SCALE) == false);
+    return true;
+  }
+
+  /**
+   * @return a snapshot of the counters of this transport
+   */
+  public HedgeStats getStats() {
+    return new HedgeStats(requests.sum(), hedges.sum(), wins.sum(), denied.sum());
+  }
+
+  @Override
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return delegate.getConnectionPoolStats();
+  }
+
+  @Override
+  public void close() {
+    timer.shutdownNow();
+    delegate.close();
+  }
+
+  /**
+   * This records the latencies of one endpoint and derives the delay from
+   * them whenever a window has passed. Taking a percentile copies the
+   * histogram, so it is not done per request.
+   */
+  private class LatencyWindow {
+
+    private final AtomicReference<LatencyHistogram> histogram = new AtomicReference<LatencyHistogram>(new LatencyHistogram());
+    private final AtomicLong startNanos = new AtomicLong(ticker.nanoTime());
+    private volatile long delayNanos = policy.getDelayNanos();
+
+    void record(long latencyNanos) {
+      histogram.get().record(latencyNanos);
+
+      long start = startNanos.get();
+      long now = ticker.nanoTime();
+      if (now - start >= policy.getWindowNanos() && startNanos.compareAndSet(start, now)) {
+        // swapped first, so samples recorded meanwhile go to the next window
+        // instead of getting lost
+        LatencyStats stats = histogram.getAndSet(new LatencyHistogram()).getStats();
+        if (stats.getCount() >= policy.getMinSamples()) {
+          delayNanos = Math.max(policy.getMinDelayNanos(), stats.getValueAtPercentile(policy.getDelayPercentile()));
+        }
+      }
+    }
+  }
+}
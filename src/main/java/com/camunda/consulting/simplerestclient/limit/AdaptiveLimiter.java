@@ -0,0 +1,236 @@
+package com.camunda.consulting.simplerestclient.limit;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.camunda.consulting.simplerestclient.util.Ticker;
+
+/**
+ * This caps the number of requests in flight per endpoint at a limit it
+ * adjusts to the latencies measured, the way TCP congestion control does
+ * (AIMD): the limit grows by one for each limit's worth of requests answered
+ * in time, and shrinks by {@code backoffRatio} when a request fails, is
+ * answered with {@code 429}, {@code 503} or {@code 504}, or takes more than
+ * {@code latencyTolerance} times the average latency of the endpoint. Like
+ * TCP, it shrinks at most once per average latency, so the requests in flight
+ * during a hiccup do not shrink it one after another.
+ * <p>
+ * Requests above the limit are rejected right away instead of waiting, so
+ * threads do not pile up in front of a server that has slowed down.
+ *
+ * <pre>
+ * AdaptiveLimiter limiter = new AdaptiveLimiter().initialLimit(20).limits(4, 200);
+ * </pre>
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class AdaptiveLimiter {
+
+  /**
+   * weight of a new latency in the average, which so follows about the last
+   * 100 requests
+   */
+  private static final double SMOOTHING = 0.01;
+
+  private int initialLimit = 20;
+  private int minLimit = 1;
+  private int maxLimit = 200;
+
+  /**
+   * factor the limit is multiplied with on overload
+   */
+  private double backoffRatio = 0.9;
+
+  /**
+   * latency relative to the average one taken as overload
+   */
+  private double latencyTolerance = 2.0;
+
+  private Ticker ticker = Ticker.SYSTEM;
+
+  private final ConcurrentMap<String, EndpointLimit> limits = new ConcurrentHashMap<String, EndpointLimit>();
+
+  /**
+   * @param initialLimit
+   *          limit of an endpoint before latencies have been measured
+   * @return this
+   */
+  public AdaptiveLimiter initialLimit(int initialLimit) {
+    this.initialLimit = initialLimit;
+    return this;
+  }
+
+  /**
+   * @param minLimit
+   *          limit the limit does not shrink below
+   * @param maxLimit
+   *          limit the limit does not grow beyond
+   * @return this
+   */
+  public AdaptiveLimiter limits(int minLimit, int maxLimit) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    return this;
+  }
+
+  /**
+   * @param backoffRatio
+   *          factor the limit is multiplied with on overload, e.g.
+   *          {@code 0.9}
+   * @return this
+   */
+  public AdaptiveLimiter backoffRatio(double backoffRatio) {
+    this.backoffRatio = backoffRatio;
+    return this;
+  }
+
+  /**
+   * @param latencyTolerance
+   *          latency relative to the average one of the endpoint taken as
+   *          overload, e.g. {@code 2.0}
+   * @return this
+   */
+  public AdaptiveLimiter latencyTolerance(double latencyTolerance) {
+    this.latencyTolerance = latencyTolerance;
+    return this;
+  }
+
+  /**
+   * @param ticker
+   *          source of time, to be set before the first request
+   * @return this
+   */
+  AdaptiveLimiter ticker(Ticker ticker) {
+    this.ticker = ticker;
+    return this;
+  }
+
+  /**
+   * @param endpoint
+   *          the endpoint of the request
+   * @return {@code true} if a request to {@code endpoint} may be sent, which
+   *         then has to be {@link #release(String, long, boolean) released}
+   */
+  public boolean tryAcquire(String endpoint) {
+    return limitOf(endpoint).tryAcquire();
+  }
+
+  /**
+   * This releases a request to {@code endpoint} and adjusts the limit by it.
+   *
+   * @param endpoint
+   *          the endpoint of the request
+   * @param latencyNanos
+   *          time until the response was received
+   * @param overload
+   *          {@code true} if the request failed or was answered with a status
+   *          telling the server is overloaded
+   */
+  public void release(String endpoint, long latencyNanos, boolean overload) {
+    limitOf(endpoint).release(latencyNanos, overload);
+  }
+
+  /**
+   * This releases a request to {@code endpoint} without adjusting the limit,
+   * e.g. because it failed or was cancelled for reasons that tell nothing
+   * about the server.
+   *
+   * @param endpoint
+   *          the endpoint of the request
+   */
+  public void release(String endpoint) {
+    limitOf(endpoint).inFlight.decrementAndGet();
+  }
+
+  private EndpointLimit limitOf(String endpoint) {
+    return limits.computeIfAbsent(endpoint != null ? endpoint : "", key -> new EndpointLimit());
+  }
+
+  /**
+   * @param endpoint
+   *          the endpoint
+   * @return current limit of {@code endpoint}
+   */
+  public int getLimit(String endpoint) {
+    return limitOf(endpoint).limit;
+  }
+
+  /**
+   * @param endpoint
+   *          the endpoint
+   * @return number of requests in flight to {@code endpoint}
+   */
+  public int getInFlight(String endpoint) {
+    return limitOf(endpoint).inFlight.get();
+  }
+
+  /**
+   * @return current limits by endpoint
+   */
+  public Map<String, Integer> getLimits() {
+    Map<String, Integer> snapshot = new TreeMap<String, Integer>();
+    limits.forEach((endpoint, limit) -> snapshot.put(endpoint, limit.limit));
+    return snapshot;
+  }
+
+  /**
+   * This holds the limit of one endpoint. Requests are admitted without
+   * locking; adjusting the limit takes the lock of the endpoint only.
+   */
+  private class EndpointLimit {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+    /**
+     * limit including the fraction grown by requests answered in time
+     */
+    private double exactLimit = limit;
+
+    /**
+     * exponentially weighted average of the latencies, {@code 0} before the
+     * first one
+     */
+    private double averageLatencyNanos = 0;
+
+    private long lastBackoffNanos = ticker.nanoTime();
+
+    boolean tryAcquire() {
+      int current;
+      do {
+        current = inFlight.get();
+        if (current >= limit) {
+          return false;
+        }
+      } while (inFlight.compareAndSet(current, current + 1) == false);
+      return true;
+    }
+
+    synchronized void release(long latencyNanos, boolean overload) {
+      int sent = inFlight.getAndDecrement();
+
+      boolean slow = averageLatencyNanos > 0 && latencyNanos > averageLatencyNanos * latencyTolerance;
+      if (overload == false) {
+        averageLatencyNanos = averageLatencyNanos == 0 ? latencyNanos : averageLatencyNanos + (latencyNanos - averageLatencyNanos) * SMOOTHING;
+      }
+
+      if (overload || slow) {
+        long now = ticker.nanoTime();
+        if (now - lastBackoffNanos >= averageLatencyNanos) {
+          exactLimit = Math.max(minLimit, exactLimit * backoffRatio);
+          lastBackoffNanos = now;
+        }
+      } else if (sent * 2 >= limit) {
+        // only grow while the limit is used, otherwise it says nothing about
+        // the server
+        exactLimit = Math.min(maxLimit, exactLimit + 1.0 / exactLimit);
+      }
+      limit = (int) exactLimit;
+    }
+  }
+}
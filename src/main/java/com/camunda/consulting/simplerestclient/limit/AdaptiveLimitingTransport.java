@@ -0,0 +1,115 @@
+package com.camunda.consulting.simplerestclient.limit;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolStats;
+import com.camunda.consulting.simplerestclient.transport.HttpTransport;
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+import com.camunda.consulting.simplerestclient.util.Failures;
+
+/**
+ * This {@link HttpTransport} rejects requests of its delegate above the limit
+ * of their endpoint set by an {@link AdaptiveLimiter}, and feeds the latency
+ * and outcome of the requests sent back into it. A request counts as in
+ * flight until its response has been released.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class AdaptiveLimitingTransport implements HttpTransport {
+
+  private final HttpTransport delegate;
+  private final AdaptiveLimiter limiter;
+
+  /**
+   * Constructor.
+   *
+   * @param delegate
+   *          the transport requests are sent through
+   * @param limiter
+   *          the limiter admitting requests
+   */
+  public AdaptiveLimitingTransport(HttpTransport delegate, AdaptiveLimiter limiter) {
+    this.delegate = delegate;
+    this.limiter = limiter;
+  }
+
+  @Override
+  public TransportResponse execute(TransportRequest request) throws RestClientException {
+    acquire(request);
+    long startNanos = System.nanoTime();
+    TransportResponse response;
+    try {
+      response = delegate.execute(request);
+    } catch (RuntimeException e) {
+      failed(request, e, startNanos);
+      throw e;
+    }
+    return received(request, response, startNanos);
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor blockingExecutor) {
+    try {
+      acquire(request);
+    } catch (RestClientException e) {
+      CompletableFuture<TransportResponse> rejected = new CompletableFuture<TransportResponse>();
+      rejected.completeExceptionally(e);
+      return rejected;
+    }
+    long startNanos = System.nanoTime();
+    CompletableFuture<TransportResponse> exchange = delegate.executeAsync(request, blockingExecutor);
+    CompletableFuture<TransportResponse> result = new CompletableFuture<TransportResponse>();
+
+    exchange.whenComplete((response, throwable) -> {
+      if (throwable != null) {
+        failed(request, throwable, startNanos);
+        result.completeExceptionally(throwable);
+      } else {
+        received(request, response, startNanos).deliverTo(result);
+      }
+    });
+    result.whenComplete((response, throwable) -> {
+      if (result.isCancelled()) {
+        exchange.cancel(true);
+      }
+    });
+
+    return result;
+  }
+
+  private void acquire(TransportRequest request) throws RestClientException {
+    String endpoint = request.getEndpoint();
+    if (limiter.tryAcquire(endpoint) == false) {
+      throw new RestClientException("concurrency limit of " + limiter.getLimit(endpoint) + " reached for [" + endpoint + "]");
+    }
+  }
+
+  private TransportResponse received(TransportRequest request, TransportResponse response, long startNanos) {
+    long latencyNanos = System.nanoTime() - startNanos;
+    int status = response.getStatus();
+    boolean overload = status == 429 || status == 503 || status == 504;
+    return response.onClose(() -> limiter.release(request.getEndpoint(), latencyNanos, overload));
+  }
+
+  private void failed(TransportRequest request, Throwable failure, long startNanos) {
+    if (Failures.isIoFailure(failure)) {
+      limiter.release(request.getEndpoint(), System.nanoTime() - startNanos, true);
+    } else {
+      limiter.release(request.getEndpoint());
+    }
+  }
+
+  @Override
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return delegate.getConnectionPoolStats();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
@@ -0,0 +1,177 @@
+package com.camunda.consulting.simplerestclient.limit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+
+/**
+ * This caps the number of requests a
+ * {@link com.camunda.consulting.simplerestclient.RestClient} has in flight, in
+ * total and per endpoint. A request holds its permits until its response has
+ * been released, so the caps bound the number of open sockets no matter how
+ * many threads issue requests.
+ *
+ * <pre>
+ * InFlightLimiter limiter = new InFlightLimiter(256)
+ *     .perEndpoint(64)
+ *     .perEndpoint("history/activity-instance", 8);
+ * </pre>
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class InFlightLimiter {
+
+  private final int maxInFlight;
+  private final Semaphore globalPermits;
+
+  /**
+   * cap of endpoints without a dedicated cap, {@code 0} means uncapped
+   */
+  private int defaultMaxInFlightPerEndpoint = 0;
+
+  /**
+   * dedicated caps per endpoint
+   */
+  private final Map<String, Integer> maxInFlightPerEndpoint = new ConcurrentHashMap<String, Integer>();
+
+  private final Map<String, Semaphore> endpointPermits = new ConcurrentHashMap<String, Semaphore>();
+
+  /**
+   * time to wait for permits before a request fails, {@code 0} means to wait
+   * indefinitely
+   */
+  private long acquireTimeoutMillis = 0;
+
+  /**
+   * Constructor.
+   *
+   * @param maxInFlight
+   *          maximum number of requests in flight in total
+   */
+  public InFlightLimiter(int maxInFlight) {
+    this.maxInFlight = maxInFlight;
+    this.globalPermits = new Semaphore(maxInFlight);
+  }
+
+  /**
+   * @param maxInFlight
+   *          maximum number of requests in flight per endpoint without a
+   *          dedicated cap
+   * @return this
+   */
+  public InFlightLimiter perEndpoint(int maxInFlight) {
+    this.defaultMaxInFlightPerEndpoint = maxInFlight;
+    return this;
+  }
+
+  /**
+   * @param endpoint
+   *          the endpoint, see
+   *          {@link com.camunda.consulting.simplerestclient.request.Request#getEndpoint()}
+   * @param maxInFlight
+   *          maximum number of requests in flight to {@code endpoint}
+   * @return this
+   */
+  public InFlightLimiter perEndpoint(String endpoint, int maxInFlight) {
+    this.maxInFlightPerEndpoint.put(endpoint, maxInFlight);
+    return this;
+  }
+
+  /**
+   * @param duration
+   *          time to wait for permits before a request fails
+   * @param unit
+   *          unit of {@code duration}
+   * @return this
+   */
+  public InFlightLimiter acquireTimeout(long duration, TimeUnit unit) {
+    this.acquireTimeoutMillis = unit.toMillis(duration);
+    return this;
+  }
+
+  /**
+   * This blocks until a request to {@code endpoint} may be sent.
+   *
+   * @param endpoint
+   *          the endpoint of the request
+   * @throws RestClientException
+   *           if interrupted or no permit was granted in time
+   */
+  public void acquire(String endpoint) throws RestClientException {
+    Semaphore permits = permitsOf(endpoint);
+
+    // the endpoint cap is taken first, so requests queued on a busy endpoint
+    // do not hold back requests to other endpoints
+    if (permits != null) {
+      acquire(permits, endpoint);
+    }
+    try {
+      acquire(globalPermits, endpoint);
+    } catch (RestClientException e) {
+      if (permits != null) {
+        permits.release();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * This releases the permits of a request to {@code endpoint}.
+   *
+   * @param endpoint
+   *          the endpoint of the request
+   */
+  public void release(String endpoint) {
+    Semaphore permits = permitsOf(endpoint);
+    if (permits != null) {
+      permits.release();
+    }
+    globalPermits.release();
+  }
+
+  private void acquire(Semaphore permits, String endpoint) throws RestClientException {
+    try {
+      if (acquireTimeoutMillis <= 0) {
+        permits.acquire();
+      } else if (permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS) == false) {
+        throw new RestClientException("too many requests in flight to [" + endpoint + "]");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RestClientException("interrupted while waiting to send request to [" + endpoint + "]", e);
+    }
+  }
+
+  private Semaphore permitsOf(String endpoint) {
+    int max = maxInFlightPerEndpoint.getOrDefault(endpoint, defaultMaxInFlightPerEndpoint);
+    if (max <= 0) {
+      return null;
+    }
+    return endpointPermits.computeIfAbsent(endpoint, key -> new Semaphore(max));
+  }
+
+  /**
+   * @return number of requests in flight in total
+   */
+  public int getInFlight() {
+    return maxInFlight - globalPermits.availablePermits();
+  }
+
+  /**
+   * @param endpoint
+   *          the endpoint
+   * @return number of requests in flight to {@code endpoint}, or {@code -1} if
+   *         the endpoint is not capped
+   */
+  public int getInFlight(String endpoint) {
+    Semaphore permits = permitsOf(endpoint);
+    if (permits == null) {
+      return -1;
+    }
+    return maxInFlightPerEndpoint.getOrDefault(endpoint, defaultMaxInFlightPerEndpoint) - permits.availablePermits();
+  }
+}
@@ -0,0 +1,87 @@
+package com.camunda.consulting.simplerestclient.limit;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolStats;
+import com.camunda.consulting.simplerestclient.transport.HttpTransport;
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+
+/**
+ * This {@link HttpTransport} holds back requests of its delegate until the
+ * {@link InFlightLimiter} grants them. Asynchronous requests wait for their
+ * permits on the blocking executor, never on the calling thread.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class InFlightLimitingTransport implements HttpTransport {
+
+  private final HttpTransport delegate;
+  private final InFlightLimiter limiter;
+
+  /**
+   * Constructor.
+   *
+   * @param delegate
+   *          the transport requests are sent through
+   * @param limiter
+   *          the limiter granting requests
+   */
+  public InFlightLimitingTransport(HttpTransport delegate, InFlightLimiter limiter) {
+    this.delegate = delegate;
+    this.limiter = limiter;
+  }
+
+  @Override
+  public TransportResponse execute(TransportRequest request) throws RestClientException {
+    String endpoint = request.getEndpoint();
+    limiter.acquire(endpoint);
+    try {
+      return delegate.execute(request).onClose(() -> limiter.release(endpoint));
+    } catch (RuntimeException e) {
+      limiter.release(endpoint);
+      throw e;
+    }
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor blockingExecutor) {
+    String endpoint = request.getEndpoint();
+    CompletableFuture<TransportResponse> result = new CompletableFuture<TransportResponse>();
+
+    CompletableFuture.runAsync(() -> limiter.acquire(endpoint), blockingExecutor).whenComplete((acquired, acquireFailure) -> {
+      if (acquireFailure != null) {
+        result.completeExceptionally(acquireFailure);
+        return;
+      }
+      if (result.isDone()) {
+        // cancelled while waiting for the permit
+        limiter.release(endpoint);
+        return;
+      }
+      delegate.executeAsync(request, blockingExecutor).whenComplete((response, throwable) -> {
+        if (throwable != null) {
+          limiter.release(endpoint);
+          result.completeExceptionally(throwable);
+        } else {
+          response.onClose(() -> limiter.release(endpoint)).deliverTo(result);
+        }
+      });
+    });
+
+    return result;
+  }
+
+  @Override
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return delegate.getConnectionPoolStats();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
@@ -0,0 +1,255 @@
+package com.camunda.consulting.simplerestclient.limit;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.util.Ticker;
+
+/**
+ * This paces the requests of a
+ * {@link com.camunda.consulting.simplerestclient.RestClient} by
+ * {@link TokenBucket}s per host, i.e. per scheme, host and port of the base
+ * URI, and per endpoint, so quotas of a server are kept rather than running
+ * into {@code 429} responses. A request takes a token from each bucket
+ * applying to it. Taking a token is lock-free; a limiter may be shared by
+ * clients of the same server.
+ * <p>
+ * Requests wait for their tokens up to {@code maxWait} and fail with a
+ * {@link RestClientException} beyond; asynchronous requests wait on a timer,
+ * never on a thread.
+ *
+ * <pre>
+ * RateLimiter rateLimiter = new RateLimiter()
+ *     .perHost(500, 50)
+ *     .perEndpoint("external-task/fetchAndLock", 20, 5)
+ *     .maxWait(2, TimeUnit.SECONDS);
+ * </pre>
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class RateLimiter {
+
+  /**
+   * Rate and burst of a bucket.
+   */
+  private static class Rate {
+
+    private final double permitsPerSecond;
+    private final int burst;
+
+    Rate(double permitsPerSecond, int burst) {
+      this.permitsPerSecond = permitsPerSecond;
+      this.burst = burst;
+    }
+  }
+
+  /**
+   * The timer is created with the first asynchronous request waiting for a
+   * token.
+   */
+  private static class TimerHolder {
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "simplerestclient-rate-limiter");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * rate of hosts, {@code null} if they are not paced
+   */
+  private Rate hostRate = null;
+
+  /**
+   * rate of endpoints without a dedicated rate, {@code null} if they are not
+   * paced
+   */
+  private Rate defaultEndpointRate = null;
+
+  /**
+   * dedicated rates per endpoint
+   */
+  private final Map<String, Rate> endpointRates = new ConcurrentHashMap<String, Rate>();
+
+  private final ConcurrentMap<String, TokenBucket> hostBuckets = new ConcurrentHashMap<String, TokenBucket>();
+  private final ConcurrentMap<String, TokenBucket> endpointBuckets = new ConcurrentHashMap<String, TokenBucket>();
+
+  /**
+   * time to wait for tokens before a request fails
+   */
+  private long maxWaitNanos = Long.MAX_VALUE;
+
+  private Ticker ticker = Ticker.SYSTEM;
+
+  /**
+   * @param permitsPerSecond
+   *          requests allowed per second to each host
+   * @param burst
+   *          requests allowed at once after a pause
+   * @return this
+   */
+  public RateLimiter perHost(double permitsPerSecond, int burst) {
+    this.hostRate = new Rate(permitsPerSecond, burst);
+    return this;
+  }
+
+  /**
+   * @param permitsPerSecond
+   *          requests allowed per second to each endpoint without a dedicated
+   *          rate
+   * @param burst
+   *          requests allowed at once after a pause
+   * @return this
+   */
+  public RateLimiter perEndpoint(double permitsPerSecond, int burst) {
+    this.defaultEndpointRate = new Rate(permitsPerSecond, burst);
+    return this;
+  }
+
+  /**
+   * @param endpoint
+   *          the endpoint, see
+   *          {@link com.camunda.consulting.simplerestclient.request.Request#getEndpoint()}
+   * @param permitsPerSecond
+   *          requests allowed per second to {@code endpoint}
+   * @param burst
+   *          requests allowed at once after a pause
+   * @return this
+   */
+  public RateLimiter perEndpoint(String endpoint, double permitsPerSecond, int burst) {
+    this.endpointRates.put(endpoint, new Rate(permitsPerSecond, burst));
+    return this;
+  }
+
+  /**
+   * @param duration
+   *          time to wait for tokens before a request fails, {@code 0} to fail
+   *          right away if there are none
+   * @param unit
+   *          unit of {@code duration}
+   * @return this
+   */
+  public RateLimiter maxWait(long duration, TimeUnit unit) {
+    this.maxWaitNanos = unit.toNanos(duration);
+    return this;
+  }
+
+  /**
+   * @param ticker
+   *          source of time, to be set before the first request
+   * @return this
+   */
+  RateLimiter ticker(Ticker ticker) {
+    this.ticker = ticker;
+    return this;
+  }
+
+  /**
+   * This blocks until a request may be sent.
+   *
+   * @param host
+   *          scheme, host and port of the request, e.g.
+   *          {@code http://localhost:8080}
+   * @param endpoint
+   *          the endpoint of the request
+   * @throws RestClientException
+   *           if interrupted or no token is available within {@code maxWait}
+   */
+  public void acquire(String host, String endpoint) throws RestClientException {
+    long waitNanos = reserve(host, endpoint, maxWaitNanos);
+    if (waitNanos < 0) {
+      throw exceeded(host, endpoint);
+    }
+    if (waitNanos == 0) {
+      return;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RestClientException("interrupted while waiting to send request to [" + endpoint + "]", e);
+    }
+  }
+
+  /**
+   * @param host
+   *          scheme, host and port of the request
+   * @param endpoint
+   *          the endpoint of the request
+   * @return {@code true} if a request may be sent right away, {@code false}
+   *         if it would have to wait, in which case no token is taken
+   */
+  public boolean tryAcquire(String host, String endpoint) {
+    return reserve(host, endpoint, 0) == 0;
+  }
+
+  /**
+   * @param host
+   *          scheme, host and port of the request
+   * @param endpoint
+   *          the endpoint of the request
+   * @return a future completed once a request may be sent, or exceptionally
+   *         if no token is available within {@code maxWait}
+   */
+  public CompletableFuture<Void> acquireAsync(String host, String endpoint) {
+    CompletableFuture<Void> acquired = new CompletableFuture<Void>();
+    long waitNanos = reserve(host, endpoint, maxWaitNanos);
+    if (waitNanos < 0) {
+      acquired.completeExceptionally(exceeded(host, endpoint));
+    } else if (waitNanos == 0) {
+      acquired.complete(null);
+    } else {
+      TimerHolder.TIMER.schedule(() -> acquired.complete(null), waitNanos, TimeUnit.NANOSECONDS);
+    }
+    return acquired;
+  }
+
+  /**
+   * This takes a token from each bucket applying to a request.
+   *
+   * @return time to wait before the request may be sent, or {@code -1} if it
+   *         would have to wait longer than {@code maxWaitNanos}, in which case
+   *         no token is taken
+   */
+  private long reserve(String host, String endpoint, long maxWaitNanos) {
+    TokenBucket hostBucket = hostRate != null ? bucketOf(hostBuckets, host, hostRate) : null;
+    String endpointKey = endpoint != null ? endpoint : "";
+    Rate endpointRate = endpointRates.getOrDefault(endpointKey, defaultEndpointRate);
+    TokenBucket endpointBucket = endpointRate != null ? bucketOf(endpointBuckets, endpointKey, endpointRate) : null;
+
+    long hostWaitNanos = hostBucket != null ? hostBucket.reserve(maxWaitNanos) : 0;
+    if (hostWaitNanos < 0) {
+      return -1;
+    }
+    long endpointWaitNanos = endpointBucket != null ? endpointBucket.reserve(maxWaitNanos) : 0;
+    if (endpointWaitNanos < 0) {
+      if (hostBucket != null) {
+        hostBucket.cancel();
+      }
+      return -1;
+    }
+    return Math.max(hostWaitNanos, endpointWaitNanos);
+  }
+
+  private TokenBucket bucketOf(ConcurrentMap<String, TokenBucket> buckets, String key, Rate rate) {
+    // looked up before computeIfAbsent(...), which locks even if present on
+    // Java 8
+    TokenBucket bucket = buckets.get(key);
+    if (bucket != null) {
+      return bucket;
+    }
+    return buckets.computeIfAbsent(key, ignored -> new TokenBucket(rate.permitsPerSecond, rate.burst, ticker));
+  }
+
+  private static RestClientException exceeded(String host, String endpoint) {
+    return new RestClientException("rate limit of [" + endpoint + "] at [" + host + "] exceeded");
+  }
+}
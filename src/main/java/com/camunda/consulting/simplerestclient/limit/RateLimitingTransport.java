@@ -0,0 +1,93 @@
+package com.camunda.consulting.simplerestclient.limit;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolStats;
+import com.camunda.consulting.simplerestclient.transport.HttpTransport;
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+
+/**
+ * This {@link HttpTransport} holds back requests of its delegate until the
+ * {@link RateLimiter} allows them. Asynchronous requests wait for their
+ * tokens on the limiter's timer, never on a thread.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class RateLimitingTransport implements HttpTransport {
+
+  private final HttpTransport delegate;
+  private final RateLimiter limiter;
+
+  /**
+   * Constructor.
+   *
+   * @param delegate
+   *          the transport requests are sent through
+   * @param limiter
+   *          the limiter pacing requests
+   */
+  public RateLimitingTransport(HttpTransport delegate, RateLimiter limiter) {
+    this.delegate = delegate;
+    this.limiter = limiter;
+  }
+
+  @Override
+  public TransportResponse execute(TransportRequest request) throws RestClientException {
+    limiter.acquire(hostOf(request), request.getEndpoint());
+    return delegate.execute(request);
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor blockingExecutor) {
+    CompletableFuture<TransportResponse> result = new CompletableFuture<TransportResponse>();
+
+    limiter.acquireAsync(hostOf(request), request.getEndpoint()).whenComplete((acquired, acquireFailure) -> {
+      if (acquireFailure != null) {
+        result.completeExceptionally(acquireFailure);
+        return;
+      }
+      if (result.isDone()) {
+        // cancelled while waiting for the token
+        return;
+      }
+      CompletableFuture<TransportResponse> exchange = delegate.executeAsync(request, blockingExecutor);
+      exchange.whenComplete((response, throwable) -> {
+        if (throwable != null) {
+          result.completeExceptionally(throwable);
+        } else {
+          response.deliverTo(result);
+        }
+      });
+      result.whenComplete((response, throwable) -> {
+        if (result.isCancelled()) {
+          exchange.cancel(true);
+        }
+      });
+    });
+
+    return result;
+  }
+
+  /**
+   * @return scheme, host and port of {@code request}
+   */
+  private static String hostOf(TransportRequest request) {
+    URI uri = request.getUri();
+    return uri.getScheme() + "://" + uri.getRawAuthority();
+  }
+
+  @Override
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return delegate.getConnectionPoolStats();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
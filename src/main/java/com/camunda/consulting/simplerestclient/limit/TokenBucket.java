@@ -0,0 +1,102 @@
+package com.camunda.consulting.simplerestclient.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.camunda.consulting.simplerestclient.util.Ticker;
+
+/**
+ * This is a token bucket refilled at {@code permitsPerSecond} and holding up
+ * to {@code burst} tokens. Rather than a number of tokens it keeps the time
+ * the bucket will be full again (the generic cell rate algorithm), so taking
+ * a token is a single compare-and-set without locks and without a refill
+ * thread.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class TokenBucket {
+
+  private final Ticker ticker;
+
+  /**
+   * time between two tokens
+   */
+  private final long intervalNanos;
+
+  /**
+   * time the bucket may run ahead of the rate, i.e. the burst
+   */
+  private final long toleranceNanos;
+
+  /**
+   * time by which all tokens taken will have been refilled, the theoretical
+   * arrival time of the next request
+   */
+  private final AtomicLong refilledNanos;
+
+  /**
+   * Constructor.
+   *
+   * @param permitsPerSecond
+   *          tokens added per second
+   * @param burst
+   *          tokens the bucket holds at most, i.e. requests sent at once after
+   *          a pause
+   */
+  public TokenBucket(double permitsPerSecond, int burst) {
+    this(permitsPerSecond, burst, Ticker.SYSTEM);
+  }
+
+  /**
+   * Constructor taking the time from {@code ticker}.
+   */
+  TokenBucket(double permitsPerSecond, int burst, Ticker ticker) {
+    this.ticker = ticker;
+    this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+    this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+    this.refilledNanos = new AtomicLong(ticker.nanoTime() - toleranceNanos - intervalNanos);
+  }
+
+  /**
+   * @return {@code true} if a token was taken, {@code false} if the bucket is
+   *         empty
+   */
+  public boolean tryAcquire() {
+    return reserve(0) == 0;
+  }
+
+  /**
+   * This takes a token that may only become available in the future.
+   *
+   * @param maxWaitNanos
+   *          time the token may be waited for at most
+   * @return time to wait before the token may be used, or {@code -1} if it
+   *         would take longer than {@code maxWaitNanos}, in which case no
+   *         token is taken
+   */
+  public long reserve(long maxWaitNanos) {
+    long now = ticker.nanoTime();
+    long refilled;
+    long start;
+    long waitNanos;
+    do {
+      refilled = refilledNanos.get();
+      // an idle bucket is full, it does not save up beyond the burst
+      start = refilled - now > 0 ? refilled : now;
+      waitNanos = Math.max(0, start - toleranceNanos - now);
+      if (waitNanos > maxWaitNanos) {
+        return -1;
+      }
+    } while (refilledNanos.compareAndSet(refilled, start + intervalNanos) == false);
+    return waitNanos;
+  }
+
+  /**
+   * This returns a token reserved but not used, e.g. because the request was
+   * rejected by another bucket.
+   */
+  void cancel() {
+    refilledNanos.addAndGet(-intervalNanos);
+  }
+}
@@ -0,0 +1,101 @@
+package com.camunda.consulting.simplerestclient.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This is a bounded lock-free queue for many producers and a single consumer.
+ * Each slot carries a sequence number telling producers and the consumer
+ * whose turn it is; a producer claims a slot by a single compare-and-set and
+ * never waits. Offering to a full buffer fails instead of blocking.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ * @param <E>
+ *          type of the elements
+ */
+class RingBuffer<E> {
+
+  private final int mask;
+  private final AtomicReferenceArray<E> elements;
+  private final AtomicLongArray sequences;
+
+  /**
+   * next position to be claimed by a producer
+   */
+  private final AtomicLong tail = new AtomicLong();
+
+  /**
+   * next position to be read by the consumer, written by the consumer only
+   */
+  private volatile long head = 0;
+
+  /**
+   * Constructor.
+   *
+   * @param capacity
+   *          the minimum capacity, rounded up to a power of two
+   */
+  RingBuffer(int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+    this.mask = size - 1;
+    this.elements = new AtomicReferenceArray<E>(size);
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * @param element
+   *          the element to be added
+   * @return {@code false} if the buffer is full
+   */
+  boolean offer(E element) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) position & mask;
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          elements.lazySet(index, element);
+          // publishes the element to the consumer
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * This must be called by a single thread only.
+   *
+   * @return the oldest element or {@code null} if the buffer is empty
+   */
+  E poll() {
+    long position = head;
+    int index = (int) position & mask;
+    if (sequences.get(index) != position + 1) {
+      return null;
+    }
+    E element = elements.get(index);
+    elements.lazySet(index, null);
+    head = position + 1;
+    // hands the slot back to the producers one lap later
+    sequences.set(index, position + mask + 1);
+    return element;
+  }
+
+  /**
+   * @return the number of slots
+   */
+  int capacity() {
+    return mask + 1;
+  }
+}
@@ -0,0 +1,212 @@
+package com.camunda.consulting.simplerestclient.logging;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This logs sampled exchanges off the request path: request threads put
+ * entries into a lock-free ring buffer, and a background thread formats,
+ * redacts and writes them to the logger
+ * {@code com.camunda.consulting.simplerestclient.wire}. If the buffer is full
+ * entries are dropped and counted rather than blocking a request.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class WireLog implements Closeable {
+
+  private static final Logger log = LoggerFactory.getLogger(WireLog.class);
+
+  private static final Logger wireLog = LoggerFactory.getLogger("com.camunda.consulting.simplerestclient.wire");
+
+  private static final String REDACTED = "***";
+
+  /**
+   * how long the drainer sleeps while the buffer is empty
+   */
+  private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final WireLogConfig config;
+  private final RingBuffer<WireLogEntry> buffer;
+  private final AtomicLong dropped = new AtomicLong();
+
+  /**
+   * matches a redacted JSON field, group 1 being the part kept, {@code null}
+   * if no fields are redacted
+   */
+  private final Pattern jsonFields;
+
+  /**
+   * matches a redacted form field, group 1 being the part kept
+   */
+  private final Pattern formFields;
+
+  private final Thread drainer;
+  private volatile boolean running = true;
+
+  /**
+   * Constructor. This starts the thread writing the log.
+   *
+   * @param config
+   *          the settings
+   */
+  public WireLog(WireLogConfig config) {
+    this.config = config;
+    this.buffer = new RingBuffer<WireLogEntry>(config.getBufferSize());
+
+    if (config.getRedactedFields().isEmpty()) {
+      this.jsonFields = null;
+      this.formFields = null;
+    } else {
+      StringBuilder names = new StringBuilder();
+      for (String field : config.getRedactedFields()) {
+        names.append(names.length() > 0 ? "|" : "").append(Pattern.quote(field));
+      }
+      this.jsonFields = Pattern.compile("(\"(?:" + names + ")\"\\s*:\\s*)(\"(?:[^\"\\\\]|\\\\.)*\"|[^,}\\]\\s]+)");
+      this.formFields = Pattern.compile("((?:^|&)(?:" + names + ")=)([^&]*)");
+    }
+
+    this.drainer = new Thread(this::drain, "simplerestclient-wire-log");
+    this.drainer.setDaemon(true);
+    this.drainer.start();
+  }
+
+  /**
+   * @param endpoint
+   *          endpoint of a request
+   * @return {@code true} if the request is to be logged
+   */
+  boolean sample(String endpoint) {
+    if (wireLog.isInfoEnabled() == false) {
+      return false;
+    }
+    double sampleRate = config.getSampleRate(endpoint);
+    return sampleRate >= 1.0 || sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+  }
+
+  int getMaxBodyBytes() {
+    return config.getMaxBodyBytes();
+  }
+
+  /**
+   * This hands an entry to the background thread, or drops it if the buffer
+   * is full.
+   */
+  void publish(WireLogEntry entry) {
+    if (buffer.offer(entry) == false) {
+      dropped.incrementAndGet();
+    }
+  }
+
+  /**
+   * @return number of entries dropped because the buffer was full
+   */
+  public long getDropped() {
+    return dropped.get();
+  }
+
+  /**
+   * This writes the entries still buffered and stops the background thread.
+   */
+  @Override
+  public void close() {
+    running = false;
+    LockSupport.unpark(drainer);
+    try {
+      drainer.join(TimeUnit.SECONDS.toMillis(1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void drain() {
+    long reportedDrops = 0;
+    while (true) {
+      WireLogEntry entry = buffer.poll();
+      if (entry == null) {
+        long drops = dropped.get();
+        if (drops != reportedDrops) {
+          log.warn("wire log buffer of {} entries was full, {} entries dropped so far", buffer.capacity(), drops);
+          reportedDrops = drops;
+        }
+        if (running == false) {
+          return;
+        }
+        LockSupport.parkNanos(this, IDLE_NANOS);
+        continue;
+      }
+      try {
+        wireLog.info(format(entry));
+      } catch (RuntimeException e) {
+        log.warn("cannot log {} {}", entry.method, entry.uri, e);
+      }
+    }
+  }
+
+  private String format(WireLogEntry entry) {
+    StringBuilder message = new StringBuilder(256);
+    message.append(entry.method).append(' ').append(entry.uri);
+    if (entry.failure != null) {
+      message.append(" failed after ").append(millis(entry.durationNanos)).append(" ms: ").append(entry.failure);
+    } else {
+      message.append(" -> ").append(entry.status).append(' ').append(entry.reasonPhrase).append(" in ").append(millis(entry.durationNanos))
+          .append(" ms");
+    }
+
+    appendHeaders(message, '>', entry.requestHeaders);
+    if (entry.requestBody != null) {
+      message.append("\n> ").append(redactBody(entry.requestBody.toString(StandardCharsets.UTF_8)));
+    }
+    if (entry.responseHeaders != null) {
+      appendHeaders(message, '<', entry.responseHeaders);
+    }
+    if (entry.responseBody != null) {
+      message.append("\n< ").append(redactBody(entry.responseBody.toString(entry.responseCharset)));
+    }
+    return message.toString();
+  }
+
+  private void appendHeaders(StringBuilder message, char direction, Map<String, ? extends List<?>> headers) {
+    for (Map.Entry<String, ? extends List<?>> header : headers.entrySet()) {
+      boolean redacted = config.getRedactedHeaders().contains(header.getKey());
+      for (Object value : header.getValue()) {
+        message.append('\n').append(direction).append(' ').append(header.getKey()).append(": ").append(redacted ? REDACTED : value);
+      }
+    }
+  }
+
+  private String redactBody(String body) {
+    if (jsonFields == null) {
+      return body;
+    }
+    return redact(formFields, redact(jsonFields, body, "\"" + REDACTED + "\""), REDACTED);
+  }
+
+  private static String redact(Pattern pattern, String body, String replacement) {
+    Matcher matcher = pattern.matcher(body);
+    if (matcher.find() == false) {
+      return body;
+    }
+    StringBuffer redacted = new StringBuffer(body.length());
+    do {
+      matcher.appendReplacement(redacted, Matcher.quoteReplacement(matcher.group(1) + replacement));
+    } while (matcher.find());
+    return matcher.appendTail(redacted).toString();
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+  }
+}
@@ -0,0 +1,153 @@
+package com.camunda.consulting.simplerestclient.logging;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * This class holds the settings of the wire log of a
+ * {@link com.camunda.consulting.simplerestclient.RestClient}, which logs
+ * sampled requests and responses to the logger
+ * {@code com.camunda.consulting.simplerestclient.wire} at level INFO. An
+ * instance is handed to
+ * {@link com.camunda.consulting.simplerestclient.RestClientBuilder#wireLog(WireLogConfig)}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class WireLogConfig {
+
+  /**
+   * share of requests logged unless set per endpoint
+   */
+  private double sampleRate = 1.0;
+
+  /**
+   * share of requests logged by endpoint
+   */
+  private final Map<String, Double> endpointSampleRates = new HashMap<String, Double>();
+
+  /**
+   * names of headers whose values are not logged, case-insensitive
+   */
+  private final Set<String> redactedHeaders = new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
+
+  /**
+   * names of JSON and form fields whose values are not logged
+   */
+  private final Set<String> redactedFields = new LinkedHashSet<String>();
+
+  /**
+   * number of body bytes logged per request and response, {@code 0} to log no
+   * bodies
+   */
+  private int maxBodyBytes = 0;
+
+  /**
+   * number of entries waiting to be logged; entries exceeding it are dropped
+   */
+  private int bufferSize = 1024;
+
+  /**
+   * Constructor. Credentials and cookies are redacted by default.
+   */
+  public WireLogConfig() {
+    redactHeaders("Authorization", "Proxy-Authorization", "Cookie", "Set-Cookie");
+    redactFields("password", "client_secret", "access_token", "refresh_token");
+  }
+
+  /**
+   * @param sampleRate
+   *          share of requests logged, between {@code 0} and {@code 1}
+   * @return this
+   */
+  public WireLogConfig sampleRate(double sampleRate) {
+    this.sampleRate = sampleRate;
+    return this;
+  }
+
+  /**
+   * @param endpoint
+   *          the endpoint, see
+   *          {@link com.camunda.consulting.simplerestclient.request.Request#getEndpoint()}
+   * @param sampleRate
+   *          share of requests to {@code endpoint} logged, between {@code 0}
+   *          and {@code 1}
+   * @return this
+   */
+  public WireLogConfig sampleRate(String endpoint, double sampleRate) {
+    endpointSampleRates.put(endpoint, sampleRate);
+    return this;
+  }
+
+  /**
+   * @param headerNames
+   *          headers whose values are logged as {@code ***}, case-insensitive
+   * @return this
+   */
+  public WireLogConfig redactHeaders(String... headerNames) {
+    Collections.addAll(redactedHeaders, headerNames);
+    return this;
+  }
+
+  /**
+   * @param fieldNames
+   *          JSON and form fields whose values are logged as {@code ***}
+   * @return this
+   */
+  public WireLogConfig redactFields(String... fieldNames) {
+    Collections.addAll(redactedFields, fieldNames);
+    return this;
+  }
+
+  /**
+   * @param maxBodyBytes
+   *          number of body bytes logged per request and response, {@code 0}
+   *          to log no bodies
+   * @return this
+   */
+  public WireLogConfig maxBodyBytes(int maxBodyBytes) {
+    this.maxBodyBytes = maxBodyBytes;
+    return this;
+  }
+
+  /**
+   * @param bufferSize
+   *          number of entries waiting to be logged; entries exceeding it are
+   *          dropped rather than slowing down requests
+   * @return this
+   */
+  public WireLogConfig bufferSize(int bufferSize) {
+    this.bufferSize = bufferSize;
+    return this;
+  }
+
+  /**
+   * @param endpoint
+   *          the endpoint of a request
+   * @return the share of requests to {@code endpoint} logged
+   */
+  public double getSampleRate(String endpoint) {
+    Double endpointSampleRate = endpoint != null ? endpointSampleRates.get(endpoint) : null;
+    return endpointSampleRate != null ? endpointSampleRate : sampleRate;
+  }
+
+  public Set<String> getRedactedHeaders() {
+    return redactedHeaders;
+  }
+
+  public Set<String> getRedactedFields() {
+    return redactedFields;
+  }
+
+  public int getMaxBodyBytes() {
+    return maxBodyBytes;
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+}
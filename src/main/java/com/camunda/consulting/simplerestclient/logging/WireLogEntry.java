@@ -0,0 +1,90 @@
+package com.camunda.consulting.simplerestclient.logging;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * This is a sampled exchange waiting to be logged. It holds references to
+ * the request and response as they were; formatting and redaction are left to
+ * the thread draining the {@link WireLog}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+class WireLogEntry {
+
+  final String method;
+  final URI uri;
+  final String endpoint;
+  final MultivaluedMap<String, Object> requestHeaders;
+  final long startNanos = System.nanoTime();
+
+  /**
+   * first bytes of the request body, {@code null} if not logged
+   */
+  BodyCapture requestBody;
+
+  int status;
+  String reasonPhrase;
+  MultivaluedMap<String, String> responseHeaders;
+  Charset responseCharset;
+
+  /**
+   * first bytes of the response body, {@code null} if not logged
+   */
+  BodyCapture responseBody;
+
+  /**
+   * time until the response headers were received
+   */
+  long durationNanos;
+
+  Throwable failure;
+
+  WireLogEntry(String method, URI uri, String endpoint, MultivaluedMap<String, Object> requestHeaders) {
+    this.method = method;
+    this.uri = uri;
+    this.endpoint = endpoint;
+    this.requestHeaders = requestHeaders;
+  }
+
+  /**
+   * This keeps the first bytes written to it and counts the rest.
+   */
+  static class BodyCapture extends OutputStream {
+
+    private final byte[] bytes;
+    private int size = 0;
+    private long total = 0;
+
+    BodyCapture(int maxBytes) {
+      this.bytes = new byte[maxBytes];
+    }
+
+    @Override
+    public void write(int b) {
+      if (size < bytes.length) {
+        bytes[size++] = (byte) b;
+      }
+      total++;
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) {
+      int kept = Math.min(length, bytes.length - size);
+      if (kept > 0) {
+        System.arraycopy(buffer, offset, bytes, size, kept);
+        size += kept;
+      }
+      total += length;
+    }
+
+    String toString(Charset charset) {
+      String body = new String(bytes, 0, size, charset);
+      return total > size ? body + "... (" + total + " bytes)" : body;
+    }
+  }
+}
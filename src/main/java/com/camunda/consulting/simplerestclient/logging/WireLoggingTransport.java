@@ -0,0 +1,228 @@
+package com.camunda.consulting.simplerestclient.logging;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.logging.WireLogEntry.BodyCapture;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolStats;
+import com.camunda.consulting.simplerestclient.transport.HttpTransport;
+import com.camunda.consulting.simplerestclient.transport.RequestEntity;
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+
+/**
+ * This {@link HttpTransport} hands sampled exchanges of its delegate to a
+ * {@link WireLog}. Requests not sampled are passed through untouched. Bodies,
+ * if logged, are captured while they are sent and read; an exchange is logged
+ * once its response has been closed.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class WireLoggingTransport implements HttpTransport {
+
+  private final HttpTransport delegate;
+  private final WireLog wireLog;
+
+  /**
+   * Constructor.
+   *
+   * @param delegate
+   *          the transport requests are sent through
+   * @param wireLog
+   *          the log sampled exchanges are written to
+   */
+  public WireLoggingTransport(HttpTransport delegate, WireLog wireLog) {
+    this.delegate = delegate;
+    this.wireLog = wireLog;
+  }
+
+  @Override
+  public TransportResponse execute(TransportRequest request) throws RestClientException {
+    if (wireLog.sample(request.getEndpoint()) == false) {
+      return delegate.execute(request);
+    }
+
+    WireLogEntry entry = new WireLogEntry(request.getMethod(), request.getUri(), request.getEndpoint(), request.getHeaders());
+    TransportResponse response;
+    try {
+      response = delegate.execute(capturingRequestBody(request, entry));
+    } catch (RuntimeException e) {
+      failed(entry, e);
+      throw e;
+    }
+    return received(entry, response);
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor blockingExecutor) {
+    if (wireLog.sample(request.getEndpoint()) == false) {
+      return delegate.executeAsync(request, blockingExecutor);
+    }
+
+    WireLogEntry entry = new WireLogEntry(request.getMethod(), request.getUri(), request.getEndpoint(), request.getHeaders());
+    CompletableFuture<TransportResponse> exchange = delegate.executeAsync(capturingRequestBody(request, entry), blockingExecutor);
+    CompletableFuture<TransportResponse> result = new CompletableFuture<TransportResponse>();
+
+    exchange.whenComplete((response, throwable) -> {
+      if (throwable != null) {
+        failed(entry, throwable);
+        result.completeExceptionally(throwable);
+      } else {
+        received(entry, response).deliverTo(result);
+      }
+    });
+    result.whenComplete((response, throwable) -> {
+      if (result.isCancelled()) {
+        exchange.cancel(true);
+      }
+    });
+
+    return result;
+  }
+
+  private TransportRequest capturingRequestBody(TransportRequest request, WireLogEntry entry) {
+    RequestEntity entity = request.getEntity();
+    if (entity == null || wireLog.getMaxBodyBytes() <= 0 || entity.getContentEncoding() != null) {
+      // compressed bodies are not logged
+      return request;
+    }
+
+    BodyCapture capture = new BodyCapture(wireLog.getMaxBodyBytes());
+    entry.requestBody = capture;
+    RequestEntity capturingEntity = new RequestEntity() {
+
+      @Override
+      public String getContentType() {
+        return entity.getContentType();
+      }
+
+      @Override
+      public long getContentLength() {
+        return entity.getContentLength();
+      }
+
+      @Override
+      public String getContentEncoding() {
+        return entity.getContentEncoding();
+      }
+
+      @Override
+      public void writeTo(OutputStream outputStream) throws IOException {
+        entity.writeTo(new TeeOutputStream(outputStream, capture));
+      }
+    };
+    return new TransportRequest(request.getMethod(), request.getUri(), request.getEndpoint(), request.getHeaders(), capturingEntity,
+        request.getRetryPolicy());
+  }
+
+  private TransportResponse received(WireLogEntry entry, TransportResponse response) {
+    entry.durationNanos = System.nanoTime() - entry.startNanos;
+    entry.status = response.getStatus();
+    entry.reasonPhrase = response.getReasonPhrase();
+    entry.responseHeaders = response.getHeaders();
+
+    if (wireLog.getMaxBodyBytes() <= 0 || response.getBody() == null) {
+      wireLog.publish(entry);
+      return response;
+    }
+
+    BodyCapture capture = new BodyCapture(wireLog.getMaxBodyBytes());
+    entry.responseBody = capture;
+    entry.responseCharset = response.getCharset();
+    return response.withBody(new TeeInputStream(response.getBody(), capture), response.getHeaders()).onClose(() -> wireLog.publish(entry));
+  }
+
+  private void failed(WireLogEntry entry, Throwable failure) {
+    entry.durationNanos = System.nanoTime() - entry.startNanos;
+    entry.failure = failure;
+    wireLog.publish(entry);
+  }
+
+  @Override
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return delegate.getConnectionPoolStats();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  /**
+   * This copies the bytes read to a {@link BodyCapture}.
+   */
+  private static class TeeInputStream extends FilterInputStream {
+
+    private final BodyCapture capture;
+
+    TeeInputStream(InputStream in, BodyCapture capture) {
+      super(in);
+      this.capture = capture;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b != -1) {
+        capture.write(b);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      int read = super.read(buffer, offset, length);
+      if (read > 0) {
+        capture.write(buffer, offset, read);
+      }
+      return read;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+  }
+
+  /**
+   * This copies the bytes written to a {@link BodyCapture}.
+   */
+  private static class TeeOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final BodyCapture capture;
+
+    TeeOutputStream(OutputStream out, BodyCapture capture) {
+      this.out = out;
+      this.capture = capture;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      capture.write(b);
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException {
+      out.write(buffer, offset, length);
+      capture.write(buffer, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.camunda.consulting.simplerestclient.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This holds the counters and histograms of one endpoint of a
+ * {@link MetricsRegistry}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+class EndpointMetrics {
+
+  /**
+   * status codes are recorded below this, others as {@code 0}
+   */
+  private static final int STATUS_LIMIT = 600;
+
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder inFlight = new LongAdder();
+  private final LongAdder bytesSent = new LongAdder();
+  private final LongAdder bytesReceived = new LongAdder();
+
+  private final LatencyHistogram latency = new LatencyHistogram();
+
+  /**
+   * latencies by status code, created on first use
+   */
+  private final AtomicReferenceArray<LatencyHistogram> latencyByStatus = new AtomicReferenceArray<LatencyHistogram>(STATUS_LIMIT);
+
+  void started() {
+    requests.increment();
+    inFlight.increment();
+  }
+
+  void received(int status, long latencyNanos) {
+    latency.record(latencyNanos);
+    histogramOf(status).record(latencyNanos);
+  }
+
+  void completed(long sent, long received) {
+    inFlight.decrement();
+    bytesSent.add(sent);
+    bytesReceived.add(received);
+  }
+
+  void failed() {
+    inFlight.decrement();
+    failures.increment();
+  }
+
+  private LatencyHistogram histogramOf(int status) {
+    int index = status > 0 && status < STATUS_LIMIT ? status : 0;
+    LatencyHistogram histogram = latencyByStatus.get(index);
+    if (histogram == null) {
+      latencyByStatus.compareAndSet(index, null, new LatencyHistogram());
+      histogram = latencyByStatus.get(index);
+    }
+    return histogram;
+  }
+
+  EndpointStats getStats(String endpoint) {
+    Map<Integer, LatencyStats> statsByStatus = new TreeMap<Integer, LatencyStats>();
+    for (int status = 0; status < STATUS_LIMIT; status++) {
+      LatencyHistogram histogram = latencyByStatus.get(status);
+      if (histogram != null) {
+        statsByStatus.put(status, histogram.getStats());
+      }
+    }
+    return new EndpointStats(endpoint, requests.sum(), failures.sum(), inFlight.sum(), bytesSent.sum(), bytesReceived.sum(), latency.getStats(),
+        statsByStatus);
+  }
+}
@@ -0,0 +1,114 @@
+package com.camunda.consulting.simplerestclient.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * This class is a snapshot of the metrics of one endpoint of a
+ * {@link MetricsRegistry}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class EndpointStats {
+
+  private final String endpoint;
+  private final long requests;
+  private final long failures;
+  private final long inFlight;
+  private final long bytesSent;
+  private final long bytesReceived;
+  private final LatencyStats latency;
+  private final Map<Integer, LatencyStats> latencyByStatus;
+
+  /**
+   * Constructor.
+   *
+   * @param endpoint
+   *          the endpoint, see
+   *          {@link com.camunda.consulting.simplerestclient.request.Request#getEndpoint()}
+   * @param requests
+   *          number of requests sent
+   * @param failures
+   *          number of requests that received no response
+   * @param inFlight
+   *          number of requests whose response has not been released yet
+   * @param bytesSent
+   *          size of the request bodies sent
+   * @param bytesReceived
+   *          size of the response bodies read
+   * @param latency
+   *          time until responses were received
+   * @param latencyByStatus
+   *          time until responses were received, by status code
+   */
+  EndpointStats(String endpoint, long requests, long failures, long inFlight, long bytesSent, long bytesReceived, LatencyStats latency,
+      Map<Integer, LatencyStats> latencyByStatus) {
+    this.endpoint = endpoint;
+    this.requests = requests;
+    this.failures = failures;
+    this.inFlight = inFlight;
+    this.bytesSent = bytesSent;
+    this.bytesReceived = bytesReceived;
+    this.latency = latency;
+    this.latencyByStatus = Collections.unmodifiableMap(latencyByStatus);
+  }
+
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  public long getRequests() {
+    return requests;
+  }
+
+  public long getFailures() {
+    return failures;
+  }
+
+  /**
+   * @return number of requests that received no response or a {@code 5xx}
+   *         response
+   */
+  public long getErrors() {
+    long errors = failures;
+    for (Map.Entry<Integer, LatencyStats> status : latencyByStatus.entrySet()) {
+      if (status.getKey() >= 500) {
+        errors += status.getValue().getCount();
+      }
+    }
+    return errors;
+  }
+
+  public long getInFlight() {
+    return inFlight;
+  }
+
+  public long getBytesSent() {
+    return bytesSent;
+  }
+
+  public long getBytesReceived() {
+    return bytesReceived;
+  }
+
+  /**
+   * @return latencies of all responses
+   */
+  public LatencyStats getLatency() {
+    return latency;
+  }
+
+  /**
+   * @return latencies of the responses by status code
+   */
+  public Map<Integer, LatencyStats> getLatencyByStatus() {
+    return latencyByStatus;
+  }
+
+  @Override
+  public String toString() {
+    return "EndpointStats [endpoint=" + endpoint + ", requests=" + requests + ", failures=" + failures + ", inFlight=" + inFlight + ", bytesSent="
+        + bytesSent + ", bytesReceived=" + bytesReceived + ", latency=" + latency + ", latencyByStatus=" + latencyByStatus + "]";
+  }
+}
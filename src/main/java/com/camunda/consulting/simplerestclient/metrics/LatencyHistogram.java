@@ -0,0 +1,90 @@
+package com.camunda.consulting.simplerestclient.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This records latencies into buckets of logarithmically growing width, the
+ * way HdrHistogram does: values below 64 ns are kept exactly, larger values
+ * with a relative error of at most 1/32, up to one hour. Recording takes no
+ * locks and allocates nothing, and {@link #getStats() snapshots} are taken
+ * without holding back recording threads.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class LatencyHistogram {
+
+  /**
+   * number of buckets of width 1 and, halved, the number of buckets per power
+   * of two above
+   */
+  private static final int LINEAR_BUCKETS = 64;
+  private static final int LINEAR_BITS = Integer.numberOfTrailingZeros(LINEAR_BUCKETS);
+  private static final int HALF_BUCKETS = LINEAR_BUCKETS / 2;
+
+  /**
+   * largest value recorded, larger values are recorded as this
+   */
+  static final long MAX_VALUE = TimeUnit.HOURS.toNanos(1);
+
+  private static final int BUCKETS = bucketOf(MAX_VALUE) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * @param nanos
+   *          the latency to record
+   */
+  public void record(long nanos) {
+    long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+    counts.incrementAndGet(bucketOf(value));
+    sum.add(value);
+
+    long currentMax = max.get();
+    while (value > currentMax && max.compareAndSet(currentMax, value) == false) {
+      currentMax = max.get();
+    }
+  }
+
+  /**
+   * This takes a snapshot while recording goes on, so it may miss values
+   * recorded concurrently but is consistent in itself.
+   *
+   * @return a snapshot of the latencies recorded so far
+   */
+  public LatencyStats getStats() {
+    long[] snapshot = new long[BUCKETS];
+    long count = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      snapshot[bucket] = counts.get(bucket);
+      count += snapshot[bucket];
+    }
+    return new LatencyStats(snapshot, count, sum.sum(), max.get());
+  }
+
+  static int bucketOf(long value) {
+    if (value < LINEAR_BUCKETS) {
+      return (int) value;
+    }
+    // the highest LINEAR_BITS bits of the value select the bucket
+    int shift = 64 - Long.numberOfLeadingZeros(value) - LINEAR_BITS;
+    return LINEAR_BUCKETS + (shift - 1) * HALF_BUCKETS + (int) (value >>> shift) - HALF_BUCKETS;
+  }
+
+  /**
+   * @return the largest value recorded into {@code bucket}
+   */
+  static long highestValueOf(int bucket) {
+    if (bucket < LINEAR_BUCKETS) {
+      return bucket;
+    }
+    int shift = (bucket - LINEAR_BUCKETS) / HALF_BUCKETS + 1;
+    long top = (bucket - LINEAR_BUCKETS) % HALF_BUCKETS + HALF_BUCKETS;
+    return ((top + 1) << shift) - 1;
+  }
+}
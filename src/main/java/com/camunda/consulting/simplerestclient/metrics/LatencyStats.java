@@ -0,0 +1,92 @@
+package com.camunda.consulting.simplerestclient.metrics;
+
+import java.util.Locale;
+
+/**
+ * This class is a snapshot of a {@link LatencyHistogram}. All latencies are in
+ * nanoseconds; percentiles are the highest value of the bucket they fall into,
+ * so they overstate the actual latency by at most 1/32.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class LatencyStats {
+
+  private final long[] counts;
+  private final long count;
+  private final long sum;
+  private final long max;
+
+  /**
+   * Constructor.
+   *
+   * @param counts
+   *          number of values per bucket
+   * @param count
+   *          number of values
+   * @param sum
+   *          sum of the values
+   * @param max
+   *          largest value
+   */
+  LatencyStats(long[] counts, long count, long sum, long max) {
+    this.counts = counts;
+    this.count = count;
+    this.sum = sum;
+    this.max = max;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  /**
+   * @return the mean latency, {@code 0} if none was recorded
+   */
+  public long getMean() {
+    return count > 0 ? sum / count : 0;
+  }
+
+  /**
+   * @param percentile
+   *          the percentile, between {@code 0} and {@code 100}
+   * @return the latency {@code percentile} percent of the values are at most,
+   *         {@code 0} if none was recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+    long seen = 0;
+    for (int bucket = 0; bucket < counts.length; bucket++) {
+      seen += counts[bucket];
+      if (seen >= rank) {
+        return Math.min(LatencyHistogram.highestValueOf(bucket), max);
+      }
+    }
+    return max;
+  }
+
+  public long getP50() {
+    return getValueAtPercentile(50.0);
+  }
+
+  public long getP99() {
+    return getValueAtPercentile(99.0);
+  }
+
+  public long getP999() {
+    return getValueAtPercentile(99.9);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(Locale.ROOT, "LatencyStats [count=%d, mean=%.3fms, p50=%.3fms, p99=%.3fms, p999=%.3fms, max=%.3fms]", count,
+        getMean() / 1e6, getP50() / 1e6, getP99() / 1e6, getP999() / 1e6, max / 1e6);
+  }
+}
@@ -0,0 +1,74 @@
+package com.camunda.consulting.simplerestclient.metrics;
+
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+
+/**
+ * This is notified about the exchanges of a
+ * {@link com.camunda.consulting.simplerestclient.RestClient}, e.g. to feed
+ * them into a monitoring system. Each request that is
+ * {@link #requestStarted(TransportRequest) started} ends with either
+ * {@link #requestCompleted(TransportRequest, int, long, long, long)} or
+ * {@link #requestFailed(TransportRequest, Throwable, long)}.
+ * <p>
+ * Listeners are called on the threads sending requests and reading responses,
+ * so they must be thread-safe and should return quickly. Exceptions thrown by
+ * a listener are logged and otherwise ignored.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public interface MetricsListener {
+
+  /**
+   * This is called before a request is sent.
+   *
+   * @param request
+   *          the request
+   */
+  default void requestStarted(TransportRequest request) {
+  }
+
+  /**
+   * This is called once the status and headers of a response have been
+   * received.
+   *
+   * @param request
+   *          the request
+   * @param status
+   *          HTTP status code of the response
+   * @param latencyNanos
+   *          time from sending the request until the response was received
+   */
+  default void responseReceived(TransportRequest request, int status, long latencyNanos) {
+  }
+
+  /**
+   * This is called once a response has been released.
+   *
+   * @param request
+   *          the request
+   * @param status
+   *          HTTP status code of the response
+   * @param bytesSent
+   *          size of the request body as sent
+   * @param bytesReceived
+   *          number of bytes of the response body read, as received
+   * @param durationNanos
+   *          time from sending the request until the response was released
+   */
+  default void requestCompleted(TransportRequest request, int status, long bytesSent, long bytesReceived, long durationNanos) {
+  }
+
+  /**
+   * This is called if no response was received.
+   *
+   * @param request
+   *          the request
+   * @param failure
+   *          the cause
+   * @param durationNanos
+   *          time from sending the request until it failed
+   */
+  default void requestFailed(TransportRequest request, Throwable failure, long durationNanos) {
+  }
+}
@@ -0,0 +1,96 @@
+package com.camunda.consulting.simplerestclient.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+
+/**
+ * This {@link MetricsListener} keeps counters and latency histograms per
+ * endpoint, see
+ * {@link com.camunda.consulting.simplerestclient.request.Request#getEndpoint()}.
+ * Requests created from a
+ * {@link com.camunda.consulting.simplerestclient.request.RequestTemplate} are
+ * recorded under their template, so e.g. all requests to
+ * {@code process-instance/{id}} share one entry; other requests are recorded
+ * under their path with identifiers replaced, e.g.
+ * {@code process-instance/{}/variables}, so the number of entries stays
+ * bounded. A registry may be shared by several clients.
+ *
+ * <pre>
+ * MetricsRegistry metrics = new MetricsRegistry();
+ * RestClient restClient = RestClient.builder(restUri).metrics(metrics).build();
+ * ...
+ * for (EndpointStats stats : metrics.getStats().values()) {
+ *   log.info("{}: p99 {} ns", stats.getEndpoint(), stats.getLatency().getP99());
+ * }
+ * </pre>
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class MetricsRegistry implements MetricsListener {
+
+  /**
+   * endpoint requests without an endpoint are recorded under
+   */
+  private static final String NO_ENDPOINT = "";
+
+  private final ConcurrentMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<String, EndpointMetrics>();
+
+  @Override
+  public void requestStarted(TransportRequest request) {
+    metricsOf(request).started();
+  }
+
+  @Override
+  public void responseReceived(TransportRequest request, int status, long latencyNanos) {
+    metricsOf(request).received(status, latencyNanos);
+  }
+
+  @Override
+  public void requestCompleted(TransportRequest request, int status, long bytesSent, long bytesReceived, long durationNanos) {
+    metricsOf(request).completed(bytesSent, bytesReceived);
+  }
+
+  @Override
+  public void requestFailed(TransportRequest request, Throwable failure, long durationNanos) {
+    metricsOf(request).failed();
+  }
+
+  private EndpointMetrics metricsOf(TransportRequest request) {
+    String endpoint = request.getEndpoint() != null ? request.getEndpoint() : NO_ENDPOINT;
+    EndpointMetrics metrics = endpoints.get(endpoint);
+    if (metrics == null) {
+      metrics = endpoints.computeIfAbsent(endpoint, key -> new EndpointMetrics());
+    }
+    return metrics;
+  }
+
+  /**
+   * This takes a snapshot while requests go on, so it may miss requests
+   * recorded concurrently.
+   *
+   * @return a snapshot of the metrics by endpoint
+   */
+  public Map<String, EndpointStats> getStats() {
+    Map<String, EndpointStats> stats = new TreeMap<String, EndpointStats>();
+    for (Map.Entry<String, EndpointMetrics> endpoint : endpoints.entrySet()) {
+      stats.put(endpoint.getKey(), endpoint.getValue().getStats(endpoint.getKey()));
+    }
+    return stats;
+  }
+
+  /**
+   * @param endpoint
+   *          the endpoint
+   * @return a snapshot of the metrics of {@code endpoint}, {@code null} if no
+   *         request has been sent to it
+   */
+  public EndpointStats getStats(String endpoint) {
+    EndpointMetrics metrics = endpoints.get(endpoint);
+    return metrics != null ? metrics.getStats(endpoint) : null;
+  }
+}
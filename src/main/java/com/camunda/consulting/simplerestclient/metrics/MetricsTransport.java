@@ -0,0 +1,283 @@
+package com.camunda.consulting.simplerestclient.metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolStats;
+import com.camunda.consulting.simplerestclient.transport.HttpTransport;
+import com.camunda.consulting.simplerestclient.transport.RequestEntity;
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+
+/**
+ * This {@link HttpTransport} reports the exchanges of its delegate to
+ * {@link MetricsListener}s. Bytes are counted as they pass, so bodies are
+ * neither buffered nor read ahead.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class MetricsTransport implements HttpTransport {
+
+  private static final Logger log = LoggerFactory.getLogger(MetricsTransport.class);
+
+  private final HttpTransport delegate;
+  private final MetricsListener[] listeners;
+
+  /**
+   * Constructor.
+   *
+   * @param delegate
+   *          the transport requests are sent through
+   * @param listeners
+   *          the listeners notified about each exchange
+   */
+  public MetricsTransport(HttpTransport delegate, List<MetricsListener> listeners) {
+    this.delegate = delegate;
+    this.listeners = listeners.toArray(new MetricsListener[listeners.size()]);
+  }
+
+  @Override
+  public TransportResponse execute(TransportRequest request) throws RestClientException {
+    Exchange exchange = start(request);
+    TransportResponse response;
+    try {
+      response = delegate.execute(exchange.sent);
+    } catch (RuntimeException e) {
+      failed(exchange, e);
+      throw e;
+    }
+    return received(exchange, response);
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor blockingExecutor) {
+    Exchange exchange = start(request);
+    CompletableFuture<TransportResponse> pending = delegate.executeAsync(exchange.sent, blockingExecutor);
+    CompletableFuture<TransportResponse> result = new CompletableFuture<TransportResponse>();
+
+    pending.whenComplete((response, throwable) -> {
+      if (throwable != null) {
+        failed(exchange, throwable);
+        result.completeExceptionally(throwable);
+      } else {
+        received(exchange, response).deliverTo(result);
+      }
+    });
+    result.whenComplete((response, throwable) -> {
+      if (result.isCancelled()) {
+        pending.cancel(true);
+      }
+    });
+
+    return result;
+  }
+
+  private Exchange start(TransportRequest request) {
+    Exchange exchange = new Exchange(request);
+    for (MetricsListener listener : listeners) {
+      try {
+        listener.requestStarted(request);
+      } catch (RuntimeException e) {
+        log.warn("metrics listener {} failed", listener, e);
+      }
+    }
+    return exchange;
+  }
+
+  private TransportResponse received(Exchange exchange, TransportResponse response) {
+    int status = response.getStatus();
+    long latencyNanos = System.nanoTime() - exchange.startNanos;
+    for (MetricsListener listener : listeners) {
+      try {
+        listener.responseReceived(exchange.request, status, latencyNanos);
+      } catch (RuntimeException e) {
+        log.warn("metrics listener {} failed", listener, e);
+      }
+    }
+
+    CountingInputStream body = new CountingInputStream(response.getBody());
+    return response.withBody(body, response.getHeaders()).onClose(() -> {
+      long bytesSent = exchange.bytesSent();
+      long durationNanos = System.nanoTime() - exchange.startNanos;
+      for (MetricsListener listener : listeners) {
+        try {
+          listener.requestCompleted(exchange.request, status, bytesSent, body.count, durationNanos);
+        } catch (RuntimeException e) {
+          log.warn("metrics listener {} failed", listener, e);
+        }
+      }
+    });
+  }
+
+  private void failed(Exchange exchange, Throwable failure) {
+    long durationNanos = System.nanoTime() - exchange.startNanos;
+    for (MetricsListener listener : listeners) {
+      try {
+        listener.requestFailed(exchange.request, failure, durationNanos);
+      } catch (RuntimeException e) {
+        log.warn("metrics listener {} failed", listener, e);
+      }
+    }
+  }
+
+  @Override
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return delegate.getConnectionPoolStats();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  /**
+   * This holds the state of one request while it is in flight.
+   */
+  private static class Exchange {
+
+    private final TransportRequest request;
+
+    /**
+     * {@code request}, counting the bytes of its body if their number is not
+     * known beforehand
+     */
+    private final TransportRequest sent;
+
+    private final long startNanos = System.nanoTime();
+
+    private CountingOutputStream body;
+
+    Exchange(TransportRequest request) {
+      this.request = request;
+      RequestEntity entity = request.getEntity();
+      if (entity == null || entity.getContentLength() >= 0) {
+        this.sent = request;
+        return;
+      }
+
+      RequestEntity countingEntity = new RequestEntity() {
+
+        @Override
+        public String getContentType() {
+          return entity.getContentType();
+        }
+
+        @Override
+        public long getContentLength() {
+          return entity.getContentLength();
+        }
+
+        @Override
+        public String getContentEncoding() {
+          return entity.getContentEncoding();
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+          body = new CountingOutputStream(outputStream);
+          entity.writeTo(body);
+        }
+      };
+      this.sent = new TransportRequest(request.getMethod(), request.getUri(), request.getEndpoint(), request.getHeaders(), countingEntity,
+          request.getRetryPolicy());
+    }
+
+    long bytesSent() {
+      RequestEntity entity = request.getEntity();
+      if (entity == null) {
+        return 0;
+      }
+      if (entity.getContentLength() >= 0) {
+        return entity.getContentLength();
+      }
+      return body != null ? body.count : 0;
+    }
+  }
+
+  /**
+   * This counts the bytes read.
+   */
+  private static class CountingInputStream extends FilterInputStream {
+
+    private long count;
+
+    CountingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b != -1) {
+        count++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      int read = super.read(buffer, offset, length);
+      if (read > 0) {
+        count += read;
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = super.skip(n);
+      count += skipped;
+      return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+  }
+
+  /**
+   * This counts the bytes written.
+   */
+  private static class CountingOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private long count;
+
+    CountingOutputStream(OutputStream out) {
+      this.out = out;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException {
+      out.write(buffer, offset, length);
+      count += length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+  }
+}
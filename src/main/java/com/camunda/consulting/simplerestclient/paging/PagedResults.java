@@ -0,0 +1,181 @@
+package com.camunda.consulting.simplerestclient.paging;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This iterates over the results of a paginated query. While the caller
+ * consumes one page, the next pages (see {@link PagingConfig#prefetch(int)})
+ * are already being requested. Iteration ends after the first page with fewer
+ * results than the page size.
+ * <p>
+ * The results can be iterated once, by a single thread. Closing the instance
+ * cancels pages requested ahead.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ * @param <T>
+ *          type of the results
+ */
+public class PagedResults<T> implements Iterable<T>, Closeable {
+
+  /**
+   * This requests a single page.
+   *
+   * @param <T>
+   *          type of the results
+   */
+  @FunctionalInterface
+  public interface PageFetcher<T> {
+
+    /**
+     * @param firstResult
+     *          index of the first result of the page
+     * @param maxResults
+     *          page size
+     * @return a future completed with the results of the page
+     */
+    CompletableFuture<List<T>> fetch(int firstResult, int maxResults);
+  }
+
+  private final PagingConfig config;
+  private final PageFetcher<T> fetcher;
+
+  /**
+   * pages requested but not consumed yet, in order
+   */
+  private final Deque<CompletableFuture<List<T>>> pages = new ArrayDeque<CompletableFuture<List<T>>>();
+
+  /**
+   * index of the first result of the next page to be requested
+   */
+  private int nextFirstResult;
+
+  /**
+   * {@code true} once a short page has been received or the instance is closed
+   */
+  private boolean exhausted = false;
+
+  private boolean iterated = false;
+
+  /**
+   * Constructor. No page is requested until the results are iterated.
+   *
+   * @param config
+   *          the paging settings
+   * @param fetcher
+   *          requests a single page
+   */
+  public PagedResults(PagingConfig config, PageFetcher<T> fetcher) {
+    this.config = config;
+    this.fetcher = fetcher;
+    this.nextFirstResult = config.getFirstResult();
+  }
+
+  /**
+   * @return an iterator over the results of all pages
+   * @throws IllegalStateException
+   *           if the results have already been iterated
+   */
+  @Override
+  public Iterator<T> iterator() {
+    if (iterated) {
+      throw new IllegalStateException("paged results can be iterated only once");
+    }
+    iterated = true;
+
+    return new Iterator<T>() {
+
+      private Iterator<T> page = Collections.emptyIterator();
+
+      @Override
+      public boolean hasNext() {
+        while (page.hasNext() == false) {
+          List<T> nextPage = nextPage();
+          if (nextPage == null) {
+            return false;
+          }
+          page = nextPage.iterator();
+        }
+        return true;
+      }
+
+      @Override
+      public T next() {
+        if (hasNext() == false) {
+          throw new NoSuchElementException();
+        }
+        return page.next();
+      }
+    };
+  }
+
+  /**
+   * @return a sequential stream over the results of all pages; closing the
+   *         stream cancels pages requested ahead
+   */
+  public Stream<T> stream() {
+    Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED);
+    return StreamSupport.stream(spliterator, false).onClose(this::close);
+  }
+
+  /**
+   * @return the next page or {@code null} if there is none
+   */
+  private List<T> nextPage() {
+    requestAhead();
+
+    CompletableFuture<List<T>> pageFuture = pages.poll();
+    if (pageFuture == null) {
+      return null;
+    }
+
+    List<T> page;
+    try {
+      page = pageFuture.join();
+    } catch (CompletionException e) {
+      close();
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+    }
+
+    if (page.size() < config.getPageSize()) {
+      // the last page; pages requested after it are empty
+      close();
+    }
+    return page;
+  }
+
+  /**
+   * This requests pages until the next page is followed by {@code prefetch}
+   * pages in flight, so while it is consumed {@code prefetch} pages are.
+   */
+  private void requestAhead() {
+    while (exhausted == false && pages.size() < config.getPrefetch() + 1) {
+      pages.add(fetcher.fetch(nextFirstResult, config.getPageSize()));
+      nextFirstResult += config.getPageSize();
+    }
+  }
+
+  /**
+   * This stops requesting pages and cancels the pages requested ahead.
+   */
+  @Override
+  public void close() {
+    exhausted = true;
+    for (CompletableFuture<List<T>> page : pages) {
+      page.cancel(true);
+    }
+    pages.clear();
+  }
+}
@@ -0,0 +1,109 @@
+package com.camunda.consulting.simplerestclient.paging;
+
+/**
+ * This class holds the settings of a paginated query, e.g. of the
+ * {@code firstResult}/{@code maxResults} parameters of the Camunda REST API.
+ * An instance is handed to
+ * {@link com.camunda.consulting.simplerestclient.RestClient#getPaged(com.camunda.consulting.simplerestclient.request.Request, Class, PagingConfig)}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class PagingConfig {
+
+  /**
+   * number of results requested per page
+   */
+  private int pageSize = 100;
+
+  /**
+   * number of pages requested ahead of the page being consumed
+   */
+  private int prefetch = 1;
+
+  /**
+   * index of the first result of the first page
+   */
+  private int firstResult = 0;
+
+  /**
+   * name of the parameter denoting the index of the first result of a page
+   */
+  private String firstResultParameter = "firstResult";
+
+  /**
+   * name of the parameter denoting the page size
+   */
+  private String maxResultsParameter = "maxResults";
+
+  /**
+   * @param pageSize
+   *          number of results requested per page
+   * @return this
+   */
+  public PagingConfig pageSize(int pageSize) {
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("page size must be at least 1");
+    }
+    this.pageSize = pageSize;
+    return this;
+  }
+
+  /**
+   * @param prefetch
+   *          number of pages requested ahead of the page being consumed,
+   *          {@code 0} to request pages one after another
+   * @return this
+   */
+  public PagingConfig prefetch(int prefetch) {
+    if (prefetch < 0) {
+      throw new IllegalArgumentException("prefetch must not be negative");
+    }
+    this.prefetch = prefetch;
+    return this;
+  }
+
+  /**
+   * @param firstResult
+   *          index of the first result of the first page
+   * @return this
+   */
+  public PagingConfig firstResult(int firstResult) {
+    this.firstResult = firstResult;
+    return this;
+  }
+
+  /**
+   * @param firstResultParameter
+   *          name of the parameter denoting the index of the first result of
+   *          a page
+   * @param maxResultsParameter
+   *          name of the parameter denoting the page size
+   * @return this
+   */
+  public PagingConfig parameters(String firstResultParameter, String maxResultsParameter) {
+    this.firstResultParameter = firstResultParameter;
+    this.maxResultsParameter = maxResultsParameter;
+    return this;
+  }
+
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  public int getPrefetch() {
+    return prefetch;
+  }
+
+  public int getFirstResult() {
+    return firstResult;
+  }
+
+  public String getFirstResultParameter() {
+    return firstResultParameter;
+  }
+
+  public String getMaxResultsParameter() {
+    return maxResultsParameter;
+  }
+}
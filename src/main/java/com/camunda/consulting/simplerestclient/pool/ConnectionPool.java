@@ -0,0 +1,118 @@
+package com.camunda.consulting.simplerestclient.pool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class owns the pooled, thread-safe HTTP connections a
+ * {@link com.camunda.consulting.simplerestclient.RestClient} sends its requests
+ * through. Idle and expired connections are evicted by a background thread
+ * which is stopped on {@link #close()}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class ConnectionPool implements Closeable {
+
+  private static final Logger log = LoggerFactory.getLogger(ConnectionPool.class);
+
+  private final PoolingHttpClientConnectionManager connectionManager;
+  private final CloseableHttpClient httpClient;
+
+  /**
+   * Constructor.
+   *
+   * @param config
+   *          the pool settings
+   * @param sslContext
+   *          the SSL context used for HTTPS connections
+   */
+  public ConnectionPool(ConnectionPoolConfig config, SSLContext sslContext) {
+
+    Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory> create()
+        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+        .register("https", new SSLConnectionSocketFactory(sslContext))
+        .build();
+
+    this.connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+    this.connectionManager.setMaxTotal(config.getMaxTotal());
+    this.connectionManager.setDefaultMaxPerRoute(config.getMaxPerRoute());
+    this.connectionManager.setValidateAfterInactivity((int) config.getValidateAfterInactivityMillis());
+    this.connectionManager.setDefaultSocketConfig(SocketConfig.custom().setTcpNoDelay(true).build());
+
+    RequestConfig requestConfig = RequestConfig.custom()
+        .setConnectionRequestTimeout((int) config.getConnectionRequestTimeoutMillis())
+        .setConnectTimeout((int) config.getConnectTimeoutMillis())
+        .setSocketTimeout((int) config.getSocketTimeoutMillis())
+        .build();
+
+    this.httpClient = HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(requestConfig)
+        .setKeepAliveStrategy(keepAliveStrategy(config.getKeepAliveMillis()))
+        .evictExpiredConnections()
+        .evictIdleConnections(config.getMaxIdleMillis(), TimeUnit.MILLISECONDS)
+        // content codings are handled by the client's transport
+        .disableContentCompression()
+        // cookies are handled by the client's cookie store
+        .disableCookieManagement()
+        // retries are up to the client's retry policy and budget
+        .disableAutomaticRetries()
+        .build();
+  }
+
+  /**
+   * Keeps connections alive as long as the server allows it via
+   * {@code Keep-Alive} header, or {@code defaultKeepAliveMillis} otherwise.
+   * 
+   * @param defaultKeepAliveMillis
+   *          keep-alive duration if the server does not send one
+   * @return the strategy
+   */
+  public static ConnectionKeepAliveStrategy keepAliveStrategy(long defaultKeepAliveMillis) {
+    return (httpResponse, context) -> {
+      long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(httpResponse, context);
+      return keepAlive > 0 ? keepAlive : defaultKeepAliveMillis;
+    };
+  }
+
+  public CloseableHttpClient getHttpClient() {
+    return httpClient;
+  }
+
+  /**
+   * @return a snapshot of the current pool occupancy
+   */
+  public ConnectionPoolStats getStats() {
+    PoolStats totalStats = connectionManager.getTotalStats();
+    return new ConnectionPoolStats(totalStats.getLeased(), totalStats.getPending(), totalStats.getAvailable(), totalStats.getMax());
+  }
+
+  @Override
+  public void close() {
+    try {
+      httpClient.close();
+    } catch (IOException e) {
+      log.warn("exception while closing connection pool", e);
+    }
+  }
+}
@@ -0,0 +1,211 @@
+package com.camunda.consulting.simplerestclient.pool;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class holds the settings of the connection pool a
+ * {@link com.camunda.consulting.simplerestclient.RestClient} sends its requests
+ * through. An instance is handed to
+ * {@link com.camunda.consulting.simplerestclient.RestClientBuilder#connectionPool(ConnectionPoolConfig)}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class ConnectionPoolConfig {
+
+  /**
+   * maximum number of connections kept by the pool in total
+   */
+  private int maxTotal = 200;
+
+  /**
+   * maximum number of connections kept by the pool per route (scheme, host,
+   * port)
+   */
+  private int maxPerRoute = 50;
+
+  /**
+   * time a connection is kept alive if the server does not send a
+   * {@code Keep-Alive} header
+   */
+  private long keepAliveMillis = TimeUnit.SECONDS.toMillis(30);
+
+  /**
+   * time after which idle connections are evicted from the pool
+   */
+  private long maxIdleMillis = TimeUnit.SECONDS.toMillis(60);
+
+  /**
+   * time of inactivity after which a pooled connection is validated before it
+   * is leased again
+   */
+  private long validateAfterInactivityMillis = TimeUnit.SECONDS.toMillis(2);
+
+  /**
+   * time a request waits for a connection from the pool before it fails
+   */
+  private long connectionRequestTimeoutMillis = TimeUnit.SECONDS.toMillis(10);
+
+  /**
+   * time to establish a new connection, {@code 0} means infinite
+   */
+  private long connectTimeoutMillis = TimeUnit.SECONDS.toMillis(10);
+
+  /**
+   * time to wait for data on an established connection, {@code 0} means
+   * infinite
+   */
+  private long socketTimeoutMillis = TimeUnit.SECONDS.toMillis(60);
+
+  /**
+   * number of I/O dispatch threads of non-blocking transports
+   */
+  private int ioThreadCount = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * @param maxTotal
+   *          maximum number of connections kept by the pool in total
+   * @return this
+   */
+  public ConnectionPoolConfig maxTotal(int maxTotal) {
+    this.maxTotal = maxTotal;
+    return this;
+  }
+
+  /**
+   * @param maxPerRoute
+   *          maximum number of connections kept by the pool per route
+   * @return this
+   */
+  public ConnectionPoolConfig maxPerRoute(int maxPerRoute) {
+    this.maxPerRoute = maxPerRoute;
+    return this;
+  }
+
+  /**
+   * @param duration
+   *          time a connection is kept alive if the server does not say
+   *          otherwise
+   * @param unit
+   *          unit of {@code duration}
+   * @return this
+   */
+  public ConnectionPoolConfig keepAlive(long duration, TimeUnit unit) {
+    this.keepAliveMillis = unit.toMillis(duration);
+    return this;
+  }
+
+  /**
+   * @param duration
+   *          time after which idle connections are evicted
+   * @param unit
+   *          unit of {@code duration}
+   * @return this
+   */
+  public ConnectionPoolConfig maxIdle(long duration, TimeUnit unit) {
+    this.maxIdleMillis = unit.toMillis(duration);
+    return this;
+  }
+
+  /**
+   * @param duration
+   *          time of inactivity after which a connection is validated before
+   *          reuse
+   * @param unit
+   *          unit of {@code duration}
+   * @return this
+   */
+  public ConnectionPoolConfig validateAfterInactivity(long duration, TimeUnit unit) {
+    this.validateAfterInactivityMillis = unit.toMillis(duration);
+    return this;
+  }
+
+  /**
+   * @param duration
+   *          time to wait for a free connection from the pool
+   * @param unit
+   *          unit of {@code duration}
+   * @return this
+   */
+  public ConnectionPoolConfig connectionRequestTimeout(long duration, TimeUnit unit) {
+    this.connectionRequestTimeoutMillis = unit.toMillis(duration);
+    return this;
+  }
+
+  /**
+   * @param duration
+   *          time to establish a new connection
+   * @param unit
+   *          unit of {@code duration}
+   * @return this
+   */
+  public ConnectionPoolConfig connectTimeout(long duration, TimeUnit unit) {
+    this.connectTimeoutMillis = unit.toMillis(duration);
+    return this;
+  }
+
+  /**
+   * This defaults to 60 seconds, so a stalled server cannot hold a thread and
+   * a connection forever.
+   *
+   * @param duration
+   *          time to wait for data on an established connection, {@code 0}
+   *          to wait infinitely
+   * @param unit
+   *          unit of {@code duration}
+   * @return this
+   */
+  public ConnectionPoolConfig socketTimeout(long duration, TimeUnit unit) {
+    this.socketTimeoutMillis = unit.toMillis(duration);
+    return this;
+  }
+
+  /**
+   * This is only used by non-blocking transports like
+   * {@link com.camunda.consulting.simplerestclient.transport.NioTransport}.
+   * 
+   * @param ioThreadCount
+   *          number of I/O dispatch threads
+   * @return this
+   */
+  public ConnectionPoolConfig ioThreadCount(int ioThreadCount) {
+    this.ioThreadCount = ioThreadCount;
+    return this;
+  }
+
+  public int getMaxTotal() {
+    return maxTotal;
+  }
+
+  public int getMaxPerRoute() {
+    return maxPerRoute;
+  }
+
+  public long getKeepAliveMillis() {
+    return keepAliveMillis;
+  }
+
+  public long getMaxIdleMillis() {
+    return maxIdleMillis;
+  }
+
+  public long getValidateAfterInactivityMillis() {
+    return validateAfterInactivityMillis;
+  }
+
+  public long getConnectionRequestTimeoutMillis() {
+    return connectionRequestTimeoutMillis;
+  }
+
+  public long getConnectTimeoutMillis() {
+    return connectTimeoutMillis;
+  }
+
+  public long getSocketTimeoutMillis() {
+    return socketTimeoutMillis;
+  }
+
+  public int getIoThreadCount() {
+    return ioThreadCount;
+  }
+}
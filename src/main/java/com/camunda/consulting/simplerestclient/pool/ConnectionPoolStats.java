@@ -0,0 +1,55 @@
+package com.camunda.consulting.simplerestclient.pool;
+
+/**
+ * This class is a snapshot of the occupancy of a {@link ConnectionPool}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class ConnectionPoolStats {
+
+  private final int leased;
+  private final int pending;
+  private final int available;
+  private final int max;
+
+  /**
+   * Constructor.
+   *
+   * @param leased
+   *          number of connections currently in use
+   * @param pending
+   *          number of requests waiting for a connection
+   * @param available
+   *          number of idle connections kept in the pool
+   * @param max
+   *          maximum number of connections the pool may hold
+   */
+  public ConnectionPoolStats(int leased, int pending, int available, int max) {
+    this.leased = leased;
+    this.pending = pending;
+    this.available = available;
+    this.max = max;
+  }
+
+  public int getLeased() {
+    return leased;
+  }
+
+  public int getPending() {
+    return pending;
+  }
+
+  public int getAvailable() {
+    return available;
+  }
+
+  public int getMax() {
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return "ConnectionPoolStats [leased=" + leased + ", pending=" + pending + ", available=" + available + ", max=" + max + "]";
+  }
+}
@@ -1,38 +1,55 @@
 package com.camunda.consulting.simplerestclient.request;
 
-import java.util.ArrayList;
-import java.util.List;
+import com.camunda.consulting.simplerestclient.util.UriEncoder;
 
 /**
  * This class represents a URI ath.
- * 
+ *
  * @author Sebastian Warnke (sebastian.warnke@camunda.com)
  *
  */
 public class Path {
 
-  private final List<String> path = new ArrayList<String>();
+  /**
+   * the elements, each prefixed by '/'; a path is immutable, so this is built
+   * once
+   */
+  private final String path;
+
+  /**
+   * {@code path} percent-encoded
+   */
+  private final String encodedPath;
 
   /**
    * Constructor
-   * 
+   *
    * @param elements
    *          set of strings in correct order according to the path being
    *          represented
    */
   public Path(String... elements) {
-    for (String element : elements) {
-      path.add(element);
+    if (elements.length == 1) {
+      path = "/" + elements[0];
+    } else {
+      StringBuilder builder = new StringBuilder();
+      for (String element : elements) {
+        builder.append('/').append(element);
+      }
+      path = builder.toString();
     }
+    encodedPath = UriEncoder.encodePath(path);
+  }
+
+  /**
+   * @return the path percent-encoded, ready to be appended to a URI
+   */
+  public String getEncodedPath() {
+    return encodedPath;
   }
 
   @Override
   public String toString() {
-    String result = "";
-    for (String element : path) {
-      result += "/" + element;
-    }
-
-    return result;
+    return path;
   }
 }
@@ -0,0 +1,73 @@
+package com.camunda.consulting.simplerestclient.request;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This derives the endpoint of a request not created from a
+ * {@link RequestTemplate} from its path, so requests to the same resource share
+ * per-endpoint limits, breakers and metrics instead of each identifier getting
+ * its own: path segments containing a digit, like ids and keys with versions,
+ * are replaced by {@code {}}. Once the maximum number of endpoints has been
+ * seen, further ones are reduced to their first segment, so the number of
+ * endpoints stays bounded whatever the paths look like.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+class PathEndpoints {
+
+  private final int maxEndpoints;
+
+  private final Set<String> endpoints = ConcurrentHashMap.newKeySet();
+
+  /**
+   * @param maxEndpoints
+   *          number of distinct endpoints kept before further ones are reduced
+   *          to their first segment
+   */
+  PathEndpoints(int maxEndpoints) {
+    this.maxEndpoints = maxEndpoints;
+  }
+
+  /**
+   * @param path
+   *          resturi-relative path of the request, without parameters
+   * @return the endpoint of {@code path}
+   */
+  String endpointOf(String path) {
+    StringBuilder endpoint = new StringBuilder(path.length());
+    int start = 0;
+    while (start <= path.length()) {
+      int end = path.indexOf('/', start);
+      if (end < 0) {
+        end = path.length();
+      }
+      if (start > 0) {
+        endpoint.append('/');
+      }
+      if (containsDigit(path, start, end)) {
+        endpoint.append("{}");
+      } else {
+        endpoint.append(path, start, end);
+      }
+      start = end + 1;
+    }
+
+    String key = endpoint.toString();
+    if (endpoints.contains(key) || (endpoints.size() < maxEndpoints && endpoints.add(key))) {
+      return key;
+    }
+    int firstSlash = key.indexOf('/', 1);
+    return firstSlash < 0 ? key : key.substring(0, firstSlash);
+  }
+
+  private static boolean containsDigit(String path, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (Character.isDigit(path.charAt(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -2,11 +2,9 @@ package com.camunda.consulting.simplerestclient.request;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
@@ -14,6 +12,8 @@ import javax.ws.rs.core.MultivaluedMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.camunda.consulting.simplerestclient.retry.RetryPolicy;
+
 /**
  * This class represents a REST request.
  * 
@@ -24,11 +24,29 @@ public class Request {
 
   protected static final Logger log = LoggerFactory.getLogger(Request.class);
 
+  /**
+   * endpoints of requests not created from a template
+   */
+  private static final PathEndpoints pathEndpoints = new PathEndpoints(1000);
+
   /**
    * resturi-relative path to the requests destination
    */
   protected final List<Path> paths = new ArrayList<Path>();
 
+  /**
+   * resturi-relative endpoint the request was created for, without parameters
+   * and with identifiers replaced, see {@link PathEndpoints}. It
+   * identifies the request for per-endpoint limits and metrics.
+   */
+  protected final String endpoint;
+
+  /**
+   * percent-encoded path expanded from a {@link RequestTemplate}, preceding
+   * {@code paths}; {@code null} for requests not created from a template
+   */
+  private final String templatePath;
+
   /**
    * URI parameters to be used for the request
    */
@@ -39,6 +57,16 @@ public class Request {
    */
   private MultivaluedMap<String, Object> headers = new MultivaluedHashMap<String, Object>();
 
+  /**
+   * retry policy overriding the client's, {@code null} to use the client's
+   */
+  private RetryPolicy retryPolicy = null;
+
+  /**
+   * {@code true} if the body of a successful response is not needed
+   */
+  private boolean discardResponseBody = false;
+
   /**
    * Constructor.
    * 
@@ -49,17 +77,32 @@ public class Request {
    */
   public Request(String uriString) {
 
-    String[] split = uriString.split("\\?");
-    String restEndPoint = split[0];
+    int parameterStart = uriString.indexOf('?');
+    String restEndPoint = parameterStart < 0 ? uriString : uriString.substring(0, parameterStart);
+    this.endpoint = pathEndpoints.endpointOf(restEndPoint);
+    this.templatePath = null;
     this.paths.add(new Path(restEndPoint));
 
-    if (split.length > 1) {
-      String parameterString = split[1];
-      Map<String, String> parameters = parseStringToMap(parameterString);
-      this.parameters.putAll(parameters);
+    if (parameterStart >= 0) {
+      parseParameters(uriString, parameterStart + 1, this.parameters);
     }
   }
 
+  /**
+   * Constructor. The request's endpoint is the template, not the expanded
+   * path.
+   * 
+   * @param template
+   *          the compiled path of the request's destination
+   * @param values
+   *          values of the template's variables in order of their first
+   *          appearance
+   */
+  public Request(RequestTemplate template, Object... values) {
+    this.endpoint = template.getTemplate();
+    this.templatePath = template.expand(values);
+  }
+
   /**
    * This adds a header key value pair.
    * 
@@ -96,6 +139,43 @@ public class Request {
     return headers;
   }
 
+  /**
+   * This overrides the retry policy of the client for this request, e.g. to
+   * retry a {@code POST} the server deduplicates, or to not retry at all via
+   * {@link RetryPolicy#none()}.
+   * 
+   * @param retryPolicy
+   *          the policy
+   * @return this
+   */
+  public Request retryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+    return this;
+  }
+
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  /**
+   * This tells the client the body of a successful response is not needed,
+   * e.g. of a {@code DELETE}. It is then drained without being kept, and the
+   * connection is released right away. Bodies of error responses are kept
+   * nonetheless. Responses decoded to an entity type read their body anyway.
+   * 
+   * @param discardResponseBody
+   *          {@code true} to discard the body of a successful response
+   * @return this
+   */
+  public Request discardResponseBody(boolean discardResponseBody) {
+    this.discardResponseBody = discardResponseBody;
+    return this;
+  }
+
+  public boolean isDiscardResponseBody() {
+    return discardResponseBody;
+  }
+
   /**
    * This adds a further path element to the path
    * 
@@ -153,15 +233,46 @@ public class Request {
    */
   public String getPath() {
 
-    String requestString = "";
+    if (templatePath == null && paths.size() == 1) {
+      return paths.get(0).toString();
+    }
 
+    StringBuilder requestString = new StringBuilder(templatePath != null ? templatePath : "");
     for (Path path : paths) {
-      requestString += path.toString();
+      requestString.append(path.toString());
+    }
+    return requestString.toString();
+  }
+
+  /**
+   * Assembles and returns the request's path percent-encoded, as it is sent.
+   * 
+   * @return the encoded path
+   */
+  public String getEncodedPath() {
+
+    if (templatePath != null && paths.isEmpty()) {
+      return templatePath;
+    }
+    if (templatePath == null && paths.size() == 1) {
+      return paths.get(0).getEncodedPath();
     }
 
-    // requestString += assembleParameters(parameters);
+    StringBuilder encodedPath = new StringBuilder(templatePath != null ? templatePath : "");
+    for (Path path : paths) {
+      encodedPath.append(path.getEncodedPath());
+    }
+    return encodedPath.toString();
+  }
 
-    return requestString;
+  /**
+   * @return the resturi-relative endpoint the request was created for, e.g.
+   *         {@code process-instance/{}/variables} for a request to
+   *         {@code process-instance/4711/variables} or
+   *         {@code process-instance/{id}} for one created from that template
+   */
+  public String getEndpoint() {
+    return endpoint;
   }
 
   /**
@@ -197,48 +308,45 @@ public class Request {
    */
   private String assembleParameters(Map<String, String> parameters) {
 
-    String result = "";
-
-    if (parameters.size() > 0) {
-      result += "?";
-
-      Set<Entry<String, String>> parameterEntrySet = parameters.entrySet();
-      Iterator<Entry<String, String>> parameterIterator = parameterEntrySet.iterator();
-
-      while (parameterIterator.hasNext()) {
-
-        Entry<String, String> mapEntry = parameterIterator.next();
-        String parameterKeyValue = mapEntry.getKey() + "=" + mapEntry.getValue();
+    if (parameters.isEmpty()) {
+      return "";
+    }
 
-        result += parameterKeyValue;
-        
-        if (parameterIterator.hasNext()) {
-          result += "&";
-        }
-      }
-    } else {
-      // parameters.size <= 0 -> no uri parameters
+    StringBuilder result = new StringBuilder();
+    char separator = '?';
+    for (Entry<String, String> parameter : parameters.entrySet()) {
+      result.append(separator).append(parameter.getKey()).append('=').append(parameter.getValue());
+      separator = '&';
     }
-    return result;
+    return result.toString();
   }
 
   /**
-   * Parses a string like {@code key=value&foo=bar} into a map.
+   * Parses a string like {@code key=value&foo=bar} into a map. A parameter
+   * without {@code '='}, e.g. {@code deleted}, is kept with an empty value; a
+   * value may contain {@code '='} itself.
    * 
    * @param parameterString
-   *          string to be parsed
-   * @return the resulting map
+   *          string containing the parameters
+   * @param start
+   *          index of the first parameter in {@code parameterString}
+   * @param parameters
+   *          the map the parameters are put into
    */
-  private Map<String, String> parseStringToMap(String parameterString) {
-    Map<String, String> parameters = new HashMap<String, String>();
-
-    String[] keyValuePairs = parameterString.split("&");
+  private static void parseParameters(String parameterString, int start, Map<String, String> parameters) {
 
-    for (String keyValuePair : keyValuePairs) {
-      String[] keyValueArray = keyValuePair.split("=");
-      parameters.put(keyValueArray[0].trim(), keyValueArray[1].trim());
+    while (start < parameterString.length()) {
+      int end = parameterString.indexOf('&', start);
+      if (end < 0) {
+        end = parameterString.length();
+      }
+      int equals = parameterString.indexOf('=', start);
+      if (equals >= 0 && equals < end) {
+        parameters.put(parameterString.substring(start, equals).trim(), parameterString.substring(equals + 1, end).trim());
+      } else if (parameterString.substring(start, end).trim().isEmpty() == false) {
+        parameters.put(parameterString.substring(start, end).trim(), "");
+      }
+      start = end + 1;
     }
-
-    return parameters;
   }
 }
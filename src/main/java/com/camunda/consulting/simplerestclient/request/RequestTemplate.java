@@ -0,0 +1,170 @@
+package com.camunda.consulting.simplerestclient.request;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.camunda.consulting.simplerestclient.util.UriEncoder;
+
+/**
+ * This is a compiled request path with variables, e.g.
+ * {@code process-instance/{id}/variables}. The template is parsed and its
+ * static parts are percent-encoded once; filling in the variables for a
+ * request only encodes the values. Instances are immutable and thread-safe,
+ * so they are meant to be created once and kept.
+ * <p>
+ * Requests created from a template report the template as their endpoint,
+ * so all of them share per-endpoint limits.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class RequestTemplate {
+
+  private final String template;
+
+  /**
+   * encoded static parts; {@code literals[i]} precedes the i-th variable, the
+   * last one follows the last variable
+   */
+  private final String[] literals;
+
+  /**
+   * for each variable in the template the index of its name in {@code names}
+   */
+  private final int[] variables;
+
+  /**
+   * distinct variable names in order of first appearance
+   */
+  private final List<String> names = new ArrayList<String>();
+
+  /**
+   * length of all literals, to size the builder of an expanded path
+   */
+  private final int literalsLength;
+
+  /**
+   * Constructor.
+   *
+   * @param template
+   *          the path relative to the rest uri, variables enclosed in braces
+   * @throws IllegalArgumentException
+   *           if the template is malformed
+   */
+  public RequestTemplate(String template) {
+    this.template = template;
+
+    List<String> literals = new ArrayList<String>();
+    List<Integer> variables = new ArrayList<Integer>();
+
+    String path = template.startsWith("/") ? template : "/" + template;
+    if (path.indexOf('?') >= 0) {
+      throw new IllegalArgumentException("template [" + template + "] must not contain parameters, use Request.restParameter(...)");
+    }
+
+    int start = 0;
+    int open;
+    while ((open = path.indexOf('{', start)) >= 0) {
+      int close = path.indexOf('}', open);
+      String name = close > open ? path.substring(open + 1, close).trim() : "";
+      if (name.isEmpty() || name.indexOf('{') >= 0) {
+        throw new IllegalArgumentException("template [" + template + "] has a malformed variable at " + open);
+      }
+      literals.add(UriEncoder.encodePath(path.substring(start, open)));
+
+      int index = names.indexOf(name);
+      if (index < 0) {
+        index = names.size();
+        names.add(name);
+      }
+      variables.add(index);
+      start = close + 1;
+    }
+    if (path.indexOf('}', start) >= 0) {
+      throw new IllegalArgumentException("template [" + template + "] has an unmatched '}'");
+    }
+    literals.add(UriEncoder.encodePath(path.substring(start)));
+
+    this.literals = literals.toArray(new String[literals.size()]);
+    this.variables = new int[variables.size()];
+    int length = 0;
+    for (int i = 0; i < this.variables.length; i++) {
+      this.variables[i] = variables.get(i);
+    }
+    for (String literal : this.literals) {
+      length += literal.length();
+    }
+    this.literalsLength = length;
+  }
+
+  /**
+   * This fills in the variables in order of their first appearance. A variable
+   * appearing twice takes the same value.
+   *
+   * @param values
+   *          one value per distinct variable, converted by
+   *          {@link String#valueOf(Object)}
+   * @return the percent-encoded path
+   * @throws IllegalArgumentException
+   *           if the number of values does not match or a value is
+   *           {@code null}
+   */
+  public String expand(Object... values) {
+    if (values.length != names.size()) {
+      throw new IllegalArgumentException("template [" + template + "] takes " + names.size() + " values, got " + values.length);
+    }
+    if (variables.length == 0) {
+      return literals[0];
+    }
+
+    StringBuilder path = new StringBuilder(literalsLength + 16 * variables.length);
+    for (int i = 0; i < variables.length; i++) {
+      path.append(literals[i]);
+      Object value = values[variables[i]];
+      if (value == null) {
+        throw new IllegalArgumentException("value of {" + names.get(variables[i]) + "} in template [" + template + "] is null");
+      }
+      UriEncoder.appendPathSegment(path, value.toString());
+    }
+    return path.append(literals[variables.length]).toString();
+  }
+
+  /**
+   * This fills in the variables by name.
+   *
+   * @param values
+   *          values by variable name, converted by
+   *          {@link String#valueOf(Object)}
+   * @return the percent-encoded path
+   * @throws IllegalArgumentException
+   *           if a variable has no value
+   */
+  public String expand(Map<String, ?> values) {
+    Object[] ordered = new Object[names.size()];
+    for (int i = 0; i < ordered.length; i++) {
+      ordered[i] = values.get(names.get(i));
+    }
+    return expand(ordered);
+  }
+
+  /**
+   * @return the distinct variable names in order of first appearance
+   */
+  public List<String> getVariableNames() {
+    return Collections.unmodifiableList(names);
+  }
+
+  /**
+   * @return the template as it was given
+   */
+  public String getTemplate() {
+    return template;
+  }
+
+  @Override
+  public String toString() {
+    return template;
+  }
+}
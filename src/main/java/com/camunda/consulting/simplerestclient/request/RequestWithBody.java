@@ -1,11 +1,17 @@
 package com.camunda.consulting.simplerestclient.request;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
 
 import org.json.JSONObject;
 
+import com.camunda.consulting.simplerestclient.util.JsonCodec;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 /**
  * This class represents a request with entity body.
@@ -16,15 +22,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class RequestWithBody extends Request {
 
   /**
-   * Mapper to be used to marshall {@code body}
+   * Codec to be used to marshall {@code body}
    */
-  private ObjectMapper bodyMapper = new ObjectMapper();
+  private JsonCodec bodyCodec = JsonCodec.DEFAULT;
 
   /**
    * The entity body.
    */
   private final Serializable body;
 
+  /**
+   * {@code true} to compress the body, {@code null} to follow the client's
+   * setting
+   */
+  private Boolean compressBody = null;
+
   /**
    * Constructor.
    * 
@@ -39,6 +51,22 @@ public class RequestWithBody extends Request {
     this.body = body;
   }
 
+  /**
+   * Constructor.
+   * 
+   * @param template
+   *          the compiled path of the request's destination
+   * @param body
+   *          the entity body
+   * @param values
+   *          values of the template's variables in order of their first
+   *          appearance
+   */
+  public RequestWithBody(RequestTemplate template, Serializable body, Object... values) {
+    super(template, values);
+    this.body = body;
+  }
+
   /**
    * Constructor.
    * 
@@ -53,11 +81,41 @@ public class RequestWithBody extends Request {
   public RequestWithBody(String endpoint, Serializable body, ObjectMapper customMapper) {
     super(endpoint);
     this.body = body;
-    this.bodyMapper = customMapper;
+    this.bodyCodec = new JsonCodec(customMapper);
   }
 
   public void setBodyMapper(ObjectMapper bodyMapper) {
-    this.bodyMapper = bodyMapper;
+    this.bodyCodec = new JsonCodec(bodyMapper);
+  }
+
+  /**
+   * This sets the codec to be used to marshall {@code body}. Prefer this over
+   * {@link #setBodyMapper(ObjectMapper)} to share cached writers between
+   * requests.
+   * 
+   * @param bodyCodec
+   *          the codec
+   */
+  public void setBodyCodec(JsonCodec bodyCodec) {
+    this.bodyCodec = bodyCodec;
+  }
+
+  /**
+   * This overrides the client's setting whether the body is compressed. It is
+   * compressed only if it reaches the client's threshold.
+   * 
+   * @param compressBody
+   *          {@code true} to compress the body, {@code null} to follow the
+   *          client's setting
+   * @return this
+   */
+  public RequestWithBody compressBody(Boolean compressBody) {
+    this.compressBody = compressBody;
+    return this;
+  }
+
+  public Boolean getCompressBody() {
+    return compressBody;
   }
 
   public Serializable getBody() {
@@ -75,13 +133,37 @@ public class RequestWithBody extends Request {
     return jsonObject;
   }
 
+  /**
+   * This marshalls the entity body as UTF-8 encoded JSON straight into
+   * {@code outputStream}, without building an intermediate String.
+   * 
+   * @param outputStream
+   *          the stream to write to, it is flushed but not closed
+   * @throws IOException
+   *           if body cannot be marshalled or written
+   */
+  public void writeBodyTo(OutputStream outputStream) throws IOException {
+    try (JsonGenerator generator = bodyCodec.getMapper().getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      bodyWriter().writeValue(generator, body);
+    }
+  }
+
   /**
    * This returns the entity body as JSON string.
    * @return the entity body as JSON string
    * @throws JsonProcessingException if boddy cannot be converted to String
    */
   public String bodyAsString() throws JsonProcessingException {
-    String bodyString = bodyMapper.writeValueAsString(body);
+    String bodyString = bodyWriter().writeValueAsString(body);
     return bodyString;
   }
+
+  /**
+   * @return the writer of the body's type, the one of {@code Object} for a
+   *         {@code null} body, which is marshalled as {@code null}
+   */
+  private ObjectWriter bodyWriter() {
+    return bodyCodec.writerFor(body != null ? body.getClass() : Object.class);
+  }
 }
@@ -28,6 +28,20 @@ public class RequestWithUrlEncodedData extends Request {
     this.urlEncodedData = new MultivaluedHashMap<String, String>();
   }
 
+  /**
+   * Constructor.
+   * 
+   * @param template
+   *          the compiled path of the request's destination
+   * @param values
+   *          values of the template's variables in order of their first
+   *          appearance
+   */
+  public RequestWithUrlEncodedData(RequestTemplate template, Object... values) {
+    super(template, values);
+    this.urlEncodedData = new MultivaluedHashMap<String, String>();
+  }
+
   /**
    * This adds a tuple key and value to the list of url-encoded-form data.
    * @param key key of the date
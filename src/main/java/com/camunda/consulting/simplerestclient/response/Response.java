@@ -1,7 +1,21 @@
 package com.camunda.consulting.simplerestclient.response;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.transport.JaxRsTransport;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+import com.camunda.consulting.simplerestclient.util.BufferPool;
+
 /**
- * This class represents the response to a REST request.
+ * This class represents the response to a REST request. The body is kept as
+ * the bytes received and only decoded when a String representation or an
+ * entity is asked for.
  * @author Sebastian Warnke (sebastian.warnke@camunda.com)
  *
  */
@@ -9,20 +23,218 @@ public class Response {
 
   // private static final Logger log = LoggerFactory.getLogger(Response.class);
 
+  private static final byte[] EMPTY = new byte[0];
+
+  /**
+   * largest body drained when discarded; the connection of a larger one is
+   * shut down rather than reading it all
+   */
+  private static final long MAX_DRAIN = 64 * 1024;
+
+  /**
+   * largest body read into an array of its declared length; larger ones are
+   * read into a pooled buffer, so a bogus length, e.g. of a {@code HEAD}
+   * response, does not allocate much
+   */
+  private static final long MAX_PRESIZED = 1024 * 1024;
+
+  /**
+   * This denotes what happens to the body of a response as it is created.
+   */
+  private enum BodyHandling {
+
+    /**
+     * the body is read and the response released
+     */
+    BUFFER,
+
+    /**
+     * the body of a successful response is skipped and the response released
+     */
+    DISCARD,
+
+    /**
+     * the subclass reads the body and releases the response
+     */
+    SUBCLASS
+  }
+
   private final Integer status;
   private final Integer statusCode;
   private final String statusPhrase;
-  private final String rawResponseEntityString;
+
+  /**
+   * RAW response body as received, {@code null} if it was discarded or is
+   * read by a subclass
+   */
+  private final byte[] rawBody;
+
+  private final boolean bodyDiscarded;
+
+  /**
+   * charset of {@code rawBody}
+   */
+  private final Charset charset;
+
+  /**
+   * String representation of {@code rawBody}, decoded on first access
+   */
+  private volatile String rawResponseEntityString = null;
   
   /**
    * Constructor.
    * @param httpResponse HTTP response received from REST API
    */
   public Response(javax.ws.rs.core.Response httpResponse) {
-    this.status = httpResponse.getStatus();
-    this.statusCode = httpResponse.getStatusInfo().getStatusCode();
-    this.statusPhrase = httpResponse.getStatusInfo().getReasonPhrase();
-    this.rawResponseEntityString = httpResponse.readEntity(String.class);
+    this(JaxRsTransport.adapt(httpResponse));
+  }
+
+  /**
+   * Constructor. This reads the body and releases {@code transportResponse}.
+   * @param transportResponse HTTP response received from REST API
+   */
+  public Response(TransportResponse transportResponse) {
+    this(transportResponse, true);
+  }
+
+  /**
+   * Constructor.
+   * @param transportResponse HTTP response received from REST API
+   * @param bufferBody if {@code true}, this reads the body and releases
+   *          {@code transportResponse}; otherwise the subclass reads the body
+   *          and is in charge of releasing it
+   */
+  protected Response(TransportResponse transportResponse, boolean bufferBody) {
+    this(transportResponse, bufferBody ? BodyHandling.BUFFER : BodyHandling.SUBCLASS);
+  }
+
+  private Response(TransportResponse transportResponse, BodyHandling bodyHandling) {
+    this.status = transportResponse.getStatus();
+    this.statusCode = transportResponse.getStatus();
+    this.statusPhrase = transportResponse.getReasonPhrase();
+
+    this.charset = transportResponse.getCharset();
+
+    // error bodies are kept to tell what went wrong
+    this.bodyDiscarded = bodyHandling == BodyHandling.DISCARD && status >= 200 && status < 300;
+
+    if (bodyHandling == BodyHandling.SUBCLASS) {
+      this.rawBody = null;
+      return;
+    }
+    if (bodyDiscarded) {
+      this.rawBody = null;
+      discard(transportResponse);
+      return;
+    }
+
+    try (TransportResponse response = transportResponse) {
+      boolean bodyless = status == 204 || status == 304;
+      this.rawBody = bodyless ? EMPTY : readFully(response.getBody(), contentLengthOf(response));
+    } catch (IOException e) {
+      throw new RestClientException("cannot read response body", e);
+    }
+  }
+
+  /**
+   * This creates a response whose body is not kept if it is successful. The
+   * body is drained right away so the connection can be reused, or the
+   * connection is shut down if the body is large. Bodies of error responses
+   * are kept nonetheless.
+   * @param transportResponse HTTP response received from REST API
+   * @return the response, released
+   */
+  public static Response discardingBody(TransportResponse transportResponse) {
+    return new Response(transportResponse, BodyHandling.DISCARD);
+  }
+
+  private static void discard(TransportResponse transportResponse) {
+    long contentLength = contentLengthOf(transportResponse);
+    if (contentLength > MAX_DRAIN) {
+      transportResponse.abort();
+      return;
+    }
+    try {
+      InputStream body = transportResponse.getBody();
+      long drained = 0;
+      byte[] chunk = new byte[8192];
+      int read;
+      while ((read = body.read(chunk)) != -1) {
+        drained += read;
+        if (drained > MAX_DRAIN) {
+          transportResponse.abort();
+          return;
+        }
+      }
+    } catch (IOException e) {
+      // nothing is lost, the connection is not reused
+      transportResponse.abort();
+      return;
+    }
+    // released once, as aborting releases, too
+    transportResponse.close();
+  }
+
+  /**
+   * @return the declared length of the body, or {@code -1} if unknown
+   */
+  private static long contentLengthOf(TransportResponse response) {
+    String contentLength = response.getHeader("Content-Length");
+    if (contentLength == null) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(contentLength.trim());
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * This reads a body of known length straight into an array of that size,
+   * and one of unknown length into a pooled buffer.
+   */
+  private static byte[] readFully(InputStream body, long contentLength) throws IOException {
+    if (contentLength == 0) {
+      return EMPTY;
+    }
+    if (contentLength > 0 && contentLength <= MAX_PRESIZED) {
+      byte[] bytes = new byte[(int) contentLength];
+      int offset = 0;
+      int read;
+      while (offset < bytes.length && (read = body.read(bytes, offset, bytes.length - offset)) != -1) {
+        offset += read;
+      }
+      int next = offset < bytes.length ? -1 : body.read();
+      if (next == -1) {
+        return offset < bytes.length ? Arrays.copyOf(bytes, offset) : bytes;
+      }
+      // longer than declared, e.g. decoded by the transport
+      BufferPool.Buffer buffer = BufferPool.DEFAULT.acquire();
+      try {
+        buffer.write(bytes, 0, offset);
+        buffer.write(next);
+        return readRest(body, buffer);
+      } finally {
+        buffer.release();
+      }
+    }
+
+    BufferPool.Buffer buffer = BufferPool.DEFAULT.acquire();
+    try {
+      return readRest(body, buffer);
+    } finally {
+      buffer.release();
+    }
+  }
+
+  private static byte[] readRest(InputStream body, BufferPool.Buffer buffer) throws IOException {
+    byte[] chunk = new byte[8192];
+    int read;
+    while ((read = body.read(chunk)) != -1) {
+      buffer.write(chunk, 0, read);
+    }
+    return buffer.size() == 0 ? EMPTY : buffer.toByteArray();
   }
 
   public Integer getStatus() {
@@ -38,10 +250,75 @@ public class Response {
   }
 
   /**
-   * @return String representation of RAW response body
+   * @return String representation of RAW response body, decoded on first
+   *         access
+   * @throws IllegalStateException
+   *           if the body was discarded
    */
   public String getRawResponseEntityString() {
-    return rawResponseEntityString;
+    String result = rawResponseEntityString;
+    if (result == null) {
+      result = new String(body(), charset);
+      rawResponseEntityString = result;
+    }
+    return result;
+  }
+
+  /**
+   * @return a copy of the RAW response body as received
+   * @throws IllegalStateException
+   *           if the body was discarded
+   */
+  public byte[] bodyBytes() {
+    byte[] body = body();
+    return body.length == 0 ? body : body.clone();
+  }
+
+  /**
+   * @return a read-only view of the RAW response body, without copying it
+   * @throws IllegalStateException
+   *           if the body was discarded
+   */
+  public ByteBuffer bodyBuffer() {
+    return ByteBuffer.wrap(body()).asReadOnlyBuffer();
+  }
+
+  /**
+   * @return a stream reading the RAW response body, without copying it
+   * @throws IllegalStateException
+   *           if the body was discarded
+   */
+  public InputStream bodyStream() {
+    return new ByteArrayInputStream(body());
+  }
+
+  /**
+   * @return {@code true} if the body was not kept, see
+   *         {@link #discardingBody(TransportResponse)}
+   */
+  public boolean isBodyDiscarded() {
+    return bodyDiscarded;
+  }
+
+  /**
+   * @return RAW response body as received
+   */
+  protected byte[] getRawBody() {
+    return rawBody;
+  }
+
+  private byte[] body() {
+    if (rawBody == null) {
+      throw new IllegalStateException(bodyDiscarded ? "the body of this response was discarded" : "the body of this response is not buffered");
+    }
+    return rawBody;
+  }
+
+  /**
+   * @return charset of the RAW response body
+   */
+  protected Charset getCharset() {
+    return charset;
   }
 
   @Override
@@ -2,23 +2,31 @@ package com.camunda.consulting.simplerestclient.response;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+import com.camunda.consulting.simplerestclient.util.JsonCodec;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 /**
  * This class represents the response to a REST request. The response is
  * expected to contain an entity body able to be unmarshalled.
- * 
+ * <p>
+ * The body is unmarshalled in a single streaming pass on the first call of
+ * {@link #getResults()} or {@link #getSingleResult()}; later calls return the
+ * same result.
+ *
  * @author Sebastian Warnke (sebastian.warnke@camunda.com)
  *
  * @param <T>
@@ -34,18 +42,18 @@ public class ResponseWithBody<T extends Serializable> extends Response {
   private final JavaType entityType;
 
   /**
-   * The mapper that is used to unmarshall the entity body.
+   * The codec that is used to unmarshall the entity body.
    */
-  private ObjectMapper objectMapper = new ObjectMapper();
+  private JsonCodec codec = JsonCodec.DEFAULT;
 
   /**
-   * The entity body.
+   * The unmarshalled entity body, {@code null} until first accessed.
    */
-  private final JsonEntity jsonEntity;
+  private volatile List<T> results = null;
 
   /**
    * Constructor.
-   * 
+   *
    * @param httpResponse
    *          HTTP response received from REST API
    * @param entityType
@@ -55,13 +63,12 @@ public class ResponseWithBody<T extends Serializable> extends Response {
 
     super(httpResponse);
 
-    this.entityType = TypeFactory.defaultInstance().constructSimpleType(entityType, null);
-    this.jsonEntity = new JsonEntity(this.getRawResponseEntityString());
+    this.entityType = JsonCodec.DEFAULT.typeOf(entityType);
   }
-  
+
   /**
    * Constructor.
-   * 
+   *
    * @param httpResponse
    *          HTTP response received from REST API
    * @param entityType
@@ -72,68 +79,91 @@ public class ResponseWithBody<T extends Serializable> extends Response {
     super(httpResponse);
 
     this.entityType = entityType;
-    this.jsonEntity = new JsonEntity(this.getRawResponseEntityString());
   }
 
   /**
-   * This parses a {@link JsonEntity} to a List of {@code <T>}-typed objects.
-   * 
-   * @param bodyJsonEntity
-   *          the entity to be parsed
-   * @return In case the entity provided contains a {@link JSONObject}, the list
-   *         contains a single element only. If the entity contains
-   *         {@link JSONArray} the list can have multiple elements.
+   * Constructor.
+   *
+   * @param transportResponse
+   *          HTTP response received from REST API
+   * @param entityType
+   *          The type the entity body is to be unmarshalled to
+   */
+  public ResponseWithBody(TransportResponse transportResponse, JavaType entityType) {
+
+    super(transportResponse);
+
+    this.entityType = entityType;
+  }
+
+  /**
+   * This binds the entity body to a List of {@code <T>}-typed objects in one
+   * streaming pass.
+   *
+   * @return In case the body contains a JSON object, the list contains a single
+   *         element only. If the body contains a JSON array the list can have
+   *         multiple elements, unless {@code <T>} is a collection or array
+   *         type itself.
+   *         An empty body results in an empty list.
    * @throws IOException
    */
-  private List<T> parse(JsonEntity bodyJsonEntity) throws IOException {
+  private List<T> parse() throws IOException {
 
-    List<T> result = new ArrayList<T>();
+    ObjectReader reader = codec.readerFor(entityType);
 
-    if (bodyJsonEntity.isArray()) {
-      JSONArray jsonArray = bodyJsonEntity.getJsonArray();
+    try (JsonParser parser = createParser()) {
 
-      for (int i = 0; i < jsonArray.length(); i++) {
-        JSONObject jsonObject = jsonArray.getJSONObject(i);
-        T resultObject = unmarshall(jsonObject);
+      JsonToken token = parser.nextToken();
+
+      if (token == null || token == JsonToken.VALUE_NULL) {
+        return Collections.emptyList();
+      }
+
+      List<T> result = new ArrayList<T>();
+
+      if (token == JsonToken.START_ARRAY && JsonCodec.bindsArray(entityType) == false) {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          T resultObject = reader.readValue(parser);
+          result.add(resultObject);
+        }
+      } else {
+        T resultObject = reader.readValue(parser);
         result.add(resultObject);
       }
 
-    } else {
-      JSONObject bodyJsonObject = bodyJsonEntity.getJsonObject();
-      T resultObject = unmarshall(bodyJsonObject);
-      result.add(resultObject);
+      return result;
     }
-
-    return result;
   }
 
-  private T unmarshall(JSONObject bodyJsonObject) throws IOException {
-    T result;
-    String jsonString = bodyJsonObject.toString();
-    result = objectMapper.readValue(jsonString, entityType);
-    
-    return result;
+  private JsonParser createParser() throws IOException {
+    if (StandardCharsets.UTF_8.equals(getCharset())) {
+      return codec.getMapper().getFactory().createParser(getRawBody());
+    }
+    return codec.getMapper().getFactory().createParser(getRawResponseEntityString());
   }
 
   /**
-   * @return List of {@code <T>}-typed objects representing the response entity. 
+   * @return List of {@code <T>}-typed objects representing the response entity.
    */
   public List<T> getResults() {
 
-    List<T> resultList = new ArrayList<T>();
+    List<T> resultList = results;
 
-    try {
-      resultList = parse(jsonEntity);
-    } catch (IOException e) {
-      log.error("cannot unmarshall response to type <" + this.entityType.getTypeName() + ">: {}", e.getMessage());
-      throw new RestClientException("cannot unmarshall response to type <" + this.entityType.getTypeName() + ">", e);
+    if (resultList == null) {
+      try {
+        resultList = Collections.unmodifiableList(parse());
+      } catch (IOException e) {
+        log.error("cannot unmarshall response to type <" + this.entityType.getTypeName() + ">: {}", e.getMessage());
+        throw new RestClientException("cannot unmarshall response to type <" + this.entityType.getTypeName() + ">", e);
+      }
+      results = resultList;
     }
 
     return resultList;
   }
 
   /**
-   * @return First {@code <T>}-typed element of response entity list. 
+   * @return First {@code <T>}-typed element of response entity list.
    */
   public T getSingleResult() {
 
@@ -155,6 +185,19 @@ public class ResponseWithBody<T extends Serializable> extends Response {
   }
 
   public void setCustomMapper(ObjectMapper customMapper) {
-    this.objectMapper = customMapper;
+    setCodec(new JsonCodec(customMapper));
+  }
+
+  /**
+   * This sets the codec that is used to unmarshall the entity body. Prefer this
+   * over {@link #setCustomMapper(ObjectMapper)} to share cached readers between
+   * responses.
+   * 
+   * @param codec
+   *          the codec
+   */
+  public void setCodec(JsonCodec codec) {
+    this.codec = codec;
+    this.results = null;
   }
 }
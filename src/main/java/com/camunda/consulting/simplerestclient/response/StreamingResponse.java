@@ -0,0 +1,252 @@
+package com.camunda.consulting.simplerestclient.response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+import com.camunda.consulting.simplerestclient.util.JsonCodec;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * This class represents the response to a REST request whose entity body is
+ * unmarshalled lazily, element by element, while it is read from the
+ * connection. Memory use does not grow with the size of a JSON array body.
+ * <p>
+ * The body can be iterated once, either by {@link #iterator()} or by
+ * {@link #stream()}. The connection is released as soon as the last element
+ * has been read; closing the response before that shuts the connection down
+ * without reading the rest of the body. Always close the response, e.g. with
+ * try-with-resources.
+ * <p>
+ * Only the body of a successful ({@code 2xx}) response is streamed. The body
+ * of any other response is read and kept as by {@link Response}, so
+ * {@link #getRawResponseEntityString()} and the other accessors tell what went
+ * wrong, and iterating it yields no elements.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ * @param <T>
+ *          The type the elements of the entity body are to be unmarshalled to.
+ */
+public class StreamingResponse<T extends Serializable> extends Response implements Iterable<T>, Closeable {
+
+  private static final Logger log = LoggerFactory.getLogger(StreamingResponse.class);
+
+  private final TransportResponse transportResponse;
+
+  /**
+   * The expected element type.
+   */
+  private final JavaType entityType;
+
+  /**
+   * The codec that is used to unmarshall the elements.
+   */
+  private JsonCodec codec = JsonCodec.DEFAULT;
+
+  private boolean iterated = false;
+  private boolean exhausted = false;
+  private boolean closed = false;
+
+  /**
+   * Constructor. The body of a successful response is not read until the
+   * response is iterated, that of any other response is read right away.
+   *
+   * @param transportResponse
+   *          HTTP response received from REST API
+   * @param entityType
+   *          The type the elements of the entity body are to be unmarshalled
+   *          to
+   */
+  public StreamingResponse(TransportResponse transportResponse, JavaType entityType) {
+
+    super(transportResponse, isSuccessful(transportResponse.getStatus()) == false);
+
+    this.transportResponse = transportResponse;
+    this.entityType = entityType;
+  }
+
+  /**
+   * This returns an iterator over the entity body. A JSON array yields its
+   * elements, a JSON object yields a single element and an empty body yields
+   * none.
+   *
+   * @return the iterator
+   * @throws IllegalStateException
+   *           if the response has already been iterated or closed
+   */
+  @Override
+  public synchronized Iterator<T> iterator() {
+
+    if (iterated || closed) {
+      throw new IllegalStateException("streaming response can be iterated only once");
+    }
+    iterated = true;
+
+    if (getRawBody() != null) {
+      return Collections.emptyIterator();
+    }
+    try {
+      return new ElementIterator(createParser());
+    } catch (IOException e) {
+      close();
+      throw new RestClientException("cannot read response body", e);
+    }
+  }
+
+  /**
+   * @return a sequential stream over the entity body; closing the stream closes
+   *         the response
+   * @see #iterator()
+   */
+  public Stream<T> stream() {
+    Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false).onClose(this::close);
+  }
+
+  private JsonParser createParser() throws IOException {
+    if (StandardCharsets.UTF_8.equals(getCharset())) {
+      return codec.getMapper().getFactory().createParser(transportResponse.getBody());
+    }
+    return codec.getMapper().getFactory().createParser(new InputStreamReader(transportResponse.getBody(), getCharset()));
+  }
+
+  private static boolean isSuccessful(int status) {
+    return status >= 200 && status < 300;
+  }
+
+  /**
+   * This sets the codec that is used to unmarshall the elements. It must be set
+   * before the response is iterated.
+   *
+   * @param codec
+   *          the codec
+   */
+  public void setCodec(JsonCodec codec) {
+    this.codec = codec;
+  }
+
+  /**
+   * This releases the response. The connection is shut down if the body has
+   * not been read to the end.
+   */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+
+    if (getRawBody() != null) {
+      // released as the body was read
+      return;
+    }
+    if (exhausted) {
+      transportResponse.close();
+    } else {
+      transportResponse.abort();
+    }
+  }
+
+  private synchronized void finish() {
+    exhausted = true;
+    close();
+  }
+
+  private class ElementIterator implements Iterator<T> {
+
+    private final JsonParser parser;
+    private final ObjectReader reader;
+
+    /**
+     * {@code true} if the body is a JSON array whose elements are read one by
+     * one
+     */
+    private boolean array;
+
+    /**
+     * the current token is the start of the next element
+     */
+    private boolean hasNext;
+
+    private boolean started = false;
+
+    ElementIterator(JsonParser parser) {
+      this.parser = parser;
+      this.reader = codec.readerFor(entityType);
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (started == false) {
+        started = true;
+        advance(true);
+      }
+      return hasNext;
+    }
+
+    @Override
+    public T next() {
+      if (hasNext() == false) {
+        throw new NoSuchElementException();
+      }
+
+      T element;
+      try {
+        element = reader.readValue(parser);
+      } catch (IOException e) {
+        close();
+        log.error("cannot unmarshall response to type <" + entityType.getTypeName() + ">: {}", e.getMessage());
+        throw new RestClientException("cannot unmarshall response to type <" + entityType.getTypeName() + ">", e);
+      }
+
+      advance(false);
+      return element;
+    }
+
+    private void advance(boolean first) {
+      try {
+        JsonToken token = parser.nextToken();
+
+        if (first) {
+          array = token == JsonToken.START_ARRAY && JsonCodec.bindsArray(entityType) == false;
+          if (array) {
+            token = parser.nextToken();
+          }
+          hasNext = token != null && token != JsonToken.VALUE_NULL && token != JsonToken.END_ARRAY;
+        } else {
+          hasNext = array && token != null && token != JsonToken.END_ARRAY;
+        }
+      } catch (IOException e) {
+        close();
+        throw new RestClientException("cannot read response body", e);
+      }
+
+      if (hasNext == false) {
+        try {
+          parser.close();
+        } catch (IOException e) {
+          log.debug("exception while closing parser", e);
+        }
+        finish();
+      }
+    }
+  }
+}
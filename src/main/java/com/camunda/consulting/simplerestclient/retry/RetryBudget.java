@@ -0,0 +1,146 @@
+package com.camunda.consulting.simplerestclient.retry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.camunda.consulting.simplerestclient.util.Ticker;
+
+/**
+ * This caps the retries of a client at a share of its requests, so retries do
+ * not multiply the load on a server that is already failing. Each request
+ * retries may apply to adds {@code retryRatio} to the budget, each retry takes
+ * one; a small number of retries per second is allowed regardless, so clients
+ * with little traffic can retry, too. Unused budget is kept up to
+ * {@code burst} retries.
+ *
+ * <pre>
+ * // retries may add at most 20% to the requests sent
+ * RetryBudget budget = new RetryBudget(0.2, 10);
+ * </pre>
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class RetryBudget {
+
+  /**
+   * the budget is kept in thousandths of a retry
+   */
+  private static final long SCALE = 1000;
+
+  private static final long MAX_REFILL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private final Ticker ticker;
+  private final long depositPerRequest;
+  private final int minRetriesPerSecond;
+  private volatile long maxBalance;
+
+  private final AtomicLong balance;
+  private final AtomicLong lastRefillNanos;
+
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder denied = new LongAdder();
+
+  /**
+   * Constructor.
+   *
+   * @param retryRatio
+   *          retries allowed per request, e.g. {@code 0.2}
+   * @param minRetriesPerSecond
+   *          retries allowed per second regardless of the number of requests
+   */
+  public RetryBudget(double retryRatio, int minRetriesPerSecond) {
+    this(retryRatio, minRetriesPerSecond, Ticker.SYSTEM);
+  }
+
+  /**
+   * Constructor taking the time from {@code ticker}.
+   */
+  RetryBudget(double retryRatio, int minRetriesPerSecond, Ticker ticker) {
+    this.ticker = ticker;
+    this.lastRefillNanos = new AtomicLong(ticker.nanoTime());
+    this.depositPerRequest = (long) (retryRatio * SCALE);
+    this.minRetriesPerSecond = minRetriesPerSecond;
+    this.maxBalance = 100 * SCALE;
+    this.balance = new AtomicLong(Math.min(maxBalance, minRetriesPerSecond * SCALE));
+  }
+
+  /**
+   * @param burst
+   *          number of retries the unused budget is kept up to
+   * @return this
+   */
+  public RetryBudget burst(int burst) {
+    this.maxBalance = burst * SCALE;
+    return this;
+  }
+
+  /**
+   * This adds the share of a request that may be retried to the budget.
+   */
+  void deposit() {
+    add(depositPerRequest);
+  }
+
+  /**
+   * @return {@code true} if a retry may be sent, which is then taken from the
+   *         budget
+   */
+  boolean tryWithdraw() {
+    refill();
+    long current;
+    do {
+      current = balance.get();
+      if (current < SCALE) {
+        denied.increment();
+        return false;
+      }
+    } while (balance.compareAndSet(current, current - SCALE) == false);
+    retries.increment();
+    return true;
+  }
+
+  /**
+   * This adds the retries allowed per second for the time passed since the
+   * last refill.
+   */
+  private void refill() {
+    if (minRetriesPerSecond <= 0) {
+      return;
+    }
+    long now = ticker.nanoTime();
+    long last = lastRefillNanos.get();
+    long amount = Math.min(now - last, MAX_REFILL_NANOS) * minRetriesPerSecond * SCALE / TimeUnit.SECONDS.toNanos(1);
+    // wait for a whole thousandth so the time passed is not lost to rounding
+    if (amount > 0 && lastRefillNanos.compareAndSet(last, now)) {
+      add(amount);
+    }
+  }
+
+  private void add(long amount) {
+    long max = maxBalance;
+    balance.accumulateAndGet(amount, (current, added) -> Math.min(max, current + added));
+  }
+
+  /**
+   * @return number of retries the budget currently allows
+   */
+  public long getAvailable() {
+    return balance.get() / SCALE;
+  }
+
+  /**
+   * @return number of retries granted
+   */
+  public long getRetries() {
+    return retries.sum();
+  }
+
+  /**
+   * @return number of retries denied because the budget was exhausted
+   */
+  public long getDenied() {
+    return denied.sum();
+  }
+}
@@ -0,0 +1,220 @@
+package com.camunda.consulting.simplerestclient.retry;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.utils.DateUtils;
+
+/**
+ * This class holds the settings of retrying requests that failed or were
+ * answered with a transient error status. A policy is set for all requests of
+ * a client via
+ * {@link com.camunda.consulting.simplerestclient.RestClientBuilder#retryPolicy(RetryPolicy)}
+ * and may be overridden per request via
+ * {@link com.camunda.consulting.simplerestclient.request.Request#retryPolicy(RetryPolicy)}.
+ * <p>
+ * By default only idempotent methods are retried, up to 3 attempts in total,
+ * on I/O errors and on {@code 429}, {@code 502}, {@code 503} and {@code 504}.
+ * Retries wait with exponential backoff and full jitter, or as long as a
+ * {@code Retry-After} header asks for.
+ *
+ * <pre>
+ * new RetryPolicy().maxAttempts(5).backoff(200, 10000, TimeUnit.MILLISECONDS)
+ * </pre>
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class RetryPolicy {
+
+  /**
+   * number of attempts in total, {@code 1} to not retry
+   */
+  private int maxAttempts = 3;
+
+  private long initialBackoffMillis = 100;
+  private long maxBackoffMillis = 5000;
+  private double multiplier = 2.0;
+
+  /**
+   * longest {@code Retry-After} waited for; responses asking for more are
+   * returned right away
+   */
+  private long maxRetryAfterMillis = 30000;
+
+  /**
+   * status codes of responses retried
+   */
+  private final Set<Integer> retryStatuses = new HashSet<Integer>(Arrays.asList(429, 502, 503, 504));
+
+  /**
+   * methods retried, case-insensitive
+   */
+  private final Set<String> methods = new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
+
+  /**
+   * Constructor.
+   */
+  public RetryPolicy() {
+    methods.addAll(Arrays.asList("GET", "HEAD", "OPTIONS", "PUT", "DELETE"));
+  }
+
+  /**
+   * @return a policy that does not retry, e.g. to turn off retries for a
+   *         single request
+   */
+  public static RetryPolicy none() {
+    return new RetryPolicy().maxAttempts(1);
+  }
+
+  /**
+   * @param maxAttempts
+   *          number of attempts in total, {@code 1} to not retry
+   * @return this
+   */
+  public RetryPolicy maxAttempts(int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+    return this;
+  }
+
+  /**
+   * @param initialBackoff
+   *          most time waited before the first retry
+   * @param maxBackoff
+   *          most time waited before any retry
+   * @param unit
+   *          unit of {@code initialBackoff} and {@code maxBackoff}
+   * @return this
+   */
+  public RetryPolicy backoff(long initialBackoff, long maxBackoff, TimeUnit unit) {
+    this.initialBackoffMillis = unit.toMillis(initialBackoff);
+    this.maxBackoffMillis = unit.toMillis(maxBackoff);
+    return this;
+  }
+
+  /**
+   * @param multiplier
+   *          factor the backoff grows by with each retry
+   * @return this
+   */
+  public RetryPolicy multiplier(double multiplier) {
+    this.multiplier = multiplier;
+    return this;
+  }
+
+  /**
+   * @param maxRetryAfter
+   *          longest {@code Retry-After} waited for; responses asking for more
+   *          are returned right away
+   * @param unit
+   *          unit of {@code maxRetryAfter}
+   * @return this
+   */
+  public RetryPolicy maxRetryAfter(long maxRetryAfter, TimeUnit unit) {
+    this.maxRetryAfterMillis = unit.toMillis(maxRetryAfter);
+    return this;
+  }
+
+  /**
+   * @param statuses
+   *          status codes of responses retried, replacing the defaults
+   * @return this
+   */
+  public RetryPolicy retryOn(Integer... statuses) {
+    retryStatuses.clear();
+    retryStatuses.addAll(Arrays.asList(statuses));
+    return this;
+  }
+
+  /**
+   * @param methods
+   *          methods retried, replacing the idempotent ones retried by
+   *          default; {@code POST} should only be added for requests the
+   *          server deduplicates
+   * @return this
+   */
+  public RetryPolicy methods(String... methods) {
+    this.methods.clear();
+    this.methods.addAll(Arrays.asList(methods));
+    return this;
+  }
+
+  /**
+   * @return {@code true} if requests with {@code method} may be retried at all
+   */
+  boolean isRetryable(String method) {
+    return maxAttempts > 1 && methods.contains(method);
+  }
+
+  boolean isRetryable(int status) {
+    return retryStatuses.contains(status);
+  }
+
+  /**
+   * @param retry
+   *          number of the retry, starting at {@code 1}
+   * @return time to wait before {@code retry}, drawn uniformly up to the
+   *         exponential backoff
+   */
+  long backoffMillis(int retry) {
+    double backoff = Math.min(maxBackoffMillis, initialBackoffMillis * Math.pow(multiplier, retry - 1));
+    return (long) (ThreadLocalRandom.current().nextDouble() * backoff);
+  }
+
+  /**
+   * @param retryAfter
+   *          value of a {@code Retry-After} header, delay seconds or an HTTP
+   *          date
+   * @return time to wait as asked for, {@code 0} if {@code retryAfter} cannot
+   *         be parsed, or {@code -1} if it is longer than allowed
+   */
+  long retryAfterMillis(String retryAfter) {
+    long millis;
+    try {
+      millis = TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+    } catch (NumberFormatException e) {
+      Date date = DateUtils.parseDate(retryAfter);
+      if (date == null) {
+        return 0;
+      }
+      millis = date.getTime() - System.currentTimeMillis();
+    }
+    if (millis > maxRetryAfterMillis) {
+      return -1;
+    }
+    return Math.max(millis, 0);
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public long getInitialBackoffMillis() {
+    return initialBackoffMillis;
+  }
+
+  public long getMaxBackoffMillis() {
+    return maxBackoffMillis;
+  }
+
+  public double getMultiplier() {
+    return multiplier;
+  }
+
+  public long getMaxRetryAfterMillis() {
+    return maxRetryAfterMillis;
+  }
+
+  public Set<Integer> getRetryStatuses() {
+    return retryStatuses;
+  }
+
+  public Set<String> getMethods() {
+    return methods;
+  }
+}
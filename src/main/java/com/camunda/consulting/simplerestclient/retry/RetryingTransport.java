@@ -0,0 +1,213 @@
+package com.camunda.consulting.simplerestclient.retry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolStats;
+import com.camunda.consulting.simplerestclient.transport.HttpTransport;
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+import com.camunda.consulting.simplerestclient.util.Failures;
+
+/**
+ * This {@link HttpTransport} sends requests of its delegate again if they fail
+ * with an I/O error or are answered with a status their {@link RetryPolicy}
+ * retries, as long as the {@link RetryBudget} allows. Responses not retried
+ * anymore are returned as they are, so the caller sees the last status.
+ * Asynchronous requests wait for their retries on a timer, never on a thread.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class RetryingTransport implements HttpTransport {
+
+  private static final Logger log = LoggerFactory.getLogger(RetryingTransport.class);
+
+  private final HttpTransport delegate;
+
+  /**
+   * policy of requests without one of their own, {@code null} to retry only
+   * those
+   */
+  private final RetryPolicy defaultPolicy;
+
+  private final RetryBudget budget;
+
+  /**
+   * schedules the retries of asynchronous requests
+   */
+  private final ScheduledExecutorService timer;
+
+  /**
+   * Constructor.
+   *
+   * @param delegate
+   *          the transport requests are sent through
+   * @param defaultPolicy
+   *          policy of requests without one of their own, {@code null} to
+   *          retry only those
+   * @param budget
+   *          caps the retries of all requests
+   */
+  public RetryingTransport(HttpTransport delegate, RetryPolicy defaultPolicy, RetryBudget budget) {
+    this.delegate = delegate;
+    this.defaultPolicy = defaultPolicy;
+    this.budget = budget;
+    this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "simplerestclient-retry");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public TransportResponse execute(TransportRequest request) throws RestClientException {
+    RetryPolicy policy = policyOf(request);
+    if (policy == null) {
+      return delegate.execute(request);
+    }
+
+    budget.deposit();
+    for (int attempt = 1;; attempt++) {
+      TransportResponse response;
+      try {
+        response = delegate.execute(request);
+      } catch (RuntimeException e) {
+        long delay = delayAfter(policy, attempt, e);
+        if (delay < 0 || budget.tryWithdraw() == false) {
+          throw e;
+        }
+        log.debug("retrying {} in {} ms after {}", request, delay, e.toString());
+        sleep(request, delay);
+        continue;
+      }
+
+      long delay = delayAfter(policy, attempt, response);
+      if (delay < 0 || budget.tryWithdraw() == false) {
+        return response;
+      }
+      log.debug("retrying {} in {} ms after status {}", request, delay, response.getStatus());
+      response.close();
+      sleep(request, delay);
+    }
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor blockingExecutor) {
+    RetryPolicy policy = policyOf(request);
+    if (policy == null) {
+      return delegate.executeAsync(request, blockingExecutor);
+    }
+
+    budget.deposit();
+    CompletableFuture<TransportResponse> result = new CompletableFuture<TransportResponse>();
+    attempt(request, policy, 1, blockingExecutor, result);
+    return result;
+  }
+
+  private void attempt(TransportRequest request, RetryPolicy policy, int attempt, Executor blockingExecutor,
+      CompletableFuture<TransportResponse> result) {
+    if (result.isDone()) {
+      // cancelled while waiting for the retry
+      return;
+    }
+    CompletableFuture<TransportResponse> exchange = delegate.executeAsync(request, blockingExecutor);
+    result.whenComplete((response, throwable) -> {
+      if (result.isCancelled()) {
+        exchange.cancel(true);
+      }
+    });
+
+    exchange.whenComplete((response, throwable) -> {
+      long delay;
+      if (throwable != null) {
+        delay = delayAfter(policy, attempt, throwable);
+        if (delay < 0 || result.isDone() || budget.tryWithdraw() == false) {
+          result.completeExceptionally(throwable);
+          return;
+        }
+        log.debug("retrying {} in {} ms after {}", request, delay, throwable.toString());
+      } else {
+        delay = delayAfter(policy, attempt, response);
+        if (delay < 0 || result.isDone() || budget.tryWithdraw() == false) {
+          response.deliverTo(result);
+          return;
+        }
+        log.debug("retrying {} in {} ms after status {}", request, delay, response.getStatus());
+        response.close();
+      }
+
+      try {
+        timer.schedule(() -> attempt(request, policy, attempt + 1, blockingExecutor, result), delay, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        result.completeExceptionally(new RestClientException("cannot retry request [" + request + "], transport is closed", e));
+      }
+    });
+  }
+
+  /**
+   * @return the policy of {@code request}, or {@code null} if it is not to be
+   *         retried at all
+   */
+  private RetryPolicy policyOf(TransportRequest request) {
+    RetryPolicy policy = request.getRetryPolicy() != null ? request.getRetryPolicy() : defaultPolicy;
+    return policy != null && policy.isRetryable(request.getMethod()) ? policy : null;
+  }
+
+  /**
+   * @return time to wait before retrying a request answered with
+   *         {@code response}, or {@code -1} if it is not to be retried
+   */
+  private static long delayAfter(RetryPolicy policy, int attempt, TransportResponse response) {
+    if (attempt >= policy.getMaxAttempts() || policy.isRetryable(response.getStatus()) == false) {
+      return -1;
+    }
+    String retryAfter = response.getHeader("Retry-After");
+    if (retryAfter != null) {
+      long retryAfterMillis = policy.retryAfterMillis(retryAfter);
+      if (retryAfterMillis != 0) {
+        return retryAfterMillis;
+      }
+    }
+    return policy.backoffMillis(attempt);
+  }
+
+  /**
+   * @return time to wait before retrying a request that failed with
+   *         {@code failure}, or {@code -1} if it is not to be retried
+   */
+  private static long delayAfter(RetryPolicy policy, int attempt, Throwable failure) {
+    if (attempt >= policy.getMaxAttempts() || Failures.isIoFailure(failure) == false) {
+      return -1;
+    }
+    return policy.backoffMillis(attempt);
+  }
+
+  private static void sleep(TransportRequest request, long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RestClientException("interrupted while waiting to retry request [" + request + "]", e);
+    }
+  }
+
+  @Override
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return delegate.getConnectionPoolStats();
+  }
+
+  @Override
+  public void close() {
+    timer.shutdownNow();
+    delegate.close();
+  }
+}
@@ -0,0 +1,72 @@
+package com.camunda.consulting.simplerestclient.transport;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolStats;
+
+/**
+ * This is the SPI a {@link com.camunda.consulting.simplerestclient.RestClient}
+ * sends its HTTP exchanges through. Implementations must be thread-safe.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public interface HttpTransport extends Closeable {
+
+  /**
+   * This sends a request and blocks until the response head has been received.
+   *
+   * @param request
+   *          the request to be sent
+   * @return the response, to be closed by the caller
+   * @throws RestClientException
+   *           if the exchange fails
+   */
+  TransportResponse execute(TransportRequest request) throws RestClientException;
+
+  /**
+   * This sends a request without blocking the calling thread. Blocking
+   * transports run {@link #execute(TransportRequest)} on
+   * {@code blockingExecutor}, non-blocking transports ignore it.
+   *
+   * @param request
+   *          the request to be sent
+   * @param blockingExecutor
+   *          executor to run blocking I/O on
+   * @return a future completed with the response, or exceptionally with a
+   *         {@link RestClientException}. Cancelling the future aborts the
+   *         exchange if the transport supports it.
+   */
+  default CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor blockingExecutor) {
+    CompletableFuture<TransportResponse> result = new CompletableFuture<TransportResponse>();
+    try {
+      blockingExecutor.execute(() -> {
+        if (result.isDone()) {
+          return;
+        }
+        try {
+          execute(request).deliverTo(result);
+        } catch (Throwable e) {
+          result.completeExceptionally(e);
+        }
+      });
+    } catch (RuntimeException e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  /**
+   * @return a snapshot of the occupancy of the transport's connection pool
+   */
+  ConnectionPoolStats getConnectionPoolStats();
+
+  /**
+   * This releases all connections of the transport.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,27 @@
+package com.camunda.consulting.simplerestclient.transport;
+
+import javax.net.ssl.SSLContext;
+
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolConfig;
+
+/**
+ * This creates the {@link HttpTransport} of a
+ * {@link com.camunda.consulting.simplerestclient.RestClient}. Built-in
+ * transports can be referenced by constructor, e.g.
+ * {@code builder.transport(NioTransport::new)}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+@FunctionalInterface
+public interface HttpTransportFactory {
+
+  /**
+   * @param connectionPoolConfig
+   *          settings of the connection pool
+   * @param sslContext
+   *          SSL context used for HTTPS connections
+   * @return a new transport
+   */
+  HttpTransport create(ConnectionPoolConfig connectionPoolConfig, SSLContext sslContext);
+}
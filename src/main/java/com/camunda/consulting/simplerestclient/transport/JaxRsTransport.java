@@ -0,0 +1,196 @@
+package com.camunda.consulting.simplerestclient.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.net.ssl.SSLContext;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation.Builder;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.jboss.resteasy.client.jaxrs.engines.ApacheHttpClient43Engine;
+import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPool;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolConfig;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolStats;
+
+/**
+ * This is the default, blocking {@link HttpTransport}. It sends requests
+ * through a JAX-RS {@link Client} on top of a pooled {@link ConnectionPool}, so
+ * every in-flight request holds the calling thread.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class JaxRsTransport implements HttpTransport {
+
+  private final ConnectionPool connectionPool;
+  private final Client client;
+
+  /**
+   * the Apache request of the invocation running on the current thread, used to
+   * abort its connection
+   */
+  private final ThreadLocal<HttpRequestBase> currentRequest = new ThreadLocal<HttpRequestBase>();
+
+  /**
+   * the entity of the invocation running on the current thread
+   */
+  private final ThreadLocal<RequestEntity> currentEntity = new ThreadLocal<RequestEntity>();
+
+  /**
+   * Constructor.
+   *
+   * @param connectionPoolConfig
+   *          settings of the connection pool
+   * @param sslContext
+   *          SSL context used for HTTPS connections
+   */
+  public JaxRsTransport(ConnectionPoolConfig connectionPoolConfig, SSLContext sslContext) {
+    this.connectionPool = new ConnectionPool(connectionPoolConfig, sslContext);
+    this.client = new ResteasyClientBuilder().httpEngine(new ApacheHttpClient43Engine(connectionPool.getHttpClient(), false) {
+      @Override
+      protected HttpRequestBase createHttpMethod(String url, String restVerb) {
+        HttpRequestBase httpMethod = super.createHttpMethod(url, restVerb);
+        currentRequest.set(httpMethod);
+        return httpMethod;
+      }
+
+      /**
+       * RESTEasy buffers entities to find out their length; this writes them
+       * straight to the connection instead.
+       */
+      @Override
+      protected HttpEntity buildEntity(ClientInvocation invocation) throws IOException {
+        RequestEntity entity = currentEntity.get();
+        if (entity == null) {
+          return super.buildEntity(invocation);
+        }
+        return new StreamingHttpEntity(entity);
+      }
+    }).build();
+  }
+
+  @Override
+  public TransportResponse execute(TransportRequest request) throws RestClientException {
+
+    Builder builder = client.target(request.getUri()).request();
+    builder.headers(request.getHeaders());
+
+    RequestEntity entity = request.getEntity();
+
+    try {
+      Response httpResponse;
+      if (entity == null) {
+        httpResponse = builder.method(request.getMethod());
+      } else {
+        currentEntity.set(entity);
+        StreamingOutput streamingOutput = entity::writeTo;
+        httpResponse = builder.method(request.getMethod(), Entity.entity(streamingOutput, entity.getContentType()));
+      }
+      HttpRequestBase httpMethod = currentRequest.get();
+      return adapt(httpResponse, httpMethod != null ? httpMethod::abort : null);
+    } catch (ProcessingException e) {
+      throw new RestClientException("cannot execute request [" + request + "]", e);
+    } finally {
+      currentRequest.remove();
+      currentEntity.remove();
+    }
+  }
+
+  /**
+   * This wraps a JAX-RS response whose entity has not been read yet.
+   *
+   * @param httpResponse
+   *          the JAX-RS response
+   * @return the transport response
+   */
+  public static TransportResponse adapt(Response httpResponse) {
+    return adapt(httpResponse, null);
+  }
+
+  private static TransportResponse adapt(Response httpResponse, Runnable abort) {
+    // hasEntity() cannot be used as it is false for bodies without media type
+    InputStream body;
+    try {
+      body = httpResponse.readEntity(InputStream.class);
+    } catch (ProcessingException e) {
+      if (e.getCause() instanceof IllegalStateException == false) {
+        throw e;
+      }
+      // the response has no body at all, e.g. 304 Not Modified
+      body = null;
+    }
+    return new TransportResponse(httpResponse.getStatus(), httpResponse.getStatusInfo().getReasonPhrase(), httpResponse.getStringHeaders(), body,
+        httpResponse::close, abort);
+  }
+
+  /**
+   * This sends a {@link RequestEntity} as it is written, in chunks if its
+   * length is unknown.
+   */
+  private static class StreamingHttpEntity extends AbstractHttpEntity {
+
+    private final RequestEntity entity;
+
+    StreamingHttpEntity(RequestEntity entity) {
+      this.entity = entity;
+      setContentType(entity.getContentType());
+      setContentEncoding(entity.getContentEncoding());
+      setChunked(entity.getContentLength() < 0);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+      return true;
+    }
+
+    @Override
+    public long getContentLength() {
+      return entity.getContentLength();
+    }
+
+    @Override
+    public InputStream getContent() {
+      throw new UnsupportedOperationException("entity can only be written");
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+      entity.writeTo(outputStream);
+    }
+
+    @Override
+    public boolean isStreaming() {
+      return false;
+    }
+  }
+
+  /**
+   * @return the JAX-RS client, e.g. to register providers
+   */
+  public Client getClient() {
+    return client;
+  }
+
+  @Override
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return connectionPool.getStats();
+  }
+
+  @Override
+  public void close() {
+    client.close();
+    connectionPool.close();
+  }
+}
@@ -0,0 +1,247 @@
+package com.camunda.consulting.simplerestclient.transport;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.entity.NByteArrayEntity;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPool;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolConfig;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolStats;
+import com.camunda.consulting.simplerestclient.util.BufferPool;
+
+/**
+ * This is a non-blocking {@link HttpTransport} based on NIO selectors. A few
+ * I/O dispatch threads (see {@link ConnectionPoolConfig#ioThreadCount(int)})
+ * multiplex all connections, so an in-flight request does not hold a thread
+ * when it is sent by {@link #executeAsync(TransportRequest, Executor)}.
+ * <p>
+ * Request entities are marshalled into a pooled buffer before sending and
+ * response bodies are buffered in memory before the future completes.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class NioTransport implements HttpTransport {
+
+  private static final Logger log = LoggerFactory.getLogger(NioTransport.class);
+
+  private final PoolingNHttpClientConnectionManager connectionManager;
+  private final CloseableHttpAsyncClient httpClient;
+
+  /**
+   * evicts idle and expired connections
+   */
+  private final ScheduledExecutorService connectionEvictor;
+
+  /**
+   * Constructor.
+   *
+   * @param connectionPoolConfig
+   *          settings of the connection pool
+   * @param sslContext
+   *          SSL context used for HTTPS connections
+   */
+  public NioTransport(ConnectionPoolConfig connectionPoolConfig, SSLContext sslContext) {
+
+    IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+        .setIoThreadCount(connectionPoolConfig.getIoThreadCount())
+        .setConnectTimeout((int) connectionPoolConfig.getConnectTimeoutMillis())
+        .setSoTimeout((int) connectionPoolConfig.getSocketTimeoutMillis())
+        .setTcpNoDelay(true)
+        .build();
+
+    Registry<SchemeIOSessionStrategy> sessionStrategyRegistry = RegistryBuilder.<SchemeIOSessionStrategy> create()
+        .register("http", NoopIOSessionStrategy.INSTANCE)
+        .register("https", new SSLIOSessionStrategy(sslContext))
+        .build();
+
+    try {
+      this.connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(ioReactorConfig), sessionStrategyRegistry);
+    } catch (IOReactorException e) {
+      throw new RestClientException("cannot start I/O reactor", e);
+    }
+    this.connectionManager.setMaxTotal(connectionPoolConfig.getMaxTotal());
+    this.connectionManager.setDefaultMaxPerRoute(connectionPoolConfig.getMaxPerRoute());
+
+    RequestConfig requestConfig = RequestConfig.custom()
+        .setConnectionRequestTimeout((int) connectionPoolConfig.getConnectionRequestTimeoutMillis())
+        .setConnectTimeout((int) connectionPoolConfig.getConnectTimeoutMillis())
+        .setSocketTimeout((int) connectionPoolConfig.getSocketTimeoutMillis())
+        .build();
+
+    this.httpClient = HttpAsyncClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(requestConfig)
+        .setKeepAliveStrategy(ConnectionPool.keepAliveStrategy(connectionPoolConfig.getKeepAliveMillis()))
+        // cookies are handled by the client's cookie store
+        .disableCookieManagement()
+        .build();
+    this.httpClient.start();
+
+    long maxIdleMillis = connectionPoolConfig.getMaxIdleMillis();
+    this.connectionEvictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "simplerestclient-nio-evictor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.connectionEvictor.scheduleWithFixedDelay(() -> {
+      connectionManager.closeExpiredConnections();
+      connectionManager.closeIdleConnections(maxIdleMillis, TimeUnit.MILLISECONDS);
+    }, maxIdleMillis, maxIdleMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public TransportResponse execute(TransportRequest request) throws RestClientException {
+    try {
+      return executeAsync(request, null).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RestClientException) {
+        throw (RestClientException) e.getCause();
+      }
+      throw new RestClientException("cannot execute request [" + request + "]", e.getCause());
+    }
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor blockingExecutor) {
+
+    CompletableFuture<TransportResponse> result = new CompletableFuture<TransportResponse>();
+
+    RequestBuilder requestBuilder = RequestBuilder.create(request.getMethod()).setUri(request.getUri());
+    for (Map.Entry<String, List<Object>> header : request.getHeaders().entrySet()) {
+      for (Object value : header.getValue()) {
+        requestBuilder.addHeader(header.getKey(), String.valueOf(value));
+      }
+    }
+
+    // the entity is marshalled into a pooled buffer which is released once the
+    // exchange is over
+    BufferPool.Buffer buffer = null;
+    RequestEntity entity = request.getEntity();
+    if (entity != null) {
+      buffer = BufferPool.DEFAULT.acquire();
+      try {
+        entity.writeTo(buffer);
+        NByteArrayEntity byteArrayEntity = new NByteArrayEntity(buffer.array(), 0, buffer.size(), ContentType.parse(entity.getContentType()));
+        byteArrayEntity.setContentEncoding(entity.getContentEncoding());
+        requestBuilder.setEntity(byteArrayEntity);
+      } catch (IOException e) {
+        buffer.release();
+        result.completeExceptionally(new RestClientException("cannot write entity of request [" + request + "]", e));
+        return result;
+      }
+    }
+    BufferPool.Buffer entityBuffer = buffer;
+
+    Future<HttpResponse> exchange = httpClient.execute(requestBuilder.build(), new FutureCallback<HttpResponse>() {
+
+      @Override
+      public void completed(HttpResponse httpResponse) {
+        releaseEntityBuffer();
+        TransportResponse response;
+        try {
+          response = adapt(httpResponse);
+        } catch (RuntimeException e) {
+          // thrown on the I/O thread, nobody would see it
+          result.completeExceptionally(e);
+          return;
+        }
+        response.deliverTo(result);
+      }
+
+      @Override
+      public void failed(Exception e) {
+        releaseEntityBuffer();
+        result.completeExceptionally(new RestClientException("cannot execute request [" + request + "]", e));
+      }
+
+      @Override
+      public void cancelled() {
+        // the buffer is not released as the I/O thread may still be sending it
+        result.cancel(false);
+      }
+
+      private void releaseEntityBuffer() {
+        if (entityBuffer != null) {
+          entityBuffer.release();
+        }
+      }
+    });
+
+    result.whenComplete((response, throwable) -> {
+      if (result.isCancelled()) {
+        exchange.cancel(true);
+      }
+    });
+
+    return result;
+  }
+
+  private TransportResponse adapt(HttpResponse httpResponse) {
+
+    MultivaluedMap<String, String> headers = new MultivaluedHashMap<String, String>();
+    for (Header header : httpResponse.getAllHeaders()) {
+      headers.add(header.getName(), header.getValue());
+    }
+
+    HttpEntity entity = httpResponse.getEntity();
+    try {
+      return new TransportResponse(httpResponse.getStatusLine().getStatusCode(), httpResponse.getStatusLine().getReasonPhrase(), headers,
+          entity != null ? entity.getContent() : null, () -> {
+          });
+    } catch (IOException e) {
+      throw new RestClientException("cannot read response body", e);
+    }
+  }
+
+  @Override
+  public ConnectionPoolStats getConnectionPoolStats() {
+    PoolStats totalStats = connectionManager.getTotalStats();
+    return new ConnectionPoolStats(totalStats.getLeased(), totalStats.getPending(), totalStats.getAvailable(), totalStats.getMax());
+  }
+
+  @Override
+  public void close() {
+    connectionEvictor.shutdownNow();
+    try {
+      httpClient.close();
+    } catch (IOException e) {
+      log.warn("exception while closing non-blocking transport", e);
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package com.camunda.consulting.simplerestclient.transport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * This represents the entity body of a {@link TransportRequest}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public interface RequestEntity {
+
+  /**
+   * @return the media type of the entity
+   */
+  String getContentType();
+
+  /**
+   * @return the length of the entity in bytes, or {@code -1} if unknown
+   */
+  long getContentLength();
+
+  /**
+   * @return the content coding the entity is encoded with, {@code null} if it
+   *         is not encoded
+   */
+  default String getContentEncoding() {
+    return null;
+  }
+
+  /**
+   * This writes the entity to {@code outputStream}.
+   *
+   * @param outputStream
+   *          the stream to write to
+   * @throws IOException
+   *           if writing fails
+   */
+  void writeTo(OutputStream outputStream) throws IOException;
+
+  /**
+   * @param bytes
+   *          the entity
+   * @param contentType
+   *          media type of the entity
+   * @return an entity backed by {@code bytes}
+   */
+  static RequestEntity of(byte[] bytes, String contentType) {
+    return of(bytes, contentType, null);
+  }
+
+  /**
+   * @param bytes
+   *          the encoded entity
+   * @param contentType
+   *          media type of the entity
+   * @param contentEncoding
+   *          content coding of {@code bytes}, {@code null} if not encoded
+   * @return an entity backed by {@code bytes}
+   */
+  static RequestEntity of(byte[] bytes, String contentType, String contentEncoding) {
+    return new RequestEntity() {
+
+      @Override
+      public String getContentType() {
+        return contentType;
+      }
+
+      @Override
+      public String getContentEncoding() {
+        return contentEncoding;
+      }
+
+      @Override
+      public long getContentLength() {
+        return bytes.length;
+      }
+
+      @Override
+      public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(bytes);
+      }
+    };
+  }
+
+  /**
+   * @param writer
+   *          writes the entity each time it is sent
+   * @param contentType
+   *          media type of the entity
+   * @return an entity of unknown length that is written straight to the
+   *         connection
+   */
+  static RequestEntity streaming(EntityWriter writer, String contentType) {
+    return new RequestEntity() {
+
+      @Override
+      public String getContentType() {
+        return contentType;
+      }
+
+      @Override
+      public long getContentLength() {
+        return -1;
+      }
+
+      @Override
+      public void writeTo(OutputStream outputStream) throws IOException {
+        writer.writeTo(outputStream);
+      }
+    };
+  }
+
+  /**
+   * This writes an entity to a stream.
+   */
+  @FunctionalInterface
+  interface EntityWriter {
+
+    /**
+     * @param outputStream
+     *          the stream to write to, not to be closed
+     * @throws IOException
+     *           if writing fails
+     */
+    void writeTo(OutputStream outputStream) throws IOException;
+  }
+
+  /**
+   * @param formData
+   *          key value pairs to be sent
+   * @return an {@code application/x-www-form-urlencoded} entity
+   */
+  static RequestEntity form(MultivaluedMap<String, String> formData) {
+    StringBuilder form = new StringBuilder();
+    try {
+      Iterator<Map.Entry<String, List<String>>> entries = formData.entrySet().iterator();
+      while (entries.hasNext()) {
+        Map.Entry<String, List<String>> entry = entries.next();
+        String key = URLEncoder.encode(entry.getKey(), "UTF-8");
+        for (Iterator<String> values = entry.getValue().iterator(); values.hasNext();) {
+          form.append(key).append('=').append(URLEncoder.encode(values.next(), "UTF-8"));
+          if (values.hasNext()) {
+            form.append('&');
+          }
+        }
+        if (entries.hasNext()) {
+          form.append('&');
+        }
+      }
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+    return of(form.toString().getBytes(StandardCharsets.UTF_8), MediaType.APPLICATION_FORM_URLENCODED);
+  }
+}
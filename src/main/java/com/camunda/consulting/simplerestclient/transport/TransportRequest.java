@@ -0,0 +1,120 @@
+package com.camunda.consulting.simplerestclient.transport;
+
+import java.net.URI;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+import com.camunda.consulting.simplerestclient.retry.RetryPolicy;
+
+/**
+ * This represents an HTTP request as it is handed to an {@link HttpTransport}.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class TransportRequest {
+
+  /**
+   * HTTP method, e.g. {@code GET}
+   */
+  private final String method;
+
+  /**
+   * absolute URI the request is sent to
+   */
+  private final URI uri;
+
+  /**
+   * resturi-relative endpoint the request was created for, see
+   * {@link com.camunda.consulting.simplerestclient.request.Request#getEndpoint()}
+   */
+  private final String endpoint;
+
+  /**
+   * headers to be sent in the request
+   */
+  private final MultivaluedMap<String, Object> headers;
+
+  /**
+   * the entity body, {@code null} if the request has none
+   */
+  private final RequestEntity entity;
+
+  /**
+   * retry policy overriding the client's, {@code null} to use the client's
+   */
+  private final RetryPolicy retryPolicy;
+
+  /**
+   * Constructor.
+   *
+   * @param method
+   *          HTTP method
+   * @param uri
+   *          absolute URI the request is sent to
+   * @param endpoint
+   *          resturi-relative endpoint the request was created for
+   * @param headers
+   *          headers to be sent in the request
+   * @param entity
+   *          the entity body, may be {@code null}
+   */
+  public TransportRequest(String method, URI uri, String endpoint, MultivaluedMap<String, Object> headers, RequestEntity entity) {
+    this(method, uri, endpoint, headers, entity, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param method
+   *          HTTP method
+   * @param uri
+   *          absolute URI the request is sent to
+   * @param endpoint
+   *          resturi-relative endpoint the request was created for
+   * @param headers
+   *          headers to be sent in the request
+   * @param entity
+   *          the entity body, may be {@code null}
+   * @param retryPolicy
+   *          retry policy overriding the client's, may be {@code null}
+   */
+  public TransportRequest(String method, URI uri, String endpoint, MultivaluedMap<String, Object> headers, RequestEntity entity,
+      RetryPolicy retryPolicy) {
+    this.method = method;
+    this.uri = uri;
+    this.endpoint = endpoint;
+    this.headers = headers;
+    this.entity = entity;
+    this.retryPolicy = retryPolicy;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public URI getUri() {
+    return uri;
+  }
+
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  public MultivaluedMap<String, Object> getHeaders() {
+    return headers;
+  }
+
+  public RequestEntity getEntity() {
+    return entity;
+  }
+
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  @Override
+  public String toString() {
+    return method + " " + uri;
+  }
+}
@@ -0,0 +1,230 @@
+package com.camunda.consulting.simplerestclient.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This represents an HTTP response as it is returned by an
+ * {@link HttpTransport}. The body is an unread stream; closing the response
+ * releases the underlying connection, {@link #abort() aborting} it discards the
+ * connection without reading the rest of the body.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class TransportResponse implements Closeable {
+
+  private static final Logger log = LoggerFactory.getLogger(TransportResponse.class);
+
+  private static final InputStream EMPTY_BODY = new ByteArrayInputStream(new byte[0]);
+
+  private final int status;
+  private final String reasonPhrase;
+  private final MultivaluedMap<String, String> headers;
+  private final InputStream body;
+
+  /**
+   * releases the underlying connection
+   */
+  private final Closeable release;
+
+  /**
+   * shuts down the underlying connection, may be {@code null}
+   */
+  private final Runnable abort;
+
+  /**
+   * Constructor.
+   *
+   * @param status
+   *          HTTP status code
+   * @param reasonPhrase
+   *          HTTP reason phrase
+   * @param headers
+   *          response headers
+   * @param body
+   *          the unread body, may be {@code null} if the response has none
+   * @param release
+   *          releases the underlying connection
+   */
+  public TransportResponse(int status, String reasonPhrase, MultivaluedMap<String, String> headers, InputStream body, Closeable release) {
+    this(status, reasonPhrase, headers, body, release, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param status
+   *          HTTP status code
+   * @param reasonPhrase
+   *          HTTP reason phrase
+   * @param headers
+   *          response headers
+   * @param body
+   *          the unread body, may be {@code null} if the response has none
+   * @param release
+   *          releases the underlying connection
+   * @param abort
+   *          shuts down the underlying connection, may be {@code null} if the
+   *          body is not read from the connection
+   */
+  public TransportResponse(int status, String reasonPhrase, MultivaluedMap<String, String> headers, InputStream body, Closeable release,
+      Runnable abort) {
+    this.status = status;
+    this.reasonPhrase = reasonPhrase;
+    this.headers = headers;
+    this.body = body != null ? body : EMPTY_BODY;
+    this.release = release;
+    this.abort = abort;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+
+  public String getReasonPhrase() {
+    return reasonPhrase;
+  }
+
+  public MultivaluedMap<String, String> getHeaders() {
+    return headers;
+  }
+
+  /**
+   * @param name
+   *          header name, case-insensitive
+   * @return the first value of the header or {@code null}
+   */
+  public String getHeader(String name) {
+    for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+      if (header.getKey().equalsIgnoreCase(name) && header.getValue().isEmpty() == false) {
+        return header.getValue().get(0);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the charset denoted by the {@code Content-Type} header, UTF-8 if
+   *         none is denoted
+   */
+  public Charset getCharset() {
+    String contentType = getHeader("Content-Type");
+    if (contentType != null) {
+      for (String parameter : contentType.split(";")) {
+        String[] keyValue = parameter.trim().split("=", 2);
+        if (keyValue.length == 2 && keyValue[0].equalsIgnoreCase("charset")) {
+          try {
+            return Charset.forName(keyValue[1].replace("\"", "").trim());
+          } catch (IllegalArgumentException e) {
+            log.warn("unsupported charset in Content-Type [{}], falling back to UTF-8", contentType);
+          }
+        }
+      }
+    }
+    return StandardCharsets.UTF_8;
+  }
+
+  /**
+   * @return the unread body
+   */
+  public InputStream getBody() {
+    return body;
+  }
+
+  /**
+   * This returns a response that runs {@code action} once, after this
+   * response has been released.
+   *
+   * @param action
+   *          the action to run on close
+   * @return the response
+   */
+  public TransportResponse onClose(Runnable action) {
+    AtomicBoolean closed = new AtomicBoolean(false);
+    return new TransportResponse(status, reasonPhrase, headers, body, () -> {
+      if (closed.compareAndSet(false, true)) {
+        try {
+          this.close();
+        } finally {
+          action.run();
+        }
+      }
+    }, abort);
+  }
+
+  /**
+   * This returns a response reading {@code body} instead, e.g. a decoding
+   * stream wrapping the body of this response. Closing it closes {@code body}
+   * and releases this response.
+   *
+   * @param body
+   *          the new body
+   * @param headers
+   *          the headers describing the new body
+   * @return the response
+   */
+  public TransportResponse withBody(InputStream body, MultivaluedMap<String, String> headers) {
+    return new TransportResponse(status, reasonPhrase, headers, body, this, abort);
+  }
+
+  /**
+   * This completes {@code future} with this response, or releases the
+   * response if nobody is waiting for it anymore because {@code future} has
+   * already been completed, e.g. cancelled.
+   *
+   * @param future
+   *          the future to complete
+   */
+  public void deliverTo(CompletableFuture<TransportResponse> future) {
+    if (future.complete(this) == false) {
+      close();
+    }
+  }
+
+  /**
+   * This releases the response without reading the rest of the body. The
+   * underlying connection is shut down instead of being returned to the pool,
+   * which is cheaper than draining a large body that is not needed anymore.
+   */
+  public void abort() {
+    if (abort != null) {
+      try {
+        abort.run();
+      } catch (RuntimeException e) {
+        log.debug("exception while aborting response", e);
+      }
+    }
+    close();
+  }
+
+  @Override
+  public void close() {
+    try {
+      body.close();
+    } catch (IOException e) {
+      log.debug("exception while closing response body", e);
+    } finally {
+      if (release != null) {
+        try {
+          release.close();
+        } catch (IOException e) {
+          log.debug("exception while releasing response", e);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.camunda.consulting.simplerestclient.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * This pools growable byte buffers for marshalling entities whose length must
+ * be known before they are sent. A released buffer keeps its capacity, so
+ * marshalling large entities repeatedly does not allocate a new array each
+ * time. Instances are thread-safe.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class BufferPool {
+
+  /**
+   * pool shared by all transports, keeping up to 8 buffers of up to 256 KB,
+   * so it retains at most 2 MB; larger buffers are left to the garbage
+   * collector
+   */
+  public static final BufferPool DEFAULT = new BufferPool(8, 256 * 1024);
+
+  private final BlockingQueue<Buffer> buffers;
+  private final int maxRetainedCapacity;
+
+  /**
+   * Constructor.
+   *
+   * @param maxBuffers
+   *          the maximum number of idle buffers kept
+   * @param maxRetainedCapacity
+   *          buffers grown beyond this capacity in bytes are dropped on release
+   */
+  public BufferPool(int maxBuffers, int maxRetainedCapacity) {
+    this.buffers = new ArrayBlockingQueue<Buffer>(maxBuffers);
+    this.maxRetainedCapacity = maxRetainedCapacity;
+  }
+
+  /**
+   * @return an empty buffer, to be released after use
+   */
+  public Buffer acquire() {
+    Buffer buffer = buffers.poll();
+    return buffer != null ? buffer : new Buffer();
+  }
+
+  /**
+   * This is a {@link ByteArrayOutputStream} whose array is accessible without
+   * copying. It is used by one thread at a time, so unlike its superclass it
+   * does not synchronize writes.
+   */
+  public class Buffer extends ByteArrayOutputStream {
+
+    private Buffer() {
+      super(8192);
+    }
+
+    @Override
+    public void write(int b) {
+      ensureCapacity(count + 1);
+      buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      if (off < 0 || len < 0 || len > b.length - off) {
+        throw new IndexOutOfBoundsException();
+      }
+      ensureCapacity(count + len);
+      System.arraycopy(b, off, buf, count, len);
+      count += len;
+    }
+
+    @Override
+    public int size() {
+      return count;
+    }
+
+    @Override
+    public void reset() {
+      count = 0;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+      return Arrays.copyOf(buf, count);
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity < 0) {
+        throw new OutOfMemoryError("buffer too large");
+      }
+      if (capacity > buf.length) {
+        buf = Arrays.copyOf(buf, Math.max(buf.length << 1, capacity));
+      }
+    }
+
+    /**
+     * @return the backing array; valid up to {@link #size()} and only until
+     *         the buffer is released
+     */
+    public byte[] array() {
+      return buf;
+    }
+
+    /**
+     * This returns the buffer to its pool. It must not be used afterwards.
+     */
+    public void release() {
+      if (buf.length <= maxRetainedCapacity) {
+        reset();
+        buffers.offer(this);
+      }
+    }
+  }
+}
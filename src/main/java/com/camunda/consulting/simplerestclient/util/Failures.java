@@ -0,0 +1,38 @@
+package com.camunda.consulting.simplerestclient.util;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+/**
+ * This classifies the failures of exchanges for the transports reacting to
+ * them.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public final class Failures {
+
+  private Failures() {
+  }
+
+  /**
+   * @param failure
+   *          the failure of an exchange
+   * @return {@code true} if {@code failure} was caused by an I/O error, e.g. a
+   *         connection reset or timeout, and so tells about the server or the
+   *         network rather than about the request
+   */
+  public static boolean isIoFailure(Throwable failure) {
+    for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+      if (cause instanceof JsonProcessingException) {
+        // the entity cannot be written, which is the request's fault
+        return false;
+      }
+      if (cause instanceof IOException) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
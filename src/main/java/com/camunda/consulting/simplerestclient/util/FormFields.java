@@ -0,0 +1,173 @@
+package com.camunda.consulting.simplerestclient.util;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * This converts objects into url-encoded form data. Each declared field of a
+ * class that has a getter and a {@link JsonProperty} annotation becomes a form
+ * field named by the annotation.
+ * <p>
+ * The fields and getters of a class are looked up once; getters are then
+ * called through generated lambdas, or through method handles where a lambda
+ * cannot be linked, e.g. for classes not visible to this class.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public final class FormFields {
+
+  private static final Logger log = LoggerFactory.getLogger(FormFields.class);
+
+  private static final ClassValue<Accessor[]> ACCESSORS = new ClassValue<Accessor[]>() {
+
+    @Override
+    protected Accessor[] computeValue(Class<?> type) {
+      return createAccessors(type);
+    }
+  };
+
+  private FormFields() {
+  }
+
+  /**
+   * @param object
+   *          the object to be converted
+   * @return the values of the form fields of {@code object} that are not
+   *         {@code null}, by field name, in declaration order
+   */
+  public static Map<String, String> toMap(Object object) {
+    Accessor[] accessors = ACCESSORS.get(object.getClass());
+    Map<String, String> result = new LinkedHashMap<String, String>(accessors.length * 2);
+    for (Accessor accessor : accessors) {
+      Object value;
+      try {
+        value = accessor.getter.apply(object);
+      } catch (Exception e) {
+        log.warn("exception during invocation of '{}' from object '{}'", accessor.fieldName, object, e);
+        continue;
+      }
+      if (value != null) {
+        result.put(accessor.name, value.toString());
+      }
+    }
+    return result;
+  }
+
+  private static Accessor[] createAccessors(Class<?> type) {
+    Method[] methods = type.getMethods();
+    List<Accessor> accessors = new ArrayList<Accessor>();
+
+    for (Field field : type.getDeclaredFields()) {
+      Method getter = findGetter(methods, field.getName());
+      if (getter == null) {
+        continue;
+      }
+      JsonProperty jsonProperty = field.getAnnotation(JsonProperty.class);
+      if (jsonProperty == null) {
+        log.warn("field '{}' of {} has a getter but no @JsonProperty, it is not sent as form data", field.getName(), type.getName());
+        continue;
+      }
+      accessors.add(new Accessor(field.getName(), jsonProperty.value(), compile(getter)));
+    }
+    return accessors.toArray(new Accessor[accessors.size()]);
+  }
+
+  private static Method findGetter(Method[] methods, String fieldName) {
+    String getterName = "get" + fieldName;
+    for (Method method : methods) {
+      if (method.getParameterCount() == 0 && method.getName().equalsIgnoreCase(getterName)) {
+        return method;
+      }
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> compile(Method getter) {
+    MethodHandle handle;
+    try {
+      getter.setAccessible(true);
+      handle = MethodHandles.lookup().unreflect(getter);
+    } catch (RuntimeException | IllegalAccessException e) {
+      log.debug("cannot create a method handle for {}, using reflection", getter, e);
+      return object -> {
+        try {
+          return getter.invoke(object);
+        } catch (ReflectiveOperationException invocationFailure) {
+          throw new IllegalStateException(invocationFailure);
+        }
+      };
+    }
+
+    if (Modifier.isPublic(getter.getDeclaringClass().getModifiers()) && isVisible(getter.getDeclaringClass())) {
+      try {
+        CallSite site = LambdaMetafactory.metafactory(MethodHandles.lookup(), "apply", MethodType.methodType(Function.class),
+            MethodType.methodType(Object.class, Object.class), handle, MethodType.methodType(getter.getReturnType().isPrimitive()
+                ? box(getter.getReturnType()) : getter.getReturnType(), getter.getDeclaringClass()));
+        return (Function<Object, Object>) site.getTarget().invokeExact();
+      } catch (Throwable e) {
+        log.debug("cannot link a lambda for {}, using a method handle", getter, e);
+      }
+    }
+
+    MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+    return object -> {
+      try {
+        return generic.invokeExact(object);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    };
+  }
+
+  /**
+   * @return {@code true} if lambdas defined by this class can link against
+   *         {@code type}
+   */
+  private static boolean isVisible(Class<?> type) {
+    try {
+      return Class.forName(type.getName(), false, FormFields.class.getClassLoader()) == type;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  private static Class<?> box(Class<?> primitive) {
+    return MethodType.methodType(primitive).wrap().returnType();
+  }
+
+  /**
+   * This reads one form field.
+   */
+  private static class Accessor {
+
+    private final String fieldName;
+    private final String name;
+    private final Function<Object, Object> getter;
+
+    Accessor(String fieldName, String name, Function<Object, Object> getter) {
+      this.fieldName = fieldName;
+      this.name = name;
+      this.getter = getter;
+    }
+  }
+}
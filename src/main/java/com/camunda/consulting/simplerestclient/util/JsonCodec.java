@@ -0,0 +1,90 @@
+package com.camunda.consulting.simplerestclient.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * This wraps a configured {@link ObjectMapper} and caches the
+ * {@link JavaType}s, {@link ObjectReader}s and {@link ObjectWriter}s built from
+ * it, so marshalling a type costs no mapper or serializer lookup after the
+ * first time. Instances are thread-safe; the mapper must not be reconfigured
+ * once it is wrapped.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class JsonCodec {
+
+  /**
+   * codec of a default {@link ObjectMapper}, shared by all requests and
+   * responses without a custom mapper
+   */
+  public static final JsonCodec DEFAULT = new JsonCodec(new ObjectMapper());
+
+  private final ObjectMapper mapper;
+
+  private final ConcurrentMap<Class<?>, JavaType> types = new ConcurrentHashMap<Class<?>, JavaType>();
+  private final ConcurrentMap<JavaType, ObjectReader> readers = new ConcurrentHashMap<JavaType, ObjectReader>();
+  private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<Class<?>, ObjectWriter>();
+
+  /**
+   * Constructor.
+   *
+   * @param mapper
+   *          the configured mapper
+   */
+  public JsonCodec(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+
+  /**
+   * @param type
+   *          a class
+   * @return the {@link JavaType} of {@code type}
+   */
+  public JavaType typeOf(Class<?> type) {
+    JavaType javaType = types.get(type);
+    return javaType != null ? javaType : types.computeIfAbsent(type, key -> mapper.getTypeFactory().constructType(key));
+  }
+
+  /**
+   * @param type
+   *          type to be unmarshalled
+   * @return a reader for {@code type}
+   */
+  public ObjectReader readerFor(JavaType type) {
+    ObjectReader reader = readers.get(type);
+    return reader != null ? reader : readers.computeIfAbsent(type, mapper::readerFor);
+  }
+
+  /**
+   * @param type
+   *          type to be marshalled
+   * @return a writer for {@code type}
+   */
+  public ObjectWriter writerFor(Class<?> type) {
+    ObjectWriter writer = writers.get(type);
+    return writer != null ? writer : writers.computeIfAbsent(type, mapper::writerFor);
+  }
+
+  /**
+   * A JSON array is bound to a collection or array type as a whole, and to any
+   * other type, including maps, element by element.
+   *
+   * @param type
+   *          type to be unmarshalled
+   * @return {@code true} if a JSON array is bound to {@code type} as a whole
+   */
+  public static boolean bindsArray(JavaType type) {
+    return type.isCollectionLikeType() || type.isArrayType();
+  }
+
+  public ObjectMapper getMapper() {
+    return mapper;
+  }
+}
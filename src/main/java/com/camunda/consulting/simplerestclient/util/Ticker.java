@@ -0,0 +1,23 @@
+package com.camunda.consulting.simplerestclient.util;
+
+/**
+ * This is the source of time of the limiters and budgets pacing requests, so
+ * they can be driven by a fake time in tests.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+@FunctionalInterface
+public interface Ticker {
+
+  /**
+   * the time of the JVM, see {@link System#nanoTime()}
+   */
+  Ticker SYSTEM = System::nanoTime;
+
+  /**
+   * @return the current time in nanoseconds, only meaningful as a difference to
+   *         an earlier value
+   */
+  long nanoTime();
+}
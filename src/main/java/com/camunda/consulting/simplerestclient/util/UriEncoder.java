@@ -0,0 +1,146 @@
+package com.camunda.consulting.simplerestclient.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This percent-encodes URI components (RFC 3986) straight into a
+ * {@link StringBuilder}. Strings that need no encoding, which are the vast
+ * majority, are appended as they are without allocating.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public final class UriEncoder {
+
+  private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+  private static final boolean[] PATH = new boolean[128];
+  private static final boolean[] PATH_SEGMENT = new boolean[128];
+  private static final boolean[] QUERY = new boolean[128];
+
+  static {
+    String unreserved = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-._~";
+    allow(PATH_SEGMENT, unreserved + "!$&'()*+,;=:@");
+    allow(PATH, unreserved + "!$&'()*+,;=:@/");
+    // as encoded by JAX-RS UriBuilder.queryParam(...)
+    allow(QUERY, unreserved + "*?");
+  }
+
+  private UriEncoder() {
+  }
+
+  /**
+   * This appends a path, keeping its {@code '/'} delimiters and escape
+   * sequences already present.
+   *
+   * @param target
+   *          the builder to append to
+   * @param path
+   *          the path
+   * @return {@code target}
+   */
+  public static StringBuilder appendPath(StringBuilder target, String path) {
+    return append(target, path, PATH, true);
+  }
+
+  /**
+   * This appends a single path segment, e.g. the value of a template variable.
+   * Every {@code '/'} and {@code '%'} is encoded.
+   *
+   * @param target
+   *          the builder to append to
+   * @param segment
+   *          the path segment
+   * @return {@code target}
+   */
+  public static StringBuilder appendPathSegment(StringBuilder target, String segment) {
+    return append(target, segment, PATH_SEGMENT, false);
+  }
+
+  /**
+   * This appends the name or value of a query parameter, keeping escape
+   * sequences already present. Spaces become {@code '+'}.
+   *
+   * @param target
+   *          the builder to append to
+   * @param nameOrValue
+   *          name or value of the parameter
+   * @return {@code target}
+   */
+  public static StringBuilder appendQueryParameter(StringBuilder target, String nameOrValue) {
+    return append(target, nameOrValue, QUERY, true);
+  }
+
+  /**
+   * @param path
+   *          the path
+   * @return the path encoded as by {@link #appendPath(StringBuilder, String)}
+   */
+  public static String encodePath(String path) {
+    if (isAllowed(path, PATH, true)) {
+      return path;
+    }
+    return appendPath(new StringBuilder(path.length() + 16), path).toString();
+  }
+
+  private static StringBuilder append(StringBuilder target, String value, boolean[] allowed, boolean keepEscapes) {
+    if (isAllowed(value, allowed, keepEscapes)) {
+      return target.append(value);
+    }
+
+    int length = value.length();
+    int i = 0;
+    while (i < length) {
+      char c = value.charAt(i);
+      if (c < 128) {
+        if (allowed[c] || keepEscapes && isEscape(value, i)) {
+          target.append(c);
+        } else if (c == ' ' && allowed == QUERY) {
+          target.append('+');
+        } else {
+          appendEscaped(target, c);
+        }
+        i++;
+      } else {
+        // non-ASCII characters are encoded as UTF-8, surrogate pairs included
+        int end = i + 1;
+        while (end < length && value.charAt(end) >= 128) {
+          end++;
+        }
+        for (byte b : value.substring(i, end).getBytes(StandardCharsets.UTF_8)) {
+          appendEscaped(target, b & 0xFF);
+        }
+        i = end;
+      }
+    }
+    return target;
+  }
+
+  private static boolean isAllowed(String value, boolean[] allowed, boolean keepEscapes) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c >= 128 || allowed[c] == false && (keepEscapes == false || isEscape(value, i) == false)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isEscape(String value, int index) {
+    return value.charAt(index) == '%' && index + 2 < value.length() && isHex(value.charAt(index + 1)) && isHex(value.charAt(index + 2));
+  }
+
+  private static boolean isHex(char c) {
+    return c >= '0' && c <= '9' || c >= 'A' && c <= 'F' || c >= 'a' && c <= 'f';
+  }
+
+  private static void appendEscaped(StringBuilder target, int b) {
+    target.append('%').append(HEX[b >> 4]).append(HEX[b & 0xF]);
+  }
+
+  private static void allow(boolean[] table, String characters) {
+    for (int i = 0; i < characters.length(); i++) {
+      table[characters.charAt(i)] = true;
+    }
+  }
+}
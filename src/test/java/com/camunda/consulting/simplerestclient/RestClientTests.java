@@ -1,27 +1,146 @@
 package com.camunda.consulting.simplerestclient;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.InputStream;
+import java.security.KeyStore;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
 import com.camunda.consulting.simplerestclient.request.Request;
+import com.camunda.consulting.simplerestclient.request.RequestWithBody;
 import com.camunda.consulting.simplerestclient.response.Response;
+import com.camunda.consulting.simplerestclient.response.ResponseWithBody;
+import com.camunda.consulting.simplerestclient.testsupport.StubResponse;
+import com.camunda.consulting.simplerestclient.testsupport.StubServer;
+import com.camunda.consulting.simplerestclient.transport.NioTransport;
 
 public class RestClientTests {
 
+  @Test
+  @SuppressWarnings("rawtypes")
+  public void testGet() throws Exception {
+    try (StubServer server = StubServer.http().stub("/process-instance", new StubResponse().body("{\"id\":\"4711\"}"));
+        RestClient restClient = new RestClient(server.getUri())) {
+
+      ResponseWithBody<HashMap> response = restClient.get(restClient.newRequest("process-instance"), HashMap.class);
+
+      assertThat(response.getStatusCode(), is(200));
+      assertThat(response.getSingleResult().get("id"), is("4711"));
+    }
+  }
+
+  @Test
+  @SuppressWarnings("rawtypes")
+  public void testGetWithNioTransport() throws Exception {
+    try (StubServer server = StubServer.http().stub("/process-instance", new StubResponse().body("{\"id\":\"4711\"}"));
+        RestClient restClient = RestClient.builder(server.getUri()).transport(NioTransport::new).build()) {
+
+      ResponseWithBody<HashMap> response = restClient.getAsync(restClient.newRequest("process-instance"), HashMap.class).get();
+
+      assertThat(response.getStatusCode(), is(200));
+      assertThat(response.getSingleResult().get("id"), is("4711"));
+    }
+  }
+
+  @Test
+  @SuppressWarnings("rawtypes")
+  public void testPost() throws Exception {
+    try (StubServer server = StubServer.http().stub("POST", "/message", new StubResponse().echo());
+        RestClient restClient = new RestClient(server.getUri())) {
+
+      HashMap<String, Object> message = new HashMap<String, Object>();
+      message.put("messageName", "order-received");
+      RequestWithBody request = restClient.newRequestWithBody("message", message);
+      ResponseWithBody<HashMap> response = restClient.post(request, HashMap.class);
+
+      assertThat(response.getStatusCode(), is(200));
+      assertThat(response.getSingleResult().get("messageName"), is("order-received"));
+      assertThat(server.getRequests(), is(1L));
+    }
+  }
+
   @Test
   public void testGetWithClientCertificate() throws Exception {
-    
-    String keystoreLocation = "/badssl.com-client.p12";
-    String keystorePassword = "badssl.com";
-    
-    RestClient restClient = new RestClient("https://client.badssl.com", keystoreLocation, keystorePassword);
-    
-    Request request = restClient.newRequest("");
-    Response response = restClient.get(request);
-    Integer statusCode = response.getStatusCode();
-    
-    assertThat(statusCode, is(200));   
+    KeyStore serverKeystore = readKeystore("/stub-server.p12", "stubserver");
+    KeyStore clientKeystore = readKeystore("/stub-client.p12", "stubclient");
+
+    try (StubServer server = StubServer.https(StubServer.sslContext(serverKeystore, "stubserver", clientKeystore), true);
+        RestClient restClient = RestClient.builder(server.getUri())
+            .keystore("/stub-client.p12", "stubclient")
+            .truststore(serverKeystore)
+            .build()) {
+
+      Response response = restClient.get(restClient.newRequest(""));
+
+      assertThat(response.getStatusCode(), is(404));
+      assertThat(server.getRequests(), is(1L));
+    }
+  }
+
+  @Test
+  public void testGetWithoutClientCertificate() throws Exception {
+    KeyStore serverKeystore = readKeystore("/stub-server.p12", "stubserver");
+    KeyStore clientKeystore = readKeystore("/stub-client.p12", "stubclient");
+
+    try (StubServer server = StubServer.https(StubServer.sslContext(serverKeystore, "stubserver", clientKeystore), true);
+        RestClient restClient = RestClient.builder(server.getUri()).truststore(serverKeystore).build()) {
+
+      restClient.get(restClient.newRequest(""));
+      fail("request without client certificate was accepted");
+    } catch (RestClientException e) {
+      assertThat(e.getMessage(), startsWith("cannot execute request"));
+    }
+  }
+
+  @Test
+  public void testLatency() throws Exception {
+    try (StubServer server = StubServer.http().stub("/process-instance", new StubResponse().latency(200, TimeUnit.MILLISECONDS));
+        RestClient restClient = new RestClient(server.getUri())) {
+
+      long startNanos = System.nanoTime();
+      Response response = restClient.get(restClient.newRequest("process-instance"));
+      long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+      assertThat(response.getStatusCode(), is(200));
+      assertTrue("latency was " + latencyMillis + " ms", latencyMillis >= 200);
+    }
+  }
+
+  @Test
+  public void testStatusCodes() throws Exception {
+    try (StubServer server = StubServer.http()
+        .stub("/created", new StubResponse().status(201))
+        .stub("/unavailable", new StubResponse().status(503).body("{\"type\":\"Unavailable\"}"))
+        .stub("/failing", new StubResponse().errorRate(1.0, 500));
+        RestClient restClient = new RestClient(server.getUri())) {
+
+      assertThat(restClient.get(restClient.newRequest("created")).getStatusCode(), is(201));
+
+      Response unavailable = restClient.get(restClient.newRequest("unavailable"));
+      assertThat(unavailable.getStatusCode(), is(503));
+      assertThat(unavailable.getRawResponseEntityString(), is("{\"type\":\"Unavailable\"}"));
+
+      Request failing = restClient.newRequest("failing");
+      assertThat(restClient.get(failing).getStatusCode(), is(500));
+      assertThat(restClient.delete(failing).getStatusCode(), is(500));
+
+      assertThat(restClient.get(restClient.newRequest("unknown")).getStatusCode(), is(404));
+    }
+  }
+
+  private static KeyStore readKeystore(String location, String password) throws Exception {
+    try (InputStream input = RestClientTests.class.getResourceAsStream(location)) {
+      KeyStore keystore = KeyStore.getInstance("PKCS12");
+      keystore.load(input, password.toCharArray());
+      return keystore;
+    }
   }
 }
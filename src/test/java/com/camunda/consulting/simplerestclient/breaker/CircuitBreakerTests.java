@@ -0,0 +1,165 @@
+package com.camunda.consulting.simplerestclient.breaker;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.breaker.CircuitBreaker.State;
+
+public class CircuitBreakerTests {
+
+  private static final String ENDPOINT = "process-instance";
+
+  private final AtomicLong now = new AtomicLong();
+
+  private final CircuitBreaker circuitBreaker = new CircuitBreaker()
+      .failureRateThreshold(0.5)
+      .minimumCalls(4)
+      .window(10, TimeUnit.SECONDS)
+      .openDuration(5, TimeUnit.SECONDS)
+      .probes(2)
+      .ticker(now::get);
+
+  @Test
+  public void testOpensAtFailureRate() {
+    record(false, false, true);
+    assertThat(circuitBreaker.getState(ENDPOINT), is(State.CLOSED));
+
+    record(true);
+
+    assertThat(circuitBreaker.getState(ENDPOINT), is(State.OPEN));
+    assertThat(circuitBreaker.tryAcquire(ENDPOINT), is(false));
+  }
+
+  @Test
+  public void testStaysClosedBelowMinimumCalls() {
+    record(true, true, true);
+
+    assertThat(circuitBreaker.getState(ENDPOINT), is(State.CLOSED));
+    assertThat(circuitBreaker.tryAcquire(ENDPOINT), is(true));
+  }
+
+  @Test
+  public void testStaysClosedBelowFailureRate() {
+    record(false, false, false, true, false, true, false);
+
+    assertThat(circuitBreaker.getState(ENDPOINT), is(State.CLOSED));
+  }
+
+  @Test
+  public void testOpensAtSlowCallRate() {
+    circuitBreaker.slowCallThreshold(1, TimeUnit.SECONDS, 0.75);
+
+    for (int call = 0; call < 3; call++) {
+      circuitBreaker.tryAcquire(ENDPOINT);
+      circuitBreaker.record(ENDPOINT, TimeUnit.SECONDS.toNanos(1), false);
+    }
+    record(false);
+
+    assertThat(circuitBreaker.getState(ENDPOINT), is(State.OPEN));
+  }
+
+  @Test
+  public void testOutcomesSlideOutOfTheWindow() {
+    record(true, true, true);
+
+    // still within the window of 10 seconds
+    now.addAndGet(TimeUnit.SECONDS.toNanos(9));
+    record(false);
+    assertThat(circuitBreaker.getState(ENDPOINT), is(State.OPEN));
+  }
+
+  @Test
+  public void testOutcomesOlderThanTheWindowAreCleared() {
+    record(true, true, true);
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    record(false, false, true, false);
+
+    assertThat(circuitBreaker.getState(ENDPOINT), is(State.CLOSED));
+  }
+
+  @Test
+  public void testHalfOpenProbesCloseTheCircuit() {
+    record(true, true, true, true);
+    assertThat(circuitBreaker.getState(ENDPOINT), is(State.OPEN));
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(5) - 1);
+    assertThat(circuitBreaker.tryAcquire(ENDPOINT), is(false));
+
+    now.incrementAndGet();
+    assertThat(circuitBreaker.tryAcquire(ENDPOINT), is(true));
+    assertThat(circuitBreaker.getState(ENDPOINT), is(State.HALF_OPEN));
+    assertThat(circuitBreaker.tryAcquire(ENDPOINT), is(true));
+    // only two probes are let through
+    assertThat(circuitBreaker.tryAcquire(ENDPOINT), is(false));
+
+    circuitBreaker.record(ENDPOINT, 0, false);
+    assertThat(circuitBreaker.getState(ENDPOINT), is(State.HALF_OPEN));
+    circuitBreaker.record(ENDPOINT, 0, false);
+    assertThat(circuitBreaker.getState(ENDPOINT), is(State.CLOSED));
+
+    // the failures before opening are forgotten
+    record(true, false, false);
+    assertThat(circuitBreaker.getState(ENDPOINT), is(State.CLOSED));
+  }
+
+  @Test
+  public void testFailedProbeOpensTheCircuitAgain() {
+    record(true, true, true, true);
+    now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+    assertThat(circuitBreaker.tryAcquire(ENDPOINT), is(true));
+    circuitBreaker.record(ENDPOINT, 0, true);
+
+    assertThat(circuitBreaker.getState(ENDPOINT), is(State.OPEN));
+    now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+    assertThat(circuitBreaker.tryAcquire(ENDPOINT), is(false));
+    now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertThat(circuitBreaker.tryAcquire(ENDPOINT), is(true));
+  }
+
+  @Test
+  public void testReleasedProbeIsReplaced() {
+    record(true, true, true, true);
+    now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+    circuitBreaker.tryAcquire(ENDPOINT);
+    circuitBreaker.tryAcquire(ENDPOINT);
+    assertThat(circuitBreaker.tryAcquire(ENDPOINT), is(false));
+
+    circuitBreaker.release(ENDPOINT);
+
+    assertThat(circuitBreaker.tryAcquire(ENDPOINT), is(true));
+  }
+
+  @Test
+  public void testOutcomesWhileOpenAreIgnored() {
+    record(true, true, true, true);
+
+    // sent before the circuit opened
+    circuitBreaker.record(ENDPOINT, 0, false);
+    circuitBreaker.record(ENDPOINT, 0, false);
+
+    assertThat(circuitBreaker.getState(ENDPOINT), is(State.OPEN));
+  }
+
+  @Test
+  public void testEndpointsHaveCircuitsOfTheirOwn() {
+    record(true, true, true, true);
+
+    assertThat(circuitBreaker.tryAcquire("deployment"), is(true));
+    assertThat(circuitBreaker.getStates().get(ENDPOINT), is(State.OPEN));
+    assertThat(circuitBreaker.getStates().get("deployment"), is(State.CLOSED));
+  }
+
+  private void record(boolean... failed) {
+    for (boolean outcome : failed) {
+      assertThat(circuitBreaker.tryAcquire(ENDPOINT), is(true));
+      circuitBreaker.record(ENDPOINT, 0, outcome);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.camunda.consulting.simplerestclient.bulk;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.RestClient;
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.request.Request;
+import com.camunda.consulting.simplerestclient.response.Response;
+import com.camunda.consulting.simplerestclient.transport.FakeTransport;
+
+public class BulkCallTests {
+
+  @Test
+  public void testResultsInOrderOfCalls() {
+    FakeTransport transport = new FakeTransport().respond(200).respond(404);
+    try (RestClient restClient = RestClient.builder("http://localhost/engine-rest/").transport((pool, ssl) -> transport).build()) {
+      List<BulkResult<Response>> results = restClient.executeAll(
+          Arrays.asList(BulkCall.get(restClient.newRequest("process-instance/1")), BulkCall.get(restClient.newRequest("process-instance/2"))), 1);
+
+      assertThat(results.size(), is(2));
+      assertThat(results.get(0).getResponse().getStatus(), is(200));
+      assertThat(results.get(1).getResponse().getStatus(), is(404));
+      assertThat(results.get(1).isSuccess(), is(true));
+    }
+  }
+
+  @Test
+  public void testFailuresAndErrorsAreCapturedPerCall() {
+    FakeTransport transport = new FakeTransport().respond(200).fail(new RestClientException("connection refused")).respond(200);
+    try (RestClient restClient = RestClient.builder("http://localhost/engine-rest/").transport((pool, ssl) -> transport).build()) {
+      Request failing = restClient.newRequest("process-instance/3");
+      List<BulkCall<Response>> calls = new ArrayList<BulkCall<Response>>();
+      calls.add(BulkCall.get(restClient.newRequest("process-instance/1")));
+      calls.add(BulkCall.get(restClient.newRequest("process-instance/2")));
+      calls.add(new BulkCall<Response>(failing, client -> {
+        throw new StackOverflowError();
+      }));
+      calls.add(BulkCall.get(restClient.newRequest("process-instance/4")));
+
+      List<BulkResult<Response>> results = restClient.executeAll(calls, 1);
+
+      assertThat(results.get(0).isSuccess(), is(true));
+      assertThat(results.get(1).getException(), instanceOf(RestClientException.class));
+      assertThat(results.get(1).getResponse(), nullValue());
+      assertThat(results.get(2).getException(), instanceOf(StackOverflowError.class));
+      assertThat(results.get(3).isSuccess(), is(true));
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.camunda.consulting.simplerestclient.cache;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.response.Response;
+import com.camunda.consulting.simplerestclient.transport.FakeTransport;
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+
+public class ResponseCacheTests {
+
+  private static final String BODY = "{\"id\":\"4711\",\"definitionId\":\"invoice:1:c3a63aaa\"}";
+
+  @Test
+  public void testFreshResponseIsServedFromCache() {
+    FakeTransport transport = new FakeTransport().respondWithBody(200, BODY, "Cache-Control", "max-age=60");
+    ResponseCache cache = new ResponseCache(10, 10000);
+
+    Response first = cache.execute(transport, request("process-instance/4711"), "raw", Response::new);
+    Response second = cache.execute(transport, request("process-instance/4711"), "raw", Response::new);
+
+    assertThat(second, sameInstance(first));
+    assertThat(first.getRawResponseEntityString(), is(BODY));
+    assertThat(transport.getRequests(), is(1));
+    assertThat(cache.getStats().getHits(), is(1L));
+  }
+
+  @Test
+  public void testNotModifiedIsServedFromCache() {
+    FakeTransport transport = new FakeTransport().respondWithBody(200, BODY, "ETag", "\"v1\"").respond(304);
+    ResponseCache cache = new ResponseCache(10, 10000);
+
+    Response first = cache.execute(transport, request("process-instance/4711"), "raw", Response::new);
+    Response second = cache.execute(transport, request("process-instance/4711"), "raw", Response::new);
+
+    assertThat(second, sameInstance(first));
+    assertThat(transport.getLastRequest().getHeaders().getFirst("If-None-Match"), is((Object) "\"v1\""));
+    assertThat(cache.getStats().getRevalidations(), is(1L));
+  }
+
+  @Test
+  public void testViewsCountTowardTheSize() {
+    FakeTransport transport = new FakeTransport().respondWithBody(200, BODY, "Cache-Control", "max-age=60");
+    ResponseCache cache = new ResponseCache(10, 10000);
+
+    cache.execute(transport, request("process-instance/4711"), "raw", Response::new);
+    assertThat(cache.getStats().getBytes(), is(2L * BODY.length()));
+
+    cache.execute(transport, request("process-instance/4711"), "other", Response::new);
+    cache.execute(transport, request("process-instance/4711"), "other", Response::new);
+    assertThat(cache.getStats().getBytes(), is(3L * BODY.length()));
+  }
+
+  @Test
+  public void testViewsCanEvictEntries() {
+    FakeTransport transport = new FakeTransport().respondWithBody(200, BODY, "Cache-Control", "max-age=60");
+    ResponseCache cache = new ResponseCache(10, 3 * BODY.length());
+
+    cache.execute(transport, request("process-instance/4711"), "raw", Response::new);
+    cache.execute(transport, request("process-instance/0815"), "raw", Response::new);
+
+    assertThat(cache.getStats().getEntries(), is(1));
+    assertThat(cache.getStats().getBytes(), is(2L * BODY.length()));
+  }
+
+  @Test
+  public void testUnstorableResponseReplacesEntry() {
+    FakeTransport transport = new FakeTransport().respondWithBody(200, BODY, "ETag", "\"v1\"")
+        .respondWithBody(200, "{}", "Cache-Control", "no-store")
+        .respondWithBody(200, "{}");
+    ResponseCache cache = new ResponseCache(10, 10000);
+
+    cache.execute(transport, request("process-instance/4711"), "raw", Response::new);
+    Response replaced = cache.execute(transport, request("process-instance/4711"), "raw", Response::new);
+
+    assertThat(replaced.getRawResponseEntityString(), is("{}"));
+    assertThat(cache.getStats().getEntries(), is(0));
+    assertThat(cache.getStats().getBytes(), is(0L));
+
+    Response next = cache.execute(transport, request("process-instance/4711"), "raw", Response::new);
+    assertThat(next.getRawResponseEntityString(), is("{}"));
+    assertThat(transport.getLastRequest().getHeaders().getFirst("If-None-Match"), nullValue());
+  }
+
+  private static TransportRequest request(String endpoint) {
+    return FakeTransport.request("GET", endpoint);
+  }
+}
@@ -0,0 +1,191 @@
+package com.camunda.consulting.simplerestclient.cache;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.RestClient;
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.request.Request;
+import com.camunda.consulting.simplerestclient.transport.FakeTransport;
+import com.camunda.consulting.simplerestclient.transport.FakeTransport.PendingExchange;
+
+public class SingleFlightTests {
+
+  private static final int CALLERS = 8;
+
+  private final SingleFlight<String, Object> singleFlight = new SingleFlight<String, Object>();
+
+  @Test
+  public void testConcurrentCallsAreCoalesced() throws Exception {
+    Object result = new Object();
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger calls = new AtomicInteger();
+
+    List<Future<Object>> callers = callConcurrently(() -> singleFlight.execute("key", () -> {
+      calls.incrementAndGet();
+      await(release);
+      return result;
+    }));
+    awaitCoalesced(CALLERS - 1);
+    release.countDown();
+
+    for (Future<Object> caller : callers) {
+      assertThat(caller.get(1, TimeUnit.SECONDS), sameInstance(result));
+    }
+    assertThat(calls.get(), is(1));
+    assertThat(singleFlight.getCalls(), is(1L));
+  }
+
+  @Test
+  public void testExceptionReachesEveryCaller() throws Exception {
+    RestClientException failure = new RestClientException("connection reset");
+    CountDownLatch release = new CountDownLatch(1);
+
+    List<Future<Object>> callers = callConcurrently(() -> singleFlight.execute("key", () -> {
+      await(release);
+      throw failure;
+    }));
+    awaitCoalesced(CALLERS - 1);
+    release.countDown();
+
+    for (Future<Object> caller : callers) {
+      try {
+        caller.get(1, TimeUnit.SECONDS);
+        fail("failure was not thrown");
+      } catch (ExecutionException e) {
+        assertThat(e.getCause(), sameInstance((Throwable) failure));
+      }
+    }
+  }
+
+  @Test
+  public void testCallAfterCompletionIsMadeAgain() {
+    singleFlight.execute("key", () -> "first");
+
+    assertThat(singleFlight.execute("key", () -> "second"), is((Object) "second"));
+    assertThat(singleFlight.getCalls(), is(2L));
+    assertThat(singleFlight.getCoalesced(), is(0L));
+  }
+
+  @Test
+  public void testDifferentKeysAreNotCoalesced() {
+    CompletableFuture<Object> first = singleFlight.executeAsync("first", CompletableFuture::new);
+    CompletableFuture<Object> second = singleFlight.executeAsync("second", CompletableFuture::new);
+
+    assertThat(first == second, is(false));
+    assertThat(singleFlight.getCalls(), is(2L));
+  }
+
+  @Test
+  public void testConcurrentAsyncCallsAreCoalesced() throws Exception {
+    CompletableFuture<Object> call = new CompletableFuture<Object>();
+    List<CompletableFuture<Object>> results = new ArrayList<CompletableFuture<Object>>();
+    for (int i = 0; i < CALLERS; i++) {
+      results.add(singleFlight.executeAsync("key", () -> call));
+    }
+    Object result = new Object();
+    call.complete(result);
+
+    for (CompletableFuture<Object> future : results) {
+      assertThat(future.get(1, TimeUnit.SECONDS), sameInstance(result));
+    }
+    assertThat(singleFlight.getCalls(), is(1L));
+    assertThat(singleFlight.getCoalesced(), is((long) CALLERS - 1));
+
+    singleFlight.executeAsync("key", () -> CompletableFuture.completedFuture(result)).get();
+    assertThat(singleFlight.getCalls(), is(2L));
+  }
+
+  @Test
+  public void testAsyncExceptionReachesEveryCaller() throws Exception {
+    CompletableFuture<Object> call = new CompletableFuture<Object>();
+    CompletableFuture<Object> first = singleFlight.executeAsync("key", () -> call);
+    CompletableFuture<Object> second = singleFlight.executeAsync("key", () -> call);
+    call.completeExceptionally(new RestClientException("connection reset"));
+
+    for (CompletableFuture<Object> future : Arrays.asList(first, second)) {
+      try {
+        future.get(1, TimeUnit.SECONDS);
+        fail("failure was not thrown");
+      } catch (ExecutionException e) {
+        assertThat(e.getCause(), instanceOf(RestClientException.class));
+      }
+    }
+  }
+
+  @Test
+  public void testClientCoalescesEqualGetsOnly() throws Exception {
+    FakeTransport transport = new FakeTransport().holdAsync();
+    try (RestClient restClient = RestClient.builder("http://localhost/engine-rest/").transport((pool, ssl) -> transport).coalesceGets(true)
+        .build()) {
+      Request request = restClient.newRequest("process-instance/4711");
+      Request otherHeaders = new Request("process-instance/4711").addHeader("Accept-Language", "de");
+
+      restClient.getAsync(request);
+      restClient.getAsync(request);
+      PendingExchange exchange = transport.awaitExchange(1, TimeUnit.SECONDS);
+
+      restClient.getAsync(otherHeaders);
+      PendingExchange otherHeadersExchange = transport.awaitExchange(1, TimeUnit.SECONDS);
+
+      restClient.getAsync(request, HashMap.class);
+      PendingExchange otherTypeExchange = transport.awaitExchange(1, TimeUnit.SECONDS);
+
+      assertThat(exchange, notNullValue());
+      assertThat(otherHeadersExchange, notNullValue());
+      assertThat(otherTypeExchange, notNullValue());
+      assertThat(transport.awaitExchange(100, TimeUnit.MILLISECONDS), nullValue());
+
+      exchange.complete();
+      otherHeadersExchange.complete();
+      otherTypeExchange.complete();
+    }
+  }
+
+  private List<Future<Object>> callConcurrently(Callable<Object> call) {
+    ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    List<Future<Object>> callers = new ArrayList<Future<Object>>();
+    for (int i = 0; i < CALLERS; i++) {
+      callers.add(executor.submit(call));
+    }
+    executor.shutdown();
+    return callers;
+  }
+
+  private void awaitCoalesced(long coalesced) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (singleFlight.getCoalesced() < coalesced && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertThat(singleFlight.getCoalesced(), is(coalesced));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
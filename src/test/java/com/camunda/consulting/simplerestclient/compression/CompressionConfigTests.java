@@ -0,0 +1,114 @@
+package com.camunda.consulting.simplerestclient.compression;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.RestClient;
+import com.camunda.consulting.simplerestclient.request.RequestWithBody;
+import com.camunda.consulting.simplerestclient.testsupport.StubResponse;
+import com.camunda.consulting.simplerestclient.testsupport.StubServer;
+import com.camunda.consulting.simplerestclient.transport.RequestEntity;
+
+public class CompressionConfigTests {
+
+  private static final int THRESHOLD = 256;
+
+  @Test
+  public void testBodyAboveThresholdIsCompressed() throws Exception {
+    byte[] sent = post(new CompressionConfig().compressRequests(true).requestThreshold(THRESHOLD), message(THRESHOLD), null);
+
+    assertGzipped(sent, true);
+    assertThat(new String(gunzip(sent), StandardCharsets.UTF_8).contains("\"padding\""), is(true));
+  }
+
+  @Test
+  public void testBodyBelowThresholdIsSentUncompressed() throws Exception {
+    byte[] sent = post(new CompressionConfig().compressRequests(true).requestThreshold(THRESHOLD), message(16), null);
+
+    assertGzipped(sent, false);
+    assertThat(new String(sent, StandardCharsets.UTF_8).contains("\"padding\""), is(true));
+  }
+
+  @Test
+  public void testRequestOverridesClientSetting() throws Exception {
+    assertGzipped(post(new CompressionConfig().requestThreshold(THRESHOLD), message(THRESHOLD), true), true);
+    assertGzipped(post(new CompressionConfig().compressRequests(true).requestThreshold(THRESHOLD), message(THRESHOLD), false), false);
+    // the threshold applies to compression requested per request, too
+    assertGzipped(post(new CompressionConfig().requestThreshold(THRESHOLD), message(16), true), false);
+  }
+
+  @Test
+  public void testCompressedEntityCarriesContentEncoding() throws Exception {
+    byte[] body = new byte[THRESHOLD];
+    CompressionConfig config = new CompressionConfig().requestThreshold(THRESHOLD);
+
+    RequestEntity compressed = config.compress(RequestEntity.of(body, "application/json"));
+    RequestEntity uncompressed = config.compress(RequestEntity.of(new byte[THRESHOLD - 1], "application/json"));
+
+    assertThat(compressed.getContentEncoding(), is("gzip"));
+    assertThat(compressed.getContentType(), is("application/json"));
+    assertThat(uncompressed.getContentEncoding(), nullValue());
+    assertThat(uncompressed.getContentLength(), is((long) THRESHOLD - 1));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testUnknownRequestCodecIsRejected() throws Exception {
+    new CompressionConfig().requestCodec("br").compress(RequestEntity.of(new byte[0], "application/json"));
+  }
+
+  /**
+   * @return the body received by the server, which is sent back as is
+   */
+  private static byte[] post(CompressionConfig config, HashMap<String, Object> message, Boolean compressBody) throws IOException {
+    try (StubServer server = StubServer.http().stub("POST", "/message", new StubResponse().echo());
+        RestClient restClient = RestClient.builder(server.getUri()).compression(config).build()) {
+
+      RequestWithBody request = restClient.newRequestWithBody("message", message).compressBody(compressBody);
+      byte[] sent = restClient.post(request).bodyBytes();
+
+      assertThat(server.getBytesReceived(), is((long) sent.length));
+      return sent;
+    }
+  }
+
+  /**
+   * @return a message whose JSON is at least {@code size} bytes long
+   */
+  private static HashMap<String, Object> message(int size) {
+    StringBuilder padding = new StringBuilder();
+    for (int i = 0; i < size; i++) {
+      padding.append('x');
+    }
+    HashMap<String, Object> message = new HashMap<String, Object>();
+    message.put("messageName", "order-received");
+    message.put("padding", size >= THRESHOLD ? padding.toString() : "");
+    return message;
+  }
+
+  private static void assertGzipped(byte[] body, boolean gzipped) {
+    assertThat(body.length > 2 && (body[0] & 0xff) == 0x1f && (body[1] & 0xff) == 0x8b, is(gzipped));
+  }
+
+  private static byte[] gunzip(byte[] body) throws IOException {
+    ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+    try (InputStream decoder = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      byte[] chunk = new byte[256];
+      int read;
+      while ((read = decoder.read(chunk)) != -1) {
+        decoded.write(chunk, 0, read);
+      }
+    }
+    return decoded.toByteArray();
+  }
+}
@@ -0,0 +1,117 @@
+package com.camunda.consulting.simplerestclient.compression;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.RestClient;
+import com.camunda.consulting.simplerestclient.response.ResponseWithBody;
+import com.camunda.consulting.simplerestclient.testsupport.StubResponse;
+import com.camunda.consulting.simplerestclient.testsupport.StubServer;
+import com.camunda.consulting.simplerestclient.transport.TransportRequest;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+
+public class DecompressingTransportTests {
+
+  private static final String BODY = "{\"id\":\"4711\",\"businessKey\":\"order-0815\"}";
+
+  @Test
+  public void testGzipResponseIsDecoded() throws Exception {
+    assertDecoded("gzip", gzip(BODY));
+  }
+
+  @Test
+  public void testDeflateResponseIsDecoded() throws Exception {
+    assertDecoded("deflate", deflate(BODY, false));
+  }
+
+  @Test
+  public void testRawDeflateResponseIsDecoded() throws Exception {
+    assertDecoded("deflate", deflate(BODY, true));
+  }
+
+  @Test
+  public void testEncodingHeadersAreRemovedAfterDecoding() throws Exception {
+    try (StubServer server = StubServer.http().stub("/process-instance",
+        new StubResponse().body(gzip(BODY)).header("Content-Type", "application/json").header("Content-Encoding", "gzip"));
+        RestClient restClient = new RestClient(server.getUri())) {
+
+      try (TransportResponse response = restClient.getTransport().execute(get(server, "/process-instance"))) {
+        assertThat(response.getHeader("Content-Encoding"), nullValue());
+        assertThat(response.getHeader("Content-Length"), nullValue());
+        assertThat(response.getHeader("Content-Type"), is("application/json"));
+        assertThat(new String(readFully(response), StandardCharsets.UTF_8), is(BODY));
+      }
+    }
+  }
+
+  @Test
+  public void testUnknownEncodingIsLeftToTheCaller() throws Exception {
+    try (StubServer server = StubServer.http().stub("/process-instance", new StubResponse().body(BODY).header("Content-Encoding", "br"));
+        RestClient restClient = new RestClient(server.getUri())) {
+
+      try (TransportResponse response = restClient.getTransport().execute(get(server, "/process-instance"))) {
+        assertThat(response.getHeader("Content-Encoding"), is("br"));
+        assertThat(response.getHeader("Content-Length"), is(String.valueOf(BODY.length())));
+        assertThat(new String(readFully(response), StandardCharsets.UTF_8), is(BODY));
+      }
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static void assertDecoded(String coding, byte[] encoded) throws IOException {
+    try (StubServer server = StubServer.http().stub("/process-instance",
+        new StubResponse().body(encoded).header("Content-Type", "application/json").header("Content-Encoding", coding));
+        RestClient restClient = new RestClient(server.getUri())) {
+
+      ResponseWithBody<HashMap> response = restClient.get(restClient.newRequest("process-instance"), HashMap.class);
+
+      assertThat(response.getStatusCode(), is(200));
+      assertThat(response.getSingleResult().get("businessKey"), is("order-0815"));
+    }
+  }
+
+  private static TransportRequest get(StubServer server, String path) {
+    return new TransportRequest("GET", URI.create(server.getUri() + path), path, new MultivaluedHashMap<String, Object>(), null);
+  }
+
+  private static byte[] readFully(TransportResponse response) throws IOException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    byte[] chunk = new byte[256];
+    int read;
+    while ((read = response.getBody().read(chunk)) != -1) {
+      body.write(chunk, 0, read);
+    }
+    return body.toByteArray();
+  }
+
+  private static byte[] gzip(String body) throws IOException {
+    ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+    try (OutputStream encoder = new GZIPOutputStream(encoded)) {
+      encoder.write(body.getBytes(StandardCharsets.UTF_8));
+    }
+    return encoded.toByteArray();
+  }
+
+  private static byte[] deflate(String body, boolean raw) throws IOException {
+    ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+    try (OutputStream encoder = new DeflaterOutputStream(encoded, new Deflater(Deflater.DEFAULT_COMPRESSION, raw))) {
+      encoder.write(body.getBytes(StandardCharsets.UTF_8));
+    }
+    return encoded.toByteArray();
+  }
+}
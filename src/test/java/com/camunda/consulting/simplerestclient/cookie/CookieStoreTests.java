@@ -0,0 +1,169 @@
+package com.camunda.consulting.simplerestclient.cookie;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.http.client.utils.DateUtils;
+import org.junit.Test;
+
+public class CookieStoreTests {
+
+  private static final URI API = URI.create("http://api.example.com/engine-rest/process-instance/4711");
+
+  private final CookieStore store = new CookieStore();
+
+  @Test
+  public void testHostOnlyCookie() {
+    store.capture(API, Arrays.asList("JSESSIONID=abc; Path=/; HttpOnly"));
+
+    assertThat(store.getCookieHeader(URI.create("http://api.example.com/engine-rest/task")), is("JSESSIONID=abc"));
+    assertThat(store.getCookieHeader(URI.create("http://v2.api.example.com/")), nullValue());
+    assertThat(store.getCookieHeader(URI.create("http://example.com/")), nullValue());
+    assertThat(store.getCookies().get(0).isHostOnly(), is(true));
+  }
+
+  @Test
+  public void testDomainCookieIsSentToSubdomains() {
+    store.capture(API, Arrays.asList("token=t; Domain=.Example.com; Path=/"));
+
+    assertThat(store.getCookieHeader(URI.create("http://example.com/")), is("token=t"));
+    assertThat(store.getCookieHeader(URI.create("http://a.b.example.com/")), is("token=t"));
+    assertThat(store.getCookieHeader(URI.create("http://badexample.com/")), nullValue());
+    assertThat(store.getCookieHeader(URI.create("http://example.org/")), nullValue());
+  }
+
+  @Test
+  public void testCookieForOtherDomainIsIgnored() {
+    store.capture(API, Arrays.asList("token=t; Domain=other.com", "token=t; Domain=v2.api.example.com"));
+
+    assertThat(store.getCookies().isEmpty(), is(true));
+  }
+
+  @Test
+  public void testSimpleFastPathKeepsHostOnlyCookiesToTheirHost() {
+    store.capture(URI.create("http://example.com/"), Arrays.asList("domain=d; Domain=example.com; Path=/", "host=h; Path=/"));
+
+    assertThat(store.getCookieHeader(URI.create("http://example.com/")), is("domain=d; host=h"));
+    assertThat(store.getCookieHeader(URI.create("http://api.example.com/")), is("domain=d"));
+  }
+
+  @Test
+  public void testPathMatching() {
+    store.capture(API, Arrays.asList("a=1; Path=/engine-rest"));
+
+    assertThat(store.getCookieHeader(URI.create("http://api.example.com/engine-rest")), is("a=1"));
+    assertThat(store.getCookieHeader(URI.create("http://api.example.com/engine-rest/task")), is("a=1"));
+    assertThat(store.getCookieHeader(URI.create("http://api.example.com/engine-restful")), nullValue());
+    assertThat(store.getCookieHeader(URI.create("http://api.example.com/")), nullValue());
+  }
+
+  @Test
+  public void testDefaultPathIsDirectoryOfRequest() {
+    store.capture(API, Arrays.asList("a=1"));
+
+    assertThat(store.getCookies().get(0).getPath(), is("/engine-rest/process-instance"));
+    assertThat(store.getCookieHeader(URI.create("http://api.example.com/engine-rest/process-instance/0815")), is("a=1"));
+    assertThat(store.getCookieHeader(URI.create("http://api.example.com/engine-rest/task")), nullValue());
+  }
+
+  @Test
+  public void testLongerPathsAreSentFirst() {
+    store.capture(API, Arrays.asList("a=1; Path=/", "b=2; Path=/engine-rest"));
+
+    assertThat(store.getCookieHeader(URI.create("http://api.example.com/engine-rest/task")), is("b=2; a=1"));
+    assertThat(store.getCookieHeader(URI.create("http://api.example.com/health")), is("a=1"));
+  }
+
+  @Test
+  public void testSecureCookieIsSentViaHttpsOnly() {
+    store.capture(URI.create("https://api.example.com/"), Arrays.asList("s=1; Path=/; Secure"));
+
+    assertThat(store.getCookieHeader(URI.create("http://api.example.com/")), nullValue());
+    assertThat(store.getCookieHeader(URI.create("https://api.example.com/")), is("s=1"));
+  }
+
+  @Test
+  public void testMaxAge() {
+    long before = System.currentTimeMillis();
+    store.capture(API, Arrays.asList("m=1; Path=/; Max-Age=3600"));
+    long after = System.currentTimeMillis();
+
+    long expiresAt = store.getCookies().get(0).getExpiresAt();
+    assertTrue(expiresAt >= before + 3600000 && expiresAt <= after + 3600000);
+
+    store.capture(API, Arrays.asList("m=1; Path=/; Max-Age=0"));
+    assertThat(store.getCookies().isEmpty(), is(true));
+    assertThat(store.getCookieHeader(API), nullValue());
+  }
+
+  @Test
+  public void testMaxAgeTakesPrecedenceOverExpires() {
+    String past = DateUtils.formatDate(new Date(System.currentTimeMillis() - 3600000));
+
+    store.capture(API, Arrays.asList("a=1; Path=/; Expires=" + past + "; Max-Age=60", "b=2; Path=/; Max-Age=60; Expires=" + past));
+
+    assertThat(store.getCookieHeader(API), is("a=1; b=2"));
+  }
+
+  @Test
+  public void testExpires() {
+    long inAnHour = (System.currentTimeMillis() + 3600000) / 1000 * 1000;
+    store.capture(API, Arrays.asList("e=1; Path=/; Expires=" + DateUtils.formatDate(new Date(inAnHour))));
+    assertThat(store.getCookies().get(0).getExpiresAt(), is(inAnHour));
+
+    store.capture(API, Arrays.asList("e=1; Path=/; Expires=Wed, 09-Jun-2021 10:18:14 GMT"));
+    assertThat(store.getCookies().isEmpty(), is(true));
+  }
+
+  @Test
+  public void testMalformedCookiesAndAttributesAreIgnored() {
+    store.capture(API, Arrays.asList("novalue", "=anonymous", "a=1; Path=/; Max-Age=soon; Expires=tomorrow"));
+
+    List<StoredCookie> cookies = store.getCookies();
+    assertThat(cookies.size(), is(1));
+    assertThat(cookies.get(0).getExpiresAt(), is(StoredCookie.SESSION));
+  }
+
+  @Test
+  public void testSameCookieIsReplaced() {
+    store.capture(API, Arrays.asList("a=1; Path=/"));
+    store.capture(API, Arrays.asList("a=2; Path=/"));
+
+    assertThat(store.getCookieHeader(API), is("a=2"));
+  }
+
+  @Test
+  public void testAddedCookies() {
+    store.add("any", "1", null, null);
+    store.add("scoped", "2", "engine-rest", ".Example.com/ignored");
+
+    assertThat(store.getCookieHeader(URI.create("http://localhost/")), is("any=1"));
+    assertThat(new HashSet<String>(Arrays.asList(store.getCookieHeader(API).split("; "))),
+        is(new HashSet<String>(Arrays.asList("any=1", "scoped=2"))));
+    assertThat(store.getCookieHeader(URI.create("http://api.example.com/task")), is("any=1"));
+  }
+
+  @Test
+  public void testOldestCookieIsDroppedBeyondLimit() {
+    CookieStore store = new CookieStore(2);
+    store.capture(API, Arrays.asList("a=1; Path=/", "b=2; Path=/", "c=3; Path=/"));
+
+    assertThat(store.getCookieHeader(API), is("b=2; c=3"));
+  }
+
+  @Test
+  public void testClear() {
+    store.capture(API, Arrays.asList("a=1; Path=/"));
+    store.clear();
+
+    assertThat(store.getCookieHeader(API), nullValue());
+  }
+}
@@ -0,0 +1,188 @@
+package com.camunda.consulting.simplerestclient.hedge;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.transport.FakeTransport;
+import com.camunda.consulting.simplerestclient.transport.FakeTransport.PendingExchange;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+
+public class HedgingTransportTests {
+
+  private final FakeTransport delegate = new FakeTransport().holdAsync();
+
+  private final AtomicLong nanos = new AtomicLong();
+
+  private HedgingTransport transport;
+
+  @After
+  public void close() {
+    transport.close();
+  }
+
+  @Test
+  public void testNoHedgeWhenAnsweredBeforeDelay() throws Exception {
+    transport = hedging(new HedgePolicy().delay(200, TimeUnit.MILLISECONDS).maxHedgeRatio(1.0, 10));
+
+    CompletableFuture<TransportResponse> result = get();
+    awaitExchange().complete();
+
+    assertThat(result.get(1, TimeUnit.SECONDS).getStatus(), is(200));
+    assertThat(delegate.awaitExchange(400, TimeUnit.MILLISECONDS), nullValue());
+    assertThat(transport.getStats().getHedges(), is(0L));
+  }
+
+  @Test
+  public void testHedgeAfterDelayAndFirstResponseWins() throws Exception {
+    transport = hedging(new HedgePolicy().delay(10, TimeUnit.MILLISECONDS).maxHedgeRatio(1.0, 10));
+    delegate.respond(200, "X-Exchange", "hedge").respond(200, "X-Exchange", "first");
+
+    CompletableFuture<TransportResponse> result = get();
+    PendingExchange first = awaitExchange();
+    PendingExchange hedge = awaitExchange();
+    hedge.complete();
+
+    assertThat(result.get(1, TimeUnit.SECONDS).getHeader("X-Exchange"), is("hedge"));
+    assertThat(first.isCancelled(), is(true));
+    // a blocking exchange answering anyway is released
+    first.complete();
+    assertThat(delegate.getReleased(), is(1));
+    assertThat(transport.getStats().getHedges(), is(1L));
+    assertThat(awaitWins(1), is(1L));
+  }
+
+  @Test
+  public void testFailureOfOneExchangeWaitsForTheOther() throws Exception {
+    transport = hedging(new HedgePolicy().delay(10, TimeUnit.MILLISECONDS).maxHedgeRatio(1.0, 10));
+    delegate.fail(new RestClientException("connection reset")).respond(200);
+
+    CompletableFuture<TransportResponse> result = get();
+    PendingExchange first = awaitExchange();
+    PendingExchange hedge = awaitExchange();
+    first.complete();
+
+    assertThat(result.isDone(), is(false));
+    hedge.complete();
+    assertThat(result.get(1, TimeUnit.SECONDS).getStatus(), is(200));
+  }
+
+  @Test
+  public void testFailureOfBothExchanges() throws Exception {
+    transport = hedging(new HedgePolicy().delay(10, TimeUnit.MILLISECONDS).maxHedgeRatio(1.0, 10));
+    delegate.fail(new RestClientException("connection reset"));
+
+    CompletableFuture<TransportResponse> result = get();
+    PendingExchange first = awaitExchange();
+    PendingExchange hedge = awaitExchange();
+    first.complete();
+    hedge.complete();
+
+    try {
+      result.get(1, TimeUnit.SECONDS);
+      fail("failure was not thrown");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(RestClientException.class));
+    }
+  }
+
+  @Test
+  public void testAllowanceDeniesHedges() throws Exception {
+    // half a hedge per request, at most one saved up
+    transport = hedging(new HedgePolicy().delay(10, TimeUnit.MILLISECONDS).maxHedgeRatio(0.5, 1));
+
+    // requests answered right away save up the allowance
+    for (int i = 0; i < 4; i++) {
+      CompletableFuture<TransportResponse> result = get();
+      awaitExchange().complete();
+      result.get(1, TimeUnit.SECONDS);
+    }
+
+    CompletableFuture<TransportResponse> hedged = get();
+    awaitExchange();
+    PendingExchange hedge = awaitExchange();
+    assertThat(hedge, notNullValue());
+    hedge.complete();
+    hedged.get(1, TimeUnit.SECONDS);
+
+    CompletableFuture<TransportResponse> denied = get();
+    PendingExchange unhedged = awaitExchange();
+    assertThat(delegate.awaitExchange(200, TimeUnit.MILLISECONDS), nullValue());
+    unhedged.complete();
+    denied.get(1, TimeUnit.SECONDS);
+
+    assertThat(transport.getStats().getHedges(), is(1L));
+    assertThat(transport.getStats().getDenied(), is(1L));
+  }
+
+  @Test
+  public void testPercentileDelayIsAdoptedAfterMinSamples() throws Exception {
+    transport = hedging(new HedgePolicy().delay(10, TimeUnit.SECONDS).delayPercentile(50).minDelay(1, TimeUnit.MILLISECONDS).minSamples(3)
+        .window(1, TimeUnit.SECONDS).maxHedgeRatio(1.0, 10));
+
+    // 20 ms each, within the first window
+    for (int i = 0; i < 3; i++) {
+      answerAfter(20);
+    }
+    // too few samples yet for a window to be evaluated: the fixed delay applies
+    CompletableFuture<TransportResponse> result = get();
+    PendingExchange exchange = awaitExchange();
+    assertThat(delegate.awaitExchange(200, TimeUnit.MILLISECONDS), nullValue());
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    exchange.complete();
+    result.get(1, TimeUnit.SECONDS);
+
+    // the window has passed with enough samples: the median of about 20 ms is
+    // waited from now on
+    CompletableFuture<TransportResponse> hedged = get();
+    awaitExchange();
+    PendingExchange hedge = awaitExchange();
+    assertThat(hedge, notNullValue());
+    hedge.complete();
+    hedged.get(1, TimeUnit.SECONDS);
+  }
+
+  private void answerAfter(long millis) throws Exception {
+    CompletableFuture<TransportResponse> result = get();
+    PendingExchange exchange = awaitExchange();
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    exchange.complete();
+    result.get(1, TimeUnit.SECONDS);
+  }
+
+  private HedgingTransport hedging(HedgePolicy policy) {
+    return new HedgingTransport(delegate, policy, Runnable::run).ticker(nanos::get);
+  }
+
+  private CompletableFuture<TransportResponse> get() {
+    return transport.executeAsync(FakeTransport.request("GET", "process-instance"), Runnable::run);
+  }
+
+  private PendingExchange awaitExchange() throws InterruptedException {
+    return delegate.awaitExchange(2, TimeUnit.SECONDS);
+  }
+
+  /**
+   * The hedge is sent by the timer, which may see it answered only after the
+   * test has got the result.
+   */
+  private long awaitWins(long wins) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+    while (transport.getStats().getWins() < wins && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    return transport.getStats().getWins();
+  }
+}
@@ -0,0 +1,135 @@
+package com.camunda.consulting.simplerestclient.limit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class AdaptiveLimiterTests {
+
+  private static final String ENDPOINT = "process-instance";
+
+  private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  public void testRejectsAboveLimit() {
+    AdaptiveLimiter limiter = new AdaptiveLimiter().initialLimit(2).ticker(now::get);
+
+    assertThat(limiter.tryAcquire(ENDPOINT), is(true));
+    assertThat(limiter.tryAcquire(ENDPOINT), is(true));
+    assertThat(limiter.tryAcquire(ENDPOINT), is(false));
+    assertThat(limiter.getInFlight(ENDPOINT), is(2));
+
+    limiter.release(ENDPOINT);
+    assertThat(limiter.getLimit(ENDPOINT), is(2));
+    assertThat(limiter.tryAcquire(ENDPOINT), is(true));
+  }
+
+  @Test
+  public void testGrowsByOnePerLimitAnsweredInTime() {
+    AdaptiveLimiter limiter = new AdaptiveLimiter().initialLimit(4).limits(1, 100).ticker(now::get);
+
+    useLimit(limiter);
+    assertThat(limiter.getLimit(ENDPOINT), is(4));
+    useLimit(limiter);
+    assertThat(limiter.getLimit(ENDPOINT), is(5));
+    for (int round = 0; round < 4; round++) {
+      useLimit(limiter);
+    }
+    assertThat(limiter.getLimit(ENDPOINT), is(7));
+  }
+
+  @Test
+  public void testDoesNotGrowWhileLimitIsNotUsed() {
+    AdaptiveLimiter limiter = new AdaptiveLimiter().initialLimit(20).ticker(now::get);
+
+    for (int request = 0; request < 1000; request++) {
+      limiter.tryAcquire(ENDPOINT);
+      limiter.release(ENDPOINT, LATENCY, false);
+    }
+
+    assertThat(limiter.getLimit(ENDPOINT), is(20));
+  }
+
+  @Test
+  public void testDoesNotGrowBeyondMaxLimit() {
+    AdaptiveLimiter limiter = new AdaptiveLimiter().initialLimit(4).limits(1, 5).ticker(now::get);
+
+    for (int round = 0; round < 100; round++) {
+      useLimit(limiter);
+    }
+
+    assertThat(limiter.getLimit(ENDPOINT), is(5));
+  }
+
+  @Test
+  public void testShrinksOnOverloadOncePerAverageLatency() {
+    AdaptiveLimiter limiter = new AdaptiveLimiter().initialLimit(20).backoffRatio(0.9).ticker(now::get);
+    limiter.tryAcquire(ENDPOINT);
+    limiter.release(ENDPOINT, LATENCY, false);
+    now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+    limiter.tryAcquire(ENDPOINT);
+    limiter.release(ENDPOINT, LATENCY, true);
+    assertThat(limiter.getLimit(ENDPOINT), is(18));
+
+    // requests of the same hiccup
+    limiter.tryAcquire(ENDPOINT);
+    limiter.release(ENDPOINT, LATENCY, true);
+    assertThat(limiter.getLimit(ENDPOINT), is(18));
+
+    now.addAndGet(LATENCY);
+    limiter.tryAcquire(ENDPOINT);
+    limiter.release(ENDPOINT, LATENCY, true);
+    assertThat(limiter.getLimit(ENDPOINT), is(16));
+  }
+
+  @Test
+  public void testShrinksOnSlowResponse() {
+    AdaptiveLimiter limiter = new AdaptiveLimiter().initialLimit(20).latencyTolerance(2.0).ticker(now::get);
+    limiter.tryAcquire(ENDPOINT);
+    limiter.release(ENDPOINT, LATENCY, false);
+    now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+    limiter.tryAcquire(ENDPOINT);
+    limiter.release(ENDPOINT, 2 * LATENCY, false);
+    assertThat(limiter.getLimit(ENDPOINT), is(20));
+
+    limiter.tryAcquire(ENDPOINT);
+    limiter.release(ENDPOINT, 3 * LATENCY, false);
+    assertThat(limiter.getLimit(ENDPOINT), is(18));
+  }
+
+  @Test
+  public void testDoesNotShrinkBelowMinLimit() {
+    AdaptiveLimiter limiter = new AdaptiveLimiter().initialLimit(10).limits(5, 200).ticker(now::get);
+
+    for (int request = 0; request < 100; request++) {
+      now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+      limiter.tryAcquire(ENDPOINT);
+      limiter.release(ENDPOINT, LATENCY, true);
+    }
+
+    assertThat(limiter.getLimit(ENDPOINT), is(5));
+    assertThat(limiter.getLimits().get(ENDPOINT), is(5));
+  }
+
+  /**
+   * This sends as many requests as the limit allows and releases them in
+   * time.
+   */
+  private void useLimit(AdaptiveLimiter limiter) {
+    int sent = 0;
+    while (limiter.tryAcquire(ENDPOINT)) {
+      sent++;
+    }
+    for (int request = 0; request < sent; request++) {
+      limiter.release(ENDPOINT, LATENCY, false);
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.camunda.consulting.simplerestclient.limit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+
+public class RateLimiterTests {
+
+  private static final String HOST = "http://localhost:8080";
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  public void testRequestTakesTokenOfHostAndEndpoint() {
+    RateLimiter limiter = new RateLimiter().perHost(10, 5).perEndpoint("external-task/fetchAndLock", 10, 2).ticker(now::get);
+
+    assertThat(limiter.tryAcquire(HOST, "external-task/fetchAndLock"), is(true));
+    assertThat(limiter.tryAcquire(HOST, "external-task/fetchAndLock"), is(true));
+    assertThat(limiter.tryAcquire(HOST, "external-task/fetchAndLock"), is(false));
+
+    // the host allows 5 at once, 2 are taken
+    assertThat(limiter.tryAcquire(HOST, "process-instance"), is(true));
+    assertThat(limiter.tryAcquire(HOST, "process-instance"), is(true));
+    assertThat(limiter.tryAcquire(HOST, "process-instance"), is(true));
+    assertThat(limiter.tryAcquire(HOST, "process-instance"), is(false));
+
+    assertThat(limiter.tryAcquire("http://localhost:8081", "process-instance"), is(true));
+  }
+
+  @Test
+  public void testHostTokenIsReturnedWhenEndpointRejects() {
+    RateLimiter limiter = new RateLimiter().perHost(10, 2).perEndpoint("external-task/fetchAndLock", 10, 1).ticker(now::get);
+
+    assertThat(limiter.tryAcquire(HOST, "external-task/fetchAndLock"), is(true));
+    assertThat(limiter.tryAcquire(HOST, "external-task/fetchAndLock"), is(false));
+    assertThat(limiter.tryAcquire(HOST, "external-task/fetchAndLock"), is(false));
+
+    assertThat(limiter.tryAcquire(HOST, "process-instance"), is(true));
+    assertThat(limiter.tryAcquire(HOST, "process-instance"), is(false));
+  }
+
+  @Test
+  public void testDefaultEndpointRate() {
+    RateLimiter limiter = new RateLimiter().perEndpoint(10, 1).perEndpoint("deployment", 10, 2).ticker(now::get);
+
+    assertThat(limiter.tryAcquire(HOST, "process-instance"), is(true));
+    assertThat(limiter.tryAcquire(HOST, "process-instance"), is(false));
+    assertThat(limiter.tryAcquire(HOST, "task"), is(true));
+    assertThat(limiter.tryAcquire(HOST, "deployment"), is(true));
+    assertThat(limiter.tryAcquire(HOST, "deployment"), is(true));
+    assertThat(limiter.tryAcquire(HOST, "deployment"), is(false));
+
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+    assertThat(limiter.tryAcquire(HOST, "process-instance"), is(true));
+  }
+
+  @Test
+  public void testAcquireWaitsUpToMaxWait() {
+    RateLimiter limiter = new RateLimiter().perHost(10, 1).maxWait(150, TimeUnit.MILLISECONDS).ticker(now::get);
+    limiter.acquire(HOST, "process-instance");
+
+    long startNanos = System.nanoTime();
+    limiter.acquire(HOST, "process-instance");
+    assertTrue(System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(100));
+
+    // the next token would take 200 ms
+    try {
+      limiter.acquire(HOST, "process-instance");
+      fail("request was not rejected");
+    } catch (RestClientException e) {
+      assertThat(e.getMessage(), startsWith("rate limit of [process-instance]"));
+    }
+  }
+
+  @Test
+  public void testAcquireAsync() throws Exception {
+    RateLimiter limiter = new RateLimiter().perHost(10, 1).maxWait(150, TimeUnit.MILLISECONDS).ticker(now::get);
+
+    assertThat(limiter.acquireAsync(HOST, "process-instance").isDone(), is(true));
+
+    CompletableFuture<Void> waiting = limiter.acquireAsync(HOST, "process-instance");
+    assertThat(waiting.isDone(), is(false));
+    waiting.get(1, TimeUnit.SECONDS);
+
+    try {
+      limiter.acquireAsync(HOST, "process-instance").get(1, TimeUnit.SECONDS);
+      fail("request was not rejected");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof RestClientException);
+    }
+  }
+}
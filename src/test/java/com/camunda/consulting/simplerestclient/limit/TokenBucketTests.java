@@ -0,0 +1,82 @@
+package com.camunda.consulting.simplerestclient.limit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class TokenBucketTests {
+
+  private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final AtomicLong now = new AtomicLong();
+
+  /**
+   * 10 tokens per second, 3 at once
+   */
+  private final TokenBucket bucket = new TokenBucket(10, 3, now::get);
+
+  @Test
+  public void testBurstThenPacing() {
+    assertThat(bucket.tryAcquire(), is(true));
+    assertThat(bucket.tryAcquire(), is(true));
+    assertThat(bucket.tryAcquire(), is(true));
+    assertThat(bucket.tryAcquire(), is(false));
+
+    now.addAndGet(INTERVAL - 1);
+    assertThat(bucket.tryAcquire(), is(false));
+    now.incrementAndGet();
+    assertThat(bucket.tryAcquire(), is(true));
+    assertThat(bucket.tryAcquire(), is(false));
+  }
+
+  @Test
+  public void testIdleBucketDoesNotSaveUpBeyondBurst() {
+    now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+    assertThat(bucket.tryAcquire(), is(true));
+    assertThat(bucket.tryAcquire(), is(true));
+    assertThat(bucket.tryAcquire(), is(true));
+    assertThat(bucket.tryAcquire(), is(false));
+  }
+
+  @Test
+  public void testReserveReturnsTimeToWait() {
+    drain();
+
+    assertThat(bucket.reserve(Long.MAX_VALUE), is(INTERVAL));
+    assertThat(bucket.reserve(Long.MAX_VALUE), is(2 * INTERVAL));
+
+    now.addAndGet(INTERVAL);
+    assertThat(bucket.reserve(Long.MAX_VALUE), is(2 * INTERVAL));
+  }
+
+  @Test
+  public void testReserveBeyondMaxWaitTakesNoToken() {
+    drain();
+    assertThat(bucket.reserve(Long.MAX_VALUE), is(INTERVAL));
+
+    assertThat(bucket.reserve(INTERVAL + INTERVAL / 2), is(-1L));
+    assertThat(bucket.reserve(0), is(-1L));
+
+    assertThat(bucket.reserve(Long.MAX_VALUE), is(2 * INTERVAL));
+  }
+
+  @Test
+  public void testCancelReturnsToken() {
+    drain();
+    assertThat(bucket.reserve(Long.MAX_VALUE), is(INTERVAL));
+
+    bucket.cancel();
+
+    assertThat(bucket.reserve(Long.MAX_VALUE), is(INTERVAL));
+  }
+
+  private void drain() {
+    while (bucket.tryAcquire()) {
+    }
+  }
+}
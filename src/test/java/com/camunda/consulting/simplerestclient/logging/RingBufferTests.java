@@ -0,0 +1,111 @@
+package com.camunda.consulting.simplerestclient.logging;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class RingBufferTests {
+
+  @Test
+  public void testCapacityIsRoundedUpToPowerOfTwo() {
+    assertThat(new RingBuffer<Integer>(1).capacity(), is(2));
+    assertThat(new RingBuffer<Integer>(4).capacity(), is(4));
+    assertThat(new RingBuffer<Integer>(5).capacity(), is(8));
+  }
+
+  @Test
+  public void testElementsArePolledInOrderOfOffer() {
+    RingBuffer<Integer> buffer = new RingBuffer<Integer>(8);
+    assertThat(buffer.poll(), nullValue());
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(buffer.offer(i), is(true));
+    }
+    for (int i = 0; i < 5; i++) {
+      assertThat(buffer.poll(), is(i));
+    }
+    assertThat(buffer.poll(), nullValue());
+  }
+
+  @Test
+  public void testOfferToFullBufferFails() {
+    RingBuffer<Integer> buffer = new RingBuffer<Integer>(4);
+    for (int i = 0; i < 4; i++) {
+      assertThat(buffer.offer(i), is(true));
+    }
+
+    assertThat(buffer.offer(4), is(false));
+    assertThat(buffer.poll(), is(0));
+    assertThat(buffer.offer(4), is(true));
+    assertThat(buffer.offer(5), is(false));
+  }
+
+  @Test
+  public void testSlotsAreReusedOverManyLaps() {
+    RingBuffer<Integer> buffer = new RingBuffer<Integer>(4);
+    int next = 0;
+    int expected = 0;
+
+    for (int lap = 0; lap < 10; lap++) {
+      // three at a time, so the positions drift against the slots
+      for (int i = 0; i < 3; i++) {
+        assertThat(buffer.offer(next++), is(true));
+      }
+      for (int i = 0; i < 3; i++) {
+        assertThat(buffer.poll(), is(expected++));
+      }
+    }
+    assertThat(buffer.poll(), nullValue());
+  }
+
+  @Test
+  public void testConcurrentProducers() throws Exception {
+    int producers = 4;
+    int perProducer = 20000;
+    RingBuffer<int[]> buffer = new RingBuffer<int[]>(64);
+
+    ExecutorService executor = Executors.newFixedThreadPool(producers);
+    List<Future<?>> futures = new ArrayList<Future<?>>();
+    for (int p = 0; p < producers; p++) {
+      int producer = p;
+      futures.add(executor.submit(() -> {
+        for (int i = 0; i < perProducer; i++) {
+          while (buffer.offer(new int[] { producer, i }) == false) {
+            Thread.yield();
+          }
+        }
+      }));
+    }
+
+    // each producer's elements arrive complete and in order
+    int[] next = new int[producers];
+    int received = 0;
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (received < producers * perProducer && System.nanoTime() < deadline) {
+      int[] element = buffer.poll();
+      if (element == null) {
+        Thread.yield();
+        continue;
+      }
+      assertThat(element[1], is(next[element[0]]));
+      next[element[0]]++;
+      received++;
+    }
+    executor.shutdown();
+    for (Future<?> future : futures) {
+      future.get(1, TimeUnit.SECONDS);
+    }
+
+    assertThat(received, is(producers * perProducer));
+    assertThat(buffer.poll(), nullValue());
+  }
+}
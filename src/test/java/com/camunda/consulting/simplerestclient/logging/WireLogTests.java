@@ -0,0 +1,159 @@
+package com.camunda.consulting.simplerestclient.logging;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import com.camunda.consulting.simplerestclient.logging.WireLogEntry.BodyCapture;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+public class WireLogTests {
+
+  private final Logger wireLogger = (Logger) LoggerFactory.getLogger("com.camunda.consulting.simplerestclient.wire");
+  private final ListAppender<ILoggingEvent> appender = new ListAppender<ILoggingEvent>();
+  private Level level;
+
+  @Before
+  public void captureWireLog() {
+    level = wireLogger.getLevel();
+    wireLogger.setLevel(Level.INFO);
+    appender.start();
+    wireLogger.addAppender(appender);
+  }
+
+  @After
+  public void restoreWireLog() {
+    wireLogger.detachAppender(appender);
+    wireLogger.setLevel(level);
+  }
+
+  @Test
+  public void testJsonFieldsAreRedacted() {
+    String logged = log(new WireLogConfig(), "{\"name\":\"demo\",\"password\":\"se\\\"cr,et\",\"client_secret\" : \"abc\"}", null);
+
+    assertThat(logged, containsString("> {\"name\":\"demo\",\"password\":\"***\",\"client_secret\" : \"***\"}"));
+    assertThat(logged, not(containsString("cr,et")));
+  }
+
+  @Test
+  public void testNonStringJsonValuesAreRedacted() {
+    String logged = log(new WireLogConfig().redactFields("pin"), "{\"pin\":1234,\"access_token\":null,\"refresh_token\":true,\"id\":4711}",
+        null);
+
+    assertThat(logged, containsString("> {\"pin\":\"***\",\"access_token\":\"***\",\"refresh_token\":\"***\",\"id\":4711}"));
+  }
+
+  @Test
+  public void testFormFieldsAreRedacted() {
+    String logged = log(new WireLogConfig(), "grant_type=password&password=s3cret&client_secret=abc&scope=engine", null);
+
+    assertThat(logged, containsString("> grant_type=password&password=***&client_secret=***&scope=engine"));
+  }
+
+  @Test
+  public void testResponseBodyIsRedacted() {
+    String logged = log(new WireLogConfig(), null, "{\"access_token\":\"eyJhbGciOi\",\"expires_in\":300}");
+
+    assertThat(logged, containsString("< {\"access_token\":\"***\",\"expires_in\":300}"));
+  }
+
+  @Test
+  public void testHeadersAreRedactedCaseInsensitively() {
+    WireLogConfig config = new WireLogConfig().redactHeaders("X-Api-Key");
+    WireLogEntry entry = entry("authorization", "Bearer eyJhbGciOi", "x-api-key", "k3y", "Accept", "application/json");
+    entry.responseHeaders = new MultivaluedHashMap<String, String>();
+    entry.responseHeaders.put("SET-COOKIE", Arrays.asList("JSESSIONID=abc"));
+
+    String logged = log(config, entry);
+
+    assertThat(logged, containsString("> authorization: ***"));
+    assertThat(logged, containsString("> x-api-key: ***"));
+    assertThat(logged, containsString("> Accept: application/json"));
+    assertThat(logged, containsString("< SET-COOKIE: ***"));
+    assertThat(logged, not(containsString("eyJhbGciOi")));
+    assertThat(logged, not(containsString("JSESSIONID")));
+  }
+
+  @Test
+  public void testNothingIsSampledBelowInfo() {
+    try (WireLog wireLog = new WireLog(new WireLogConfig().sampleRate(1.0).sampleRate("task", 0.0))) {
+      assertThat(wireLog.sample("process-instance"), is(true));
+      assertThat(wireLog.sample("task"), is(false));
+
+      wireLogger.setLevel(Level.WARN);
+      assertThat(wireLog.sample("process-instance"), is(false));
+    }
+  }
+
+  @Test
+  public void testEntriesAreDroppedIfBufferIsFull() {
+    WireLog wireLog = new WireLog(new WireLogConfig().bufferSize(2));
+    // the drainer is stopped first, so nothing is taken from the buffer
+    wireLog.close();
+
+    for (int i = 0; i < 5; i++) {
+      wireLog.publish(entry());
+    }
+
+    assertThat(wireLog.getDropped(), is(3L));
+  }
+
+  private String log(WireLogConfig config, String requestBody, String responseBody) {
+    WireLogEntry entry = entry();
+    if (requestBody != null) {
+      entry.requestBody = capture(requestBody);
+    }
+    if (responseBody != null) {
+      entry.responseBody = capture(responseBody);
+      entry.responseCharset = StandardCharsets.UTF_8;
+    }
+    return log(config, entry);
+  }
+
+  /**
+   * @return the message logged for {@code entry}
+   */
+  private String log(WireLogConfig config, WireLogEntry entry) {
+    // closing writes the entries still buffered
+    try (WireLog wireLog = new WireLog(config)) {
+      wireLog.publish(entry);
+    }
+    assertThat(appender.list.size(), is(1));
+    return appender.list.get(0).getFormattedMessage();
+  }
+
+  private static WireLogEntry entry(String... headers) {
+    MultivaluedMap<String, Object> headerMap = new MultivaluedHashMap<String, Object>();
+    for (int i = 0; i + 1 < headers.length; i += 2) {
+      headerMap.add(headers[i], headers[i + 1]);
+    }
+    WireLogEntry entry = new WireLogEntry("POST", URI.create("http://localhost/engine-rest/identity/verify"), "identity/verify", headerMap);
+    entry.status = 200;
+    entry.reasonPhrase = "OK";
+    return entry;
+  }
+
+  private static BodyCapture capture(String body) {
+    BodyCapture capture = new BodyCapture(1024);
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    capture.write(bytes, 0, bytes.length);
+    return capture;
+  }
+}
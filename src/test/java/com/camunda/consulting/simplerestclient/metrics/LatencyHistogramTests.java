@@ -0,0 +1,75 @@
+package com.camunda.consulting.simplerestclient.metrics;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class LatencyHistogramTests {
+
+  private static final int LAST_BUCKET = LatencyHistogram.bucketOf(LatencyHistogram.MAX_VALUE);
+
+  @Test
+  public void testHighestValueRoundTrip() {
+    for (int bucket = 0; bucket <= LAST_BUCKET; bucket++) {
+      long highest = LatencyHistogram.highestValueOf(bucket);
+      assertThat("bucket " + bucket, LatencyHistogram.bucketOf(highest), is(bucket));
+      // buckets are contiguous
+      if (bucket < LAST_BUCKET) {
+        assertThat("bucket " + bucket, LatencyHistogram.bucketOf(highest + 1), is(bucket + 1));
+      }
+    }
+    assertTrue(LatencyHistogram.highestValueOf(LAST_BUCKET) >= LatencyHistogram.MAX_VALUE);
+  }
+
+  @Test
+  public void testSmallValuesAreExact() {
+    for (int value = 0; value < 64; value++) {
+      assertThat(LatencyHistogram.bucketOf(value), is(value));
+      assertThat(LatencyHistogram.highestValueOf(value), is((long) value));
+    }
+  }
+
+  @Test
+  public void testRelativeErrorOfBuckets() {
+    for (int bucket = 1; bucket <= LAST_BUCKET; bucket++) {
+      long lowest = LatencyHistogram.highestValueOf(bucket - 1) + 1;
+      long highest = LatencyHistogram.highestValueOf(bucket);
+      assertTrue("bucket " + bucket, (highest - lowest) * 32 <= lowest);
+    }
+  }
+
+  @Test
+  public void testRelativeErrorOfValues() {
+    Random random = new Random(4711);
+    for (int i = 0; i < 100000; i++) {
+      long value = 1 + (long) (random.nextDouble() * random.nextDouble() * LatencyHistogram.MAX_VALUE);
+      long reported = LatencyHistogram.highestValueOf(LatencyHistogram.bucketOf(value));
+      assertTrue("value " + value, reported >= value && (reported - value) * 32 <= value);
+    }
+  }
+
+  @Test
+  public void testStats() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int millis = 1; millis <= 100; millis++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+    histogram.record(-1);
+    histogram.record(TimeUnit.HOURS.toNanos(2));
+
+    LatencyStats stats = histogram.getStats();
+    assertThat(stats.getCount(), is(102L));
+    assertThat(stats.getMax(), is(LatencyHistogram.MAX_VALUE));
+    assertWithinError(stats.getP50(), TimeUnit.MILLISECONDS.toNanos(50));
+    assertWithinError(stats.getValueAtPercentile(90), TimeUnit.MILLISECONDS.toNanos(91));
+  }
+
+  private static void assertWithinError(long actual, long expected) {
+    assertTrue(actual + " vs. " + expected, Math.abs(actual - expected) * 32 <= expected);
+  }
+}
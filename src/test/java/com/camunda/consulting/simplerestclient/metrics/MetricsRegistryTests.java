@@ -0,0 +1,32 @@
+package com.camunda.consulting.simplerestclient.metrics;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.RestClient;
+import com.camunda.consulting.simplerestclient.transport.FakeTransport;
+
+public class MetricsRegistryTests {
+
+  @Test
+  public void testRequestsToDifferentIdsShareAnEntry() {
+    MetricsRegistry metrics = new MetricsRegistry();
+    FakeTransport transport = new FakeTransport();
+    try (RestClient restClient = RestClient.builder("http://localhost/engine-rest/").transport((pool, ssl) -> transport).metrics(metrics).build()) {
+      for (int id = 0; id < 100; id++) {
+        restClient.get(restClient.newRequest("process-instance/" + id + "/variables"));
+      }
+      restClient.get(restClient.newRequest(restClient.template("process-instance/{id}"), "4711"));
+      restClient.get(restClient.newRequest(restClient.template("process-instance/{id}"), "0815"));
+    }
+
+    assertThat(metrics.getStats().keySet(), is(new HashSet<String>(Arrays.asList("process-instance/{}/variables", "process-instance/{id}"))));
+    assertThat(metrics.getStats("process-instance/{}/variables").getRequests(), is(100L));
+    assertThat(metrics.getStats("process-instance/{id}").getRequests(), is(2L));
+  }
+}
@@ -0,0 +1,177 @@
+package com.camunda.consulting.simplerestclient.paging;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.paging.PagedResults.PageFetcher;
+
+public class PagedResultsTests {
+
+  @Test
+  public void testPagesAreRequestedByFirstResult() {
+    Pages pages = new Pages(15);
+
+    List<Integer> results = new PagedResults<Integer>(new PagingConfig().firstResult(10).pageSize(2).prefetch(0), pages).stream()
+        .collect(Collectors.toList());
+
+    assertThat(results, is(Arrays.asList(10, 11, 12, 13, 14)));
+    assertThat(pages.firstResults, is(Arrays.asList(10, 12, 14)));
+    assertThat(pages.maxResults, is(Arrays.asList(2, 2, 2)));
+  }
+
+  @Test
+  public void testPrefetchKeepsPagesInFlight() {
+    Pages pages = new Pages(100).answered(1);
+    Iterator<Integer> iterator = new PagedResults<Integer>(new PagingConfig().pageSize(2).prefetch(2), pages).iterator();
+
+    assertThat(iterator.hasNext(), is(true));
+    assertThat(pages.firstResults, is(Arrays.asList(0, 2, 4)));
+    assertThat(iterator.next(), is(0));
+    assertThat(iterator.next(), is(1));
+    assertThat(pages.firstResults.size(), is(3));
+  }
+
+  @Test
+  public void testPagesAreRequestedOneAfterAnotherWithoutPrefetch() {
+    Pages pages = new Pages(100);
+    Iterator<Integer> iterator = new PagedResults<Integer>(new PagingConfig().pageSize(2).prefetch(0), pages).iterator();
+
+    assertThat(iterator.next(), is(0));
+    assertThat(iterator.next(), is(1));
+    assertThat(pages.firstResults, is(Arrays.asList(0)));
+
+    assertThat(iterator.next(), is(2));
+    assertThat(pages.firstResults, is(Arrays.asList(0, 2)));
+  }
+
+  @Test
+  public void testIterationEndsAfterShortPage() {
+    Pages pages = new Pages(3);
+
+    List<Integer> results = new PagedResults<Integer>(new PagingConfig().pageSize(2).prefetch(0), pages).stream()
+        .collect(Collectors.toList());
+
+    assertThat(results, is(Arrays.asList(0, 1, 2)));
+    assertThat(pages.firstResults, is(Arrays.asList(0, 2)));
+  }
+
+  @Test
+  public void testIterationEndsAfterEmptyPageFollowingFullPage() {
+    Pages pages = new Pages(4);
+
+    List<Integer> results = new PagedResults<Integer>(new PagingConfig().pageSize(2).prefetch(0), pages).stream()
+        .collect(Collectors.toList());
+
+    assertThat(results, is(Arrays.asList(0, 1, 2, 3)));
+    assertThat(pages.firstResults, is(Arrays.asList(0, 2, 4)));
+  }
+
+  @Test
+  public void testFailedPageSurfacesFromHasNext() {
+    Pages pages = new Pages(100).failingAt(2).answered(2);
+    Iterator<Integer> iterator = new PagedResults<Integer>(new PagingConfig().pageSize(2).prefetch(2), pages).iterator();
+
+    assertThat(iterator.next(), is(0));
+    assertThat(iterator.next(), is(1));
+    try {
+      iterator.hasNext();
+      fail("expected the failure of the page");
+    } catch (RestClientException e) {
+      assertThat(e.getMessage(), is("page at 2 failed"));
+    }
+
+    // pages requested ahead of the failed one are cancelled
+    assertThat(pages.pending.size(), is(2));
+    assertThat(pages.pending.get(0).isCancelled(), is(true));
+    assertThat(pages.pending.get(1).isCancelled(), is(true));
+    assertThat(iterator.hasNext(), is(false));
+  }
+
+  @Test
+  public void testCloseCancelsPrefetchedPages() {
+    Pages pages = new Pages(100).answered(1);
+    PagedResults<Integer> results = new PagedResults<Integer>(new PagingConfig().pageSize(2).prefetch(2), pages);
+    Iterator<Integer> iterator = results.iterator();
+
+    assertThat(iterator.next(), is(0));
+    results.close();
+
+    assertThat(pages.pending.size(), is(2));
+    assertThat(pages.pending.get(0).isCancelled(), is(true));
+    assertThat(pages.pending.get(1).isCancelled(), is(true));
+    assertThat(iterator.next(), is(1));
+    assertThat(iterator.hasNext(), is(false));
+    assertThat(pages.firstResults.size(), is(3));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testResultsCanBeIteratedOnce() {
+    PagedResults<Integer> results = new PagedResults<Integer>(new PagingConfig(), new Pages(0));
+    results.iterator();
+    results.iterator();
+  }
+
+  /**
+   * This answers requests for pages of the results 0, 1, 2, ... below a
+   * bound.
+   */
+  private static class Pages implements PageFetcher<Integer> {
+
+    private final int results;
+
+    private int answered = Integer.MAX_VALUE;
+    private int failingAt = -1;
+
+    private final List<Integer> firstResults = new ArrayList<Integer>();
+    private final List<Integer> maxResults = new ArrayList<Integer>();
+    private final List<CompletableFuture<List<Integer>>> pending = new ArrayList<CompletableFuture<List<Integer>>>();
+
+    private Pages(int results) {
+      this.results = results;
+    }
+
+    /**
+     * Requests after the first {@code answered} stay pending.
+     */
+    private Pages answered(int answered) {
+      this.answered = answered;
+      return this;
+    }
+
+    private Pages failingAt(int firstResult) {
+      this.failingAt = firstResult;
+      return this;
+    }
+
+    @Override
+    public CompletableFuture<List<Integer>> fetch(int firstResult, int maxResults) {
+      this.firstResults.add(firstResult);
+      this.maxResults.add(maxResults);
+
+      CompletableFuture<List<Integer>> page = new CompletableFuture<List<Integer>>();
+      if (firstResult == failingAt) {
+        page.completeExceptionally(new RestClientException("page at " + firstResult + " failed"));
+      } else if (firstResults.size() > answered) {
+        pending.add(page);
+      } else {
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = firstResult; i < Math.min(firstResult + maxResults, results); i++) {
+          values.add(i);
+        }
+        page.complete(values);
+      }
+      return page;
+    }
+  }
+}
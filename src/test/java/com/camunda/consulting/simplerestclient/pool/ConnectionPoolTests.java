@@ -0,0 +1,96 @@
+package com.camunda.consulting.simplerestclient.pool;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.RestClient;
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.response.Response;
+import com.camunda.consulting.simplerestclient.testsupport.StubResponse;
+import com.camunda.consulting.simplerestclient.testsupport.StubServer;
+
+public class ConnectionPoolTests {
+
+  @Test
+  public void testDefaults() {
+    ConnectionPoolConfig config = new ConnectionPoolConfig();
+
+    assertThat(config.getSocketTimeoutMillis(), is(TimeUnit.SECONDS.toMillis(60)));
+    assertThat(config.getConnectTimeoutMillis(), is(TimeUnit.SECONDS.toMillis(10)));
+    assertThat(config.getMaxTotal(), is(200));
+    assertThat(config.getMaxPerRoute(), is(50));
+  }
+
+  @Test
+  public void testConnectionsAreLeasedUpToMaxPerRouteAndKeptAlive() throws Exception {
+    ExecutorService callers = Executors.newFixedThreadPool(4);
+    try (StubServer server = StubServer.http().stub("/process-instance",
+        new StubResponse().body("{\"id\":\"4711\"}").latency(300, TimeUnit.MILLISECONDS));
+        RestClient restClient = RestClient.builder(server.getUri())
+            .connectionPool(new ConnectionPoolConfig().maxTotal(8).maxPerRoute(2))
+            .build()) {
+
+      List<Future<Response>> responses = new ArrayList<Future<Response>>();
+      for (int i = 0; i < 4; i++) {
+        responses.add(callers.submit(() -> restClient.get(restClient.newRequest("process-instance"))));
+      }
+
+      ConnectionPoolStats busy = awaitStats(restClient, 2, 2);
+      assertThat(busy.getLeased(), is(2));
+      assertThat(busy.getPending(), is(2));
+      assertThat(busy.getMax(), is(8));
+
+      for (Future<Response> response : responses) {
+        assertThat(response.get(5, TimeUnit.SECONDS).getStatusCode(), is(200));
+      }
+      ConnectionPoolStats idle = restClient.getConnectionPoolStats();
+      assertThat(idle.getLeased(), is(0));
+      assertThat(idle.getPending(), is(0));
+      assertThat(idle.getAvailable(), is(2));
+      assertThat(server.getRequests(), is(4L));
+    } finally {
+      callers.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testSocketTimeout() throws Exception {
+    try (StubServer server = StubServer.http().stub("/process-instance",
+        new StubResponse().body("{\"id\":\"4711\"}").latency(2, TimeUnit.SECONDS));
+        RestClient restClient = RestClient.builder(server.getUri())
+            .connectionPool(new ConnectionPoolConfig().socketTimeout(200, TimeUnit.MILLISECONDS))
+            .build()) {
+
+      long start = System.nanoTime();
+      try {
+        restClient.get(restClient.newRequest("process-instance"));
+        fail("expected the request to time out");
+      } catch (RestClientException e) {
+        assertThat(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2), is(true));
+      }
+      // the connection timed out is not returned to the pool
+      assertThat(restClient.getConnectionPoolStats().getLeased(), is(0));
+      assertThat(restClient.getConnectionPoolStats().getAvailable(), is(0));
+    }
+  }
+
+  private static ConnectionPoolStats awaitStats(RestClient restClient, int leased, int pending) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    ConnectionPoolStats stats = restClient.getConnectionPoolStats();
+    while ((stats.getLeased() != leased || stats.getPending() != pending) && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+      stats = restClient.getConnectionPoolStats();
+    }
+    return stats;
+  }
+}
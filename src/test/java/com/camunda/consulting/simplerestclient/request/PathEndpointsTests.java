@@ -0,0 +1,32 @@
+package com.camunda.consulting.simplerestclient.request;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class PathEndpointsTests {
+
+  @Test
+  public void testSegmentsWithDigitsAreReplaced() {
+    PathEndpoints endpoints = new PathEndpoints(10);
+
+    assertThat(endpoints.endpointOf("process-instance/4711/variables/order"), is("process-instance/{}/variables/order"));
+    assertThat(endpoints.endpointOf("process-definition/invoice:1:c3a63aaa-2046/xml"), is("process-definition/{}/xml"));
+    assertThat(endpoints.endpointOf("process-definition/key/invoice/start"), is("process-definition/key/invoice/start"));
+    assertThat(endpoints.endpointOf("/task/"), is("/task/"));
+    assertThat(endpoints.endpointOf(""), is(""));
+  }
+
+  @Test
+  public void testNumberOfEndpointsIsBounded() {
+    PathEndpoints endpoints = new PathEndpoints(2);
+
+    assertThat(endpoints.endpointOf("process-definition/key/invoice"), is("process-definition/key/invoice"));
+    assertThat(endpoints.endpointOf("process-definition/key/order"), is("process-definition/key/order"));
+    assertThat(endpoints.endpointOf("process-definition/key/shipment"), is("process-definition"));
+    assertThat(endpoints.endpointOf("/task/assignee"), is("/task"));
+    // endpoints seen before the bound was reached are kept
+    assertThat(endpoints.endpointOf("process-definition/key/invoice"), is("process-definition/key/invoice"));
+  }
+}
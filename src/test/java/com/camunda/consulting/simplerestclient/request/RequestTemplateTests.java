@@ -0,0 +1,96 @@
+package com.camunda.consulting.simplerestclient.request;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class RequestTemplateTests {
+
+  @Test
+  public void testExpandInOrder() {
+    RequestTemplate template = new RequestTemplate("process-instance/{id}/variables/{name}");
+
+    assertThat(template.expand("4711", "order"), is("/process-instance/4711/variables/order"));
+    assertThat(template.getVariableNames(), is(Arrays.asList("id", "name")));
+    assertThat(template.getTemplate(), is("process-instance/{id}/variables/{name}"));
+  }
+
+  @Test
+  public void testExpandByName() {
+    RequestTemplate template = new RequestTemplate("/process-instance/{id}/variables/{name}");
+    Map<String, Object> values = new HashMap<String, Object>();
+    values.put("name", "order");
+    values.put("id", 4711);
+
+    assertThat(template.expand(values), is("/process-instance/4711/variables/order"));
+  }
+
+  @Test
+  public void testVariableAppearingTwiceTakesTheSameValue() {
+    RequestTemplate template = new RequestTemplate("a/{id}/b/{ id }");
+
+    assertThat(template.expand("1"), is("/a/1/b/1"));
+    assertThat(template.getVariableNames(), is(Arrays.asList("id")));
+  }
+
+  @Test
+  public void testValuesAreEncodedAsSegments() {
+    RequestTemplate template = new RequestTemplate("variables/{name}");
+
+    assertThat(template.expand("a/b c"), is("/variables/a%2Fb%20c"));
+    assertThat(template.expand("100%"), is("/variables/100%25"));
+    assertThat(template.expand("gr\u00fcn"), is("/variables/gr%C3%BCn"));
+  }
+
+  @Test
+  public void testLiteralsAreEncodedOnce() {
+    RequestTemplate template = new RequestTemplate("my process/{id}/x%20y");
+
+    assertThat(template.expand("1"), is("/my%20process/1/x%20y"));
+  }
+
+  @Test
+  public void testTemplateWithoutVariables() {
+    assertThat(new RequestTemplate("deployment").expand(), is("/deployment"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrongNumberOfValues() {
+    new RequestTemplate("process-instance/{id}").expand("1", "2");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullValue() {
+    new RequestTemplate("process-instance/{id}").expand((Object) null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingNamedValue() {
+    new RequestTemplate("process-instance/{id}").expand(new HashMap<String, Object>());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnclosedVariable() {
+    new RequestTemplate("process-instance/{id");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnmatchedBrace() {
+    new RequestTemplate("process-instance/id}");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptyVariable() {
+    new RequestTemplate("process-instance/{}");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParameters() {
+    new RequestTemplate("process-instance?active=true");
+  }
+}
@@ -0,0 +1,93 @@
+package com.camunda.consulting.simplerestclient.request;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.RestClient;
+import com.camunda.consulting.simplerestclient.transport.FakeTransport;
+
+public class RequestTests {
+
+  @Test
+  public void testParametersOfUriString() {
+    Request request = new Request("process-instance?active=true&businessKey= order-1 ");
+
+    assertThat(request.getEndpoint(), is("process-instance"));
+    assertThat(request.getPath(), is("/process-instance"));
+    assertThat(request.getParameters(), is(parameters("active", "true", "businessKey", "order-1")));
+  }
+
+  @Test
+  public void testParameterWithoutValueIsKept() {
+    Request request = new Request("process-instance?deleted&active=true");
+
+    assertThat(request.getParameters(), is(parameters("deleted", "", "active", "true")));
+  }
+
+  @Test
+  public void testValueMayContainEquals() {
+    Request request = new Request("process-instance?variables=a_eq_b=c");
+
+    assertThat(request.getParameters(), is(parameters("variables", "a_eq_b=c")));
+  }
+
+  @Test
+  public void testEmptyParametersAreSkipped() {
+    Request request = new Request("process-instance?&active=true&&");
+
+    assertThat(request.getParameters(), is(parameters("active", "true")));
+  }
+
+  @Test
+  public void testEncodedPath() {
+    Request request = new Request("process-definition/key/my process").path("start", "form");
+
+    assertThat(request.getPath(), is("/process-definition/key/my process/start/form"));
+    assertThat(request.getEncodedPath(), is("/process-definition/key/my%20process/start/form"));
+  }
+
+  @Test
+  public void testTemplateRequest() {
+    RequestTemplate template = new RequestTemplate("process-instance/{id}");
+    Request request = new Request(template, "a/b").path("variables");
+
+    assertThat(request.getEndpoint(), is("process-instance/{id}"));
+    assertThat(request.getEncodedPath(), is("/process-instance/a%2Fb/variables"));
+  }
+
+  @Test
+  public void testIdentifiersAreReplacedInEndpoint() {
+    assertThat(new Request("process-instance/4711/variables").getEndpoint(), is("process-instance/{}/variables"));
+    assertThat(new Request("process-instance/4711?deleted=true").path("variables").getEndpoint(), is("process-instance/{}"));
+  }
+
+  @Test
+  public void testUriSent() {
+    FakeTransport transport = new FakeTransport();
+    try (RestClient restClient = RestClient.builder("http://localhost/engine-rest/").transport((pool, ssl) -> transport).build()) {
+
+      restClient.get(restClient.newRequest("process-instance/my process").restParameter("businessKey", "a b&c=d"));
+      assertThat(transport.getLastRequest().getUri().toString(), is("http://localhost/engine-rest/process-instance/my%20process?businessKey=a+b%26c%3Dd"));
+
+      restClient.get(restClient.newRequest("process-instance?deleted"));
+      assertThat(transport.getLastRequest().getUri().toString(), is("http://localhost/engine-rest/process-instance?deleted="));
+
+      restClient.get(restClient.newRequest(restClient.template("process-instance/{id}/variables/{name}"), "4711", "gr\u00fcn"));
+      assertThat(transport.getLastRequest().getUri().toString(), is("http://localhost/engine-rest/process-instance/4711/variables/gr%C3%BCn"));
+      assertThat(transport.getLastRequest().getUri().getPath(), is("/engine-rest/process-instance/4711/variables/gr\u00fcn"));
+    }
+  }
+
+  private static Map<String, String> parameters(String... keysAndValues) {
+    Map<String, String> parameters = new HashMap<String, String>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      parameters.put(keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return parameters;
+  }
+}
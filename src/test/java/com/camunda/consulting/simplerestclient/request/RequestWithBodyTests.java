@@ -0,0 +1,37 @@
+package com.camunda.consulting.simplerestclient.request;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+
+import org.junit.Test;
+
+public class RequestWithBodyTests {
+
+  @Test
+  public void testBody() throws IOException {
+    HashMap<String, Object> body = new HashMap<String, Object>();
+    body.put("businessKey", "order-1");
+    RequestWithBody request = new RequestWithBody("process-definition/key/invoice/start", body);
+
+    assertThat(request.bodyAsString(), is("{\"businessKey\":\"order-1\"}"));
+    assertThat(written(request), is("{\"businessKey\":\"order-1\"}"));
+  }
+
+  @Test
+  public void testNullBodyIsMarshalledAsNull() throws IOException {
+    RequestWithBody request = new RequestWithBody("process-definition/key/invoice/start", null);
+
+    assertThat(request.bodyAsString(), is("null"));
+    assertThat(written(request), is("null"));
+  }
+
+  private static String written(RequestWithBody request) throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    request.writeBodyTo(outputStream);
+    return outputStream.toString("UTF-8");
+  }
+}
@@ -0,0 +1,206 @@
+package com.camunda.consulting.simplerestclient.response;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.RestClient;
+import com.camunda.consulting.simplerestclient.testsupport.StubResponse;
+import com.camunda.consulting.simplerestclient.testsupport.StubServer;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+
+public class ResponseTests {
+
+  private static final byte[] BODY = "{\"id\":\"4711\"}".getBytes(StandardCharsets.UTF_8);
+
+  private final AtomicInteger released = new AtomicInteger();
+  private final AtomicInteger aborted = new AtomicInteger();
+  private final AtomicInteger bytesRead = new AtomicInteger();
+
+  @Test
+  public void testBodyBytesAreACopy() {
+    Response response = new Response(transportResponse(200, BODY));
+
+    byte[] bytes = response.bodyBytes();
+    assertThat(bytes, is(BODY));
+    bytes[0] = 'x';
+    assertThat(response.bodyBytes(), is(BODY));
+    assertThat(released.get(), is(1));
+  }
+
+  @Test
+  public void testBodyBufferIsReadOnlyView() {
+    Response response = new Response(transportResponse(200, BODY));
+
+    ByteBuffer buffer = response.bodyBuffer();
+    assertThat(buffer.isReadOnly(), is(true));
+    assertThat(buffer.remaining(), is(BODY.length));
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    assertThat(bytes, is(BODY));
+  }
+
+  @Test
+  public void testBodyStream() throws IOException {
+    Response response = new Response(transportResponse(200, BODY));
+
+    InputStream stream = response.bodyStream();
+    byte[] bytes = new byte[BODY.length];
+    assertThat(stream.read(bytes), is(BODY.length));
+    assertThat(stream.read(), is(-1));
+    assertThat(bytes, is(BODY));
+  }
+
+  @Test
+  public void testRawStringIsDecodedLazilyWithCharsetOfContentType() {
+    String body = "{\"name\":\"Gr\u00fc\u00dfe\"}";
+    Response response = new Response(transportResponse(200, body.getBytes(StandardCharsets.ISO_8859_1), "Content-Type",
+        "application/json; charset=ISO-8859-1"));
+
+    assertThat(response.bodyBytes().length, is(body.length()));
+    String decoded = response.getRawResponseEntityString();
+    assertThat(decoded, is(body));
+    assertThat(response.getRawResponseEntityString(), sameInstance(decoded));
+  }
+
+  @Test
+  public void testBodyOfDeclaredLength() {
+    Response response = new Response(transportResponse(200, BODY, "Content-Length", String.valueOf(BODY.length)));
+
+    assertThat(response.bodyBytes(), is(BODY));
+    assertThat(released.get(), is(1));
+  }
+
+  @Test
+  public void testBodyLongerThanDeclaredIsReadCompletely() {
+    Response response = new Response(transportResponse(200, BODY, "Content-Length", "4"));
+
+    assertThat(response.bodyBytes(), is(BODY));
+  }
+
+  @Test
+  public void testBodyShorterThanDeclaredIsReadCompletely() {
+    Response response = new Response(transportResponse(200, BODY, "Content-Length", "100"));
+
+    assertThat(response.bodyBytes(), is(BODY));
+  }
+
+  @Test
+  public void testBodyOfBogusLengthIsReadCompletely() {
+    Response response = new Response(transportResponse(200, BODY, "Content-Length", String.valueOf(Integer.MAX_VALUE)));
+
+    assertThat(response.bodyBytes(), is(BODY));
+  }
+
+  @Test
+  public void testNoContent() {
+    Response response = new Response(transportResponse(204, new byte[0]));
+
+    assertThat(response.bodyBytes().length, is(0));
+    assertThat(response.getRawResponseEntityString(), is(""));
+  }
+
+  @Test
+  public void testSmallDiscardedBodyIsDrained() {
+    Response response = Response.discardingBody(transportResponse(200, new byte[1000]));
+
+    assertThat(response.isBodyDiscarded(), is(true));
+    assertThat(bytesRead.get(), is(1000));
+    assertThat(released.get(), is(1));
+    assertThat(aborted.get(), is(0));
+    try {
+      response.bodyBytes();
+      fail("expected the body to be discarded");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testLargeDiscardedBodyOfDeclaredLengthIsAborted() {
+    Response response = Response.discardingBody(transportResponse(200, new byte[100 * 1024], "Content-Length", String.valueOf(100 * 1024)));
+
+    assertThat(response.isBodyDiscarded(), is(true));
+    assertThat(bytesRead.get(), is(0));
+    assertThat(aborted.get(), is(1));
+    assertThat(released.get(), is(1));
+  }
+
+  @Test
+  public void testLargeDiscardedBodyOfUnknownLengthIsAborted() {
+    Response response = Response.discardingBody(transportResponse(200, new byte[1024 * 1024]));
+
+    assertThat(response.isBodyDiscarded(), is(true));
+    assertTrue(bytesRead.get() <= 64 * 1024 + 8192);
+    assertThat(aborted.get(), is(1));
+    assertThat(released.get(), is(1));
+  }
+
+  @Test
+  public void testErrorBodyIsKeptWhenDiscarding() {
+    Response response = Response.discardingBody(transportResponse(500, BODY));
+
+    assertThat(response.isBodyDiscarded(), is(false));
+    assertThat(response.bodyBytes(), is(BODY));
+    assertThat(aborted.get(), is(0));
+  }
+
+  @Test
+  public void testClientDiscardsBodyOnRequest() throws Exception {
+    try (StubServer server = StubServer.http().stub("/process-instance", new StubResponse().payloadSize(1024))
+        .stub("/missing", new StubResponse().status(404).body("{\"message\":\"not found\"}"));
+        RestClient restClient = new RestClient(server.getUri())) {
+
+      Response response = restClient.get(restClient.newRequest("process-instance").discardResponseBody(true));
+      Response error = restClient.get(restClient.newRequest("missing").discardResponseBody(true));
+
+      assertThat(response.getStatusCode(), is(200));
+      assertThat(response.isBodyDiscarded(), is(true));
+      assertThat(error.isBodyDiscarded(), is(false));
+      assertThat(error.getRawResponseEntityString(), is("{\"message\":\"not found\"}"));
+    }
+  }
+
+  private TransportResponse transportResponse(int status, byte[] body, String... headers) {
+    MultivaluedMap<String, String> headerMap = new MultivaluedHashMap<String, String>();
+    for (int i = 0; i + 1 < headers.length; i += 2) {
+      headerMap.put(headers[i], Arrays.asList(headers[i + 1]));
+    }
+    InputStream bodyStream = new ByteArrayInputStream(body) {
+
+      @Override
+      public synchronized int read() {
+        int read = super.read();
+        if (read != -1) {
+          bytesRead.incrementAndGet();
+        }
+        return read;
+      }
+
+      @Override
+      public synchronized int read(byte[] buffer, int offset, int length) {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+          bytesRead.addAndGet(read);
+        }
+        return read;
+      }
+    };
+    return new TransportResponse(status, "", headerMap, bodyStream, released::incrementAndGet, aborted::incrementAndGet);
+  }
+}
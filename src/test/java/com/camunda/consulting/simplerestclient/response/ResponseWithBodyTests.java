@@ -0,0 +1,115 @@
+package com.camunda.consulting.simplerestclient.response;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+import com.camunda.consulting.simplerestclient.util.JsonCodec;
+
+public class ResponseWithBodyTests {
+
+  private static final String ARRAY = "[{\"id\":\"1\",\"name\":\"a\"},{\"id\":\"2\",\"name\":\"b\"}]";
+
+  public static class Instance implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public String id;
+    public String name;
+  }
+
+  @Test
+  public void testArrayOfPojos() {
+    List<Instance> results = response(ARRAY, Instance.class).getResults();
+
+    assertThat(results.size(), is(2));
+    assertThat(results.get(0).id, is("1"));
+    assertThat(results.get(1).name, is("b"));
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Test
+  public void testArrayOfMaps() {
+    List<HashMap> results = response(ARRAY, HashMap.class).getResults();
+
+    assertThat(results.size(), is(2));
+    assertThat(results.get(0).get("id"), is((Object) "1"));
+    assertThat(results.get(1).get("name"), is((Object) "b"));
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Test
+  public void testArrayBoundToList() {
+    List<ArrayList> results = response(ARRAY, ArrayList.class).getResults();
+
+    assertThat(results.size(), is(1));
+    assertThat(results.get(0).size(), is(2));
+  }
+
+  @Test
+  public void testArrayBoundToArray() {
+    List<Instance[]> results = response(ARRAY, Instance[].class).getResults();
+
+    assertThat(results.size(), is(1));
+    assertThat(results.get(0).length, is(2));
+  }
+
+  @Test
+  public void testObject() {
+    ResponseWithBody<Instance> response = response("{\"id\":\"1\",\"name\":\"a\"}", Instance.class);
+
+    assertThat(response.getResults().size(), is(1));
+    assertThat(response.getSingleResult().name, is("a"));
+  }
+
+  @Test
+  public void testSingleResultOfArrayIsNull() {
+    assertThat(response(ARRAY, Instance.class).getSingleResult(), nullValue());
+  }
+
+  @Test
+  public void testEmptyAndNullBodies() {
+    assertThat(response("", Instance.class).getResults().isEmpty(), is(true));
+    assertThat(response("null", Instance.class).getSingleResult(), nullValue());
+    assertThat(response("[]", Instance.class).getResults().isEmpty(), is(true));
+  }
+
+  @Test
+  public void testResultsAreUnmarshalledOnce() {
+    ResponseWithBody<Instance> response = response("{\"id\":\"1\"}", Instance.class);
+
+    List<Instance> results = response.getResults();
+    assertThat(response.getResults(), sameInstance(results));
+    assertThat(response.getSingleResult(), sameInstance(results.get(0)));
+    assertThat(response.getSingleResult(), sameInstance(response.getSingleResult()));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testResultsAreUnmodifiable() {
+    response(ARRAY, Instance.class).getResults().clear();
+  }
+
+  private static <T extends Serializable> ResponseWithBody<T> response(String body, Class<T> entityType) {
+    MultivaluedMap<String, String> headers = new MultivaluedHashMap<String, String>();
+    headers.put("Content-Type", Arrays.asList("application/json"));
+    TransportResponse transportResponse = new TransportResponse(200, "OK", headers, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+        () -> {
+        });
+    return new ResponseWithBody<T>(transportResponse, JsonCodec.DEFAULT.typeOf(entityType));
+  }
+}
@@ -0,0 +1,114 @@
+package com.camunda.consulting.simplerestclient.response;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+import com.camunda.consulting.simplerestclient.util.JsonCodec;
+
+public class StreamingResponseTests {
+
+  private final AtomicInteger released = new AtomicInteger();
+  private final AtomicInteger aborted = new AtomicInteger();
+
+  @Test
+  public void testSuccessfulResponseIsStreamed() {
+    try (StreamingResponse<String> response = streaming(200, "[\"a\",\"b\",\"c\"]")) {
+      List<String> elements = new ArrayList<String>();
+      response.forEach(elements::add);
+
+      assertThat(elements, is(Arrays.asList("a", "b", "c")));
+      assertThat(released.get(), is(1));
+    }
+    assertThat(released.get(), is(1));
+    assertThat(aborted.get(), is(0));
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Test
+  public void testArrayOfMapsIsStreamedByElement() {
+    String body = "[{\"id\":\"1\"},{\"id\":\"2\"}]";
+    try (StreamingResponse<HashMap> response = streaming(200, body, HashMap.class)) {
+      List<HashMap> elements = response.stream().collect(Collectors.toList());
+
+      assertThat(elements.size(), is(2));
+      assertThat(elements.get(1).get("id"), is((Object) "2"));
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Test
+  public void testArrayIsStreamedAsOneListElement() {
+    try (StreamingResponse<ArrayList> response = streaming(200, "[\"a\",\"b\"]", ArrayList.class)) {
+      List<ArrayList> elements = response.stream().collect(Collectors.toList());
+
+      assertThat(elements.size(), is(1));
+      assertThat(elements.get(0), is((ArrayList) new ArrayList<String>(Arrays.asList("a", "b"))));
+    }
+  }
+
+  @Test
+  public void testClosingBeforeTheEndAbortsTheConnection() {
+    try (StreamingResponse<String> response = streaming(200, "[\"a\",\"b\",\"c\"]")) {
+      assertThat(response.iterator().next(), is("a"));
+    }
+    assertThat(aborted.get(), is(1));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testBodyOfSuccessfulResponseIsNotBuffered() {
+    try (StreamingResponse<String> response = streaming(200, "[\"a\"]")) {
+      response.getRawResponseEntityString();
+    }
+  }
+
+  @Test
+  public void testErrorResponseIsBuffered() {
+    String error = "{\"type\":\"InvalidRequestException\",\"message\":\"no such process instance\"}";
+    try (StreamingResponse<String> response = streaming(404, error)) {
+      // read and released right away
+      assertThat(released.get(), is(1));
+
+      assertThat(response.getStatus(), is(404));
+      assertThat(response.getRawResponseEntityString(), is(error));
+      assertThat(new String(response.bodyBytes(), StandardCharsets.UTF_8), is(error));
+      assertThat(response.stream().collect(Collectors.toList()).isEmpty(), is(true));
+    }
+    assertThat(released.get(), is(1));
+    assertThat(aborted.get(), is(0));
+  }
+
+  @Test
+  public void testErrorResponseAsResponse() {
+    Response response = streaming(500, "internal error");
+
+    assertThat(response.getRawResponseEntityString(), is("internal error"));
+  }
+
+  private StreamingResponse<String> streaming(int status, String body) {
+    return streaming(status, body, String.class);
+  }
+
+  private <T extends Serializable> StreamingResponse<T> streaming(int status, String body, Class<T> elementType) {
+    MultivaluedMap<String, String> headers = new MultivaluedHashMap<String, String>();
+    headers.add("Content-Type", "application/json; charset=UTF-8");
+    TransportResponse transportResponse = new TransportResponse(status, "", headers, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+        released::incrementAndGet, aborted::incrementAndGet);
+    return new StreamingResponse<T>(transportResponse, JsonCodec.DEFAULT.typeOf(elementType));
+  }
+}
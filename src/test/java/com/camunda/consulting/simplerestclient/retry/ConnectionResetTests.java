@@ -0,0 +1,101 @@
+package com.camunda.consulting.simplerestclient.retry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.RestClient;
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+
+/**
+ * This checks that an I/O failure is retried by the client's retry policy
+ * only, and not once more inside the HTTP client.
+ */
+public class ConnectionResetTests {
+
+  private final ResettingServer server = new ResettingServer();
+
+  @After
+  public void close() throws IOException {
+    server.close();
+  }
+
+  @Test
+  public void testAttemptsOnConnectionReset() {
+    RetryPolicy policy = new RetryPolicy().maxAttempts(3).backoff(1, 10, TimeUnit.MILLISECONDS);
+    try (RestClient restClient = RestClient.builder(server.getUri()).retryPolicy(policy).retryBudget(new RetryBudget(1.0, 10)).build()) {
+      restClient.get(restClient.newRequest("process-instance"));
+      fail("connection reset was not thrown");
+    } catch (RestClientException e) {
+      assertThat(server.getConnections(), is(3));
+    }
+  }
+
+  @Test
+  public void testNoRetryOnConnectionReset() {
+    try (RestClient restClient = RestClient.builder(server.getUri()).retryPolicy(RetryPolicy.none()).build()) {
+      restClient.get(restClient.newRequest("process-instance"));
+      fail("connection reset was not thrown");
+    } catch (RestClientException e) {
+      assertThat(server.getConnections(), is(1));
+    }
+  }
+
+  /**
+   * This accepts connections, reads the start of the request and resets the
+   * connection.
+   */
+  private static class ResettingServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final AtomicInteger connections = new AtomicInteger();
+
+    ResettingServer() {
+      try {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+      Thread acceptor = new Thread(this::accept, "resetting-server");
+      acceptor.setDaemon(true);
+      acceptor.start();
+    }
+
+    private void accept() {
+      while (serverSocket.isClosed() == false) {
+        try (Socket socket = serverSocket.accept()) {
+          connections.incrementAndGet();
+          InputStream input = socket.getInputStream();
+          input.read(new byte[8192]);
+          socket.setSoLinger(true, 0);
+        } catch (IOException e) {
+          // closed
+        }
+      }
+    }
+
+    String getUri() {
+      return "http://localhost:" + serverSocket.getLocalPort() + "/engine-rest/";
+    }
+
+    int getConnections() {
+      return connections.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+      serverSocket.close();
+    }
+  }
+}
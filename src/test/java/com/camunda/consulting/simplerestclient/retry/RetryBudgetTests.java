@@ -0,0 +1,69 @@
+package com.camunda.consulting.simplerestclient.retry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class RetryBudgetTests {
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  public void testWithdrawUntilExhausted() {
+    RetryBudget budget = new RetryBudget(0.5, 2, now::get);
+
+    assertThat(budget.getAvailable(), is(2L));
+    assertThat(budget.tryWithdraw(), is(true));
+    assertThat(budget.tryWithdraw(), is(true));
+    assertThat(budget.tryWithdraw(), is(false));
+
+    assertThat(budget.getRetries(), is(2L));
+    assertThat(budget.getDenied(), is(1L));
+  }
+
+  @Test
+  public void testRequestsDepositTheirShare() {
+    RetryBudget budget = new RetryBudget(0.5, 0, now::get);
+
+    assertThat(budget.tryWithdraw(), is(false));
+    budget.deposit();
+    assertThat(budget.tryWithdraw(), is(false));
+    budget.deposit();
+    assertThat(budget.tryWithdraw(), is(true));
+    assertThat(budget.getAvailable(), is(0L));
+  }
+
+  @Test
+  public void testRefillPerSecond() {
+    RetryBudget budget = new RetryBudget(0.0, 10, now::get);
+    while (budget.tryWithdraw()) {
+    }
+
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(99));
+    assertThat(budget.tryWithdraw(), is(false));
+    // the 99 ms are not lost by the failed attempt
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+    assertThat(budget.tryWithdraw(), is(true));
+
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+    assertThat(budget.tryWithdraw(), is(true));
+    assertThat(budget.getAvailable(), is(4L));
+  }
+
+  @Test
+  public void testBalanceIsCappedAtBurst() {
+    RetryBudget budget = new RetryBudget(1.0, 10, now::get).burst(5);
+
+    now.addAndGet(TimeUnit.MINUTES.toNanos(10));
+    for (int request = 0; request < 100; request++) {
+      budget.deposit();
+    }
+    budget.tryWithdraw();
+
+    assertThat(budget.getAvailable(), is(4L));
+  }
+}
@@ -0,0 +1,78 @@
+package com.camunda.consulting.simplerestclient.retry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.utils.DateUtils;
+import org.junit.Test;
+
+public class RetryPolicyTests {
+
+  @Test
+  public void testBackoffStaysWithinExponentialBound() {
+    RetryPolicy policy = new RetryPolicy().backoff(100, 1000, TimeUnit.MILLISECONDS).multiplier(2.0);
+    long[] bounds = { 100, 200, 400, 800, 1000, 1000 };
+
+    for (int retry = 1; retry <= bounds.length; retry++) {
+      long highest = 0;
+      for (int sample = 0; sample < 1000; sample++) {
+        long backoff = policy.backoffMillis(retry);
+        assertTrue("backoff " + backoff + " of retry " + retry, backoff >= 0 && backoff < bounds[retry - 1]);
+        highest = Math.max(highest, backoff);
+      }
+      // full jitter spreads the backoff over the whole range
+      assertTrue("highest backoff " + highest + " of retry " + retry, highest >= bounds[retry - 1] / 2);
+    }
+  }
+
+  @Test
+  public void testRetryAfterSeconds() {
+    RetryPolicy policy = new RetryPolicy().maxRetryAfter(30, TimeUnit.SECONDS);
+
+    assertThat(policy.retryAfterMillis("3"), is(3000L));
+    assertThat(policy.retryAfterMillis(" 30 "), is(30000L));
+    assertThat(policy.retryAfterMillis("0"), is(0L));
+  }
+
+  @Test
+  public void testRetryAfterLongerThanAllowedIsNotRetried() {
+    RetryPolicy policy = new RetryPolicy().maxRetryAfter(30, TimeUnit.SECONDS);
+
+    assertThat(policy.retryAfterMillis("31"), is(-1L));
+    assertThat(policy.retryAfterMillis(DateUtils.formatDate(new Date(System.currentTimeMillis() + 3600000))), is(-1L));
+  }
+
+  @Test
+  public void testRetryAfterDate() {
+    RetryPolicy policy = new RetryPolicy().maxRetryAfter(30, TimeUnit.SECONDS);
+
+    long millis = policy.retryAfterMillis(DateUtils.formatDate(new Date(System.currentTimeMillis() + 10000)));
+    // HTTP dates are precise to the second
+    assertTrue("waiting " + millis + " ms", millis > 8000 && millis <= 10000);
+    assertThat(policy.retryAfterMillis(DateUtils.formatDate(new Date(System.currentTimeMillis() - 10000))), is(0L));
+  }
+
+  @Test
+  public void testUnparsableRetryAfterFallsBackToBackoff() {
+    assertThat(new RetryPolicy().retryAfterMillis("soon"), is(0L));
+  }
+
+  @Test
+  public void testMethodsAndStatuses() {
+    RetryPolicy policy = new RetryPolicy();
+
+    assertTrue(policy.isRetryable("GET"));
+    assertTrue(policy.isRetryable("delete"));
+    assertThat(policy.isRetryable("POST"), is(false));
+    assertTrue(policy.isRetryable(503));
+    assertThat(policy.isRetryable(500), is(false));
+
+    assertThat(RetryPolicy.none().isRetryable("GET"), is(false));
+    assertTrue(new RetryPolicy().methods("POST").isRetryable("POST"));
+    assertThat(new RetryPolicy().retryOn(500).isRetryable(503), is(false));
+  }
+}
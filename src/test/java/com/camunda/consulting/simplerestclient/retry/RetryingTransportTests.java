@@ -0,0 +1,162 @@
+package com.camunda.consulting.simplerestclient.retry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.transport.FakeTransport;
+import com.camunda.consulting.simplerestclient.transport.TransportResponse;
+
+public class RetryingTransportTests {
+
+  private final FakeTransport delegate = new FakeTransport();
+
+  private final RetryPolicy policy = new RetryPolicy().maxAttempts(3).backoff(1, 10, TimeUnit.MILLISECONDS);
+
+  private RetryingTransport transport = new RetryingTransport(delegate, policy, new RetryBudget(0.2, 10));
+
+  @After
+  public void close() {
+    transport.close();
+  }
+
+  @Test
+  public void testRetriesTransientStatus() {
+    delegate.respond(503).respond(502).respond(200);
+
+    TransportResponse response = transport.execute(FakeTransport.request("GET", "process-instance"));
+
+    assertThat(response.getStatus(), is(200));
+    assertThat(delegate.getRequests(), is(3));
+    // the responses retried are released
+    assertThat(delegate.getReleased(), is(2));
+  }
+
+  @Test
+  public void testReturnsLastResponseOnceAttemptsAreUsedUp() {
+    delegate.respond(503);
+
+    TransportResponse response = transport.execute(FakeTransport.request("GET", "process-instance"));
+
+    assertThat(response.getStatus(), is(503));
+    assertThat(delegate.getRequests(), is(3));
+    assertThat(delegate.getReleased(), is(2));
+  }
+
+  @Test
+  public void testDoesNotRetryOtherStatusOrMethods() {
+    delegate.respond(500).respond(503);
+
+    assertThat(transport.execute(FakeTransport.request("GET", "process-instance")).getStatus(), is(500));
+    assertThat(transport.execute(FakeTransport.request("POST", "message")).getStatus(), is(503));
+    assertThat(transport.execute(FakeTransport.request("GET", "process-instance", RetryPolicy.none())).getStatus(), is(503));
+    assertThat(delegate.getRequests(), is(3));
+  }
+
+  @Test
+  public void testRetryAfterLongerThanAllowedIsReturned() {
+    transport.close();
+    transport = new RetryingTransport(delegate, new RetryPolicy().maxRetryAfter(1, TimeUnit.SECONDS), new RetryBudget(0.2, 10));
+    delegate.respond(429, "Retry-After", "120");
+
+    TransportResponse response = transport.execute(FakeTransport.request("GET", "process-instance"));
+
+    assertThat(response.getStatus(), is(429));
+    assertThat(delegate.getRequests(), is(1));
+    assertThat(delegate.getReleased(), is(0));
+  }
+
+  @Test
+  public void testWaitsAsLongAsRetryAfterAsksFor() {
+    delegate.respond(503, "retry-after", "1").respond(200);
+
+    long startNanos = System.nanoTime();
+    TransportResponse response = transport.execute(FakeTransport.request("GET", "process-instance"));
+
+    assertThat(response.getStatus(), is(200));
+    assertTrue(System.nanoTime() - startNanos >= TimeUnit.SECONDS.toNanos(1));
+  }
+
+  @Test
+  public void testRetriesIoFailures() {
+    delegate.fail(new RestClientException("cannot execute request", new IOException("connection reset"))).respond(200);
+
+    assertThat(transport.execute(FakeTransport.request("GET", "process-instance")).getStatus(), is(200));
+    assertThat(delegate.getRequests(), is(2));
+  }
+
+  @Test
+  public void testDoesNotRetryOtherFailures() {
+    RestClientException failure = new RestClientException("cannot marshall entity");
+    delegate.fail(failure).respond(200);
+
+    try {
+      transport.execute(FakeTransport.request("GET", "process-instance"));
+      fail("failure was not thrown");
+    } catch (RestClientException e) {
+      assertThat(e, sameInstance(failure));
+    }
+    assertThat(delegate.getRequests(), is(1));
+  }
+
+  @Test
+  public void testDoesNotRetryBeyondBudget() {
+    RetryBudget budget = new RetryBudget(0.0, 0);
+    transport.close();
+    transport = new RetryingTransport(delegate, policy, budget);
+    delegate.respond(503).respond(200);
+
+    assertThat(transport.execute(FakeTransport.request("GET", "process-instance")).getStatus(), is(503));
+    assertThat(delegate.getRequests(), is(1));
+    assertThat(budget.getDenied(), is(1L));
+  }
+
+  @Test
+  public void testRetriesAsync() throws Exception {
+    delegate.respond(503).fail(new RestClientException("cannot execute request", new IOException("connection reset"))).respond(200);
+
+    TransportResponse response = transport.executeAsync(FakeTransport.request("GET", "process-instance"), Runnable::run).get(5,
+        TimeUnit.SECONDS);
+
+    assertThat(response.getStatus(), is(200));
+    assertThat(delegate.getRequests(), is(3));
+    assertThat(delegate.getReleased(), is(1));
+  }
+
+  @Test
+  public void testAsyncFailureOnceAttemptsAreUsedUp() throws Exception {
+    RestClientException failure = new RestClientException("cannot execute request", new IOException("connection reset"));
+    delegate.fail(failure);
+
+    try {
+      transport.executeAsync(FakeTransport.request("GET", "process-instance"), Runnable::run).get(5, TimeUnit.SECONDS);
+      fail("failure was not thrown");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), sameInstance((Throwable) failure));
+    }
+    assertThat(delegate.getRequests(), is(3));
+  }
+
+  @Test
+  public void testCancelledAsyncRequestIsNotRetried() throws Exception {
+    delegate.respond(503, "Retry-After", "1").respond(200);
+
+    CompletableFuture<TransportResponse> result = transport.executeAsync(FakeTransport.request("GET", "process-instance"), Runnable::run);
+    result.cancel(true);
+    Thread.sleep(1500);
+
+    assertThat(delegate.getRequests(), is(1));
+    assertThat(delegate.getReleased(), is(1));
+  }
+}
@@ -0,0 +1,51 @@
+package com.camunda.consulting.simplerestclient.testsupport;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.RestClient;
+
+public class LoadDriverTests {
+
+  @Test
+  public void testClosedLoopCountsOperationsAndErrors() throws Exception {
+    try (StubServer server = StubServer.http().stub("/process-instance", new StubResponse().errorRate(1.0, 503));
+        RestClient restClient = new RestClient(server.getUri())) {
+
+      LoadStats stats = new LoadDriver()
+          .concurrency(2)
+          .duration(300, TimeUnit.MILLISECONDS)
+          .run(() -> {
+            if (restClient.get(restClient.newRequest("process-instance")).getStatusCode() != 200) {
+              throw new IllegalStateException("unexpected status");
+            }
+          });
+
+      assertTrue(stats.getOperations() > 0);
+      assertThat(stats.getErrors(), is(stats.getOperations()));
+      assertTrue(server.getRequests() >= stats.getOperations());
+    }
+  }
+
+  @Test
+  public void testOpenLoopIncludesLatency() throws Exception {
+    try (StubServer server = StubServer.http().stub("/process-instance", new StubResponse().latency(20, TimeUnit.MILLISECONDS));
+        RestClient restClient = new RestClient(server.getUri())) {
+
+      LoadStats stats = new LoadDriver()
+          .arrivalRate(50)
+          .concurrency(4)
+          .duration(400, TimeUnit.MILLISECONDS)
+          .run(() -> restClient.get(restClient.newRequest("process-instance")));
+
+      assertThat(stats.getErrors(), is(0L));
+      assertThat(stats.getOperations(), is(20L));
+      assertTrue(stats.getLatency().getP50() >= TimeUnit.MILLISECONDS.toNanos(19));
+    }
+  }
+}
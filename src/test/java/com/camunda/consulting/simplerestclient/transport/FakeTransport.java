@@ -0,0 +1,213 @@
+package com.camunda.consulting.simplerestclient.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolStats;
+import com.camunda.consulting.simplerestclient.retry.RetryPolicy;
+
+/**
+ * This answers requests with scripted responses and failures, one after the
+ * other; the last one is repeated once the script is used up. It counts the
+ * requests received and the responses released. Asynchronous exchanges can be
+ * held until the test completes them, to control which one finishes first.
+ */
+public class FakeTransport implements HttpTransport {
+
+  private final Deque<Function<TransportRequest, TransportResponse>> script = new ArrayDeque<Function<TransportRequest, TransportResponse>>();
+  private Function<TransportRequest, TransportResponse> last = request -> response(200, null);
+
+  private final AtomicInteger requests = new AtomicInteger();
+  private final AtomicInteger released = new AtomicInteger();
+
+  private volatile TransportRequest lastRequest;
+
+  /**
+   * {@code true} if asynchronous exchanges wait for the test to complete them
+   */
+  private volatile boolean holdAsync = false;
+
+  private final BlockingQueue<PendingExchange> pendingExchanges = new LinkedBlockingQueue<PendingExchange>();
+
+  /**
+   * @param status
+   *          status of the next response
+   * @param headers
+   *          header names and values of the next response
+   * @return this
+   */
+  public synchronized FakeTransport respond(int status, String... headers) {
+    script.add(request -> response(status, null, headers));
+    return this;
+  }
+
+  /**
+   * @param status
+   *          status of the next response
+   * @param body
+   *          body of the next response
+   * @param headers
+   *          header names and values of the next response
+   * @return this
+   */
+  public synchronized FakeTransport respondWithBody(int status, String body, String... headers) {
+    script.add(request -> response(status, body, headers));
+    return this;
+  }
+
+  /**
+   * @param failure
+   *          failure of the next exchange
+   * @return this
+   */
+  public synchronized FakeTransport fail(RuntimeException failure) {
+    script.add(request -> {
+      throw failure;
+    });
+    return this;
+  }
+
+  /**
+   * This makes asynchronous exchanges wait until the test completes them, see
+   * {@link #awaitExchange(long, TimeUnit)}.
+   *
+   * @return this
+   */
+  public FakeTransport holdAsync() {
+    this.holdAsync = true;
+    return this;
+  }
+
+  /**
+   * @return the next asynchronous exchange started, {@code null} if none was
+   *         started within {@code timeout}
+   */
+  public PendingExchange awaitExchange(long timeout, TimeUnit unit) throws InterruptedException {
+    return pendingExchanges.poll(timeout, unit);
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> executeAsync(TransportRequest request, Executor blockingExecutor) {
+    if (holdAsync == false) {
+      return HttpTransport.super.executeAsync(request, blockingExecutor);
+    }
+    PendingExchange exchange = new PendingExchange(request);
+    pendingExchanges.add(exchange);
+    return exchange.future;
+  }
+
+  @Override
+  public TransportResponse execute(TransportRequest request) throws RestClientException {
+    requests.incrementAndGet();
+    lastRequest = request;
+    Function<TransportRequest, TransportResponse> next;
+    synchronized (this) {
+      if (script.isEmpty() == false) {
+        last = script.poll();
+      }
+      next = last;
+    }
+    return next.apply(request);
+  }
+
+  private TransportResponse response(int status, String body, String... headers) {
+    MultivaluedMap<String, String> headerMap = new MultivaluedHashMap<String, String>();
+    for (int i = 0; i + 1 < headers.length; i += 2) {
+      headerMap.add(headers[i], headers[i + 1]);
+    }
+    InputStream bodyStream = body != null ? new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)) : null;
+    return new TransportResponse(status, "", headerMap, bodyStream, released::incrementAndGet);
+  }
+
+  /**
+   * @return number of requests received
+   */
+  public int getRequests() {
+    return requests.get();
+  }
+
+  /**
+   * @return the request received last
+   */
+  public TransportRequest getLastRequest() {
+    return lastRequest;
+  }
+
+  /**
+   * @return number of responses released
+   */
+  public int getReleased() {
+    return released.get();
+  }
+
+  @Override
+  public ConnectionPoolStats getConnectionPoolStats() {
+    return null;
+  }
+
+  @Override
+  public void close() {
+  }
+
+  /**
+   * This is an asynchronous exchange waiting for the test to complete it.
+   */
+  public class PendingExchange {
+
+    private final TransportRequest request;
+    private final CompletableFuture<TransportResponse> future = new CompletableFuture<TransportResponse>();
+
+    private PendingExchange(TransportRequest request) {
+      this.request = request;
+    }
+
+    /**
+     * This completes the exchange with the next scripted outcome. A response
+     * nobody waits for anymore is released.
+     */
+    public void complete() {
+      try {
+        execute(request).deliverTo(future);
+      } catch (RuntimeException e) {
+        future.completeExceptionally(e);
+      }
+    }
+
+    /**
+     * @return {@code true} if the exchange was cancelled by its caller
+     */
+    public boolean isCancelled() {
+      return future.isCancelled();
+    }
+  }
+
+  /**
+   * @return a request without headers and body
+   */
+  public static TransportRequest request(String method, String endpoint) {
+    return request(method, endpoint, null);
+  }
+
+  /**
+   * @return a request without headers and body and with its own retry policy
+   */
+  public static TransportRequest request(String method, String endpoint, RetryPolicy retryPolicy) {
+    return new TransportRequest(method, URI.create("http://localhost/" + endpoint), endpoint, new MultivaluedHashMap<String, Object>(), null,
+        retryPolicy);
+  }
+}
@@ -0,0 +1,142 @@
+package com.camunda.consulting.simplerestclient.transport;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+import javax.ws.rs.core.MultivaluedHashMap;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.camunda.consulting.simplerestclient.exceptions.RestClientException;
+import com.camunda.consulting.simplerestclient.pool.ConnectionPoolConfig;
+import com.camunda.consulting.simplerestclient.testsupport.StubResponse;
+import com.camunda.consulting.simplerestclient.testsupport.StubServer;
+import com.camunda.consulting.simplerestclient.util.BufferPool;
+
+public class NioTransportTests {
+
+  private static final String BODY = "{\"messageName\":\"order-received\"}";
+
+  private NioTransport transport;
+
+  @After
+  public void closeTransport() {
+    if (transport != null) {
+      transport.close();
+    }
+  }
+
+  @Test
+  public void testPostReleasesEntityBuffer() throws Exception {
+    // the idle buffers are taken, so the request gets a fresh one
+    List<BufferPool.Buffer> idle = new ArrayList<BufferPool.Buffer>();
+    for (int i = 0; i < 8; i++) {
+      idle.add(BufferPool.DEFAULT.acquire());
+    }
+    try (StubServer server = StubServer.http().stub("POST", "/message", new StubResponse().echo())) {
+      transport = new NioTransport(new ConnectionPoolConfig(), SSLContext.getDefault());
+
+      TransportRequest request = new TransportRequest("POST", URI.create(server.getUri() + "/message"), "message",
+          new MultivaluedHashMap<String, Object>(), RequestEntity.of(BODY.getBytes(StandardCharsets.UTF_8), "application/json"));
+      try (TransportResponse response = transport.executeAsync(request, null).get(5, TimeUnit.SECONDS)) {
+        assertThat(response.getStatus(), is(200));
+        assertThat(readFully(response), is(BODY));
+      }
+
+      // the buffer released is the next one handed out, still holding the body
+      BufferPool.Buffer released = BufferPool.DEFAULT.acquire();
+      idle.add(released);
+      assertThat(new String(released.array(), 0, BODY.length(), StandardCharsets.UTF_8), is(BODY));
+    } finally {
+      for (BufferPool.Buffer buffer : idle) {
+        buffer.release();
+      }
+    }
+  }
+
+  @Test
+  public void testFailedExchangeCompletesFutureExceptionally() throws Exception {
+    transport = new NioTransport(new ConnectionPoolConfig(), SSLContext.getDefault());
+
+    try {
+      transport.executeAsync(get(closedServerUri()), null).get(5, TimeUnit.SECONDS);
+      fail("expected the connection to be refused");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(RestClientException.class));
+      assertThat(e.getCause().getMessage(), startsWith("cannot execute request"));
+    }
+  }
+
+  @Test
+  public void testSyncExecuteThrowsRestClientException() throws Exception {
+    transport = new NioTransport(new ConnectionPoolConfig(), SSLContext.getDefault());
+
+    try {
+      transport.execute(get(closedServerUri()));
+      fail("expected the connection to be refused");
+    } catch (RestClientException e) {
+      assertThat(e.getMessage(), startsWith("cannot execute request"));
+    }
+  }
+
+  @Test
+  public void testCancellingFutureAbortsExchange() throws Exception {
+    try (StubServer server = StubServer.http().stub("/process-instance",
+        new StubResponse().body("{\"id\":\"4711\"}").latency(5, TimeUnit.SECONDS))) {
+      transport = new NioTransport(new ConnectionPoolConfig(), SSLContext.getDefault());
+
+      CompletableFuture<TransportResponse> exchange = transport.executeAsync(get(server.getUri() + "/process-instance"), null);
+      assertThat(awaitLeased(1), is(1));
+      exchange.cancel(true);
+
+      // the connection is given up long before the response would arrive
+      assertThat(awaitLeased(0), is(0));
+      assertThat(exchange.isCancelled(), is(true));
+    }
+  }
+
+  private int awaitLeased(int leased) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+    while (transport.getConnectionPoolStats().getLeased() != leased && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    return transport.getConnectionPoolStats().getLeased();
+  }
+
+  private static TransportRequest get(String uri) {
+    return new TransportRequest("GET", URI.create(uri), "process-instance", new MultivaluedHashMap<String, Object>(), null);
+  }
+
+  private static String closedServerUri() throws IOException {
+    StubServer server = StubServer.http();
+    server.close();
+    return server.getUri() + "/process-instance";
+  }
+
+  private static String readFully(TransportResponse response) throws IOException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    InputStream stream = response.getBody();
+    byte[] chunk = new byte[256];
+    int read;
+    while ((read = stream.read(chunk)) != -1) {
+      body.write(chunk, 0, read);
+    }
+    return new String(body.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
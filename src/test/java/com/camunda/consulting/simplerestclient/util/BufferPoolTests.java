@@ -0,0 +1,57 @@
+package com.camunda.consulting.simplerestclient.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class BufferPoolTests {
+
+  @Test
+  public void testBufferGrows() {
+    BufferPool.Buffer buffer = new BufferPool(1, 1024).acquire();
+    byte[] chunk = new byte[5000];
+    Arrays.fill(chunk, (byte) 7);
+
+    buffer.write(1);
+    buffer.write(chunk, 0, chunk.length);
+    buffer.write(chunk, 10, chunk.length - 10);
+
+    assertThat(buffer.size(), is(1 + 5000 + 4990));
+    byte[] bytes = buffer.toByteArray();
+    assertThat(bytes.length, is(buffer.size()));
+    assertThat(bytes[0], is((byte) 1));
+    assertThat(bytes[bytes.length - 1], is((byte) 7));
+  }
+
+  @Test
+  public void testReleasedBufferIsReused() {
+    BufferPool pool = new BufferPool(1, 1024 * 1024);
+    BufferPool.Buffer buffer = pool.acquire();
+    buffer.write(new byte[100], 0, 100);
+    buffer.release();
+
+    BufferPool.Buffer reused = pool.acquire();
+    assertThat(reused, sameInstance(buffer));
+    assertThat(reused.size(), is(0));
+  }
+
+  @Test
+  public void testLargeBufferIsDropped() {
+    BufferPool pool = new BufferPool(1, 16 * 1024);
+    BufferPool.Buffer buffer = pool.acquire();
+    buffer.write(new byte[32 * 1024], 0, 32 * 1024);
+    buffer.release();
+
+    assertThat(pool.acquire(), not(sameInstance(buffer)));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testWriteOutOfBounds() {
+    new BufferPool(1, 1024).acquire().write(new byte[10], 5, 6);
+  }
+}
@@ -0,0 +1,133 @@
+package com.camunda.consulting.simplerestclient.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class FormFieldsTests {
+
+  @Test
+  public void testPublicClass() {
+    Map<String, String> fields = FormFields.toMap(new Credentials("demo", "s3cret", 3));
+
+    assertThat(fields.get("username"), is("demo"));
+    assertThat(fields.get("password"), is("s3cret"));
+    assertThat(fields.get("max_attempts"), is("3"));
+  }
+
+  @Test
+  public void testNonPublicClass() {
+    Map<String, String> fields = FormFields.toMap(new HiddenCredentials("demo", true));
+
+    assertThat(fields.get("username"), is("demo"));
+    assertThat(fields.get("remember_me"), is("true"));
+  }
+
+  @Test
+  public void testFieldWithoutJsonPropertyIsSkipped() {
+    Map<String, String> fields = FormFields.toMap(new Credentials("demo", "s3cret", 3));
+
+    assertThat(fields.containsKey("note"), is(false));
+    assertThat(fields.size(), is(3));
+  }
+
+  @Test
+  public void testNullValuesAreOmittedAndOrderIsKept() {
+    Map<String, String> fields = FormFields.toMap(new Credentials(null, "s3cret", 3));
+
+    assertThat(new ArrayList<String>(fields.keySet()), is(Arrays.asList("password", "max_attempts")));
+    assertThat(new ArrayList<String>(FormFields.toMap(new Credentials("demo", "s3cret", 3)).keySet()),
+        is(Arrays.asList("username", "password", "max_attempts")));
+  }
+
+  @Test
+  public void testFailingGetterIsSkipped() {
+    Map<String, String> fields = FormFields.toMap(new FailingCredentials());
+
+    assertThat(new ArrayList<String>(fields.keySet()), is(Arrays.asList("username")));
+  }
+
+  public static class Credentials {
+
+    @JsonProperty("username")
+    private String username;
+
+    @JsonProperty("password")
+    private String password;
+
+    @JsonProperty("max_attempts")
+    private int maxAttempts;
+
+    private String note = "not sent";
+
+    public Credentials(String username, String password, int maxAttempts) {
+      this.username = username;
+      this.password = password;
+      this.maxAttempts = maxAttempts;
+    }
+
+    public String getUsername() {
+      return username;
+    }
+
+    public String getPassword() {
+      return password;
+    }
+
+    public int getMaxAttempts() {
+      return maxAttempts;
+    }
+
+    public String getNote() {
+      return note;
+    }
+  }
+
+  private static class HiddenCredentials {
+
+    @JsonProperty("username")
+    private String username;
+
+    @JsonProperty("remember_me")
+    private boolean rememberMe;
+
+    HiddenCredentials(String username, boolean rememberMe) {
+      this.username = username;
+      this.rememberMe = rememberMe;
+    }
+
+    @SuppressWarnings("unused")
+    public String getUsername() {
+      return username;
+    }
+
+    @SuppressWarnings("unused")
+    public boolean getRememberMe() {
+      return rememberMe;
+    }
+  }
+
+  public static class FailingCredentials {
+
+    @JsonProperty("username")
+    private String username = "demo";
+
+    @JsonProperty("password")
+    private String password;
+
+    public String getUsername() {
+      return username;
+    }
+
+    public String getPassword() {
+      throw new IllegalStateException("password of " + username + " is not available");
+    }
+  }
+}
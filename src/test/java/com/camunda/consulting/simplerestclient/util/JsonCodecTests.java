@@ -0,0 +1,58 @@
+package com.camunda.consulting.simplerestclient.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class JsonCodecTests {
+
+  private final JsonCodec codec = new JsonCodec(new ObjectMapper());
+
+  @Test
+  public void testTypeIsBuiltOncePerClass() {
+    JavaType type = codec.typeOf(HashMap.class);
+
+    assertThat(codec.typeOf(HashMap.class), sameInstance(type));
+    assertThat(codec.typeOf(ArrayList.class), not(sameInstance(type)));
+  }
+
+  @Test
+  public void testReaderIsBuiltOncePerType() {
+    JavaType type = codec.typeOf(HashMap.class);
+
+    assertThat(codec.readerFor(type), sameInstance(codec.readerFor(type)));
+    assertThat(codec.readerFor(codec.typeOf(HashMap.class)), sameInstance(codec.readerFor(type)));
+    assertThat(codec.readerFor(codec.typeOf(ArrayList.class)), not(sameInstance(codec.readerFor(type))));
+  }
+
+  @Test
+  public void testWriterIsBuiltOncePerClass() {
+    assertThat(codec.writerFor(HashMap.class), sameInstance(codec.writerFor(HashMap.class)));
+    assertThat(codec.writerFor(ArrayList.class), not(sameInstance(codec.writerFor(HashMap.class))));
+  }
+
+  @Test
+  public void testCodecsDoNotShareCaches() {
+    JsonCodec other = new JsonCodec(new ObjectMapper());
+
+    assertThat(other.writerFor(HashMap.class), not(sameInstance(codec.writerFor(HashMap.class))));
+  }
+
+  @Test
+  public void testBindsArray() {
+    assertThat(JsonCodec.bindsArray(codec.typeOf(ArrayList.class)), is(true));
+    assertThat(JsonCodec.bindsArray(codec.typeOf(String[].class)), is(true));
+    assertThat(JsonCodec.bindsArray(codec.typeOf(HashMap.class)), is(false));
+    assertThat(JsonCodec.bindsArray(codec.typeOf(List.class)), is(true));
+  }
+}
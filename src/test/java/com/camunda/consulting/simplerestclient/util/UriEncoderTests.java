@@ -0,0 +1,74 @@
+package com.camunda.consulting.simplerestclient.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class UriEncoderTests {
+
+  @Test
+  public void testPathWithoutSpecialCharactersIsNotCopied() {
+    String path = "/process-instance/4711/variables";
+
+    assertThat(UriEncoder.encodePath(path), sameInstance(path));
+  }
+
+  @Test
+  public void testPathKeepsDelimitersAndSubDelimiters() {
+    assertThat(UriEncoder.encodePath("/a/b;c=d/e:f@g/h!$&'()*+,~"), is("/a/b;c=d/e:f@g/h!$&'()*+,~"));
+  }
+
+  @Test
+  public void testPathEncodesSpaceAndGeneralDelimiters() {
+    assertThat(UriEncoder.encodePath("/my process"), is("/my%20process"));
+    assertThat(UriEncoder.encodePath("/a?b#c[d]"), is("/a%3Fb%23c%5Bd%5D"));
+    assertThat(UriEncoder.encodePath("/\"<>\\^`{|}"), is("/%22%3C%3E%5C%5E%60%7B%7C%7D"));
+  }
+
+  @Test
+  public void testPathKeepsExistingEscapes() {
+    assertThat(UriEncoder.encodePath("/my%20process/%c3%bc"), is("/my%20process/%c3%bc"));
+    // a '%' not starting an escape sequence is encoded
+    assertThat(UriEncoder.encodePath("/100%"), is("/100%25"));
+    assertThat(UriEncoder.encodePath("/%2"), is("/%252"));
+    assertThat(UriEncoder.encodePath("/%zz"), is("/%25zz"));
+  }
+
+  @Test
+  public void testPathEncodesNonAsciiAsUtf8() {
+    assertThat(UriEncoder.encodePath("/gr\u00fc\u00dfe"), is("/gr%C3%BC%C3%9Fe"));
+    assertThat(UriEncoder.encodePath("/\ud83d\ude00"), is("/%F0%9F%98%80"));
+  }
+
+  @Test
+  public void testPathSegmentEncodesSlashAndPercent() {
+    assertThat(append(new StringBuilder("/"), "a/b c"), is("/a%2Fb%20c"));
+    assertThat(append(new StringBuilder(), "%20"), is("%2520"));
+    assertThat(append(new StringBuilder(), "key:value@host;v=1"), is("key:value@host;v=1"));
+  }
+
+  @Test
+  public void testQueryParameterEncodesReservedCharacters() {
+    assertThat(query("a b"), is("a+b"));
+    assertThat(query("a&b=c+d"), is("a%26b%3Dc%2Bd"));
+    assertThat(query("/path;x,y:z@h"), is("%2Fpath%3Bx%2Cy%3Az%40h"));
+    assertThat(query("*?-._~"), is("*?-._~"));
+    assertThat(query("\u00fc"), is("%C3%BC"));
+  }
+
+  @Test
+  public void testQueryParameterKeepsExistingEscapes() {
+    assertThat(query("a%20b"), is("a%20b"));
+    assertThat(query("50%"), is("50%25"));
+  }
+
+  private static String append(StringBuilder target, String segment) {
+    return UriEncoder.appendPathSegment(target, segment).toString();
+  }
+
+  private static String query(String nameOrValue) {
+    return UriEncoder.appendQueryParameter(new StringBuilder(), nameOrValue).toString();
+  }
+}
@@ -0,0 +1,223 @@
+package com.camunda.consulting.simplerestclient.testsupport;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.camunda.consulting.simplerestclient.metrics.LatencyHistogram;
+
+/**
+ * This runs an operation, typically a call of a
+ * {@link com.camunda.consulting.simplerestclient.RestClient}, over and over and
+ * measures throughput and latency. Without an arrival rate the operation runs
+ * on {@code concurrency} threads back to back (closed loop). With an arrival
+ * rate operations are started on schedule no matter how long earlier ones take
+ * (open loop), on at most {@code concurrency} threads; their latency is taken
+ * from the scheduled start, so queueing behind slow operations is included
+ * rather than hidden.
+ *
+ * <pre>
+ * LoadStats stats = new LoadDriver()
+ *     .arrivalRate(500)
+ *     .concurrency(64)
+ *     .warmup(5, TimeUnit.SECONDS)
+ *     .duration(30, TimeUnit.SECONDS)
+ *     .run(() -&gt; restClient.get(restClient.newRequest("process-instance"), ProcessInstance.class));
+ * </pre>
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class LoadDriver {
+
+  /**
+   * This is the operation measured.
+   */
+  @FunctionalInterface
+  public interface Operation {
+
+    /**
+     * @throws Exception
+     *           if the operation failed, which is counted as an error
+     */
+    void run() throws Exception;
+  }
+
+  /**
+   * number of threads running operations
+   */
+  private int concurrency = 1;
+
+  /**
+   * operations started per second, {@code 0} to run them back to back
+   */
+  private double arrivalRate = 0.0;
+
+  private long warmupNanos = 0;
+
+  private long durationNanos = TimeUnit.SECONDS.toNanos(10);
+
+  /**
+   * @param concurrency
+   *          number of threads running operations
+   * @return this
+   */
+  public LoadDriver concurrency(int concurrency) {
+    this.concurrency = concurrency;
+    return this;
+  }
+
+  /**
+   * @param arrivalRate
+   *          operations started per second, {@code 0} to run them back to back
+   * @return this
+   */
+  public LoadDriver arrivalRate(double arrivalRate) {
+    this.arrivalRate = arrivalRate;
+    return this;
+  }
+
+  /**
+   * @param warmup
+   *          time operations run before measuring starts
+   * @param unit
+   *          unit of {@code warmup}
+   * @return this
+   */
+  public LoadDriver warmup(long warmup, TimeUnit unit) {
+    this.warmupNanos = unit.toNanos(warmup);
+    return this;
+  }
+
+  /**
+   * @param duration
+   *          time operations are measured
+   * @param unit
+   *          unit of {@code duration}
+   * @return this
+   */
+  public LoadDriver duration(long duration, TimeUnit unit) {
+    this.durationNanos = unit.toNanos(duration);
+    return this;
+  }
+
+  /**
+   * This blocks until the warmup and the measurement are over and all
+   * operations started have ended.
+   *
+   * @param operation
+   *          the operation
+   * @return throughput and latency of the operations started while measuring
+   * @throws InterruptedException
+   *           if interrupted while waiting for operations
+   */
+  public LoadStats run(Operation operation) throws InterruptedException {
+    Measurement measurement = new Measurement(System.nanoTime() + warmupNanos, durationNanos);
+    AtomicInteger threadNumber = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+      Thread thread = new Thread(runnable, "load-driver-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    try {
+      if (arrivalRate > 0.0) {
+        runOpenLoop(operation, measurement, executor);
+      } else {
+        runClosedLoop(operation, measurement, executor);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return measurement.getStats();
+  }
+
+  private void runClosedLoop(Operation operation, Measurement measurement, ExecutorService executor) throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(concurrency);
+    for (int thread = 0; thread < concurrency; thread++) {
+      executor.execute(() -> {
+        try {
+          long start;
+          while ((start = System.nanoTime()) < measurement.end && Thread.currentThread().isInterrupted() == false) {
+            measurement.record(start, operation);
+          }
+        } finally {
+          done.countDown();
+        }
+      });
+    }
+    done.await();
+  }
+
+  private void runOpenLoop(Operation operation, Measurement measurement, ExecutorService executor) throws InterruptedException {
+    double intervalNanos = TimeUnit.SECONDS.toNanos(1) / arrivalRate;
+    long first = System.nanoTime();
+
+    for (long arrival = 0;; arrival++) {
+      long scheduled = first + (long) (arrival * intervalNanos);
+      if (scheduled >= measurement.end) {
+        break;
+      }
+      long wait;
+      while ((wait = scheduled - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(wait);
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+      }
+      executor.execute(() -> measurement.record(scheduled, operation));
+    }
+
+    executor.shutdown();
+    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * This collects the results of one run.
+   */
+  private static class Measurement {
+
+    private final long begin;
+    private final long end;
+    private final long durationNanos;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    Measurement(long begin, long durationNanos) {
+      this.begin = begin;
+      this.end = begin + durationNanos;
+      this.durationNanos = durationNanos;
+    }
+
+    /**
+     * This runs {@code operation} and records it if {@code start} falls into
+     * the measurement.
+     */
+    void record(long start, Operation operation) {
+      boolean failed = false;
+      try {
+        operation.run();
+      } catch (Exception e) {
+        failed = true;
+      }
+      if (start < begin) {
+        return;
+      }
+      latency.record(System.nanoTime() - start);
+      operations.increment();
+      if (failed) {
+        errors.increment();
+      }
+    }
+
+    LoadStats getStats() {
+      return new LoadStats(operations.sum(), errors.sum(), durationNanos, latency.getStats());
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.camunda.consulting.simplerestclient.testsupport;
+
+import java.util.Locale;
+
+import com.camunda.consulting.simplerestclient.metrics.LatencyStats;
+
+/**
+ * This class holds the results of a {@link LoadDriver} run.
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class LoadStats {
+
+  private final long operations;
+  private final long errors;
+  private final long durationNanos;
+  private final LatencyStats latency;
+
+  /**
+   * Constructor.
+   *
+   * @param operations
+   *          number of operations started while measuring
+   * @param errors
+   *          number of those operations that failed
+   * @param durationNanos
+   *          time measured
+   * @param latency
+   *          latencies of the operations
+   */
+  LoadStats(long operations, long errors, long durationNanos, LatencyStats latency) {
+    this.operations = operations;
+    this.errors = errors;
+    this.durationNanos = durationNanos;
+    this.latency = latency;
+  }
+
+  public long getOperations() {
+    return operations;
+  }
+
+  public long getErrors() {
+    return errors;
+  }
+
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  /**
+   * @return operations per second
+   */
+  public double getThroughput() {
+    return durationNanos > 0 ? operations * 1e9 / durationNanos : 0.0;
+  }
+
+  /**
+   * @return latencies of the operations, in nanoseconds
+   */
+  public LatencyStats getLatency() {
+    return latency;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(Locale.ROOT, "LoadStats [operations=%d, errors=%d, throughput=%.1f/s, p50=%.3fms, p99=%.3fms, p999=%.3fms, max=%.3fms]",
+        operations, errors, getThroughput(), latency.getP50() / 1e6, latency.getP99() / 1e6, latency.getP999() / 1e6, latency.getMax() / 1e6);
+  }
+}
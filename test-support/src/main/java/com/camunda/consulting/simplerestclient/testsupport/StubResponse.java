@@ -0,0 +1,193 @@
+package com.camunda.consulting.simplerestclient.testsupport;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This describes how a {@link StubServer} answers the requests to a path: with
+ * which status, body and headers, after which latency, and how often it fails.
+ *
+ * <pre>
+ * new StubResponse().payloadSize(16 * 1024).latency(5, 20, TimeUnit.MILLISECONDS).errorRate(0.01, 503)
+ * </pre>
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class StubResponse {
+
+  private int status = 200;
+
+  private byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+
+  /**
+   * {@code true} if the request body is sent back instead of {@code body}
+   */
+  private boolean echo = false;
+
+  private final Map<String, String> headers = new LinkedHashMap<String, String>();
+
+  private long minLatencyNanos = 0;
+  private long maxLatencyNanos = 0;
+
+  /**
+   * share of requests answered with {@code errorStatus} instead
+   */
+  private double errorRate = 0.0;
+
+  private int errorStatus = 500;
+
+  /**
+   * Constructor. This answers {@code 200} with an empty JSON object right
+   * away.
+   */
+  public StubResponse() {
+    headers.put("Content-Type", "application/json");
+  }
+
+  /**
+   * @param status
+   *          HTTP status code of the response
+   * @return this
+   */
+  public StubResponse status(int status) {
+    this.status = status;
+    return this;
+  }
+
+  /**
+   * @param body
+   *          the body, encoded as UTF-8
+   * @return this
+   */
+  public StubResponse body(String body) {
+    return body(body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @param body
+   *          the body
+   * @return this
+   */
+  public StubResponse body(byte[] body) {
+    this.body = body;
+    this.echo = false;
+    return this;
+  }
+
+  /**
+   * This sets a body of {@code bytes} bytes, a JSON object holding a single
+   * string {@code payload}.
+   *
+   * @param bytes
+   *          size of the body, at least {@code 14}
+   * @return this
+   */
+  public StubResponse payloadSize(int bytes) {
+    byte[] prefix = "{\"payload\":\"".getBytes(StandardCharsets.US_ASCII);
+    byte[] payload = new byte[Math.max(bytes, prefix.length + 2)];
+    System.arraycopy(prefix, 0, payload, 0, prefix.length);
+    Arrays.fill(payload, prefix.length, payload.length - 2, (byte) 'x');
+    payload[payload.length - 2] = '"';
+    payload[payload.length - 1] = '}';
+    return body(payload);
+  }
+
+  /**
+   * This sends the body of each request back.
+   *
+   * @return this
+   */
+  public StubResponse echo() {
+    this.echo = true;
+    return this;
+  }
+
+  /**
+   * @param name
+   *          header name
+   * @param value
+   *          header value
+   * @return this
+   */
+  public StubResponse header(String name, String value) {
+    headers.put(name, value);
+    return this;
+  }
+
+  /**
+   * @param latency
+   *          time to wait before the response is sent
+   * @param unit
+   *          unit of {@code latency}
+   * @return this
+   */
+  public StubResponse latency(long latency, TimeUnit unit) {
+    return latency(latency, latency, unit);
+  }
+
+  /**
+   * @param minLatency
+   *          least time to wait before the response is sent
+   * @param maxLatency
+   *          most time to wait before the response is sent, the time waited is
+   *          distributed uniformly in between
+   * @param unit
+   *          unit of {@code minLatency} and {@code maxLatency}
+   * @return this
+   */
+  public StubResponse latency(long minLatency, long maxLatency, TimeUnit unit) {
+    this.minLatencyNanos = unit.toNanos(minLatency);
+    this.maxLatencyNanos = unit.toNanos(maxLatency);
+    return this;
+  }
+
+  /**
+   * @param errorRate
+   *          share of requests answered with {@code errorStatus} and an empty
+   *          body, between {@code 0} and {@code 1}
+   * @param errorStatus
+   *          HTTP status code of those responses
+   * @return this
+   */
+  public StubResponse errorRate(double errorRate, int errorStatus) {
+    this.errorRate = errorRate;
+    this.errorStatus = errorStatus;
+    return this;
+  }
+
+  long nextLatencyNanos() {
+    if (maxLatencyNanos <= minLatencyNanos) {
+      return minLatencyNanos;
+    }
+    return ThreadLocalRandom.current().nextLong(minLatencyNanos, maxLatencyNanos + 1);
+  }
+
+  boolean nextIsError() {
+    return errorRate > 0.0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+  }
+
+  int getStatus() {
+    return status;
+  }
+
+  int getErrorStatus() {
+    return errorStatus;
+  }
+
+  boolean isEcho() {
+    return echo;
+  }
+
+  byte[] getBody() {
+    return body;
+  }
+
+  Map<String, String> getHeaders() {
+    return headers;
+  }
+}
@@ -0,0 +1,253 @@
+package com.camunda.consulting.simplerestclient.testsupport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.TrustManagerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsParameters;
+import com.sun.net.httpserver.HttpsServer;
+
+/**
+ * This is an HTTP server on the loopback interface answering requests with
+ * {@link StubResponse}s, so clients can be tested and measured without a real
+ * REST API. Requests to paths without a stub are answered with {@code 404}.
+ *
+ * <pre>
+ * try (StubServer server = StubServer.http()
+ *     .stub("/process-instance", new StubResponse().payloadSize(4096).latency(2, TimeUnit.MILLISECONDS))
+ *     .stub("POST", "/message", new StubResponse().status(204))) {
+ *   RestClient restClient = new RestClient(server.getUri());
+ *   ...
+ * }
+ * </pre>
+ *
+ * @author Sebastian Warnke (sebastian.warnke@camunda.com)
+ *
+ */
+public class StubServer implements Closeable {
+
+  private static final StubResponse NOT_FOUND = new StubResponse().status(404);
+
+  static {
+    // headers and body are written separately; with Nagle's algorithm each
+    // response would wait for the client's delayed ACK
+    if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+  }
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+
+  /**
+   * stubs by {@code "METHOD /path"} and by {@code "/path"} for any method
+   */
+  private final Map<String, StubResponse> stubs = new ConcurrentHashMap<String, StubResponse>();
+
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder bytesReceived = new LongAdder();
+
+  private StubServer(HttpServer server) {
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.server = server;
+    this.executor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "stub-server-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    server.createContext("/", this::handle);
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  /**
+   * @return a started server speaking plain HTTP on a free port
+   * @throws IOException
+   *           if the server cannot be bound
+   */
+  public static StubServer http() throws IOException {
+    return new StubServer(HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0));
+  }
+
+  /**
+   * @param sslContext
+   *          the context holding the server certificate, see
+   *          {@link #sslContext(KeyStore, String, KeyStore)}
+   * @param requireClientCertificate
+   *          {@code true} to reject clients without a certificate trusted by
+   *          {@code sslContext}
+   * @return a started server speaking HTTPS on a free port
+   * @throws IOException
+   *           if the server cannot be bound
+   */
+  public static StubServer https(SSLContext sslContext, boolean requireClientCertificate) throws IOException {
+    HttpsServer server = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.setHttpsConfigurator(new HttpsConfigurator(sslContext) {
+
+      @Override
+      public void configure(HttpsParameters parameters) {
+        SSLParameters sslParameters = sslContext.getDefaultSSLParameters();
+        sslParameters.setNeedClientAuth(requireClientCertificate);
+        parameters.setSSLParameters(sslParameters);
+      }
+    });
+    return new StubServer(server);
+  }
+
+  /**
+   * @param keystore
+   *          holds the server certificate and its key
+   * @param keystorePassword
+   *          password of {@code keystore} and the key
+   * @param truststore
+   *          holds the certificates client certificates are checked against,
+   *          {@code null} to trust the JVM's default authorities
+   * @return a context for {@link #https(SSLContext, boolean)}
+   * @throws GeneralSecurityException
+   *           if the stores cannot be read
+   */
+  public static SSLContext sslContext(KeyStore keystore, String keystorePassword, KeyStore truststore) throws GeneralSecurityException {
+    KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+    keyManagers.init(keystore, keystorePassword.toCharArray());
+    TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+    trustManagers.init(truststore);
+
+    SSLContext sslContext = SSLContext.getInstance("TLS");
+    sslContext.init(keyManagers.getKeyManagers(), trustManagers.getTrustManagers(), null);
+    return sslContext;
+  }
+
+  /**
+   * @param path
+   *          the path, e.g. {@code /process-instance}, without parameters
+   * @param response
+   *          how requests to {@code path} are answered, whatever their method
+   * @return this
+   */
+  public StubServer stub(String path, StubResponse response) {
+    stubs.put(path, response);
+    return this;
+  }
+
+  /**
+   * @param method
+   *          the HTTP method
+   * @param path
+   *          the path, e.g. {@code /process-instance}, without parameters
+   * @param response
+   *          how {@code method} requests to {@code path} are answered
+   * @return this
+   */
+  public StubServer stub(String method, String path, StubResponse response) {
+    stubs.put(method + " " + path, response);
+    return this;
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      requests.increment();
+      String path = exchange.getRequestURI().getPath();
+      StubResponse stub = stubs.get(exchange.getRequestMethod() + " " + path);
+      if (stub == null) {
+        stub = stubs.getOrDefault(path, NOT_FOUND);
+      }
+
+      byte[] requestBody = readFully(exchange.getRequestBody());
+      bytesReceived.add(requestBody.length);
+
+      long latencyNanos = stub.nextLatencyNanos();
+      if (latencyNanos > 0) {
+        TimeUnit.NANOSECONDS.sleep(latencyNanos);
+      }
+
+      if (stub.nextIsError()) {
+        exchange.sendResponseHeaders(stub.getErrorStatus(), -1);
+        return;
+      }
+
+      for (Map.Entry<String, String> header : stub.getHeaders().entrySet()) {
+        exchange.getResponseHeaders().add(header.getKey(), header.getValue());
+      }
+      byte[] body = stub.isEcho() ? requestBody : stub.getBody();
+      boolean bodyless = exchange.getRequestMethod().equals("HEAD") || stub.getStatus() == 204 || stub.getStatus() == 304;
+      if (bodyless || body.length == 0) {
+        exchange.sendResponseHeaders(stub.getStatus(), -1);
+        return;
+      }
+      exchange.sendResponseHeaders(stub.getStatus(), body.length);
+      try (OutputStream responseBody = exchange.getResponseBody()) {
+        responseBody.write(body);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private static byte[] readFully(InputStream input) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    byte[] chunk = new byte[8192];
+    int read;
+    while ((read = input.read(chunk)) != -1) {
+      buffer.write(chunk, 0, read);
+    }
+    return buffer.toByteArray();
+  }
+
+  /**
+   * @return URI of the server, e.g. {@code http://localhost:54321}
+   */
+  public String getUri() {
+    String scheme = server instanceof HttpsServer ? "https" : "http";
+    return scheme + "://localhost:" + getPort();
+  }
+
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * @return number of requests received
+   */
+  public long getRequests() {
+    return requests.sum();
+  }
+
+  /**
+   * @return size of the request bodies received
+   */
+  public long getBytesReceived() {
+    return bytesReceived.sum();
+  }
+
+  /**
+   * This stops the server without waiting for exchanges in progress.
+   */
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+}